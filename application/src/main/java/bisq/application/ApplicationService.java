@@ -173,7 +173,17 @@ public abstract class ApplicationService implements Service {
         ResolverConfig.config();
 
         String absoluteDataDirPath = dataDir.toAbsolutePath().toString();
-        persistenceService = new PersistenceService(absoluteDataDirPath);
+        persistenceService = new PersistenceService(absoluteDataDirPath, createPersistenceConfig(typesafeAppConfig));
+    }
+
+    private static PersistenceService.Config createPersistenceConfig(com.typesafe.config.Config typesafeAppConfig) {
+        if (!typesafeAppConfig.hasPath("persistence")) {
+            return PersistenceService.Config.DEFAULT;
+        }
+        com.typesafe.config.Config config = typesafeAppConfig.getConfig("persistence");
+        boolean durableWrites = config.hasPath("durableWrites") && config.getBoolean("durableWrites");
+        int numGenerations = config.hasPath("numGenerations") ? config.getInt("numGenerations") : 1;
+        return new PersistenceService.Config(durableWrites, numGenerations);
     }
 
     private void checkInstanceLock() {
@@ -21,6 +21,8 @@ import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
 public class UIThread {
+    private static final UIThreadBatcher BATCHER = new UIThreadBatcher();
+
     public static void run(Runnable task) {
         try {
             if (Platform.isFxApplicationThread()) {
@@ -37,4 +39,19 @@ public class UIThread {
     public static void runOnNextRenderFrame(Runnable task) {
         Platform.runLater(task);
     }
+
+    /**
+     * Runs the task together with all other batched tasks in one hop to the UI thread. Also tasks added from the UI
+     * thread are deferred to the batch to keep the order.
+     */
+    public static void runBatched(Runnable task) {
+        BATCHER.execute(task);
+    }
+
+    /**
+     * Like runBatched, but a pending task with the same key gets replaced, so that only the latest one is run.
+     */
+    public static void runCoalesced(Object key, Runnable task) {
+        BATCHER.coalesce(key, task);
+    }
 }
\ No newline at end of file
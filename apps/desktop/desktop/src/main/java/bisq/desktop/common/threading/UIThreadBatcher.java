@@ -0,0 +1,82 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.desktop.common.threading;
+
+import bisq.common.util.ExceptionUtil;
+import javafx.application.Platform;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Collects tasks from any thread and runs them in a single JavaFX application thread hop.
+ * <p>
+ * A task registered with a key replaces the pending task with the same key and gets moved behind the tasks which
+ * have been added before it. That way repeated updates of the same item (e.g. at each market price tick) are only
+ * applied once per batch, and a flush task registered after a series of changes runs after those changes.
+ * Keys are compared by equals, so they should be cheap to hash.
+ */
+@Slf4j
+final class UIThreadBatcher {
+    private static final int MAX_ROUNDS_PER_HOP = 4;
+
+    private final Object lock = new Object();
+    private Map<Object, Runnable> pendingTasks = new LinkedHashMap<>();
+    private boolean isScheduled;
+
+    void execute(Runnable task) {
+        coalesce(new Object(), task);
+    }
+
+    void coalesce(Object key, Runnable task) {
+        synchronized (lock) {
+            pendingTasks.remove(key);
+            pendingTasks.put(key, task);
+            if (isScheduled) {
+                return;
+            }
+            isScheduled = true;
+        }
+        Platform.runLater(this::runPendingTasks);
+    }
+
+    private void runPendingTasks() {
+        // Tasks added while running the batch (e.g. a flush after applying changes) are run in the same hop. We limit
+        // the rounds to not block the UI thread by tasks which keep on adding tasks.
+        for (int round = 0; round < MAX_ROUNDS_PER_HOP; round++) {
+            Map<Object, Runnable> tasks;
+            synchronized (lock) {
+                if (pendingTasks.isEmpty()) {
+                    isScheduled = false;
+                    return;
+                }
+                tasks = pendingTasks;
+                pendingTasks = new LinkedHashMap<>();
+            }
+            tasks.values().forEach(task -> {
+                try {
+                    task.run();
+                } catch (Exception e) {
+                    log.error("Exception at batched UIThread task: {}", ExceptionUtil.getMessageOrToString(e), e);
+                }
+            });
+        }
+        Platform.runLater(this::runPendingTasks);
+    }
+}
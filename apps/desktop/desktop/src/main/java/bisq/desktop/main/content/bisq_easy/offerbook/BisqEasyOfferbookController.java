@@ -45,15 +45,15 @@ import bisq.settings.CookieKey;
 import bisq.settings.SettingsService;
 import bisq.user.profile.UserProfile;
 import bisq.user.reputation.ReputationService;
-import javafx.collections.ListChangeListener;
 import javafx.collections.SetChangeListener;
 import javafx.scene.layout.StackPane;
 import lombok.extern.slf4j.Slf4j;
 import org.fxmisc.easybind.EasyBind;
 import org.fxmisc.easybind.Subscription;
 
-import java.lang.ref.WeakReference;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -69,6 +69,12 @@ public final class BisqEasyOfferbookController extends ChatController<BisqEasyOf
     private final BisqEasyOfferbookModel bisqEasyOfferbookModel;
     private final SetChangeListener<Market> favouriteMarketsListener;
     private final ReputationService reputationService = serviceProvider.getUserService().getReputationService();
+    private final Map<Market, MarketChannelItem> marketChannelItemByMarket = new HashMap<>();
+    private final OfferMessageItemIndex offerMessageItemIndex = new OfferMessageItemIndex();
+    // Key for coalescing the updates at market price changes
+    private final Object marketPriceUpdateKey = new Object();
+    // Channel of the currently bound offer messages. Batched changes of a previously bound channel are ignored.
+    private BisqEasyOfferbookChannel offerMessagesChannel;
     private Pin offerOnlySettingsPin, bisqEasyPrivateTradeChatChannelsPin, selectedChannelPin,
             marketPriceByCurrencyMapPin, favouriteMarketsPin, offerMessagesPin, showBuyOffersPin,
             showOfferListExpandedSettingsPin, showMarketSelectionListCollapsedSettingsPin;
@@ -84,17 +90,13 @@ public final class BisqEasyOfferbookController extends ChatController<BisqEasyOf
         bisqEasyOfferbookModel = getModel();
         favouriteMarketsListener = change -> {
             if (change.wasAdded()) {
-                Market market = change.getElementAdded();
-                model.getMarketChannelItems().forEach(item -> item.getIsFavourite().set(market.equals(item.getMarket())));
+                findMarketChannelItem(change.getElementAdded())
+                        .ifPresent(item -> item.getIsFavourite().set(true));
             }
 
             if (change.wasRemoved()) {
-                Market market = change.getElementRemoved();
-                model.getMarketChannelItems().forEach(item -> {
-                    if (market.equals(item.getMarket()) && item.getIsFavourite().get()) {
-                        item.getIsFavourite().set(false);
-                    }
-                });
+                findMarketChannelItem(change.getElementRemoved())
+                        .ifPresent(item -> item.getIsFavourite().set(false));
             }
 
             updateFilteredMarketChannelItems();
@@ -163,17 +165,10 @@ public final class BisqEasyOfferbookController extends ChatController<BisqEasyOf
             model.getShouldShowAppliedFilters().set(filter == Filters.Markets.WITH_OFFERS || filter == Filters.Markets.FAVOURITES);
         });
 
-        marketPriceByCurrencyMapPin = marketPriceService.getMarketPriceByCurrencyMap().addObserver(() -> {
-            UIThread.run(() -> {
-                model.setMarketPricePredicate(item -> marketPriceService.getMarketPriceByCurrencyMap().isEmpty() ||
-                        marketPriceService.getMarketPriceByCurrencyMap().containsKey(item.getMarket()));
-                updateFilteredMarketChannelItems();
-            });
-        });
-
-        model.getMarketChannelItems().addListener(new WeakReference<>(
-                (ListChangeListener<? super MarketChannelItem>) c -> updateFilteredMarketChannelItems()
-        ).get());
+        // Price ticks are frequent. We only update the markets where the availability of a market price has changed,
+        // and the filtered list re-evaluates its predicate only for those items.
+        marketPriceByCurrencyMapPin = marketPriceService.getMarketPriceByCurrencyMap().addObserver(() ->
+                UIThread.runCoalesced(marketPriceUpdateKey, this::updateHasMarketPrice));
 
         selectedOfferDirectionOrOwnerFilterPin = EasyBind.subscribe(model.getSelectedOfferDirectionOrOwnerFilter(), filter -> {
             if (filter == null) {
@@ -280,9 +275,8 @@ public final class BisqEasyOfferbookController extends ChatController<BisqEasyOf
             if (chatChannel instanceof BisqEasyOfferbookChannel) {
                 BisqEasyOfferbookChannel channel = (BisqEasyOfferbookChannel) chatChannel;
 
-                model.getMarketChannelItems().stream()
+                findMarketChannelItem(channel.getMarket())
                         .filter(item -> item.getChannel().equals(channel))
-                        .findAny()
                         .ifPresent(item -> model.getSelectedMarketChannelItem().set(item));
 
                 model.getSearchText().set("");
@@ -357,9 +351,21 @@ public final class BisqEasyOfferbookController extends ChatController<BisqEasyOf
         List<MarketChannelItem> marketChannelItems = bisqEasyOfferbookChannelService.getChannels().stream()
                 .map(MarketChannelItem::new)
                 .collect(Collectors.toList());
+        marketChannelItems.forEach(item -> marketChannelItemByMarket.put(item.getMarket(), item));
         model.getMarketChannelItems().setAll(marketChannelItems);
     }
 
+    private Optional<MarketChannelItem> findMarketChannelItem(Market market) {
+        return Optional.ofNullable(marketChannelItemByMarket.get(market));
+    }
+
+    private void updateHasMarketPrice() {
+        // If we have not received any market price yet, we show all markets
+        boolean noMarketPrices = marketPriceService.getMarketPriceByCurrencyMap().isEmpty();
+        marketChannelItemByMarket.forEach((market, item) -> item.getHasMarketPrice().set(noMarketPrices ||
+                marketPriceService.getMarketPriceByCurrencyMap().containsKey(market)));
+    }
+
     private void updateMarketPrice() {
         Market selectedMarket = bisqEasyOfferbookModel.getSelectedMarketChannelItem().get().getMarket();
         if (selectedMarket != null) {
@@ -398,7 +404,13 @@ public final class BisqEasyOfferbookController extends ChatController<BisqEasyOf
     }
 
     private void bindOfferMessages(BisqEasyOfferbookChannel channel) {
-        model.getOfferMessageItems().clear();
+        if (offerMessagesPin != null) {
+            offerMessagesPin.unbind();
+        }
+        offerMessagesChannel = channel;
+        clearOfferMessageItems();
+
+        // Changes are applied in batches and the index is used to avoid scanning the list for each message.
         offerMessagesPin = channel.getChatMessages().addObserver(new CollectionObserver<>() {
             @Override
             public void add(BisqEasyOfferbookMessage bisqEasyOfferbookMessage) {
@@ -407,15 +419,16 @@ public final class BisqEasyOfferbookController extends ChatController<BisqEasyOf
                         && bisqEasyOfferbookMessage.getBisqEasyOffer().isPresent()
                         && userProfile.isPresent();
                 if (shouldAddOfferMessage) {
-                    UIThread.run(() -> {
-                        if (model.getOfferMessageItems().stream()
-                                .noneMatch(item -> item.getBisqEasyOfferbookMessage().equals(bisqEasyOfferbookMessage))) {
+                    UIThread.runBatched(() -> {
+                        if (channel.equals(offerMessagesChannel) &&
+                                !offerMessageItemIndex.contains(bisqEasyOfferbookMessage.getId())) {
                             OfferMessageItem item = new OfferMessageItem(bisqEasyOfferbookMessage,
                                     userProfile.get(),
                                     reputationService,
                                     marketPriceService,
                                     userProfileService);
-                            model.getOfferMessageItems().add(item);
+                            offerMessageItemIndex.add(item);
+                            applyPendingOfferMessageItemChanges();
                         }
                     });
                 }
@@ -424,26 +437,35 @@ public final class BisqEasyOfferbookController extends ChatController<BisqEasyOf
             @Override
             public void remove(Object element) {
                 if (element instanceof BisqEasyOfferbookMessage && ((BisqEasyOfferbookMessage) element).hasBisqEasyOffer()) {
-                    UIThread.run(() -> {
-                        BisqEasyOfferbookMessage offerMessage = (BisqEasyOfferbookMessage) element;
-                        Optional<OfferMessageItem> toRemove = model.getOfferMessageItems().stream()
-                                .filter(item -> item.getBisqEasyOfferbookMessage().getId().equals(offerMessage.getId()))
-                                .findAny();
-                        toRemove.ifPresent(item -> {
-                            item.dispose();
-                            model.getOfferMessageItems().remove(item);
-                        });
+                    UIThread.runBatched(() -> {
+                        if (channel.equals(offerMessagesChannel)) {
+                            BisqEasyOfferbookMessage offerMessage = (BisqEasyOfferbookMessage) element;
+                            offerMessageItemIndex.remove(offerMessage.getId()).ifPresent(OfferMessageItem::dispose);
+                            applyPendingOfferMessageItemChanges();
+                        }
                     });
                 }
             }
 
             @Override
             public void clear() {
-                UIThread.run(() -> {
-                    model.getOfferMessageItems().forEach(OfferMessageItem::dispose);
-                    model.getOfferMessageItems().clear();
+                UIThread.runBatched(() -> {
+                    if (channel.equals(offerMessagesChannel)) {
+                        clearOfferMessageItems();
+                    }
                 });
             }
         });
     }
+
+    private void applyPendingOfferMessageItemChanges() {
+        // Coalesced, so the list gets updated once after all changes of the batch
+        UIThread.runCoalesced(offerMessageItemIndex,
+                () -> offerMessageItemIndex.applyPendingChanges(model.getOfferMessageItems()));
+    }
+
+    private void clearOfferMessageItems() {
+        offerMessageItemIndex.clear().forEach(OfferMessageItem::dispose);
+        model.getOfferMessageItems().clear();
+    }
 }
@@ -39,7 +39,7 @@ public final class BisqEasyOfferbookModel extends ChatModel {
     private final BooleanProperty offerOnly = new SimpleBooleanProperty();
     private final BooleanProperty isTradeChannelVisible = new SimpleBooleanProperty();
     private final BooleanProperty shouldShowAppliedFilters = new SimpleBooleanProperty();
-    private final ObservableList<MarketChannelItem> marketChannelItems = FXCollections.observableArrayList(p -> new Observable[]{p.getNumOffers()});
+    private final ObservableList<MarketChannelItem> marketChannelItems = FXCollections.observableArrayList(p -> new Observable[]{p.getNumOffers(), p.getHasMarketPrice()});
     private final FilteredList<MarketChannelItem> filteredMarketChannelItems = new FilteredList<>(marketChannelItems);
     private final SortedList<MarketChannelItem> sortedMarketChannelItems = new SortedList<>(filteredMarketChannelItems);
     private final ObjectProperty<MarketChannelItem> selectedMarketChannelItem = new SimpleObjectProperty<>();
@@ -60,7 +60,7 @@ public final class BisqEasyOfferbookModel extends ChatModel {
     private final BooleanProperty showMarketSelectionListCollapsed = new SimpleBooleanProperty();
 
     @Setter
-    private Predicate<MarketChannelItem> marketPricePredicate = marketChannelItem -> true;
+    private Predicate<MarketChannelItem> marketPricePredicate = marketChannelItem -> marketChannelItem.getHasMarketPrice().get();
     @Setter
     private Predicate<MarketChannelItem> marketSearchTextPredicate = marketChannelItem -> true;
     @Setter
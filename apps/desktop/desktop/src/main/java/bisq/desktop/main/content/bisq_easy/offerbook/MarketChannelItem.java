@@ -20,6 +20,7 @@ package bisq.desktop.main.content.bisq_easy.offerbook;
 import bisq.chat.bisqeasy.offerbook.BisqEasyOfferbookChannel;
 import bisq.chat.bisqeasy.offerbook.BisqEasyOfferbookMessage;
 import bisq.common.currency.Market;
+import bisq.common.observable.collection.CollectionObserver;
 import bisq.desktop.common.threading.UIThread;
 import bisq.desktop.main.content.components.MarketImageComposition;
 import bisq.settings.FavouriteMarketsService;
@@ -30,10 +31,12 @@ import javafx.beans.property.SimpleIntegerProperty;
 import javafx.scene.CacheHint;
 import javafx.scene.Node;
 import javafx.scene.effect.ColorAdjust;
+import lombok.AccessLevel;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 
-import java.lang.ref.WeakReference;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 @EqualsAndHashCode
 @Getter
@@ -46,6 +49,19 @@ class MarketChannelItem {
     private final Node marketLogo;
     private final IntegerProperty numOffers = new SimpleIntegerProperty(0);
     private final BooleanProperty isFavourite = new SimpleBooleanProperty(false);
+    // Updated only if the availability of the market price of that market changes, so that the filtered list
+    // re-evaluates only the affected item
+    private final BooleanProperty hasMarketPrice = new SimpleBooleanProperty(true);
+    // Key for coalescing the updates of numOffers
+    @EqualsAndHashCode.Exclude
+    @Getter(AccessLevel.NONE)
+    private final Object numOffersUpdateKey = new Object();
+    // IDs of the offer messages in the channel. Updated on each add and remove, so we do not need to count all
+    // messages at each change. We use a set as the observer gets notified with all values at addAll and removeAll,
+    // even if only some of them have been changed.
+    @EqualsAndHashCode.Exclude
+    @Getter(AccessLevel.NONE)
+    private final Set<String> offerMessageIds = ConcurrentHashMap.newKeySet();
 
     MarketChannelItem(BisqEasyOfferbookChannel channel) {
         this.channel = channel;
@@ -57,7 +73,28 @@ class MarketChannelItem {
         setUpColorAdjustments();
         marketLogo.setEffect(DEFAULT_COLOR_ADJUST);
 
-        channel.getChatMessages().addObserver(new WeakReference<Runnable>(this::updateNumOffers).get());
+        channel.getChatMessages().addObserver(new CollectionObserver<>() {
+            @Override
+            public void add(BisqEasyOfferbookMessage message) {
+                if (message.hasBisqEasyOffer() && offerMessageIds.add(message.getId())) {
+                    updateNumOffers();
+                }
+            }
+
+            @Override
+            public void remove(Object element) {
+                if (element instanceof BisqEasyOfferbookMessage &&
+                        offerMessageIds.remove(((BisqEasyOfferbookMessage) element).getId())) {
+                    updateNumOffers();
+                }
+            }
+
+            @Override
+            public void clear() {
+                offerMessageIds.clear();
+                updateNumOffers();
+            }
+        });
         updateNumOffers();
     }
 
@@ -70,12 +107,8 @@ class MarketChannelItem {
     }
 
     private void updateNumOffers() {
-        UIThread.run(() -> {
-            int numOffers = (int) channel.getChatMessages().stream()
-                    .filter(BisqEasyOfferbookMessage::hasBisqEasyOffer)
-                    .count();
-            getNumOffers().set(numOffers);
-        });
+        // Many messages arrive in bursts, so we update the property only once per UI batch
+        UIThread.runCoalesced(numOffersUpdateKey, () -> getNumOffers().set(offerMessageIds.size()));
     }
 
     void updateMarketLogoEffect(boolean isSelectedMarket) {
@@ -33,6 +33,7 @@ import bisq.user.profile.UserProfile;
 import bisq.user.profile.UserProfileService;
 import bisq.user.reputation.ReputationScore;
 import bisq.user.reputation.ReputationService;
+import lombok.AccessLevel;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
@@ -55,6 +56,9 @@ public class OfferMessageItem {
     private final long lastSeen;
     private final String lastSeenAsString;
     private Pin marketPriceByCurrencyMapPin;
+    // Key for coalescing the updates at market price changes
+    @Getter(AccessLevel.NONE)
+    private final Object priceUpdateKey = new Object();
 
     OfferMessageItem(BisqEasyOfferbookMessage bisqEasyOfferbookMessage,
                      UserProfile userProfile,
@@ -91,7 +95,7 @@ public class OfferMessageItem {
 
     private void initialize() {
         marketPriceByCurrencyMapPin = marketPriceService.getMarketPriceByCurrencyMap().addObserver(() ->
-                UIThread.run(this::updatePriceSpecAsPercent));
+                UIThread.runCoalesced(priceUpdateKey, this::updatePriceSpecAsPercent));
         updatePriceSpecAsPercent();
     }
 
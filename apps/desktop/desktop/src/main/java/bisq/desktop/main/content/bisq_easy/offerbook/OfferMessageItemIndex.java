@@ -0,0 +1,89 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.desktop.main.content.bisq_easy.offerbook;
+
+import javafx.collections.ObservableList;
+
+import java.util.*;
+
+/**
+ * Index of the offer message items of the selected market channel, keyed by the id of the offer message.
+ * <p>
+ * Additions and removals are collected and applied to the observable list in one step, so that the filtered and
+ * sorted lists get one change per batch instead of one per offer message. Must only be used from the UI thread.
+ */
+class OfferMessageItemIndex {
+    private final Map<String, OfferMessageItem> itemsById = new HashMap<>();
+    private final Map<String, OfferMessageItem> pendingAdditions = new LinkedHashMap<>();
+    private final Map<String, OfferMessageItem> pendingRemovals = new HashMap<>();
+
+    boolean contains(String offerMessageId) {
+        return itemsById.containsKey(offerMessageId);
+    }
+
+    void add(OfferMessageItem item) {
+        String id = getId(item);
+        if (itemsById.putIfAbsent(id, item) == null) {
+            pendingAdditions.put(id, item);
+        }
+    }
+
+    Optional<OfferMessageItem> remove(String offerMessageId) {
+        OfferMessageItem item = itemsById.remove(offerMessageId);
+        if (item == null) {
+            return Optional.empty();
+        }
+        if (pendingAdditions.remove(offerMessageId) == null) {
+            pendingRemovals.put(offerMessageId, item);
+        }
+        return Optional.of(item);
+    }
+
+    /**
+     * @return All indexed items, which are expected to get disposed by the caller
+     */
+    List<OfferMessageItem> clear() {
+        List<OfferMessageItem> items = new ArrayList<>(itemsById.values());
+        itemsById.clear();
+        pendingAdditions.clear();
+        pendingRemovals.clear();
+        return items;
+    }
+
+    int size() {
+        return itemsById.size();
+    }
+
+    void applyPendingChanges(ObservableList<OfferMessageItem> offerMessageItems) {
+        if (!pendingRemovals.isEmpty()) {
+            // Identity based as the items in the list are the instances we have indexed
+            Set<OfferMessageItem> toRemove = Collections.newSetFromMap(new IdentityHashMap<>());
+            toRemove.addAll(pendingRemovals.values());
+            offerMessageItems.removeAll(toRemove);
+            pendingRemovals.clear();
+        }
+        if (!pendingAdditions.isEmpty()) {
+            offerMessageItems.addAll(pendingAdditions.values());
+            pendingAdditions.clear();
+        }
+    }
+
+    private static String getId(OfferMessageItem item) {
+        return item.getBisqEasyOfferbookMessage().getId();
+    }
+}
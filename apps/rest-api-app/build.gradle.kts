@@ -1,5 +1,6 @@
 plugins {
     id("bisq.java-library")
+    id("bisq.java-integration-tests")
     application
 }
 
@@ -31,6 +32,7 @@ dependencies {
 
     implementation(libs.typesafe.config)
     implementation(libs.bundles.glassfish.jersey)
+    implementation(libs.glassfish.jersey.sse)
     implementation(libs.bundles.jackson)
 
     implementation(libs.swagger.jaxrs2.jakarta)
@@ -0,0 +1,119 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.rest_api.paging;
+
+import bisq.rest_api.error.StatusException;
+import com.sun.net.httpserver.HttpServer;
+import jakarta.ws.rs.BeanParam;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Request;
+import jakarta.ws.rs.core.Response;
+import org.glassfish.jersey.jdkhttp.JdkHttpServerFactory;
+import org.glassfish.jersey.server.ResourceConfig;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the paging layer in an in-process Jersey server on the JDK http server, as used by the REST API app, with a
+ * resource backed by an in-memory collection.
+ */
+public class PagingHttpIntegrationTest {
+    private static final List<String> ITEMS = new CopyOnWriteArrayList<>();
+
+    @Path("/items")
+    @Produces(MediaType.APPLICATION_JSON)
+    public static class ItemsApi {
+        @GET
+        public Response getItems(@Context Request request, @BeanParam PagingParams pagingParams) {
+            return Paging.createPagedResponse(request,
+                    ITEMS,
+                    item -> new Cursor(Long.parseLong(item.substring(4)), item),
+                    item -> item,
+                    pagingParams);
+        }
+    }
+
+    private static HttpServer httpServer;
+    private static URI baseUri;
+    private static final HttpClient httpClient = HttpClient.newHttpClient();
+
+    @BeforeAll
+    static void startServer() {
+        for (int i = 0; i < 25; i++) {
+            ITEMS.add("item" + i);
+        }
+        httpServer = JdkHttpServerFactory.createHttpServer(URI.create("http://localhost:0/api"),
+                new ResourceConfig()
+                        .register(StatusException.StatusExceptionMapper.class)
+                        .register(ItemsApi.class));
+        baseUri = URI.create("http://localhost:" + httpServer.getAddress().getPort() + "/api/items");
+    }
+
+    @AfterAll
+    static void stopServer() {
+        httpServer.stop(0);
+    }
+
+    @Test
+    void pageWithCursorAndConditionalRequest() throws IOException, InterruptedException {
+        HttpResponse<String> firstPage = get("?limit=10", null);
+        assertThat(firstPage.statusCode()).isEqualTo(200);
+        assertThat(firstPage.body()).contains("\"item0\"").contains("\"item9\"").doesNotContain("\"item10\"");
+        assertThat(firstPage.body()).contains("\"hasMore\":true");
+        String entityTag = firstPage.headers().firstValue("ETag").orElseThrow();
+
+        HttpResponse<String> notModified = get("?limit=10", entityTag);
+        assertThat(notModified.statusCode()).isEqualTo(304);
+        assertThat(notModified.body()).isEmpty();
+
+        String nextCursor = new Cursor(9, "item9").encode();
+        HttpResponse<String> secondPage = get("?limit=10&cursor=" + nextCursor, entityTag);
+        assertThat(secondPage.statusCode()).isEqualTo(200);
+        assertThat(secondPage.body()).contains("\"item10\"").doesNotContain("\"item9\"");
+
+        HttpResponse<String> since = get("?since=20", null);
+        assertThat(since.body()).contains("\"item20\"").doesNotContain("\"item19\"")
+                .contains("\"hasMore\":false");
+
+        HttpResponse<String> invalidCursor = get("?cursor=x", null);
+        assertThat(invalidCursor.statusCode()).isEqualTo(400);
+    }
+
+    private static HttpResponse<String> get(String query, String ifNoneMatch) throws IOException, InterruptedException {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUri + query)).GET();
+        if (ifNoneMatch != null) {
+            builder.header("If-None-Match", ifNoneMatch);
+        }
+        return httpClient.send(builder.build(), HttpResponse.BodyHandlers.ofString());
+    }
+}
@@ -2,11 +2,16 @@ package bisq.rest_api;
 
 import bisq.common.application.Service;
 import bisq.rest_api.endpoints.ChatApi;
+import bisq.rest_api.endpoints.EventsApi;
 import bisq.rest_api.endpoints.KeyBundleApi;
+import bisq.rest_api.endpoints.OfferbookApi;
+import bisq.rest_api.endpoints.UserProfileApi;
 import bisq.rest_api.error.CustomExceptionMapper;
 import bisq.rest_api.error.StatusException;
+import bisq.rest_api.events.ChangeEventStream;
 import bisq.rest_api.util.StaticFileHandler;
 import com.sun.net.httpserver.HttpServer;
+import jakarta.ws.rs.sse.Sse;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import org.glassfish.jersey.jdkhttp.JdkHttpServerFactory;
@@ -27,6 +32,8 @@ public class JaxRsApplication extends ResourceConfig implements Service {
     @Getter
     private final Supplier<RestApiApplicationService> applicationService;
     private HttpServer httpServer;
+    // Created at the first events request as we need the Sse instance provided by the JAX-RS runtime
+    private ChangeEventStream changeEventStream;
 
     public JaxRsApplication(String[] args, Supplier<RestApiApplicationService> applicationService) {
         this.applicationService = applicationService;
@@ -35,6 +42,9 @@ public class JaxRsApplication extends ResourceConfig implements Service {
                 .register(StatusException.StatusExceptionMapper.class)
                 .register(KeyBundleApi.class)
                 .register(ChatApi.class)
+                .register(OfferbookApi.class)
+                .register(UserProfileApi.class)
+                .register(EventsApi.class)
                 .register(SwaggerResolution.class);
     }
 
@@ -46,8 +56,23 @@ public class JaxRsApplication extends ResourceConfig implements Service {
         return CompletableFuture.completedFuture(true);
     }
 
+    public synchronized ChangeEventStream getChangeEventStream(Sse sse) {
+        if (changeEventStream == null) {
+            RestApiApplicationService service = applicationService.get();
+            changeEventStream = new ChangeEventStream(sse,
+                    service.getChatService(),
+                    service.getUserService().getUserProfileService());
+        }
+        return changeEventStream;
+    }
+
     @Override
     public CompletableFuture<Boolean> shutdown() {
+        synchronized (this) {
+            if (changeEventStream != null) {
+                changeEventStream.shutdown();
+            }
+        }
         if (httpServer != null) {
             httpServer.stop(2);
         }
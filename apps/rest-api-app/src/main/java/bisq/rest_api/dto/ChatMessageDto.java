@@ -0,0 +1,62 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.rest_api.dto;
+
+import bisq.chat.ChatChannelDomain;
+import bisq.chat.ChatMessage;
+import bisq.chat.ChatMessageType;
+import bisq.chat.bisqeasy.offerbook.BisqEasyOfferbookMessage;
+import bisq.offer.bisq_easy.BisqEasyOffer;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+@Getter
+@ToString
+@Schema(name = "ChatMessage")
+public final class ChatMessageDto {
+    @EqualsAndHashCode.Include
+    private String id;
+    private ChatChannelDomain chatChannelDomain;
+    private String channelId;
+    private String authorUserProfileId;
+    private String text;
+    private long date;
+    private boolean wasEdited;
+    private ChatMessageType chatMessageType;
+    // Only set for offer messages
+    private String offerId;
+
+    public static ChatMessageDto from(ChatMessage chatMessage) {
+        ChatMessageDto dto = new ChatMessageDto();
+        dto.id = chatMessage.getId();
+        dto.chatChannelDomain = chatMessage.getChatChannelDomain();
+        dto.channelId = chatMessage.getChannelId();
+        dto.authorUserProfileId = chatMessage.getAuthorUserProfileId();
+        dto.text = chatMessage.getText();
+        dto.date = chatMessage.getDate();
+        dto.wasEdited = chatMessage.isWasEdited();
+        dto.chatMessageType = chatMessage.getChatMessageType();
+        dto.offerId = chatMessage instanceof BisqEasyOfferbookMessage
+                ? ((BisqEasyOfferbookMessage) chatMessage).getBisqEasyOffer().map(BisqEasyOffer::getId).orElse(null)
+                : null;
+        return dto;
+    }
+}
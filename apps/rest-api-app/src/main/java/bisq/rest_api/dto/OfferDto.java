@@ -0,0 +1,57 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.rest_api.dto;
+
+import bisq.chat.bisqeasy.offerbook.BisqEasyOfferbookMessage;
+import bisq.offer.Direction;
+import bisq.offer.bisq_easy.BisqEasyOffer;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+@Getter
+@ToString
+@Schema(name = "Offer")
+public final class OfferDto {
+    @EqualsAndHashCode.Include
+    private String id;
+    private String offerMessageId;
+    private String channelId;
+    private long date;
+    private Direction direction;
+    private String makersUserProfileId;
+
+    @JsonProperty("market")
+    private MarketDto marketDto;
+
+    public static OfferDto from(BisqEasyOfferbookMessage offerMessage) {
+        BisqEasyOffer offer = offerMessage.getBisqEasyOffer().orElseThrow();
+        OfferDto dto = new OfferDto();
+        dto.id = offer.getId();
+        dto.offerMessageId = offerMessage.getId();
+        dto.channelId = offerMessage.getChannelId();
+        dto.date = offer.getDate();
+        dto.direction = offer.getDirection();
+        dto.makersUserProfileId = offer.getMakersUserProfileId();
+        dto.marketDto = MarketDto.from(offer.getMarket());
+        return dto;
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.rest_api.dto;
+
+import bisq.user.profile.UserProfile;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+@Getter
+@ToString
+@Schema(name = "UserProfile")
+public final class UserProfileDto {
+    @EqualsAndHashCode.Include
+    private String id;
+    private String nickName;
+    private String nym;
+    private int avatarVersion;
+    private String terms;
+    private String statement;
+
+    public static UserProfileDto from(UserProfile userProfile) {
+        UserProfileDto dto = new UserProfileDto();
+        dto.id = userProfile.getId();
+        dto.nickName = userProfile.getNickName();
+        dto.nym = userProfile.getNym();
+        dto.avatarVersion = userProfile.getAvatarVersion();
+        dto.terms = userProfile.getTerms();
+        dto.statement = userProfile.getStatement();
+        return dto;
+    }
+}
@@ -1,26 +1,38 @@
 package bisq.rest_api.endpoints;
 
+import bisq.chat.ChatChannel;
 import bisq.chat.ChatChannelDomain;
+import bisq.chat.ChatMessage;
 import bisq.chat.ChatService;
 import bisq.rest_api.JaxRsApplication;
 import bisq.rest_api.RestApiApplicationService;
 import bisq.rest_api.dto.BisqEasyPublicChatChannelDto;
+import bisq.rest_api.dto.ChatMessageDto;
 import bisq.rest_api.dto.CommonPublicChatChannelDto;
+import bisq.rest_api.error.StatusException;
+import bisq.rest_api.paging.Cursor;
+import bisq.rest_api.paging.Page;
+import bisq.rest_api.paging.Paging;
+import bisq.rest_api.paging.PagingParams;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.ws.rs.BeanParam;
 import jakarta.ws.rs.GET;
 import jakarta.ws.rs.Path;
+import jakarta.ws.rs.PathParam;
 import jakarta.ws.rs.Produces;
 import jakarta.ws.rs.core.Application;
 import jakarta.ws.rs.core.Context;
 import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Request;
+import jakarta.ws.rs.core.Response;
 import lombok.extern.slf4j.Slf4j;
 
-import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Collection;
 
 @Slf4j
 @Path("/chat")
@@ -37,33 +49,69 @@ public class ChatApi {
 
     @GET
     @Path("/public-discussion-channels")
-    @Operation(description = "Get a list of all publicly available Discussion Channels.")
+    @Operation(description = "Get a list of all publicly available Discussion Channels. Supports If-None-Match.")
     @ApiResponse(responseCode = "200", description = "request successful.",
             content = {
                     @Content(
                             mediaType = MediaType.APPLICATION_JSON,
-                            schema = @Schema(implementation = CommonPublicChatChannelDto.class)
+                            array = @ArraySchema(schema = @Schema(implementation = CommonPublicChatChannelDto.class))
                     )}
     )
-    public List<CommonPublicChatChannelDto> getPublicDiscussionChannels() {
-        return chatService.getCommonPublicChatChannelServices().get(ChatChannelDomain.DISCUSSION).getChannels().stream()
-                .map(chatChannel -> CommonPublicChatChannelDto.from(chatService, chatChannel))
-                .collect(Collectors.toList());
+    @ApiResponse(responseCode = "304", description = "not modified since the request with the given ETag.")
+    public Response getPublicDiscussionChannels(@Context Request request) {
+        return Paging.createListResponse(request,
+                chatService.getCommonPublicChatChannelServices().get(ChatChannelDomain.DISCUSSION).getChannels(),
+                ChatChannel::getId,
+                chatChannel -> CommonPublicChatChannelDto.from(chatService, chatChannel));
     }
 
     @GET
     @Path("/public-trade-channels")
-    @Operation(description = "Get a list of all publicly available Trade Channels.")
+    @Operation(description = "Get a list of all publicly available Trade Channels. Supports If-None-Match.")
     @ApiResponse(responseCode = "200", description = "request successful.",
             content = {
                     @Content(
                             mediaType = MediaType.APPLICATION_JSON,
-                            schema = @Schema(implementation = BisqEasyPublicChatChannelDto.class)
+                            array = @ArraySchema(schema = @Schema(implementation = BisqEasyPublicChatChannelDto.class))
                     )}
     )
-    public List<BisqEasyPublicChatChannelDto> getPublicTradeChannels() {
-        return chatService.getBisqEasyOfferbookChannelService().getChannels().stream()
-                .map(chatChannel -> BisqEasyPublicChatChannelDto.from(chatService, chatChannel))
-                .collect(Collectors.toList());
+    @ApiResponse(responseCode = "304", description = "not modified since the request with the given ETag.")
+    public Response getPublicTradeChannels(@Context Request request) {
+        return Paging.createListResponse(request,
+                chatService.getBisqEasyOfferbookChannelService().getChannels(),
+                ChatChannel::getId,
+                chatChannel -> BisqEasyPublicChatChannelDto.from(chatService, chatChannel));
+    }
+
+    @GET
+    @Path("/public-channels/{channelId}/messages")
+    @Operation(description = "Get a page of the messages of a public channel, ordered by date. Supports If-None-Match.")
+    @ApiResponse(responseCode = "200", description = "request successful. Returns a Page of ChatMessage items.",
+            content = {
+                    @Content(
+                            mediaType = MediaType.APPLICATION_JSON,
+                            schema = @Schema(implementation = Page.class)
+                    )}
+    )
+    @ApiResponse(responseCode = "304", description = "not modified since the request with the given ETag.")
+    @ApiResponse(responseCode = "404", description = "channel not found.")
+    public Response getPublicChannelMessages(@Context Request request,
+                                             @PathParam("channelId") String channelId,
+                                             @BeanParam PagingParams pagingParams) {
+        return Paging.createPagedResponse(request,
+                findPublicChannelMessages(channelId),
+                chatMessage -> new Cursor(chatMessage.getDate(), chatMessage.getId()),
+                ChatMessageDto::from,
+                pagingParams);
+    }
+
+    private Collection<? extends ChatMessage> findPublicChannelMessages(String channelId) {
+        return chatService.getBisqEasyOfferbookChannelService().findChannel(channelId)
+                .<Collection<? extends ChatMessage>>map(ChatChannel::getChatMessages)
+                .or(() -> chatService.getCommonPublicChatChannelServices().values().stream()
+                        .flatMap(service -> service.findChannel(channelId).stream())
+                        .findAny()
+                        .map(ChatChannel::getChatMessages))
+                .orElseThrow(() -> new StatusException(Response.Status.NOT_FOUND, "No public channel with id " + channelId));
     }
 }
@@ -0,0 +1,51 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.rest_api.endpoints;
+
+import bisq.rest_api.JaxRsApplication;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.Application;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.sse.Sse;
+import jakarta.ws.rs.sse.SseEventSink;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Path("/events")
+@Tag(name = "Events API")
+public class EventsApi {
+
+    private final JaxRsApplication jaxRsApplication;
+
+    public EventsApi(@Context Application application) {
+        jaxRsApplication = (JaxRsApplication) application;
+    }
+
+    @GET
+    @Produces(MediaType.SERVER_SENT_EVENTS)
+    @Operation(description = "Stream of server-sent events for added and removed chat messages, offers and user profiles. " +
+            "Only changes after connecting are sent. Use the paged endpoints to load the current state.")
+    public void streamEvents(@Context SseEventSink sseEventSink, @Context Sse sse) {
+        jaxRsApplication.getChangeEventStream(sse).register(sseEventSink);
+    }
+}
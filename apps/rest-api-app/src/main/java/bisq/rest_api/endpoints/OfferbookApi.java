@@ -0,0 +1,94 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.rest_api.endpoints;
+
+import bisq.chat.bisqeasy.offerbook.BisqEasyOfferbookChannelService;
+import bisq.chat.bisqeasy.offerbook.BisqEasyOfferbookMessage;
+import bisq.rest_api.JaxRsApplication;
+import bisq.rest_api.RestApiApplicationService;
+import bisq.rest_api.dto.OfferDto;
+import bisq.rest_api.paging.Cursor;
+import bisq.rest_api.paging.Page;
+import bisq.rest_api.paging.Paging;
+import bisq.rest_api.paging.PagingParams;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.ws.rs.BeanParam;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.Application;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Request;
+import jakarta.ws.rs.core.Response;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Path("/offerbook")
+@Produces(MediaType.APPLICATION_JSON)
+@Tag(name = "Offerbook API")
+public class OfferbookApi {
+
+    private final BisqEasyOfferbookChannelService bisqEasyOfferbookChannelService;
+
+    public OfferbookApi(@Context Application application) {
+        RestApiApplicationService applicationService = ((JaxRsApplication) application).getApplicationService().get();
+        bisqEasyOfferbookChannelService = applicationService.getChatService().getBisqEasyOfferbookChannelService();
+    }
+
+    @GET
+    @Path("/offers")
+    @Operation(description = "Get a page of the Bisq Easy offers, ordered by offer date. Supports If-None-Match.")
+    @ApiResponse(responseCode = "200", description = "request successful. Returns a Page of Offer items.",
+            content = {
+                    @Content(
+                            mediaType = MediaType.APPLICATION_JSON,
+                            schema = @Schema(implementation = Page.class)
+                    )}
+    )
+    @ApiResponse(responseCode = "304", description = "not modified since the request with the given ETag.")
+    public Response getOffers(@Context Request request,
+                              @Parameter(description = "Optional quote currency code of the market, e.g. USD.")
+                              @QueryParam("quoteCurrencyCode") String quoteCurrencyCode,
+                              @BeanParam PagingParams pagingParams) {
+        // We only collect the references to the offer messages. DTOs are created for the requested page only.
+        List<BisqEasyOfferbookMessage> offerMessages = bisqEasyOfferbookChannelService.getChannels().stream()
+                .filter(channel -> quoteCurrencyCode == null ||
+                        channel.getMarket().getQuoteCurrencyCode().equalsIgnoreCase(quoteCurrencyCode))
+                .flatMap(channel -> channel.getChatMessages().stream())
+                .filter(message -> message.getBisqEasyOffer().isPresent())
+                .collect(Collectors.toList());
+        return Paging.createPagedResponse(request,
+                offerMessages,
+                message -> {
+                    var offer = message.getBisqEasyOffer().orElseThrow();
+                    return new Cursor(offer.getDate(), offer.getId());
+                },
+                OfferDto::from,
+                pagingParams);
+    }
+}
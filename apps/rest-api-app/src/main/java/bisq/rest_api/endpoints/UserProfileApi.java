@@ -0,0 +1,79 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.rest_api.endpoints;
+
+import bisq.rest_api.JaxRsApplication;
+import bisq.rest_api.RestApiApplicationService;
+import bisq.rest_api.dto.UserProfileDto;
+import bisq.rest_api.error.StatusException;
+import bisq.rest_api.paging.Cursor;
+import bisq.rest_api.paging.Page;
+import bisq.rest_api.paging.Paging;
+import bisq.rest_api.paging.PagingParams;
+import bisq.user.profile.UserProfileService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.ws.rs.BeanParam;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.Application;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Request;
+import jakarta.ws.rs.core.Response;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Path("/user-profiles")
+@Produces(MediaType.APPLICATION_JSON)
+@Tag(name = "User Profile API")
+public class UserProfileApi {
+
+    private final UserProfileService userProfileService;
+
+    public UserProfileApi(@Context Application application) {
+        RestApiApplicationService applicationService = ((JaxRsApplication) application).getApplicationService().get();
+        userProfileService = applicationService.getUserService().getUserProfileService();
+    }
+
+    @GET
+    @Operation(description = "Get a page of the user profiles, ordered by profile id. Supports If-None-Match. " +
+            "The since parameter is not supported as user profiles do not carry a date.")
+    @ApiResponse(responseCode = "200", description = "request successful. Returns a Page of UserProfile items.",
+            content = {
+                    @Content(
+                            mediaType = MediaType.APPLICATION_JSON,
+                            schema = @Schema(implementation = Page.class)
+                    )}
+    )
+    @ApiResponse(responseCode = "304", description = "not modified since the request with the given ETag.")
+    public Response getUserProfiles(@Context Request request, @BeanParam PagingParams pagingParams) {
+        if (pagingParams.findSince().isPresent()) {
+            throw new StatusException(Response.Status.BAD_REQUEST, "since is not supported for user profiles");
+        }
+        return Paging.createPagedResponse(request,
+                userProfileService.getUserProfiles(),
+                userProfile -> new Cursor(0, userProfile.getId()),
+                UserProfileDto::from,
+                pagingParams);
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.rest_api.events;
+
+import bisq.chat.ChatChannel;
+import bisq.chat.ChatMessage;
+import bisq.chat.ChatService;
+import bisq.chat.bisqeasy.offerbook.BisqEasyOfferbookMessage;
+import bisq.common.observable.Pin;
+import bisq.common.observable.collection.CollectionObserver;
+import bisq.common.observable.map.HashMapObserver;
+import bisq.rest_api.dto.ChatMessageDto;
+import bisq.rest_api.dto.ItemIdDto;
+import bisq.rest_api.dto.OfferDto;
+import bisq.rest_api.dto.UserProfileDto;
+import bisq.user.profile.UserProfile;
+import bisq.user.profile.UserProfileService;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.sse.OutboundSseEvent;
+import jakarta.ws.rs.sse.Sse;
+import jakarta.ws.rs.sse.SseBroadcaster;
+import jakarta.ws.rs.sse.SseEventSink;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Streams the changes of the public chat messages, the offers and the user profiles as server-sent events to all
+ * registered clients. The observers are registered once for all clients and only changes after the registration are
+ * sent, as clients are expected to load the current state from the paged endpoints.
+ * <p>
+ * Event names: chat-message-added, chat-message-removed, offer-added, offer-removed, user-profile-added and
+ * user-profile-removed. The data is the JSON of the DTO, or of an ItemId for the removals of user profiles.
+ */
+@Slf4j
+public class ChangeEventStream {
+    private final Sse sse;
+    private final SseBroadcaster broadcaster;
+    private final List<Pin> pins = new CopyOnWriteArrayList<>();
+    private final AtomicLong sequenceNumber = new AtomicLong();
+
+    public ChangeEventStream(Sse sse, ChatService chatService, UserProfileService userProfileService) {
+        this.sse = sse;
+        broadcaster = sse.newBroadcaster();
+        broadcaster.onError((sink, throwable) -> log.debug("Error at sending event. {}", throwable.getMessage()));
+
+        chatService.getBisqEasyOfferbookChannelService().getChannels().forEach(this::observeChatMessages);
+        chatService.getCommonPublicChatChannelServices().values()
+                .forEach(service -> service.getChannels().forEach(this::observeChatMessages));
+        observeUserProfiles(userProfileService);
+    }
+
+    public void register(SseEventSink sseEventSink) {
+        broadcaster.register(sseEventSink);
+    }
+
+    public void shutdown() {
+        pins.forEach(Pin::unbind);
+        pins.clear();
+        broadcaster.close();
+    }
+
+    private <M extends ChatMessage> void observeChatMessages(ChatChannel<M> channel) {
+        // addObserver calls the observer with the existing messages, which we do not want to send
+        AtomicBoolean isObserving = new AtomicBoolean();
+        pins.add(channel.getChatMessages().addObserver(new CollectionObserver<>() {
+            @Override
+            public void add(M chatMessage) {
+                if (isObserving.get()) {
+                    onChatMessageAdded(chatMessage);
+                }
+            }
+
+            @Override
+            public void remove(Object element) {
+                if (isObserving.get() && element instanceof ChatMessage) {
+                    onChatMessageRemoved((ChatMessage) element);
+                }
+            }
+
+            @Override
+            public void clear() {
+            }
+        }));
+        isObserving.set(true);
+    }
+
+    private void observeUserProfiles(UserProfileService userProfileService) {
+        AtomicBoolean isObserving = new AtomicBoolean();
+        pins.add(userProfileService.getUserProfileById().addObserver(new HashMapObserver<>() {
+            @Override
+            public void put(String key, UserProfile userProfile) {
+                if (isObserving.get()) {
+                    send("user-profile-added", UserProfileDto.from(userProfile));
+                }
+            }
+
+            @Override
+            public void putAll(Map<? extends String, ? extends UserProfile> map) {
+                map.forEach(this::put);
+            }
+
+            @Override
+            public void remove(Object key) {
+                if (isObserving.get() && key instanceof String) {
+                    send("user-profile-removed", ItemIdDto.from((String) key));
+                }
+            }
+
+            @Override
+            public void clear() {
+            }
+        }));
+        isObserving.set(true);
+    }
+
+    private void onChatMessageAdded(ChatMessage chatMessage) {
+        send("chat-message-added", ChatMessageDto.from(chatMessage));
+        if (isOfferMessage(chatMessage)) {
+            send("offer-added", OfferDto.from((BisqEasyOfferbookMessage) chatMessage));
+        }
+    }
+
+    private void onChatMessageRemoved(ChatMessage chatMessage) {
+        send("chat-message-removed", ChatMessageDto.from(chatMessage));
+        if (isOfferMessage(chatMessage)) {
+            send("offer-removed", OfferDto.from((BisqEasyOfferbookMessage) chatMessage));
+        }
+    }
+
+    private static boolean isOfferMessage(ChatMessage chatMessage) {
+        return chatMessage instanceof BisqEasyOfferbookMessage &&
+                ((BisqEasyOfferbookMessage) chatMessage).getBisqEasyOffer().isPresent();
+    }
+
+    private void send(String name, Object data) {
+        OutboundSseEvent event = sse.newEventBuilder()
+                .name(name)
+                .id(String.valueOf(sequenceNumber.incrementAndGet()))
+                .mediaType(MediaType.APPLICATION_JSON_TYPE)
+                .data(data.getClass(), data)
+                .build();
+        broadcaster.broadcast(event);
+    }
+}
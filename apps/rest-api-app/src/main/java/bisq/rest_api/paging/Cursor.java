@@ -0,0 +1,71 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.rest_api.paging;
+
+import bisq.rest_api.error.StatusException;
+import jakarta.ws.rs.core.Response;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Comparator;
+
+/**
+ * Position after the last item of a page. Items are ordered by timestamp and id, so a cursor stays valid if items get
+ * added or removed. Clients get it as an opaque base64url encoded string.
+ */
+@Getter
+@ToString
+@EqualsAndHashCode
+public final class Cursor implements Comparable<Cursor> {
+    private static final Comparator<Cursor> COMPARATOR = Comparator.comparingLong(Cursor::getTimestamp)
+            .thenComparing(Cursor::getId);
+
+    private final long timestamp;
+    private final String id;
+
+    public Cursor(long timestamp, String id) {
+        this.timestamp = timestamp;
+        this.id = id;
+    }
+
+    public String encode() {
+        String value = timestamp + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static Cursor decode(String encoded) {
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(encoded), StandardCharsets.UTF_8);
+            int separatorIndex = value.indexOf(':');
+            if (separatorIndex < 0) {
+                throw new IllegalArgumentException("Missing separator");
+            }
+            return new Cursor(Long.parseLong(value.substring(0, separatorIndex)), value.substring(separatorIndex + 1));
+        } catch (IllegalArgumentException e) {
+            throw new StatusException(Response.Status.BAD_REQUEST, "Invalid cursor: " + encoded);
+        }
+    }
+
+    @Override
+    public int compareTo(Cursor other) {
+        return COMPARATOR.compare(this, other);
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.rest_api.paging;
+
+import bisq.common.encoding.Hex;
+import jakarta.ws.rs.core.EntityTag;
+import jakarta.ws.rs.core.Request;
+import jakarta.ws.rs.core.Response;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Creates paged and conditional responses from the collections of the domain services.
+ * <p>
+ * Only the items of the requested page are mapped to DTOs. The selection keeps the limit + 1 smallest items in a
+ * bounded heap instead of sorting the whole collection. The ETag is derived from the cursors of the selected items,
+ * so a request with a matching If-None-Match header is answered with 304 before any DTO is created.
+ */
+public final class Paging {
+    @Getter
+    static final class Selection<T> {
+        private final List<T> items;
+        private final List<Cursor> cursors;
+        private final boolean hasMore;
+
+        private Selection(List<T> items, List<Cursor> cursors, boolean hasMore) {
+            this.items = items;
+            this.cursors = cursors;
+            this.hasMore = hasMore;
+        }
+    }
+
+    private Paging() {
+    }
+
+    public static <T, D> Response createPagedResponse(Request request,
+                                                      Collection<T> source,
+                                                      Function<T, Cursor> cursorFunction,
+                                                      Function<T, D> dtoMapper,
+                                                      PagingParams params) {
+        Selection<T> selection = select(source, cursorFunction, params);
+        EntityTag entityTag = createEntityTag(selection.getCursors(), selection.isHasMore());
+        Response.ResponseBuilder notModified = request.evaluatePreconditions(entityTag);
+        if (notModified != null) {
+            return notModified.tag(entityTag).build();
+        }
+
+        List<Cursor> cursors = selection.getCursors();
+        String nextCursor = cursors.isEmpty() ? params.getCursor() : cursors.get(cursors.size() - 1).encode();
+        List<D> dtos = selection.getItems().stream().map(dtoMapper).collect(Collectors.toList());
+        return Response.ok(new Page<>(dtos, nextCursor, selection.isHasMore()))
+                .tag(entityTag)
+                .build();
+    }
+
+    /**
+     * For small unpaged collections like the channel lists. The ETag is derived from the ids of the items.
+     */
+    public static <T, D> Response createListResponse(Request request,
+                                                     Collection<T> source,
+                                                     Function<T, String> idFunction,
+                                                     Function<T, D> dtoMapper) {
+        List<Cursor> cursors = source.stream()
+                .map(item -> new Cursor(0, idFunction.apply(item)))
+                .collect(Collectors.toList());
+        EntityTag entityTag = createEntityTag(cursors, false);
+        Response.ResponseBuilder notModified = request.evaluatePreconditions(entityTag);
+        if (notModified != null) {
+            return notModified.tag(entityTag).build();
+        }
+
+        List<D> dtos = source.stream().map(dtoMapper).collect(Collectors.toList());
+        return Response.ok(dtos).tag(entityTag).build();
+    }
+
+    static <T> Selection<T> select(Collection<T> source, Function<T, Cursor> cursorFunction, PagingParams params) {
+        params.validate();
+        Optional<Cursor> after = params.findCursor();
+        Optional<Long> since = params.findSince();
+        int limit = params.getLimit();
+
+        // Max-heap of the limit + 1 smallest items. The additional item tells us if there are more items.
+        Comparator<Map.Entry<Cursor, T>> byCursor = Map.Entry.comparingByKey();
+        PriorityQueue<Map.Entry<Cursor, T>> heap = new PriorityQueue<>(limit + 1, byCursor.reversed());
+        for (T item : source) {
+            Cursor cursor = cursorFunction.apply(item);
+            if (since.isPresent() && cursor.getTimestamp() < since.get()) {
+                continue;
+            }
+            if (after.isPresent() && cursor.compareTo(after.get()) <= 0) {
+                continue;
+            }
+            if (heap.size() <= limit) {
+                heap.add(new AbstractMap.SimpleImmutableEntry<>(cursor, item));
+            } else if (cursor.compareTo(heap.peek().getKey()) < 0) {
+                heap.poll();
+                heap.add(new AbstractMap.SimpleImmutableEntry<>(cursor, item));
+            }
+        }
+
+        List<Map.Entry<Cursor, T>> entries = new ArrayList<>(heap);
+        entries.sort(byCursor);
+        boolean hasMore = entries.size() > limit;
+        if (hasMore) {
+            entries = entries.subList(0, limit);
+        }
+        List<T> items = entries.stream().map(Map.Entry::getValue).collect(Collectors.toList());
+        List<Cursor> cursors = entries.stream().map(Map.Entry::getKey).collect(Collectors.toList());
+        return new Selection<>(items, cursors, hasMore);
+    }
+
+    static EntityTag createEntityTag(List<Cursor> cursors, boolean hasMore) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (Cursor cursor : cursors) {
+                digest.update(cursor.getId().getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) ':');
+                digest.update(Long.toString(cursor.getTimestamp()).getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) '\n');
+            }
+            digest.update((byte) (hasMore ? 1 : 0));
+            byte[] hash = digest.digest();
+            // Weak as the DTOs might contain data which is not covered by the cursors (e.g. a channel title)
+            return new EntityTag(Hex.encode(Arrays.copyOf(hash, 16)), true);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.rest_api.paging;
+
+import bisq.rest_api.error.StatusException;
+import io.swagger.v3.oas.annotations.Parameter;
+import jakarta.ws.rs.DefaultValue;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.Response;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.util.Optional;
+
+/**
+ * Query parameters of paged endpoints. Used as @BeanParam.
+ */
+@Getter
+@Setter
+@ToString
+public final class PagingParams {
+    public static final int DEFAULT_LIMIT = 100;
+    public static final int MAX_LIMIT = 1000;
+
+    @QueryParam("cursor")
+    @Parameter(description = "Opaque cursor from the nextCursor field of a previous page.")
+    private String cursor;
+
+    @QueryParam("limit")
+    @DefaultValue("" + DEFAULT_LIMIT)
+    @Parameter(description = "Max. number of items. Between 1 and " + MAX_LIMIT + ".")
+    private int limit = DEFAULT_LIMIT;
+
+    @QueryParam("since")
+    @Parameter(description = "Only items with a timestamp (ms since epoch) at or after that value.")
+    private Long since;
+
+    public PagingParams() {
+    }
+
+    public PagingParams(String cursor, int limit, Long since) {
+        this.cursor = cursor;
+        this.limit = limit;
+        this.since = since;
+    }
+
+    public Optional<Cursor> findCursor() {
+        return Optional.ofNullable(cursor).filter(c -> !c.isEmpty()).map(Cursor::decode);
+    }
+
+    public Optional<Long> findSince() {
+        return Optional.ofNullable(since);
+    }
+
+    public void validate() {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new StatusException(Response.Status.BAD_REQUEST, "limit must be between 1 and " + MAX_LIMIT);
+        }
+    }
+}
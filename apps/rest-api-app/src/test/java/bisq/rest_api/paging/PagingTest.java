@@ -0,0 +1,120 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.rest_api.paging;
+
+import bisq.rest_api.error.StatusException;
+import jakarta.ws.rs.core.EntityTag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class PagingTest {
+    private static final class Item {
+        private final String id;
+        private final long date;
+
+        private Item(String id, long date) {
+            this.id = id;
+            this.date = date;
+        }
+
+        private Cursor getCursor() {
+            return new Cursor(date, id);
+        }
+    }
+
+    @Test
+    void cursorRoundTrip() {
+        Cursor cursor = new Cursor(1234567L, "id:with:separators");
+        assertThat(Cursor.decode(cursor.encode())).isEqualTo(cursor);
+    }
+
+    @Test
+    void invalidCursorIsRejected() {
+        assertThatThrownBy(() -> Cursor.decode("not a cursor")).isInstanceOf(StatusException.class);
+        assertThatThrownBy(() -> Paging.select(List.of(), Item::getCursor, new PagingParams(null, 0, null)))
+                .isInstanceOf(StatusException.class);
+    }
+
+    @Test
+    void pagesCoverAllItemsInOrder() {
+        // Several items with the same date to test the id as tie-breaker
+        List<Item> items = IntStream.range(0, 1000)
+                .mapToObj(i -> new Item("id" + i, i / 3))
+                .collect(Collectors.toList());
+        List<Item> shuffled = new ArrayList<>(items);
+        Collections.shuffle(shuffled);
+
+        List<Item> collected = new ArrayList<>();
+        String cursor = null;
+        boolean hasMore = true;
+        while (hasMore) {
+            Paging.Selection<Item> selection = Paging.select(shuffled, Item::getCursor, new PagingParams(cursor, 70, null));
+            assertThat(selection.getItems().size()).isLessThanOrEqualTo(70);
+            collected.addAll(selection.getItems());
+            hasMore = selection.isHasMore();
+            List<Cursor> cursors = selection.getCursors();
+            cursor = cursors.get(cursors.size() - 1).encode();
+        }
+
+        List<Item> expected = items.stream()
+                .sorted(Comparator.comparing(Item::getCursor))
+                .collect(Collectors.toList());
+        assertThat(collected).containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    void sinceFilter() {
+        List<Item> items = IntStream.range(0, 100)
+                .mapToObj(i -> new Item("id" + i, i))
+                .collect(Collectors.toList());
+        Paging.Selection<Item> selection = Paging.select(items, Item::getCursor, new PagingParams(null, 1000, 90L));
+        assertThat(selection.getItems()).extracting(item -> item.date)
+                .containsExactly(90L, 91L, 92L, 93L, 94L, 95L, 96L, 97L, 98L, 99L);
+        assertThat(selection.isHasMore()).isFalse();
+    }
+
+    @Test
+    void entityTagDependsOnlyOnSelectedPage() {
+        List<Item> items = new ArrayList<>(List.of(new Item("a", 1), new Item("b", 2), new Item("c", 3)));
+        PagingParams firstPage = new PagingParams(null, 2, null);
+        EntityTag entityTag = createEntityTag(items, firstPage);
+        assertThat(createEntityTag(new ArrayList<>(items), firstPage)).isEqualTo(entityTag);
+
+        // An item added after the requested page does not change the page
+        items.add(new Item("d", 4));
+        assertThat(createEntityTag(items, firstPage)).isEqualTo(entityTag);
+
+        // An item added within the requested page does
+        items.add(new Item("e", 0));
+        assertThat(createEntityTag(items, firstPage)).isNotEqualTo(entityTag);
+    }
+
+    private static EntityTag createEntityTag(List<Item> items, PagingParams params) {
+        Paging.Selection<Item> selection = Paging.select(items, Item::getCursor, params);
+        return Paging.createEntityTag(selection.getCursors(), selection.isHasMore());
+    }
+}
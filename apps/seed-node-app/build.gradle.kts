@@ -1,5 +1,6 @@
 plugins {
     id("bisq.java-library")
+    id("bisq.java-integration-tests")
     application
 }
 
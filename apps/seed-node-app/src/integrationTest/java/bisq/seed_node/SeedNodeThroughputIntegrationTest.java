@@ -0,0 +1,228 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.seed_node;
+
+import bisq.common.util.FileUtils;
+import bisq.common.util.NetworkUtils;
+import bisq.network.common.Address;
+import bisq.network.common.TransportType;
+import bisq.network.identity.NetworkId;
+import bisq.network.p2p.message.EnvelopePayloadMessage;
+import bisq.network.p2p.node.CloseReason;
+import bisq.network.p2p.node.Connection;
+import bisq.network.p2p.node.Node;
+import bisq.network.p2p.services.peer_group.keep_alive.Ping;
+import bisq.network.p2p.services.peer_group.keep_alive.Pong;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Throughput harness for seed nodes running the relay profile.
+ * Starts a seed node and several peers in-process over clearnet loopback. We measure the bootstrap time (until the
+ * peer has an outbound connection to the seed node) and the message throughput by sending a fixed number of Ping
+ * messages from all peers concurrently to the seed node and waiting for all Pong responses. Ping and Pong are not
+ * subject to the connection throttle, so the result reflects the transport and dispatching overhead only.
+ * Results are logged. We only assert that all nodes bootstrap and all responses arrive within the timeouts, as the
+ * absolute numbers depend on the machine.
+ */
+@Slf4j
+public class SeedNodeThroughputIntegrationTest {
+    private static final int NUM_PEERS = 3;
+    private static final int NUM_WARM_UP_PINGS = 200;
+    private static final int NUM_PINGS = 2000;
+    private static final long BOOTSTRAP_TIMEOUT = TimeUnit.SECONDS.toMillis(120);
+    private static final long RESPONSE_TIMEOUT_IN_SEC = 120;
+
+    private final List<SeedNodeApplicationService> applicationServices = new ArrayList<>();
+    private final Path tmpDir;
+
+    public SeedNodeThroughputIntegrationTest() throws IOException {
+        tmpDir = FileUtils.createTempDir();
+    }
+
+    @AfterEach
+    void shutdown() {
+        applicationServices.forEach(service -> {
+            try {
+                service.shutdown().join();
+            } catch (Exception e) {
+                log.error("Shutdown failed", e);
+            }
+        });
+    }
+
+    @Test
+    void measureBootstrapTimeAndThroughput() throws Exception {
+        int seedPort = NetworkUtils.findFreeSystemPort();
+        Address seedAddress = Address.localHost(seedPort);
+
+        long ts = System.currentTimeMillis();
+        SeedNodeApplicationService seed = createApplicationService("seed", seedPort, seedPort);
+        seed.readAllPersisted().join();
+        assertThat(seed.initialize().join()).isTrue();
+        log.info("Seed node initialized after {} ms", System.currentTimeMillis() - ts);
+
+        List<SeedNodeApplicationService> peers = new ArrayList<>();
+        for (int i = 0; i < NUM_PEERS; i++) {
+            peers.add(createApplicationService("peer_" + i, NetworkUtils.findFreeSystemPort(), seedPort));
+        }
+
+        List<CompletableFuture<Long>> bootstrapTimes = new ArrayList<>();
+        for (SeedNodeApplicationService peer : peers) {
+            bootstrapTimes.add(CompletableFuture.supplyAsync(() -> bootstrap(peer, seedAddress)));
+        }
+        List<Connection> connectionsToSeed = new ArrayList<>();
+        for (int i = 0; i < NUM_PEERS; i++) {
+            long bootstrapTime = bootstrapTimes.get(i).join();
+            log.info("Peer {} bootstrapped after {} ms", i, bootstrapTime);
+            connectionsToSeed.add(findConnection(peers.get(i), seedAddress).orElseThrow());
+        }
+
+        PongCounter pongCounter = new PongCounter();
+        peers.forEach(peer -> peer.getNetworkService().addDefaultNodeListener(pongCounter));
+
+        sendPings(peers, connectionsToSeed, pongCounter, 0, NUM_WARM_UP_PINGS);
+
+        ts = System.currentTimeMillis();
+        sendPings(peers, connectionsToSeed, pongCounter, NUM_WARM_UP_PINGS, NUM_PINGS);
+        long duration = Math.max(1, System.currentTimeMillis() - ts);
+
+        int numRoundTrips = NUM_PEERS * NUM_PINGS;
+        log.info("{} peers sent {} Pings to the seed node and received all Pongs in {} ms. " +
+                        "Round trips/sec: {}; messages/sec: {}",
+                NUM_PEERS, numRoundTrips, duration,
+                numRoundTrips * 1000L / duration,
+                2 * numRoundTrips * 1000L / duration);
+    }
+
+    private SeedNodeApplicationService createApplicationService(String name, int port, int seedPort) throws IOException {
+        Path dataDir = tmpDir.resolve(name);
+        Files.createDirectories(dataDir);
+        String customConfig = "application {\n" +
+                "    appName = \"" + name + "\"\n" +
+                "    relayProfile.enabled = true\n" +
+                "    persistence.durableWrites = false\n" +
+                "    network {\n" +
+                "        supportedTransportTypes = [\"CLEAR\"]\n" +
+                "        seedAddressByTransportType.clear = [\"127.0.0.1:" + seedPort + "\"]\n" +
+                "        configByTransportType.clear.defaultNodePort = " + port + "\n" +
+                "        configByTransportType.clear.devModeDelayInMs = 0\n" +
+                "    }\n" +
+                "}\n";
+        Files.writeString(dataDir.resolve("bisq.conf"), customConfig);
+        SeedNodeApplicationService applicationService = new SeedNodeApplicationService(new String[]{"--data-dir=" + dataDir});
+        applicationServices.add(applicationService);
+        return applicationService;
+    }
+
+    private static long bootstrap(SeedNodeApplicationService peer, Address seedAddress) {
+        long ts = System.currentTimeMillis();
+        peer.readAllPersisted().join();
+        assertThat(peer.initialize().join()).isTrue();
+        while (findConnection(peer, seedAddress).isEmpty()) {
+            if (System.currentTimeMillis() - ts > BOOTSTRAP_TIMEOUT) {
+                throw new IllegalStateException("Peer did not connect to seed node within timeout");
+            }
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        }
+        return System.currentTimeMillis() - ts;
+    }
+
+    private static Optional<Connection> findConnection(SeedNodeApplicationService peer, Address seedAddress) {
+        return peer.getNetworkService().findDefaultNode(TransportType.CLEAR)
+                .flatMap(node -> node.getActiveOutboundConnections()
+                        .filter(connection -> connection.getPeerAddress().equals(seedAddress))
+                        .map(connection -> (Connection) connection)
+                        .findAny());
+    }
+
+    private static void sendPings(List<SeedNodeApplicationService> peers,
+                                  List<Connection> connectionsToSeed,
+                                  PongCounter pongCounter,
+                                  int startNonce,
+                                  int numPings) throws InterruptedException {
+        CountDownLatch latch = pongCounter.expect(peers.size(), startNonce, numPings);
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (int i = 0; i < peers.size(); i++) {
+            Node node = peers.get(i).getNetworkService().findDefaultNode(TransportType.CLEAR).orElseThrow();
+            Connection connection = connectionsToSeed.get(i);
+            int nonceOffset = i * PongCounter.NONCE_RANGE_PER_PEER;
+            futures.add(CompletableFuture.runAsync(() -> {
+                for (int nonce = startNonce; nonce < startNonce + numPings; nonce++) {
+                    node.send(new Ping(nonceOffset + nonce), connection);
+                }
+            }));
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+        assertThat(latch.await(RESPONSE_TIMEOUT_IN_SEC, TimeUnit.SECONDS)).isTrue();
+    }
+
+    private static class PongCounter implements Node.Listener {
+        private static final int NONCE_RANGE_PER_PEER = 1_000_000;
+
+        private final Map<Integer, Boolean> pendingNonces = new ConcurrentHashMap<>();
+        private volatile CountDownLatch latch = new CountDownLatch(0);
+
+        CountDownLatch expect(int numPeers, int startNonce, int numPings) {
+            pendingNonces.clear();
+            for (int i = 0; i < numPeers; i++) {
+                for (int nonce = startNonce; nonce < startNonce + numPings; nonce++) {
+                    pendingNonces.put(i * NONCE_RANGE_PER_PEER + nonce, true);
+                }
+            }
+            latch = new CountDownLatch(pendingNonces.size());
+            return latch;
+        }
+
+        @Override
+        public void onMessage(EnvelopePayloadMessage envelopePayloadMessage, Connection connection, NetworkId networkId) {
+            if (envelopePayloadMessage instanceof Pong &&
+                    pendingNonces.remove(((Pong) envelopePayloadMessage).getRequestNonce()) != null) {
+                latch.countDown();
+            }
+        }
+
+        @Override
+        public void onConnection(Connection connection) {
+        }
+
+        @Override
+        public void onDisconnect(Connection connection, CloseReason closeReason) {
+        }
+    }
+}
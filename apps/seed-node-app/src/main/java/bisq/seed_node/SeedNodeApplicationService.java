@@ -46,15 +46,21 @@ public class SeedNodeApplicationService extends ApplicationService {
     protected final IdentityService identityService;
     protected final SecurityService securityService;
     private final SeedNodeService seedNodeService;
-    private final BondedRolesService bondedRolesService;
+    // If the relay profile is enabled we only run the network, storage and peer management services. No application
+    // level listeners are registered at the data service and no periodic requests to external services are done.
+    private final boolean isRelayProfile;
+    private final Optional<BondedRolesService> bondedRolesService;
 
     public SeedNodeApplicationService(String[] args) {
         super("seed_node", args);
 
+        isRelayProfile = hasConfig("relayProfile") && getConfig("relayProfile").getBoolean("enabled");
+        log.info("Relay profile enabled: {}", isRelayProfile);
+
         securityService = new SecurityService(persistenceService, SecurityService.Config.from(getConfig("security")));
 
         NetworkServiceConfig networkServiceConfig = NetworkServiceConfig.from(config.getBaseDir(),
-                getConfig("network"));
+                getNetworkConfig());
         networkService = new NetworkService(networkServiceConfig,
                 persistenceService,
                 securityService.getKeyBundleService(),
@@ -65,10 +71,14 @@ public class SeedNodeApplicationService extends ApplicationService {
                 securityService.getKeyBundleService(),
                 networkService);
 
-        bondedRolesService = new BondedRolesService(BondedRolesService.Config.from(getConfig("bondedRoles")),
-                config.getVersion(),
-                persistenceService,
-                networkService);
+        if (!isRelayProfile) {
+            bondedRolesService = Optional.of(new BondedRolesService(BondedRolesService.Config.from(getConfig("bondedRoles")),
+                    config.getVersion(),
+                    persistenceService,
+                    networkService));
+        } else {
+            bondedRolesService = Optional.empty();
+        }
 
         Optional<SeedNodeService.Config> seedNodeConfig = hasConfig("seedNode") ? Optional.of(SeedNodeService.Config.from(getConfig("seedNode"))) : Optional.empty();
         seedNodeService = new SeedNodeService(seedNodeConfig, networkService, identityService, securityService.getKeyBundleService());
@@ -79,14 +89,15 @@ public class SeedNodeApplicationService extends ApplicationService {
         return securityService.initialize()
                 .thenCompose(result -> networkService.initialize())
                 .thenCompose(result -> identityService.initialize())
-                .thenCompose(result -> bondedRolesService.initialize())
+                .thenCompose(result -> bondedRolesService.map(BondedRolesService::initialize)
+                        .orElse(CompletableFuture.completedFuture(true)))
                 .thenCompose(result -> seedNodeService.initialize())
                 .orTimeout(5, TimeUnit.MINUTES)
                 .whenComplete((success, throwable) -> {
                     if (success) {
-                        bondedRolesService.getDifficultyAdjustmentService().getMostRecentValueOrDefault().addObserver(mostRecentValueOrDefault -> {
-                            networkService.getNetworkLoadService().ifPresent(service -> service.setDifficultyAdjustmentFactor(mostRecentValueOrDefault));
-                        });
+                        bondedRolesService.ifPresent(service -> service.getDifficultyAdjustmentService().getMostRecentValueOrDefault().addObserver(mostRecentValueOrDefault -> {
+                            networkService.getNetworkLoadService().ifPresent(networkLoadService -> networkLoadService.setDifficultyAdjustmentFactor(mostRecentValueOrDefault));
+                        }));
                         log.info("SeedNodeApplicationService initialized");
                     } else {
                         log.error("Initializing SeedNodeApplicationService failed", throwable);
@@ -99,7 +110,8 @@ public class SeedNodeApplicationService extends ApplicationService {
         log.info("shutdown");
         // We shut down services in opposite order as they are initialized
         return supplyAsync(() -> seedNodeService.shutdown()
-                .thenCompose(result -> bondedRolesService.shutdown())
+                .thenCompose(result -> bondedRolesService.map(BondedRolesService::shutdown)
+                        .orElse(CompletableFuture.completedFuture(true)))
                 .thenCompose(result -> identityService.shutdown())
                 .thenCompose(result -> networkService.shutdown())
                 .thenCompose(result -> securityService.shutdown())
@@ -116,4 +128,12 @@ public class SeedNodeApplicationService extends ApplicationService {
                 })
                 .join());
     }
+
+    private com.typesafe.config.Config getNetworkConfig() {
+        com.typesafe.config.Config networkConfig = getConfig("network");
+        if (isRelayProfile && hasConfig("relayProfile.network")) {
+            return getConfig("relayProfile.network").withFallback(networkConfig);
+        }
+        return networkConfig;
+    }
 }
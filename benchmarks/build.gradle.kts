@@ -0,0 +1,14 @@
+plugins {
+    id("bisq.java-library")
+    id("bisq.jmh")
+}
+
+dependencies {
+    implementation(project(":persistence"))
+    implementation(project(":security"))
+    implementation(project(":chat"))
+
+    implementation("network:network")
+
+    implementation(libs.protobuf.java)
+}
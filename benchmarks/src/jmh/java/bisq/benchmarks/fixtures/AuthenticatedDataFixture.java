@@ -0,0 +1,93 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.benchmarks.fixtures;
+
+import bisq.chat.common.CommonPublicChatMessage;
+import bisq.common.data.ByteArray;
+import bisq.network.p2p.services.data.inventory.filter.hash_set.HashSetFilter;
+import bisq.network.p2p.services.data.inventory.filter.hash_set.HashSetFilterEntry;
+import bisq.network.p2p.services.data.storage.StorageService;
+import bisq.network.p2p.services.data.storage.auth.AddAuthenticatedDataRequest;
+import bisq.network.p2p.services.data.storage.auth.AuthenticatedData;
+import bisq.network.p2p.services.data.storage.auth.AuthenticatedSequentialData;
+import bisq.network.p2p.services.data.storage.auth.DefaultAuthenticatedData;
+import bisq.persistence.PersistenceService;
+import bisq.security.DigestUtil;
+import bisq.security.SignatureUtil;
+
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Signed AddAuthenticatedDataRequests of chat messages, distributed to stores of at most
+ * ShardedChatMessage.MAX_ENTRIES_PER_STORE entries, and inventory filters of peers knowing a part of them.
+ */
+public final class AuthenticatedDataFixture {
+    private AuthenticatedDataFixture() {
+    }
+
+    public static List<AddAuthenticatedDataRequest> createAddRequests(int numEntries, KeyPair keyPair, long seed)
+            throws GeneralSecurityException {
+        byte[] pubKeyHash = DigestUtil.hash(keyPair.getPublic().getEncoded());
+        List<CommonPublicChatMessage> chatHistory = ChatHistoryFixture.createChatHistory(numEntries, keyPair.getPublic(), seed);
+        List<AddAuthenticatedDataRequest> requests = new ArrayList<>(numEntries);
+        for (int i = 0; i < numEntries; i++) {
+            CommonPublicChatMessage chatMessage = chatHistory.get(i);
+            int storeIndex = i / ShardedChatMessage.MAX_ENTRIES_PER_STORE;
+            AuthenticatedData authenticatedData = new DefaultAuthenticatedData(new ShardedChatMessage(chatMessage, storeIndex));
+            AuthenticatedSequentialData data = new AuthenticatedSequentialData(authenticatedData,
+                    1,
+                    pubKeyHash,
+                    chatMessage.getDate());
+            byte[] signature = SignatureUtil.sign(data.serializeForHash(), keyPair.getPrivate());
+            requests.add(new AddAuthenticatedDataRequest(data, signature, keyPair.getPublic()));
+        }
+        return requests;
+    }
+
+    /**
+     * Adds the requests to a new StorageService persisting to dataDir. The requests pass the same validation
+     * (including the signature check) as requests received from the network.
+     */
+    public static StorageService createStorageService(Path dataDir, List<AddAuthenticatedDataRequest> requests) {
+        StorageService storageService = new StorageService(new PersistenceService(dataDir.toString()));
+        requests.forEach(request -> storageService.onAddDataRequest(request).join()
+                .orElseThrow(() -> new IllegalStateException("Request was not added to the store")));
+        return storageService;
+    }
+
+    /**
+     * @return The filter of a peer knowing the given share of the entries of the storageService.
+     */
+    public static HashSetFilter createFilter(StorageService storageService, double knownShare, long seed) {
+        Random random = new Random(seed);
+        List<HashSetFilterEntry> filterEntries = new ArrayList<>();
+        storageService.getAuthenticatedDataStoreMaps()
+                .flatMap(map -> map.entrySet().stream())
+                .filter(entry -> random.nextDouble() < knownShare)
+                .forEach(entry -> {
+                    ByteArray key = entry.getKey();
+                    filterEntries.add(new HashSetFilterEntry(key.getBytes(), entry.getValue().getSequenceNumber()));
+                });
+        return new HashSetFilter(filterEntries);
+    }
+}
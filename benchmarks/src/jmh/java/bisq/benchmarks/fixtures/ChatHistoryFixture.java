@@ -0,0 +1,80 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.benchmarks.fixtures;
+
+import bisq.chat.ChatChannelDomain;
+import bisq.chat.common.CommonPublicChatMessage;
+import bisq.common.encoding.Hex;
+import bisq.security.DigestUtil;
+
+import java.security.PublicKey;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+
+/**
+ * Synthetic chat history of public discussion channels. Text lengths follow roughly the distribution of real chats:
+ * mostly short messages with a few long ones.
+ */
+public final class ChatHistoryFixture {
+    private static final String[] CHANNEL_IDS = {"discussion.bisq", "discussion.bitcoin", "discussion.markets",
+            "discussion.offTopic", "events.conferences", "events.meetups", "support.support", "support.questions"};
+    private static final String WORDS = "bitcoin offer trade price payment bank transfer seller buyer reputation " +
+            "mediator fee market account security wallet address confirm release btc usd eur sepa zelle revolut";
+
+    private ChatHistoryFixture() {
+    }
+
+    public static List<CommonPublicChatMessage> createChatHistory(int numMessages, PublicKey authorPublicKey, long seed) {
+        Random random = new Random(seed);
+        String authorUserProfileId = Hex.encode(DigestUtil.hash(authorPublicKey.getEncoded()));
+        String[] words = WORDS.split(" ");
+        long now = System.currentTimeMillis();
+        List<CommonPublicChatMessage> messages = new ArrayList<>(numMessages);
+        for (int i = 0; i < numMessages; i++) {
+            String channelId = CHANNEL_IDS[random.nextInt(CHANNEL_IDS.length)];
+            ChatChannelDomain chatChannelDomain = channelId.startsWith("events") ? ChatChannelDomain.EVENTS :
+                    channelId.startsWith("support") ? ChatChannelDomain.SUPPORT : ChatChannelDomain.DISCUSSION;
+            String text = createText(random, words);
+            // Spread over the last 9 days so that the messages are not expired (TTL is 10 days)
+            long date = now - random.nextInt(9 * 24 * 60 * 60) * 1000L;
+            messages.add(new CommonPublicChatMessage(chatChannelDomain,
+                    channelId,
+                    authorUserProfileId,
+                    text,
+                    Optional.empty(),
+                    date,
+                    false));
+        }
+        return messages;
+    }
+
+    private static String createText(Random random, String[] words) {
+        // 80% up to 20 words, 20% up to 200 words
+        int numWords = random.nextInt(10) < 8 ? 1 + random.nextInt(20) : 1 + random.nextInt(200);
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < numWords; i++) {
+            if (i > 0) {
+                sb.append(' ');
+            }
+            sb.append(words[random.nextInt(words.length)]);
+        }
+        return sb.toString();
+    }
+}
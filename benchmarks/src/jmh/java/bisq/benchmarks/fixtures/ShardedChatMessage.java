@@ -0,0 +1,88 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.benchmarks.fixtures;
+
+import bisq.chat.common.CommonPublicChatMessage;
+import bisq.network.p2p.services.data.storage.DistributedData;
+import bisq.network.p2p.services.data.storage.MetaData;
+
+import java.util.Objects;
+
+/**
+ * Wraps a chat message to distribute it to one of several stores, so that a StorageService can hold more entries than
+ * the max map size of a single store. Serializes as the wrapped chat message.
+ */
+public final class ShardedChatMessage implements DistributedData {
+    public static final int MAX_ENTRIES_PER_STORE = MetaData.MAX_MAP_SIZE_10_000;
+
+    private final CommonPublicChatMessage chatMessage;
+    private final MetaData metaData;
+
+    public ShardedChatMessage(CommonPublicChatMessage chatMessage, int storeIndex) {
+        this.chatMessage = chatMessage;
+        metaData = new MetaData(MetaData.TTL_10_DAYS,
+                MetaData.LOW_PRIORITY,
+                "BenchmarkChatMessage" + storeIndex,
+                MAX_ENTRIES_PER_STORE);
+
+        verify();
+    }
+
+    @Override
+    public void verify() {
+        chatMessage.verify();
+    }
+
+    @Override
+    public bisq.chat.protobuf.ChatMessage toProto(boolean serializeForHash) {
+        return chatMessage.toProto(serializeForHash);
+    }
+
+    @Override
+    public bisq.chat.protobuf.ChatMessage.Builder getBuilder(boolean serializeForHash) {
+        return chatMessage.getBuilder(serializeForHash);
+    }
+
+    @Override
+    public MetaData getMetaData() {
+        return metaData;
+    }
+
+    @Override
+    public boolean isDataInvalid(byte[] pubKeyHash) {
+        return chatMessage.isDataInvalid(pubKeyHash);
+    }
+
+    @Override
+    public double getCostFactor() {
+        return chatMessage.getCostFactor();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof ShardedChatMessage)) return false;
+        ShardedChatMessage that = (ShardedChatMessage) o;
+        return chatMessage.equals(that.chatMessage) && metaData.equals(that.metaData);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(chatMessage, metaData);
+    }
+}
@@ -0,0 +1,208 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.benchmarks.fsm;
+
+import bisq.common.fsm.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fsm.handle with a linear protocol of the size of the Bisq Easy trade protocols. Events arriving in order are
+ * the common case, events arriving in reverse order exercise the event queue for out-of-order events.
+ * Each invocation creates a new Fsm as the states only move forward. The Fsm logs each transition at info level,
+ * which is part of the measured cost as in production.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FsmBenchmark {
+    private List<Event> eventsInOrder;
+    private List<Event> eventsInReverseOrder;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        eventsInOrder = List.of(new TakeOfferEvent(),
+                new AccountDataEvent(),
+                new PaymentSentEvent(),
+                new PaymentReceivedEvent(),
+                new BtcSentEvent(),
+                new BtcConfirmedEvent(),
+                new CompletedEvent());
+        eventsInReverseOrder = new ArrayList<>(eventsInOrder);
+        Collections.reverse(eventsInReverseOrder);
+    }
+
+    @Benchmark
+    public State create() {
+        return new TradeFsm().getModel().getState();
+    }
+
+    @Benchmark
+    public State handleInOrder() {
+        TradeFsm fsm = new TradeFsm();
+        eventsInOrder.forEach(fsm::handle);
+        return fsm.getModel().getState();
+    }
+
+    @Benchmark
+    public State handleInReverseOrder() {
+        TradeFsm fsm = new TradeFsm();
+        eventsInReverseOrder.forEach(fsm::handle);
+        return fsm.getModel().getState();
+    }
+
+    private enum TradeState implements State {
+        INIT,
+        OFFER_TAKEN,
+        ACCOUNT_DATA_SENT,
+        PAYMENT_SENT,
+        PAYMENT_RECEIVED,
+        BTC_SENT,
+        BTC_CONFIRMED,
+        COMPLETED(true),
+        FAILED(true);
+
+        private final boolean isFinalState;
+
+        TradeState() {
+            this(false);
+        }
+
+        TradeState(boolean isFinalState) {
+            this.isFinalState = isFinalState;
+        }
+
+        @Override
+        public boolean isFinalState() {
+            return isFinalState;
+        }
+
+        @Override
+        public int getOrdinal() {
+            return ordinal();
+        }
+    }
+
+    private static final class TradeModel extends FsmModel {
+        private int numHandledEvents;
+
+        private TradeModel() {
+            super(TradeState.INIT);
+        }
+    }
+
+    private static final class TradeFsm extends Fsm<TradeModel> {
+        private TradeFsm() {
+            super(new TradeModel());
+        }
+
+        @Override
+        protected void configErrorHandling() {
+            fromAny()
+                    .on(FsmErrorEvent.class)
+                    .to(TradeState.FAILED);
+        }
+
+        @Override
+        protected void configTransitions() {
+            from(TradeState.INIT)
+                    .on(TakeOfferEvent.class)
+                    .run(TradeEventHandler.class)
+                    .to(TradeState.OFFER_TAKEN)
+                    .then()
+                    .from(TradeState.OFFER_TAKEN)
+                    .on(AccountDataEvent.class)
+                    .run(TradeEventHandler.class)
+                    .to(TradeState.ACCOUNT_DATA_SENT)
+                    .then()
+                    .from(TradeState.ACCOUNT_DATA_SENT)
+                    .on(PaymentSentEvent.class)
+                    .run(TradeEventHandler.class)
+                    .to(TradeState.PAYMENT_SENT)
+                    .then()
+                    .from(TradeState.PAYMENT_SENT)
+                    .on(PaymentReceivedEvent.class)
+                    .run(TradeEventHandler.class)
+                    .to(TradeState.PAYMENT_RECEIVED)
+                    .then()
+                    .from(TradeState.PAYMENT_RECEIVED)
+                    .on(BtcSentEvent.class)
+                    .run(TradeEventHandler.class)
+                    .to(TradeState.BTC_SENT)
+                    .then()
+                    .from(TradeState.BTC_SENT)
+                    .on(BtcConfirmedEvent.class)
+                    .run(TradeEventHandler.class)
+                    .to(TradeState.BTC_CONFIRMED)
+                    .then()
+                    .from(TradeState.BTC_CONFIRMED)
+                    .on(CompletedEvent.class)
+                    .run(TradeEventHandler.class)
+                    .to(TradeState.COMPLETED);
+        }
+
+        // As in the trade protocols the handlers are created by reflection
+        @Override
+        protected EventHandler newEventHandlerFromClass(Class<? extends EventHandler> handlerClass)
+                throws NoSuchMethodException, InvocationTargetException, InstantiationException, IllegalAccessException {
+            return handlerClass.getDeclaredConstructor(TradeModel.class).newInstance(model);
+        }
+    }
+
+    public static final class TradeEventHandler implements EventHandler {
+        private final TradeModel model;
+
+        public TradeEventHandler(TradeModel model) {
+            this.model = model;
+        }
+
+        @Override
+        public void handle(Event event) {
+            model.numHandledEvents++;
+        }
+    }
+
+    private static final class TakeOfferEvent implements Event {
+    }
+
+    private static final class AccountDataEvent implements Event {
+    }
+
+    private static final class PaymentSentEvent implements Event {
+    }
+
+    private static final class PaymentReceivedEvent implements Event {
+    }
+
+    private static final class BtcSentEvent implements Event {
+    }
+
+    private static final class BtcConfirmedEvent implements Event {
+    }
+
+    private static final class CompletedEvent implements Event {
+    }
+}
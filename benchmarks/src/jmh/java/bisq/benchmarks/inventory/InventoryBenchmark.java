@@ -0,0 +1,97 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.benchmarks.inventory;
+
+import bisq.benchmarks.fixtures.AuthenticatedDataFixture;
+import bisq.common.util.ByteUnit;
+import bisq.common.util.FileUtils;
+import bisq.network.p2p.services.data.inventory.Inventory;
+import bisq.network.p2p.services.data.inventory.InventoryEntry;
+import bisq.network.p2p.services.data.inventory.filter.hash_set.HashSetFilter;
+import bisq.network.p2p.services.data.inventory.filter.hash_set.HashSetFilterService;
+import bisq.network.p2p.services.data.storage.StorageService;
+import bisq.security.keys.KeyGeneration;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Inventory creation at the responding peer (FilterService.createInventory and the streamed variant
+ * getMissingEntries) and the filter creation at the requesting peer.
+ * A knownShare of 0 is the request of a new node, 0.9 of a node which was offline for a while and 1 of a node which
+ * is in sync.
+ * The stores are filled through StorageService.onAddDataRequest, thus the setup includes the signature checks and
+ * takes a while for 100000 entries.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class InventoryBenchmark {
+    // Default maxSizeInKb of the inventory config
+    private static final int MAX_SIZE = (int) ByteUnit.KB.toBytes(2000);
+
+    @Param({"10000", "100000"})
+    public int numEntries;
+
+    @Param({"0", "0.9", "1"})
+    public double knownShare;
+
+    private Path dataDir;
+    private StorageService storageService;
+    private HashSetFilterService filterService;
+    private HashSetFilter peersFilter;
+
+    @Setup(Level.Trial)
+    public void setup() throws GeneralSecurityException, IOException {
+        dataDir = Files.createTempDirectory("inventory-benchmark");
+        storageService = AuthenticatedDataFixture.createStorageService(dataDir,
+                AuthenticatedDataFixture.createAddRequests(numEntries, KeyGeneration.generateKeyPair(), 42));
+        filterService = new HashSetFilterService(storageService, MAX_SIZE);
+        peersFilter = AuthenticatedDataFixture.createFilter(storageService, knownShare, 42);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        storageService.shutdown();
+        FileUtils.deleteFileOrDirectory(dataDir.toFile());
+    }
+
+    @Benchmark
+    public Inventory createInventory() {
+        return filterService.createInventory(peersFilter);
+    }
+
+    @Benchmark
+    public List<InventoryEntry> getMissingEntries() {
+        return filterService.getMissingEntries(peersFilter, Optional.empty());
+    }
+
+    @Benchmark
+    public HashSetFilter getFilter() {
+        return filterService.getFilter();
+    }
+}
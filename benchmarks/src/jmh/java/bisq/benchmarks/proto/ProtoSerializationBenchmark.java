@@ -0,0 +1,85 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.benchmarks.proto;
+
+import bisq.benchmarks.fixtures.AuthenticatedDataFixture;
+import bisq.benchmarks.fixtures.ChatHistoryFixture;
+import bisq.chat.common.CommonPublicChatMessage;
+import bisq.network.p2p.services.data.storage.auth.AddAuthenticatedDataRequest;
+import bisq.security.keys.KeyGeneration;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Proto.serialize and Proto.serializeForHash of a chat history and of the AddAuthenticatedDataRequests wrapping it.
+ * serializeForHash is called for each added entry (store key and signature check), serialize and getSerializedSize
+ * for each sent message and each entry of an inventory.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProtoSerializationBenchmark {
+    private static final int NUM_MESSAGES = 1000;
+
+    private List<CommonPublicChatMessage> chatHistory;
+    private List<AddAuthenticatedDataRequest> addRequests;
+
+    @Setup(Level.Trial)
+    public void setup() throws GeneralSecurityException {
+        KeyPair keyPair = KeyGeneration.generateKeyPair();
+        chatHistory = ChatHistoryFixture.createChatHistory(NUM_MESSAGES, keyPair.getPublic(), 42);
+        addRequests = AuthenticatedDataFixture.createAddRequests(NUM_MESSAGES, keyPair, 42);
+    }
+
+    @Benchmark
+    public void serializeChatMessages(Blackhole blackhole) {
+        chatHistory.forEach(message -> blackhole.consume(message.serialize()));
+    }
+
+    @Benchmark
+    public void serializeChatMessagesForHash(Blackhole blackhole) {
+        chatHistory.forEach(message -> blackhole.consume(message.serializeForHash()));
+    }
+
+    @Benchmark
+    public void serializeAddRequests(Blackhole blackhole) {
+        addRequests.forEach(request -> blackhole.consume(request.serialize()));
+    }
+
+    @Benchmark
+    public void serializeAddRequestsForHash(Blackhole blackhole) {
+        addRequests.forEach(request -> blackhole.consume(request.serializeForHash()));
+    }
+
+    @Benchmark
+    public long getSerializedSizeOfAddRequests() {
+        long size = 0;
+        for (AddAuthenticatedDataRequest request : addRequests) {
+            size += request.getSerializedSize();
+        }
+        return size;
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.benchmarks.security;
+
+import bisq.security.pow.ProofOfWork;
+import bisq.security.pow.hashcash.HashCashProofOfWorkService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * HashCash minting as done for the authorization token of each sent message, and its verification at the receiver.
+ * The number of hashes until a solution is found varies a lot, thus each invocation uses another challenge and the
+ * result is the average over many solutions.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class HashCashBenchmark {
+    @Param({"1024", "65536"})
+    public double difficulty;
+
+    private final HashCashProofOfWorkService proofOfWorkService = new HashCashProofOfWorkService();
+    private byte[] payload;
+    private ProofOfWork proofOfWork;
+    private long challengeCounter;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        // Size of the hash of a network message as used as payload of the authorization token
+        payload = new byte[20];
+        new Random(42).nextBytes(payload);
+        proofOfWork = proofOfWorkService.mint(payload, nextChallenge(), difficulty);
+    }
+
+    @Benchmark
+    public ProofOfWork mint() {
+        return proofOfWorkService.mint(payload, nextChallenge(), difficulty);
+    }
+
+    @Benchmark
+    public boolean verify() {
+        return proofOfWorkService.verify(proofOfWork);
+    }
+
+    private byte[] nextChallenge() {
+        return proofOfWorkService.getChallenge("peerAddress", String.valueOf(challengeCounter++));
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.benchmarks.security;
+
+import bisq.security.SignatureUtil;
+import bisq.security.keys.KeyGeneration;
+import org.openjdk.jmh.annotations.*;
+
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ECDSA signing and verification as done for each authenticated data and mailbox request. Verification is on the
+ * hot path of the inventory sync where each received entry gets verified.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SignatureBenchmark {
+    // Typical size of the serialized AuthenticatedSequentialData of a chat message
+    private static final int MESSAGE_SIZE = 500;
+
+    private KeyPair keyPair;
+    private byte[] message;
+    private byte[] signature;
+
+    @Setup(Level.Trial)
+    public void setup() throws GeneralSecurityException {
+        keyPair = KeyGeneration.generateKeyPair();
+        message = new byte[MESSAGE_SIZE];
+        new Random(42).nextBytes(message);
+        signature = SignatureUtil.sign(message, keyPair.getPrivate());
+    }
+
+    @Benchmark
+    public byte[] sign() throws GeneralSecurityException {
+        return SignatureUtil.sign(message, keyPair.getPrivate());
+    }
+
+    @Benchmark
+    public boolean verify() throws GeneralSecurityException {
+        return SignatureUtil.verify(message, signature, keyPair.getPublic());
+    }
+}
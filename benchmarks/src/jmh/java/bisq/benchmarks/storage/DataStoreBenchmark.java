@@ -0,0 +1,99 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.benchmarks.storage;
+
+import bisq.benchmarks.fixtures.AuthenticatedDataFixture;
+import bisq.common.data.ByteArray;
+import bisq.network.p2p.services.data.storage.DataStore;
+import bisq.network.p2p.services.data.storage.auth.AddAuthenticatedDataRequest;
+import bisq.network.p2p.services.data.storage.auth.AuthenticatedDataRequest;
+import bisq.security.DigestUtil;
+import bisq.security.keys.KeyGeneration;
+import org.openjdk.jmh.annotations.*;
+
+import java.security.GeneralSecurityException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DataStore map operations with stores of authenticated chat message entries: filling a store, lookups with keys
+ * created from received data, cloning as done for each inventory and persistence, and the serialization of the
+ * whole store at persisting.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DataStoreBenchmark {
+    @Param({"10000", "100000"})
+    public int numEntries;
+
+    private byte[][] keys;
+    private AddAuthenticatedDataRequest[] requests;
+    private DataStore<AuthenticatedDataRequest> dataStore;
+
+    @Setup(Level.Trial)
+    public void setup() throws GeneralSecurityException {
+        List<AddAuthenticatedDataRequest> addRequests = AuthenticatedDataFixture.createAddRequests(numEntries,
+                KeyGeneration.generateKeyPair(), 42);
+        keys = new byte[numEntries][];
+        requests = new AddAuthenticatedDataRequest[numEntries];
+        dataStore = new DataStore<>();
+        for (int i = 0; i < numEntries; i++) {
+            AddAuthenticatedDataRequest request = addRequests.get(i);
+            keys[i] = DigestUtil.hash(request.getAuthenticatedSequentialData().getAuthenticatedData().serializeForHash());
+            requests[i] = request;
+            dataStore.getMap().put(new ByteArray(keys[i]), request);
+        }
+    }
+
+    @Benchmark
+    public int put() {
+        DataStore<AuthenticatedDataRequest> store = new DataStore<>();
+        Map<ByteArray, AuthenticatedDataRequest> map = store.getMap();
+        for (int i = 0; i < keys.length; i++) {
+            map.put(new ByteArray(keys[i]), requests[i]);
+        }
+        return map.size();
+    }
+
+    @Benchmark
+    public int get() {
+        Map<ByteArray, AuthenticatedDataRequest> map = dataStore.getMap();
+        int found = 0;
+        for (byte[] key : keys) {
+            if (map.get(new ByteArray(key)) != null) {
+                found++;
+            }
+        }
+        return found;
+    }
+
+    @Benchmark
+    public DataStore<AuthenticatedDataRequest> getClone() {
+        return dataStore.getClone();
+    }
+
+    @Benchmark
+    public byte[] serialize() {
+        return dataStore.serialize();
+    }
+}
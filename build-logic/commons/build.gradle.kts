@@ -8,4 +8,5 @@ repositories {
 
 dependencies {
     implementation(libs.protobuf.gradle.plugin)
+    implementation(libs.jmh.gradle.plugin)
 }
\ No newline at end of file
@@ -0,0 +1,49 @@
+import bisq.gradle.jmh.JmhCompareTask
+
+plugins {
+    java
+    id("me.champeau.jmh")
+}
+
+val versionCatalog = extensions.getByType<VersionCatalogsExtension>().named("libs")
+
+jmh {
+    jmhVersion.set(versionCatalog.findVersion("jmh-lib").get().requiredVersion)
+    resultFormat.set("JSON")
+    resultsFile.set(layout.buildDirectory.file("results/jmh/results.json"))
+
+    // Run a subset of the benchmarks, e.g. -PjmhIncludes=DigestBenchmark,InventoryBenchmark
+    providers.gradleProperty("jmhIncludes").orNull?.let { includes.set(it.split(",")) }
+
+    // Allocation profiling with -PjmhProfilers=gc reports the allocated bytes per operation (gc.alloc.rate.norm).
+    // Other JMH profilers (e.g. stack, async) can be added comma separated.
+    providers.gradleProperty("jmhProfilers").orNull?.let { profilers.set(it.split(",")) }
+
+    // -PjmhQuick overrides the iterations of the benchmark annotations for a fast sanity check. The results are not
+    // precise enough for comparing with a baseline.
+    if (providers.gradleProperty("jmhQuick").isPresent) {
+        fork.set(1)
+        warmupIterations.set(1)
+        iterations.set(2)
+        warmup.set("1s")
+        timeOnIteration.set("1s")
+    }
+}
+
+val jmhBaselineDir = layout.projectDirectory.dir(".jmh-baseline")
+
+tasks.register<Copy>("jmhSaveBaseline") {
+    group = "benchmark"
+    description = "Stores the results of the last jmh run as baseline for jmhCompare."
+    from(jmh.resultsFile)
+    into(jmhBaselineDir)
+}
+
+tasks.register<JmhCompareTask>("jmhCompare") {
+    group = "benchmark"
+    description = "Compares the results of the last jmh run with the baseline stored by jmhSaveBaseline."
+    baselineFile.set(jmhBaselineDir.file("results.json"))
+    resultsFile.set(jmh.resultsFile)
+    thresholdInPercent.set(providers.gradleProperty("jmhRegressionThreshold").map { it.toDouble() }.orElse(10.0))
+    failOnRegression.set(providers.gradleProperty("jmhFailOnRegression").isPresent)
+}
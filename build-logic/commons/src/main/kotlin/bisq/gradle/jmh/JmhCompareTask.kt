@@ -0,0 +1,128 @@
+package bisq.gradle.jmh
+
+import groovy.json.JsonSlurper
+import org.gradle.api.DefaultTask
+import org.gradle.api.GradleException
+import org.gradle.api.file.RegularFileProperty
+import org.gradle.api.provider.Property
+import org.gradle.api.tasks.Input
+import org.gradle.api.tasks.InputFile
+import org.gradle.api.tasks.TaskAction
+import java.io.File
+import kotlin.math.abs
+
+/**
+ * Compares the JSON results of a jmh run with a baseline stored by jmhSaveBaseline.
+ * Prints the change of the score of each benchmark and of the allocated bytes per operation if the results were
+ * created with the gc profiler. A change counts as regression if it is worse than the threshold and larger than the
+ * combined score errors.
+ */
+abstract class JmhCompareTask : DefaultTask() {
+
+    @get:InputFile
+    abstract val baselineFile: RegularFileProperty
+
+    @get:InputFile
+    abstract val resultsFile: RegularFileProperty
+
+    @get:Input
+    abstract val thresholdInPercent: Property<Double>
+
+    @get:Input
+    abstract val failOnRegression: Property<Boolean>
+
+    @TaskAction
+    fun compare() {
+        val baseline = readResults(baselineFile.get().asFile)
+        val results = readResults(resultsFile.get().asFile)
+        val threshold = thresholdInPercent.get()
+        val regressions = mutableListOf<String>()
+
+        results.forEach { (key, result) ->
+            val baselineResult = baseline[key]
+            if (baselineResult == null) {
+                logger.lifecycle("$key: ${format(result.score)} ${result.unit} (not in baseline)")
+                return@forEach
+            }
+
+            val change = percentChange(baselineResult.score, result.score)
+            // For throughput modes a higher score is better
+            val worseBy = if (result.mode == "thrpt") -change else change
+            val isRegression = worseBy > threshold &&
+                    abs(result.score - baselineResult.score) > result.error + baselineResult.error
+            val marker = if (isRegression) "REGRESSION" else ""
+            logger.lifecycle("$key: ${format(baselineResult.score)} -> ${format(result.score)} ${result.unit} " +
+                    "(${formatChange(change)}) $marker")
+            if (isRegression) {
+                regressions.add(key)
+            }
+
+            if (result.allocatedBytes != null && baselineResult.allocatedBytes != null) {
+                val allocationChange = percentChange(baselineResult.allocatedBytes, result.allocatedBytes)
+                logger.lifecycle("    allocated: ${format(baselineResult.allocatedBytes)} -> " +
+                        "${format(result.allocatedBytes)} B/op (${formatChange(allocationChange)})")
+            }
+        }
+
+        baseline.keys.filter { !results.containsKey(it) }
+                .forEach { logger.lifecycle("$it: not in results") }
+
+        if (regressions.isNotEmpty()) {
+            val message = "${regressions.size} benchmark(s) regressed by more than $threshold%: " +
+                    regressions.joinToString(", ")
+            if (failOnRegression.get()) {
+                throw GradleException(message)
+            }
+            logger.warn(message)
+        }
+    }
+
+    private class Result(
+        val mode: String,
+        val score: Double,
+        val error: Double,
+        val unit: String,
+        val allocatedBytes: Double?
+    )
+
+    @Suppress("UNCHECKED_CAST")
+    private fun readResults(file: File): Map<String, Result> {
+        if (!file.exists()) {
+            throw GradleException("Missing jmh results at ${file.path}. Run jmh and jmhSaveBaseline first.")
+        }
+        val entries = JsonSlurper().parse(file) as List<Map<String, Any?>>
+        return entries.associate { entry ->
+            val params = (entry["params"] as Map<String, Any?>?)
+                ?.toSortedMap()
+                ?.entries
+                ?.joinToString(",", "(", ")") { "${it.key}=${it.value}" }
+                ?: ""
+            val mode = entry["mode"].toString()
+            val key = "${entry["benchmark"]}$params [$mode]"
+            val primaryMetric = entry["primaryMetric"] as Map<String, Any?>
+            // The metric name has a leading middle dot in older jmh versions
+            val allocatedBytes = (entry["secondaryMetrics"] as Map<String, Any?>?)
+                ?.entries
+                ?.firstOrNull { it.key.trimStart('·') == "gc.alloc.rate.norm" }
+                ?.let { toDouble((it.value as Map<String, Any?>)["score"]) }
+            key to Result(mode,
+                toDouble(primaryMetric["score"]),
+                toDouble(primaryMetric["scoreError"]),
+                primaryMetric["scoreUnit"].toString(),
+                allocatedBytes)
+        }
+    }
+
+    // The score error is "NaN" if there was only a single measurement
+    private fun toDouble(value: Any?): Double {
+        val number = (value as? Number)?.toDouble() ?: value.toString().toDoubleOrNull() ?: 0.0
+        return if (number.isNaN()) 0.0 else number
+    }
+
+    private fun percentChange(baseline: Double, value: Double): Double =
+        if (baseline == 0.0) 0.0 else (value - baseline) / baseline * 100
+
+    private fun format(value: Double): String = String.format("%.3f", value)
+
+    private fun formatChange(change: Double): String = String.format("%+.1f%%", change)
+}
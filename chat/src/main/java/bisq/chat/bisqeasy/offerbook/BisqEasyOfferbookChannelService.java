@@ -18,6 +18,7 @@
 package bisq.chat.bisqeasy.offerbook;
 
 import bisq.chat.ChatChannelDomain;
+import bisq.chat.ChatMessage;
 import bisq.chat.Citation;
 import bisq.chat.pub.PublicChatChannel;
 import bisq.chat.pub.PublicChatChannelService;
@@ -28,6 +29,7 @@ import bisq.network.NetworkService;
 import bisq.network.p2p.services.data.storage.DistributedData;
 import bisq.network.p2p.services.data.storage.auth.AuthenticatedData;
 import bisq.offer.bisq_easy.BisqEasyOffer;
+import bisq.offer.book.OfferBook;
 import bisq.persistence.DbSubDirectory;
 import bisq.persistence.Persistence;
 import bisq.persistence.PersistenceService;
@@ -47,6 +49,9 @@ public class BisqEasyOfferbookChannelService extends PublicChatChannelService<Bi
     private final BisqEasyOfferbookChannelStore persistableStore = new BisqEasyOfferbookChannelStore();
     @Getter
     private final Persistence<BisqEasyOfferbookChannelStore> persistence;
+    // Index of the offers of the offerbook messages added to the channels
+    @Getter
+    private final OfferBook<BisqEasyOffer> offerBook = new OfferBook<>();
 
     public BisqEasyOfferbookChannelService(PersistenceService persistenceService,
                                            NetworkService networkService,
@@ -73,6 +78,12 @@ public class BisqEasyOfferbookChannelService extends PublicChatChannelService<Bi
         }
     }
 
+    @Override
+    protected void processRemovedMessage(BisqEasyOfferbookMessage message) {
+        super.processRemovedMessage(message);
+        message.getBisqEasyOffer().ifPresent(offer -> offerBook.remove(offer.getId()));
+    }
+
     @Override
     protected void handleAuthenticatedDataAdded(AuthenticatedData authenticatedData) {
         DistributedData distributedData = authenticatedData.getDistributedData();
@@ -103,6 +114,15 @@ public class BisqEasyOfferbookChannelService extends PublicChatChannelService<Bi
                 .or(super::getDefaultChannel);
     }
 
+    @Override
+    public void addMessage(BisqEasyOfferbookMessage message, BisqEasyOfferbookChannel channel) {
+        super.addMessage(message, channel);
+        // Banned users messages are not added to the channel
+        if (!bannedUserService.isUserProfileBanned(message.getAuthorUserProfileId())) {
+            message.getBisqEasyOffer().ifPresent(offerBook::add);
+        }
+    }
+
     public Optional<BisqEasyOfferbookMessage> findMessageByOffer(BisqEasyOffer offer) {
         return findChannel(offer.getMarket())
                 .map(PublicChatChannel::getChatMessages).stream()
@@ -116,6 +136,16 @@ public class BisqEasyOfferbookChannelService extends PublicChatChannelService<Bi
     // Protected 
     ///////////////////////////////////////////////////////////////////////////////////////////////////
 
+    @Override
+    protected void doRemoveExpiredMessages(BisqEasyOfferbookChannel channel) {
+        // Expired messages are removed from the channel directly, not via processRemovedMessage
+        channel.getChatMessages().stream()
+                .filter(ChatMessage::isExpired)
+                .flatMap(message -> message.getBisqEasyOffer().stream())
+                .forEach(offer -> offerBook.remove(offer.getId()));
+        super.doRemoveExpiredMessages(channel);
+    }
+
     @Override
     protected BisqEasyOfferbookMessage createChatMessage(String text,
                                                          Optional<Citation> citation,
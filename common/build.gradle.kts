@@ -2,6 +2,7 @@ plugins {
     id("bisq.java-conventions")
     id("bisq.java-integration-tests")
     id("bisq.protobuf")
+    id("bisq.jmh")
 }
 
 dependencies {
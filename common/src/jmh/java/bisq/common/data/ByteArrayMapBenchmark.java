@@ -0,0 +1,191 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.common.data;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Map heavy operations of the storage layer with 20 byte hashes as keys:
+ * lookups in the ConcurrentHashMap based data stores with fresh ByteArray keys (as created from received data) and
+ * with existing keys (cached hash), sorting of ByteArrays, and the hash/sequence number matching of the inventory
+ * filter with a HashSet of wrapper objects compared to the Hash20IntMap.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ByteArrayMapBenchmark {
+    // Signed numeric order as ByteArray.compareTo was implemented before
+    private static final Comparator<ByteArray> BIG_INTEGER_ORDER =
+            Comparator.comparing(byteArray -> new BigInteger(byteArray.getBytes()));
+
+    @Param({"10000", "200000"})
+    public int numEntries;
+
+    private byte[][] hashes;
+    private ByteArray[] keys;
+    private final Map<ByteArray, Object> store = new ConcurrentHashMap<>();
+    private Set<HashEntry> filterEntries;
+    private Hash20IntMap sequenceNumberByHash;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Random random = new Random(42);
+        hashes = new byte[numEntries][];
+        keys = new ByteArray[numEntries];
+        filterEntries = new HashSet<>();
+        sequenceNumberByHash = new Hash20IntMap(numEntries);
+        for (int i = 0; i < numEntries; i++) {
+            hashes[i] = new byte[Hash20IntMap.KEY_LENGTH];
+            random.nextBytes(hashes[i]);
+            keys[i] = new ByteArray(hashes[i]);
+            store.put(keys[i], hashes[i]);
+            filterEntries.add(new HashEntry(hashes[i], i));
+            sequenceNumberByHash.put(hashes[i], i, 0);
+        }
+    }
+
+    @Benchmark
+    public int storeLookupWithNewKeys() {
+        int found = 0;
+        for (byte[] hash : hashes) {
+            if (store.containsKey(new ByteArray(hash))) {
+                found++;
+            }
+        }
+        return found;
+    }
+
+    @Benchmark
+    public int storeLookupWithExistingKeys() {
+        int found = 0;
+        for (ByteArray key : keys) {
+            if (store.containsKey(key)) {
+                found++;
+            }
+        }
+        return found;
+    }
+
+    @Benchmark
+    public ByteArray[] sortUnsigned() {
+        ByteArray[] copy = keys.clone();
+        Arrays.sort(copy);
+        return copy;
+    }
+
+    @Benchmark
+    public ByteArray[] sortSignedNumeric() {
+        ByteArray[] copy = keys.clone();
+        Arrays.sort(copy, ByteArray.SIGNED_NUMERIC_ORDER);
+        return copy;
+    }
+
+    @Benchmark
+    public ByteArray[] sortWithBigInteger() {
+        ByteArray[] copy = keys.clone();
+        Arrays.sort(copy, BIG_INTEGER_ORDER);
+        return copy;
+    }
+
+    @Benchmark
+    public int filterMatchWithHashSet() {
+        int found = 0;
+        for (int i = 0; i < hashes.length; i++) {
+            if (filterEntries.contains(new HashEntry(hashes[i], i))) {
+                found++;
+            }
+        }
+        return found;
+    }
+
+    @Benchmark
+    public int filterMatchWithHash20IntMap() {
+        int found = 0;
+        for (int i = 0; i < hashes.length; i++) {
+            if (sequenceNumberByHash.get(hashes[i], ~i) == i) {
+                found++;
+            }
+        }
+        return found;
+    }
+
+    @Benchmark
+    public int buildFilterHashSet() {
+        Set<HashEntry> set = new HashSet<>();
+        for (int i = 0; i < hashes.length; i++) {
+            set.add(new HashEntry(hashes[i], i));
+        }
+        return set.size();
+    }
+
+    @Benchmark
+    public int buildHash20IntMap() {
+        Hash20IntMap map = new Hash20IntMap(hashes.length);
+        for (int i = 0; i < hashes.length; i++) {
+            map.put(hashes[i], i, 0);
+        }
+        return map.size();
+    }
+
+    @Benchmark
+    public int buildHashMap() {
+        Map<ByteArray, Integer> map = new HashMap<>();
+        for (int i = 0; i < hashes.length; i++) {
+            map.put(new ByteArray(hashes[i]), i);
+        }
+        return map.size();
+    }
+
+    // Equivalent to the Lombok generated equals and hashCode of HashSetFilterEntry in the network module
+    private static final class HashEntry {
+        private final byte[] hash;
+        private final int sequenceNumber;
+
+        private HashEntry(byte[] hash, int sequenceNumber) {
+            this.hash = hash;
+            this.sequenceNumber = sequenceNumber;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof HashEntry)) return false;
+            HashEntry that = (HashEntry) o;
+            return sequenceNumber == that.sequenceNumber && Arrays.equals(hash, that.hash);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * Arrays.hashCode(hash) + sequenceNumber;
+        }
+    }
+}
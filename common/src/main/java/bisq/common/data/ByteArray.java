@@ -22,12 +22,26 @@ import bisq.common.proto.PersistableProto;
 import com.google.protobuf.ByteString;
 import lombok.Getter;
 
-import java.math.BigInteger;
 import java.util.Arrays;
+import java.util.Comparator;
 
-@Getter
+/**
+ * Wrapper for byte arrays used as map keys. The byte array must not be mutated after construction, as the hash is
+ * cached at the first hashCode call.
+ */
 public final class ByteArray implements PersistableProto, Comparable<ByteArray> {
+    /**
+     * Order of the byte arrays interpreted as signed big-endian two's complement numbers (as by
+     * `new BigInteger(bytes)`). It was the natural order of ByteArray and is still used where peers need to
+     * produce the same order, like the sorting of the inventory entries.
+     */
+    public static final Comparator<ByteArray> SIGNED_NUMERIC_ORDER = (o1, o2) -> compareSignedNumeric(o1.bytes, o2.bytes);
+
+    @Getter
     private final byte[] bytes;
+    // Lazily computed. As with String, a racy initialisation is harmless as all threads compute the same value.
+    private int hash;
+    private boolean hashIsZero;
 
     public ByteArray(byte[] bytes) {
         this.bytes = bytes;
@@ -57,7 +71,16 @@ public final class ByteArray implements PersistableProto, Comparable<ByteArray>
 
     @Override
     public int hashCode() {
-        return Arrays.hashCode(bytes);
+        int h = hash;
+        if (h == 0 && !hashIsZero) {
+            h = Arrays.hashCode(bytes);
+            if (h == 0) {
+                hashIsZero = true;
+            } else {
+                hash = h;
+            }
+        }
+        return h;
     }
 
     @Override
@@ -65,8 +88,33 @@ public final class ByteArray implements PersistableProto, Comparable<ByteArray>
         return Hex.encode(bytes);
     }
 
+    /**
+     * Unsigned lexicographic order. A shorter array which is a prefix of a longer one is ordered first.
+     */
     @Override
     public int compareTo(ByteArray o) {
-        return new BigInteger(this.getBytes()).compareTo(new BigInteger(o.getBytes()));
+        return Arrays.compareUnsigned(bytes, o.bytes);
+    }
+
+    static int compareSignedNumeric(byte[] a, byte[] b) {
+        int length = Math.max(a.length, b.length);
+        for (int i = 0; i < length; i++) {
+            int x = getSignExtended(a, i, length);
+            int y = getSignExtended(b, i, length);
+            if (x != y) {
+                // The first byte carries the sign, the following ones are compared as unsigned values
+                return i == 0 ? Integer.compare(x, y) : Integer.compare(x & 0xff, y & 0xff);
+            }
+        }
+        return 0;
+    }
+
+    // Returns the byte at index of the array sign extended to length, as signed value
+    private static int getSignExtended(byte[] bytes, int index, int length) {
+        int padding = length - bytes.length;
+        if (index < padding) {
+            return bytes.length > 0 && bytes[0] < 0 ? -1 : 0;
+        }
+        return bytes[index - padding];
     }
 }
@@ -0,0 +1,146 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.common.data;
+
+import java.security.SecureRandom;
+import java.util.Arrays;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Open addressing hash map from 20 byte hashes to int values, e.g. the hashes of the storage data to their sequence
+ * numbers. Keys and values are stored in flat arrays, so that neither lookups nor puts allocate objects. The keys
+ * usually come from remote peers, thus we hash them with a random seed instead of relying on the hashes being uniform.
+ * <p>
+ * Not thread safe. Removal is not supported as the map is intended to be built once and then queried.
+ */
+public final class Hash20IntMap {
+    public static final int KEY_LENGTH = 20;
+    private static final int MAX_CAPACITY = 1 << 30;
+    private static final SecureRandom SEED_SOURCE = new SecureRandom();
+
+    private final int seed = SEED_SOURCE.nextInt();
+    private byte[] keys;
+    private int[] values;
+    private boolean[] used;
+    private int mask;
+    private int size;
+
+    public Hash20IntMap(int expectedSize) {
+        allocate(capacityFor(expectedSize));
+    }
+
+    /**
+     * @return The previous value, or defaultValue if there was none.
+     */
+    public int put(byte[] key, int value, int defaultValue) {
+        checkArgument(key.length == KEY_LENGTH, "Key must be 20 bytes");
+        if (2 * (size + 1) > used.length) {
+            resize();
+        }
+        int slot = findSlot(key);
+        if (used[slot]) {
+            int previous = values[slot];
+            values[slot] = value;
+            return previous;
+        }
+        used[slot] = true;
+        System.arraycopy(key, 0, keys, slot * KEY_LENGTH, KEY_LENGTH);
+        values[slot] = value;
+        size++;
+        return defaultValue;
+    }
+
+    public int get(byte[] key, int defaultValue) {
+        if (key.length != KEY_LENGTH) {
+            return defaultValue;
+        }
+        int slot = findSlot(key);
+        return used[slot] ? values[slot] : defaultValue;
+    }
+
+    public boolean containsKey(byte[] key) {
+        return key.length == KEY_LENGTH && used[findSlot(key)];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    // Returns the slot of the key, or the free slot where it would be inserted
+    private int findSlot(byte[] key) {
+        int slot = hash(key) & mask;
+        while (used[slot] && !keyEquals(slot, key)) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private boolean keyEquals(int slot, byte[] key) {
+        int from = slot * KEY_LENGTH;
+        return Arrays.equals(keys, from, from + KEY_LENGTH, key, 0, KEY_LENGTH);
+    }
+
+    private int hash(byte[] key) {
+        int h = seed;
+        for (int i = 0; i < KEY_LENGTH; i += 4) {
+            int word = (key[i] & 0xff) << 24 | (key[i + 1] & 0xff) << 16 | (key[i + 2] & 0xff) << 8 | (key[i + 3] & 0xff);
+            h = (h ^ word) * 0x9E3779B9;
+            h ^= h >>> 15;
+        }
+        return h ^ (h >>> 16);
+    }
+
+    private void resize() {
+        checkArgument(used.length < MAX_CAPACITY, "Max. capacity reached");
+        byte[] oldKeys = keys;
+        int[] oldValues = values;
+        boolean[] oldUsed = used;
+        allocate(oldUsed.length * 2);
+        byte[] key = new byte[KEY_LENGTH];
+        for (int i = 0; i < oldUsed.length; i++) {
+            if (oldUsed[i]) {
+                System.arraycopy(oldKeys, i * KEY_LENGTH, key, 0, KEY_LENGTH);
+                int slot = findSlot(key);
+                used[slot] = true;
+                System.arraycopy(oldKeys, i * KEY_LENGTH, keys, slot * KEY_LENGTH, KEY_LENGTH);
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new byte[capacity * KEY_LENGTH];
+        values = new int[capacity];
+        used = new boolean[capacity];
+        mask = capacity - 1;
+    }
+
+    // Power of 2 with a load factor of at most 0.5
+    private static int capacityFor(int expectedSize) {
+        int capacity = 16;
+        while (capacity < MAX_CAPACITY && capacity < 2L * expectedSize) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.common.data;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ByteArrayTest {
+    @Test
+    void compareToIsUnsignedLexicographic() {
+        assertThat(of(0x01).compareTo(of(0xff))).isNegative();
+        assertThat(of(0x7f).compareTo(of(0x80))).isNegative();
+        assertThat(of(0x01, 0x00).compareTo(of(0x01))).isPositive();
+        assertThat(of(0x00).compareTo(of(0x00, 0x00))).isNegative();
+        assertThat(of().compareTo(of(0x00))).isNegative();
+        assertThat(of(0x12, 0x34).compareTo(of(0x12, 0x34))).isZero();
+    }
+
+    @Test
+    void signedNumericOrderMatchesBigInteger() {
+        Random random = new Random(42);
+        for (int i = 0; i < 100_000; i++) {
+            byte[] a = randomBytes(random);
+            byte[] b = random.nextInt(10) == 0 ? a.clone() : randomBytes(random);
+            int expected = Integer.signum(new BigInteger(a).compareTo(new BigInteger(b)));
+            assertThat(Integer.signum(ByteArray.SIGNED_NUMERIC_ORDER.compare(new ByteArray(a), new ByteArray(b))))
+                    .as("a=%s, b=%s", new ByteArray(a), new ByteArray(b))
+                    .isEqualTo(expected);
+        }
+    }
+
+    @Test
+    void equalArraysHaveEqualHashCodes() {
+        ByteArray a = of(1, 2, 3);
+        ByteArray b = of(1, 2, 3);
+        assertThat(a).isEqualTo(b);
+        assertThat(a.hashCode()).isEqualTo(b.hashCode());
+        // Cached value
+        assertThat(a.hashCode()).isEqualTo(a.hashCode());
+    }
+
+    private static byte[] randomBytes(Random random) {
+        // Short arrays with sign bytes and extension bytes to cover the edge cases
+        byte[] bytes = new byte[1 + random.nextInt(4)];
+        for (int i = 0; i < bytes.length; i++) {
+            int choice = random.nextInt(4);
+            bytes[i] = choice == 0 ? 0 : choice == 1 ? (byte) 0xff : (byte) random.nextInt(256);
+        }
+        return bytes;
+    }
+
+    private static ByteArray of(int... values) {
+        byte[] bytes = new byte[values.length];
+        for (int i = 0; i < values.length; i++) {
+            bytes[i] = (byte) values[i];
+        }
+        return new ByteArray(bytes);
+    }
+}
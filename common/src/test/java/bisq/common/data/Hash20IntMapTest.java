@@ -0,0 +1,79 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.common.data;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class Hash20IntMapTest {
+    @Test
+    void matchesHashMap() {
+        Random random = new Random(42);
+        Hash20IntMap map = new Hash20IntMap(0);
+        Map<ByteArray, Integer> expected = new HashMap<>();
+        byte[][] keys = new byte[50_000][];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = new byte[Hash20IntMap.KEY_LENGTH];
+            random.nextBytes(keys[i]);
+        }
+
+        for (int i = 0; i < 100_000; i++) {
+            byte[] key = keys[random.nextInt(keys.length)];
+            int value = random.nextInt();
+            Integer previous = expected.put(new ByteArray(key), value);
+            assertThat(map.put(key.clone(), value, -1)).isEqualTo(previous == null ? -1 : previous);
+        }
+
+        assertThat(map.size()).isEqualTo(expected.size());
+        for (byte[] key : keys) {
+            Integer value = expected.get(new ByteArray(key));
+            assertThat(map.containsKey(key)).isEqualTo(value != null);
+            assertThat(map.get(key.clone(), -1)).isEqualTo(value == null ? -1 : value);
+        }
+    }
+
+    @Test
+    void keysWithEqualPrefixAreDistinguished() {
+        Hash20IntMap map = new Hash20IntMap(16);
+        for (int i = 0; i < 1000; i++) {
+            byte[] key = new byte[Hash20IntMap.KEY_LENGTH];
+            key[19] = (byte) i;
+            key[18] = (byte) (i >> 8);
+            map.put(key, i, -1);
+        }
+        assertThat(map.size()).isEqualTo(1000);
+        byte[] key = new byte[Hash20IntMap.KEY_LENGTH];
+        key[19] = (byte) 999;
+        key[18] = (byte) (999 >> 8);
+        assertThat(map.get(key, -1)).isEqualTo(999);
+    }
+
+    @Test
+    void keysMustHave20Bytes() {
+        Hash20IntMap map = new Hash20IntMap(16);
+        assertThatThrownBy(() -> map.put(new byte[19], 1, 0)).isInstanceOf(IllegalArgumentException.class);
+        assertThat(map.get(new byte[21], 7)).isEqualTo(7);
+        assertThat(map.containsKey(new byte[0])).isFalse();
+    }
+}
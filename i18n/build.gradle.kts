@@ -1,3 +1,4 @@
 plugins {
     id("bisq.java-library")
+    id("bisq.jmh")
 }
@@ -0,0 +1,97 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.i18n;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.ResourceBundle;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares Res.get with the previous lookup, which iterated over all bundles and parsed the MessageFormat at each
+ * call. Keys are taken from all bundles, so lookups hit early and late bundles.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ResBenchmark {
+    private static final List<String> BUNDLE_NAMES = List.of("default", "application", "chat", "trade_apps",
+            "bisq_easy", "academy", "user", "authorized_role", "payment_method", "wallet", "settings");
+
+    @Param({"en", "de"})
+    public String languageCode;
+
+    private List<ResourceBundle> bundles;
+    private String[] keys;
+    private int index;
+
+    @Setup
+    public void setup() {
+        Locale locale = Locale.forLanguageTag(languageCode);
+        bundles = new ArrayList<>();
+        List<String> allKeys = new ArrayList<>();
+        for (String bundleName : BUNDLE_NAMES) {
+            ResourceBundle bundle = ResourceBundle.getBundle(bundleName, locale);
+            bundles.add(bundle);
+            allKeys.addAll(bundle.keySet());
+        }
+        keys = allKeys.toArray(String[]::new);
+        Res.setLanguage(languageCode);
+    }
+
+    @Benchmark
+    public String get() {
+        return Res.get(nextKey());
+    }
+
+    @Benchmark
+    public String getWithArguments() {
+        return Res.get(nextKey(), "argument", 1);
+    }
+
+    @Benchmark
+    public String legacyGet() {
+        return legacyGet(nextKey());
+    }
+
+    @Benchmark
+    public String legacyGetWithArguments() {
+        return MessageFormat.format(legacyGet(nextKey()), "argument", 1);
+    }
+
+    private String legacyGet(String key) {
+        return bundles.stream()
+                .filter(bundle -> bundle.containsKey(key))
+                .map(bundle -> bundle.getString(key))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private String nextKey() {
+        String key = keys[index];
+        index = (index + 1) % keys.length;
+        return key;
+    }
+}
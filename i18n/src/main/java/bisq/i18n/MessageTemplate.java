@@ -0,0 +1,68 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.i18n;
+
+import lombok.Getter;
+import lombok.ToString;
+
+import java.text.MessageFormat;
+
+/**
+ * Resource string with its MessageFormat parsed once at load time.
+ * <p>
+ * MessageFormat is not thread-safe, so we synchronize on the parsed instance at format. The calls come nearly
+ * exclusively from the UI thread, thus the lock is not contended.
+ * Patterns without arguments and quotes are returned as they are, as MessageFormat would not change them.
+ */
+@ToString
+final class MessageTemplate {
+    @Getter
+    private final String pattern;
+    @ToString.Exclude
+    private final MessageFormat messageFormat;
+
+    MessageTemplate(String pattern) {
+        this.pattern = pattern;
+        this.messageFormat = requiresFormatting(pattern) ? parse(pattern) : null;
+    }
+
+    String format(Object... arguments) {
+        if (messageFormat == null) {
+            if (requiresFormatting(pattern)) {
+                // Pattern could not be parsed. We let MessageFormat throw the same exception as before.
+                return MessageFormat.format(pattern, arguments);
+            }
+            return pattern;
+        }
+        synchronized (messageFormat) {
+            return messageFormat.format(arguments);
+        }
+    }
+
+    private static boolean requiresFormatting(String pattern) {
+        return pattern.indexOf('{') >= 0 || pattern.indexOf('\'') >= 0;
+    }
+
+    private static MessageFormat parse(String pattern) {
+        try {
+            return new MessageFormat(pattern);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
@@ -20,56 +20,52 @@ package bisq.i18n;
 import bisq.common.application.DevMode;
 import lombok.extern.slf4j.Slf4j;
 
-import java.text.MessageFormat;
 import java.util.*;
+import java.util.stream.Collectors;
 
 import static com.google.common.base.Preconditions.checkArgument;
 
 @Slf4j
 public class Res {
-    private static final List<ResourceBundle> bundles = new ArrayList<>();
+    private static final List<String> BUNDLE_NAMES = List.of(
+            "default",
+            "application",
+            "chat",
+            "trade_apps",
+            "bisq_easy",
+            "academy",
+            "user",
+            "authorized_role",
+            "payment_method",
+            "wallet",
+            "settings"
+    );
+
+    // All keys of all bundles. If a key is contained in multiple bundles the first bundle in BUNDLE_NAMES wins.
+    private static volatile Map<String, MessageTemplate> templatesByKey = Map.of();
 
     public static void setLanguage(String languageCode) {
         Locale locale = Locale.forLanguageTag(languageCode);
-        bundles.clear();
-        bundles.addAll(List.of(
-                ResourceBundle.getBundle("default", locale),
-                ResourceBundle.getBundle("application", locale),
-                ResourceBundle.getBundle("chat", locale),
-                ResourceBundle.getBundle("trade_apps", locale),
-                ResourceBundle.getBundle("bisq_easy", locale),
-                ResourceBundle.getBundle("academy", locale),
-                ResourceBundle.getBundle("user", locale),
-                ResourceBundle.getBundle("authorized_role", locale),
-                ResourceBundle.getBundle("payment_method", locale),
-                ResourceBundle.getBundle("wallet", locale),
-                ResourceBundle.getBundle("settings", locale)
-        ));
+        List<ResourceBundle> bundles = BUNDLE_NAMES.stream()
+                .map(bundleName -> ResourceBundle.getBundle(bundleName, locale))
+                .collect(Collectors.toList());
+        templatesByKey = createTemplatesByKey(bundles);
     }
 
     public static String get(String key, Object... arguments) {
-        return MessageFormat.format(get(key), arguments);
+        MessageTemplate template = getTemplate(key);
+        if (template == null) {
+            return getMissingResourceText(key);
+        }
+        return template.format(arguments);
     }
 
     public static String get(String key) {
-        checkArgument(!bundles.isEmpty(), "Res.get cannot be called as bundles is still empty. key=" + key);
-        try {
-            return bundles.stream()
-                    .filter(bundle -> bundle.containsKey(key))
-                    .map(bundle -> bundle.getString(key))
-                    .findFirst()
-                    .orElseGet(() -> {
-                        log.error("Missing resource for key: {}", key);
-                        if (DevMode.isDevMode()) {
-                            return "MISSING: " + key;
-                        } else {
-                            return "[" + key + "!]";
-                        }
-                    });
-        } catch (MissingResourceException e) {
-            log.warn("Missing resource for key: " + key, e);
-            return "[" + key + "!!!]";
+        MessageTemplate template = getTemplate(key);
+        if (template == null) {
+            return getMissingResourceText(key);
         }
+        return template.getPattern();
     }
 
     // Convenience method for supporting format `{0} get(key)` where key is expected to support singular and plural
@@ -99,7 +95,44 @@ public class Res {
     }
 
     public static boolean has(String key) {
-        return bundles.stream().anyMatch(bundle -> bundle.containsKey(key));
+        return templatesByKey.containsKey(key);
+    }
+
+    static Map<String, MessageTemplate> createTemplatesByKey(List<ResourceBundle> bundles) {
+        Map<String, MessageTemplate> map = new HashMap<>();
+        Map<String, String> bundleNameByKey = new HashMap<>();
+        List<String> duplicates = new ArrayList<>();
+        for (ResourceBundle bundle : bundles) {
+            String bundleName = bundle.getBaseBundleName();
+            for (String key : bundle.keySet()) {
+                String existingBundleName = bundleNameByKey.putIfAbsent(key, bundleName);
+                if (existingBundleName == null) {
+                    map.put(key, new MessageTemplate(bundle.getString(key)));
+                } else {
+                    duplicates.add(key + " (" + existingBundleName + ", " + bundleName + ")");
+                }
+            }
+        }
+        if (!duplicates.isEmpty()) {
+            log.warn("Resource keys contained in multiple bundles. The first bundle is used:\n{}",
+                    String.join("\n", duplicates));
+        }
+        return Map.copyOf(map);
+    }
+
+    private static MessageTemplate getTemplate(String key) {
+        Map<String, MessageTemplate> templatesByKey = Res.templatesByKey;
+        checkArgument(!templatesByKey.isEmpty(), "Res.get cannot be called as bundles is still empty. key=" + key);
+        return templatesByKey.get(key);
+    }
+
+    private static String getMissingResourceText(String key) {
+        log.error("Missing resource for key: {}", key);
+        if (DevMode.isDevMode()) {
+            return "MISSING: " + key;
+        } else {
+            return "[" + key + "!]";
+        }
     }
 }
 
@@ -2,6 +2,7 @@ plugins {
     id("bisq.java-library")
     id("bisq.protobuf")
     id("bisq.java-integration-tests")
+    id("bisq.jmh")
 }
 
 dependencies {
@@ -0,0 +1,192 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+package bisq.network.p2p.node.envelope;
+
+import bisq.network.protobuf.AddAuthenticatedDataRequest;
+import bisq.network.protobuf.AddMailboxRequest;
+import bisq.network.protobuf.AuthenticatedData;
+import bisq.network.protobuf.AuthenticatedSequentialData;
+import bisq.network.protobuf.ConfidentialMessage;
+import bisq.network.protobuf.DataRequest;
+import bisq.network.protobuf.DefaultAuthenticatedData;
+import bisq.network.protobuf.EnvelopePayloadMessage;
+import bisq.network.protobuf.Inventory;
+import bisq.network.protobuf.InventoryResponse;
+import bisq.network.protobuf.MailboxData;
+import bisq.network.protobuf.MailboxSequentialData;
+import bisq.network.protobuf.MetaData;
+import bisq.security.protobuf.ConfidentialData;
+import com.google.protobuf.Any;
+import com.google.protobuf.ByteString;
+import com.google.protobuf.InvalidProtocolBufferException;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compression of an InventoryResponse as sent at bootstrap. The entries are modelled on the inventory data: public
+ * data with type urls, class names and text fields which compress well, and public keys, hashes and signatures as well
+ * as encrypted mailbox messages which do not compress.
+ * The compressed size is printed at setup, the benchmarks measure the CPU costs at the sender and receiver side
+ * compared to the serialization and parsing without compression.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EnvelopeCompressionBenchmark {
+    private static final String[] TYPE_URLS = {
+            "type.googleapis.com/user.UserProfile",
+            "type.googleapis.com/bonded_roles.AuthorizedBondedRole",
+            "type.googleapis.com/chat.BisqEasyOfferbookMessage",
+            "type.googleapis.com/chat.CommonPublicChatMessage",
+            "type.googleapis.com/user.AuthorizedProofOfBurnData"
+    };
+    private static final String[] TEXTS = {
+            "Fast and friendly, trading mostly in the evening",
+            "I want to buy 0.01 BTC for EUR via SEPA at market price +1%",
+            "Anyone online to trade via Revolut?",
+            "Terms: Payment within 24 hours, no third party payments"
+    };
+
+    @Param({"1000", "10000"})
+    public int numEntries;
+
+    // Share of mailbox entries with encrypted (incompressible) content
+    @Param({"0.1", "0.5"})
+    public double mailboxShare;
+
+    private EnvelopePayloadMessage payload;
+    private byte[] serialized;
+    private byte[] compressed;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Random random = new Random(42);
+        Inventory.Builder inventory = Inventory.newBuilder();
+        for (int i = 0; i < numEntries; i++) {
+            inventory.addEntries(random.nextDouble() < mailboxShare ?
+                    createMailboxRequest(random) :
+                    createAuthenticatedDataRequest(random));
+        }
+        payload = EnvelopePayloadMessage.newBuilder()
+                .setInventoryResponse(InventoryResponse.newBuilder()
+                        .setInventory(inventory)
+                        .setRequestNonce(random.nextInt()))
+                .build();
+        serialized = payload.toByteArray();
+        compressed = EnvelopeCompression.compress(serialized);
+        System.out.printf("%nnumEntries=%d, mailboxShare=%.2f: %d bytes, compressed %d bytes (%.1f%%)%n",
+                numEntries, mailboxShare, serialized.length, compressed.length,
+                100d * compressed.length / serialized.length);
+    }
+
+    @Benchmark
+    public byte[] serialize() {
+        return payload.toByteArray();
+    }
+
+    @Benchmark
+    public byte[] serializeAndCompress() {
+        return EnvelopeCompression.compress(payload.toByteArray());
+    }
+
+    @Benchmark
+    public EnvelopePayloadMessage parse() throws InvalidProtocolBufferException {
+        return EnvelopePayloadMessage.parseFrom(serialized);
+    }
+
+    @Benchmark
+    public EnvelopePayloadMessage decompressAndParse() throws InvalidProtocolBufferException {
+        return EnvelopePayloadMessage.parseFrom(EnvelopeCompression.decompress(compressed));
+    }
+
+    private static DataRequest createAuthenticatedDataRequest(Random random) {
+        String text = TEXTS[random.nextInt(TEXTS.length)];
+        Any distributedData = Any.newBuilder()
+                .setTypeUrl(TYPE_URLS[random.nextInt(TYPE_URLS.length)])
+                .setValue(ByteString.copyFrom(text + ";nickName=Trader" + random.nextInt(1000) +
+                                ";id=" + randomHex(random, 20),
+                        StandardCharsets.UTF_8)
+                        .concat(randomBytes(random, 91)))
+                .build();
+        AuthenticatedSequentialData sequentialData = AuthenticatedSequentialData.newBuilder()
+                .setAuthenticatedData(AuthenticatedData.newBuilder()
+                        .setDistributedData(distributedData)
+                        .setDefaultAuthenticatedData(DefaultAuthenticatedData.newBuilder()))
+                .setSequenceNumber(random.nextInt(10))
+                .setPubKeyHash(randomBytes(random, 20))
+                .setCreated(1_700_000_000_000L + random.nextInt(1_000_000_000))
+                .build();
+        return DataRequest.newBuilder()
+                .setAddAuthenticatedDataRequest(AddAuthenticatedDataRequest.newBuilder()
+                        .setAuthenticatedSequentialData(sequentialData)
+                        .setSignature(randomBytes(random, 71))
+                        .setOwnerPublicKeyBytes(randomBytes(random, 88)))
+                .build();
+    }
+
+    private static DataRequest createMailboxRequest(Random random) {
+        ConfidentialData confidentialData = ConfidentialData.newBuilder()
+                .setSenderPublicKey(randomBytes(random, 88))
+                .setIv(randomBytes(random, 16))
+                .setCipherText(randomBytes(random, 1000 + random.nextInt(1000)))
+                .setSignature(randomBytes(random, 71))
+                .build();
+        MailboxData mailboxData = MailboxData.newBuilder()
+                .setConfidentialMessage(ConfidentialMessage.newBuilder()
+                        .setConfidentialData(confidentialData)
+                        .setReceiverKeyId(randomHex(random, 20)))
+                .setMetaData(MetaData.newBuilder()
+                        .setTtl(TimeUnit.DAYS.toMillis(15))
+                        .setMaxMapSize(10000)
+                        .setClassName("MailboxData"))
+                .build();
+        MailboxSequentialData sequentialData = MailboxSequentialData.newBuilder()
+                .setMailboxData(mailboxData)
+                .setSequenceNumber(1)
+                .setSenderPublicKeyHash(randomBytes(random, 20))
+                .setCreated(1_700_000_000_000L + random.nextInt(1_000_000_000))
+                .setReceiversPubKeyBytes(randomBytes(random, 88))
+                .setReceiversPubKeyHash(randomBytes(random, 20))
+                .build();
+        return DataRequest.newBuilder()
+                .setAddMailboxRequest(AddMailboxRequest.newBuilder()
+                        .setMailboxSequentialData(sequentialData)
+                        .setSignature(randomBytes(random, 71))
+                        .setSenderPublicKeyBytes(randomBytes(random, 88)))
+                .build();
+    }
+
+    private static ByteString randomBytes(Random random, int length) {
+        byte[] bytes = new byte[length];
+        random.nextBytes(bytes);
+        return ByteString.copyFrom(bytes);
+    }
+
+    private static String randomHex(Random random, int numBytes) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < numBytes; i++) {
+            sb.append(String.format("%02x", random.nextInt(256)));
+        }
+        return sb.toString();
+    }
+}
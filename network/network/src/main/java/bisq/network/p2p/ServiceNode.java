@@ -18,6 +18,7 @@
 package bisq.network.p2p;
 
 
+import bisq.common.data.ByteArray;
 import bisq.common.observable.Observable;
 import bisq.network.NetworkService;
 import bisq.network.common.Address;
@@ -38,10 +39,13 @@ import bisq.network.p2p.services.confidential.resend.ResendMessageService;
 import bisq.network.p2p.services.data.DataNetworkService;
 import bisq.network.p2p.services.data.DataService;
 import bisq.network.p2p.services.data.inventory.InventoryService;
+import bisq.network.p2p.services.data.inventory.filter.receiver.ReceiverFilter;
 import bisq.network.p2p.services.peer_group.BanList;
 import bisq.network.p2p.services.peer_group.PeerGroupManager;
 import bisq.network.p2p.services.peer_group.PeerGroupService;
 import bisq.persistence.PersistenceService;
+import bisq.security.DigestUtil;
+import bisq.security.keys.KeyBundle;
 import bisq.security.keys.KeyBundleService;
 import bisq.security.keys.PubKey;
 import com.runjva.sourceforge.jsocks.protocol.Socks5Proxy;
@@ -55,6 +59,7 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.stream.Collectors;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static java.util.concurrent.CompletableFuture.runAsync;
@@ -214,7 +219,9 @@ public class ServiceNode implements Node.Listener {
                         defaultNode,
                         peerGroupManager.orElseThrow(),
                         dataService.orElseThrow(),
-                        nodeConfig.getFeatures())) :
+                        nodeConfig.getFeatures(),
+                        this::getMyReceiverPubKeyHashes,
+                        getReceiverFilterTweak())) :
                 Optional.empty();
 
         confidentialMessageService = supportedServices.contains(SupportedService.CONFIDENTIAL) ?
@@ -237,6 +244,20 @@ public class ServiceNode implements Node.Listener {
         return defaultNode;
     }
 
+    // The hashes of our public keys as used as receiversPublicKeyHash in mailbox messages
+    private Set<ByteArray> getMyReceiverPubKeyHashes() {
+        return keyBundleService.getKeyBundles().stream()
+                .map(keyBundle -> new ByteArray(DigestUtil.hash(keyBundle.getKeyPair().getPublic().getEncoded())))
+                .collect(Collectors.toSet());
+    }
+
+    // Derived from the private key of our default key bundle, thus the BloomFilter of our receivers is the same for
+    // all mailbox inventory requests
+    private int getReceiverFilterTweak() {
+        KeyBundle defaultKeyBundle = keyBundleService.getOrCreateKeyBundle(keyBundleService.getDefaultKeyId());
+        return ReceiverFilter.createTweak(defaultKeyBundle.getKeyPair().getPrivate().getEncoded());
+    }
+
     CompletableFuture<Boolean> shutdown() {
         setState(State.STOPPING);
         peerGroupManager.ifPresent(PeerGroupManager::shutdown);
@@ -24,8 +24,12 @@ import bisq.network.p2p.node.handshake.ConnectionHandshake;
 import bisq.network.p2p.services.confidential.ConfidentialMessage;
 import bisq.network.p2p.services.confidential.ack.AckMessage;
 import bisq.network.p2p.services.data.DataRequest;
+import bisq.network.p2p.services.data.inventory.InventoryChunk;
+import bisq.network.p2p.services.data.inventory.InventoryChunkAck;
+import bisq.network.p2p.services.data.inventory.InventoryChunkRequest;
 import bisq.network.p2p.services.data.inventory.InventoryRequest;
 import bisq.network.p2p.services.data.inventory.InventoryResponse;
+import bisq.network.p2p.services.data.inventory.MailboxInventoryRequest;
 import bisq.network.p2p.services.peer_group.exchange.PeerExchangeRequest;
 import bisq.network.p2p.services.peer_group.exchange.PeerExchangeResponse;
 import bisq.network.p2p.services.peer_group.keep_alive.Ping;
@@ -115,6 +119,18 @@ public interface EnvelopePayloadMessage extends NetworkProto {
                 // Externally defined messages
                 return ExternalNetworkMessage.fromProto(proto.getExternalNetworkMessage());
             }
+            case INVENTORYCHUNKREQUEST: {
+                return InventoryChunkRequest.fromProto(proto.getInventoryChunkRequest());
+            }
+            case INVENTORYCHUNK: {
+                return InventoryChunk.fromProto(proto.getInventoryChunk());
+            }
+            case INVENTORYCHUNKACK: {
+                return InventoryChunkAck.fromProto(proto.getInventoryChunkAck());
+            }
+            case MAILBOXINVENTORYREQUEST: {
+                return MailboxInventoryRequest.fromProto(proto.getMailboxInventoryRequest());
+            }
             case MESSAGE_NOT_SET: {
                 throw new UnresolvableProtobufMessageException(proto);
             }
@@ -20,6 +20,9 @@ package bisq.network.p2p.message;
 import bisq.common.proto.NetworkProto;
 import bisq.network.p2p.node.ConnectionException;
 import bisq.network.p2p.node.authorization.AuthorizationToken;
+import bisq.network.p2p.node.envelope.EnvelopeCompression;
+import com.google.protobuf.ByteString;
+import com.google.protobuf.InvalidProtocolBufferException;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.Setter;
@@ -79,10 +82,45 @@ public final class NetworkEnvelope implements NetworkProto {
                 .setNetworkMessage(envelopePayloadMessage.toProto(serializeForHash));
     }
 
+    /**
+     * @param compress If true and the serialized payload message is at least EnvelopeCompression.MIN_SIZE, we send
+     *                 the payload message deflate compressed. Must only be used if the peer supports
+     *                 Feature.COMPRESSION_DEFLATE.
+     */
+    public bisq.network.protobuf.NetworkEnvelope completeProto(boolean compress) {
+        if (!compress) {
+            return completeProto();
+        }
+        bisq.network.protobuf.EnvelopePayloadMessage payloadProto = envelopePayloadMessage.toProto(false);
+        bisq.network.protobuf.NetworkEnvelope.Builder builder = bisq.network.protobuf.NetworkEnvelope.newBuilder()
+                .setVersion(version)
+                .setAuthorizationToken(authorizationToken.toProto(false));
+        int size = payloadProto.getSerializedSize();
+        if (size >= EnvelopeCompression.MIN_SIZE) {
+            byte[] compressed = EnvelopeCompression.compress(payloadProto.toByteArray());
+            if (compressed.length < size) {
+                return builder.setCompressedNetworkMessage(ByteString.copyFrom(compressed)).build();
+            }
+        }
+        return builder.setNetworkMessage(payloadProto).build();
+    }
+
     public static NetworkEnvelope fromProto(bisq.network.protobuf.NetworkEnvelope proto) {
         return new NetworkEnvelope(proto.getVersion(),
                 AuthorizationToken.fromProto(proto.getAuthorizationToken()),
-                EnvelopePayloadMessage.fromProto(proto.getNetworkMessage()));
+                EnvelopePayloadMessage.fromProto(resolveNetworkMessage(proto)));
+    }
+
+    private static bisq.network.protobuf.EnvelopePayloadMessage resolveNetworkMessage(bisq.network.protobuf.NetworkEnvelope proto) {
+        if (proto.getCompressedNetworkMessage().isEmpty()) {
+            return proto.getNetworkMessage();
+        }
+        byte[] decompressed = EnvelopeCompression.decompress(proto.getCompressedNetworkMessage().toByteArray());
+        try {
+            return bisq.network.protobuf.EnvelopePayloadMessage.parseFrom(decompressed);
+        } catch (InvalidProtocolBufferException e) {
+            throw new ConnectionException(e);
+        }
     }
 
     public void verifyVersion() throws ConnectionException {
@@ -17,6 +17,8 @@
 
 package bisq.network.p2p.node;
 
+import bisq.common.threading.ExecutorFactory;
+import bisq.common.util.ByteUnit;
 import bisq.common.util.ExceptionUtil;
 import bisq.common.util.StringUtils;
 import bisq.network.NetworkService;
@@ -38,9 +40,16 @@ import java.io.IOException;
 import java.net.Socket;
 import java.util.Comparator;
 import java.util.Date;
+import java.util.List;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BiConsumer;
 
@@ -52,9 +61,42 @@ import static com.google.common.base.Preconditions.checkNotNull;
  * Send messages to the peer.
  * Notifies messageListeners on new received messages.
  * Notifies errorHandler on exceptions from the inputHandlerService executor.
+ * <p>
+ * Outbound messages are added to an OutboundQueue and written by a single writer task, which takes the next message
+ * by its MessagePriority. Thus, keep-alive and trade messages are not stuck behind large inventory data or broadcast
+ * bursts. The sender waits until its message is written, so senders of a congested connection get slowed down.
+ * If the queued bytes of a BROADCAST or BULK class exceed the limit, the message is rejected with a ConnectionException.
+ * A message delayed by the throttle is parked until the delay has passed. Meanwhile, only CONTROL messages get written,
+ * so that keep-alive and close messages are not delayed by the throttling of other messages.
  */
 @Slf4j
 public abstract class Connection {
+    // Only used for scheduling the deferred reads and writes of throttled connections. Reading and writing is done in
+    // the NETWORK_IO_POOL.
+    private static final ScheduledExecutorService SCHEDULER = ExecutorFactory.newSingleThreadScheduledExecutor("Connection.scheduler");
+    private static final int OUTBOUND_QUEUE_QUANTUM = (int) Math.round(ByteUnit.KB.toBytes(16));
+    // Max. time a sender waits for its message being written
+    private static final long SEND_TIMEOUT = TimeUnit.MINUTES.toMillis(3);
+
+    private static final class OutboundMessage {
+        private final EnvelopePayloadMessage envelopePayloadMessage;
+        private final NetworkEnvelope networkEnvelope;
+        private final MessagePriority priority;
+        private final bisq.network.protobuf.NetworkEnvelope proto;
+        private final CompletableFuture<Void> future = new CompletableFuture<>();
+        private boolean throttled;
+
+        private OutboundMessage(EnvelopePayloadMessage envelopePayloadMessage,
+                                NetworkEnvelope networkEnvelope,
+                                MessagePriority priority,
+                                boolean compressionEnabled) {
+            this.envelopePayloadMessage = envelopePayloadMessage;
+            this.networkEnvelope = networkEnvelope;
+            this.priority = priority;
+            proto = networkEnvelope.completeProto(compressionEnabled);
+        }
+    }
+
     public static Comparator<Connection> comparingDate() {
         return Comparator.comparingLong(Connection::getCreated);
     }
@@ -90,12 +132,22 @@ public abstract class Connection {
 
     private NetworkEnvelopeSocket networkEnvelopeSocket;
     private final ConnectionThrottle connectionThrottle;
+    // True if both peers support Feature.COMPRESSION_DEFLATE
+    @Getter
+    private final boolean compressionEnabled;
     private final Handler handler;
     private final Set<Listener> listeners = new CopyOnWriteArraySet<>();
+    private final BiConsumer<Connection, Exception> errorHandler;
     @Nullable
-    private Future<?> inputHandlerFuture;
+    private volatile Future<?> inputHandlerFuture;
     private final AtomicInteger sentMessageCounter = new AtomicInteger(0);
-    private final Object writeLock = new Object();
+    private final OutboundQueue<OutboundMessage> outboundQueue = new OutboundQueue<>(OUTBOUND_QUEUE_QUANTUM);
+    // Guarded by outboundQueue. True while a writer task is running or submitted.
+    private boolean writerActive;
+    // Guarded by outboundQueue. Message which got delayed by the throttle. It gets released after the delay.
+    @Nullable
+    private OutboundMessage deferredMessage;
+    private boolean deferredMessageReleased;
     private volatile boolean shutdownStarted;
     private volatile boolean listeningStopped;
 
@@ -104,13 +156,16 @@ public abstract class Connection {
                          NetworkLoadSnapshot peersNetworkLoadSnapshot,
                          ConnectionMetrics connectionMetrics,
                          ConnectionThrottle connectionThrottle,
+                         boolean compressionEnabled,
                          Handler handler,
                          BiConsumer<Connection, Exception> errorHandler) {
         this.peersCapability = peersCapability;
         this.peersNetworkLoadSnapshot = peersNetworkLoadSnapshot;
         this.connectionThrottle = connectionThrottle;
+        this.compressionEnabled = compressionEnabled;
         this.handler = handler;
         this.connectionMetrics = connectionMetrics;
+        this.errorHandler = errorHandler;
         requestResponseManager = new RequestResponseManager(connectionMetrics);
 
         try {
@@ -123,45 +178,7 @@ public abstract class Connection {
             return;
         }
 
-        inputHandlerFuture = NetworkService.NETWORK_IO_POOL.submit(() -> {
-            Thread.currentThread().setName("Connection.read-" + getThreadNameId());
-            try {
-                while (isInputStreamActive()) {
-                    var proto = networkEnvelopeSocket.receiveNextEnvelope();
-                    // parsing might need some time wo we check again if connection is still active
-                    if (isInputStreamActive()) {
-                        checkNotNull(proto, "Proto from NetworkEnvelope.parseDelimitedFrom(inputStream) must not be null");
-
-                        connectionThrottle.throttleReceiveMessage();
-
-                        long ts = System.currentTimeMillis();
-                        NetworkEnvelope networkEnvelope = NetworkEnvelope.fromProto(proto);
-                        long deserializeTime = System.currentTimeMillis() - ts;
-                        networkEnvelope.verifyVersion();
-                        connectionMetrics.onReceived(networkEnvelope, deserializeTime);
-
-                        EnvelopePayloadMessage envelopePayloadMessage = networkEnvelope.getEnvelopePayloadMessage();
-                        log.debug("Received message: {} at: {}",
-                                StringUtils.truncate(envelopePayloadMessage.toString(), 200), this);
-                        requestResponseManager.onReceived(envelopePayloadMessage);
-                        NetworkService.DISPATCHER.submit(() -> handler.handleNetworkMessage(envelopePayloadMessage,
-                                networkEnvelope.getAuthorizationToken(),
-                                this));
-                    }
-                }
-            } catch (Exception exception) {
-                //todo (deferred) StreamCorruptedException from i2p at shutdown. prob it send some text data at shut down
-                if (isInputStreamActive()) {
-                    log.debug("Exception at input handler on {}", this, exception);
-                    shutdown(CloseReason.EXCEPTION.exception(exception));
-
-                    // EOFException expected if connection got closed (Socket closed message)
-                    if (!(exception instanceof EOFException)) {
-                        errorHandler.accept(this, exception);
-                    }
-                }
-            }
-        });
+        inputHandlerFuture = NetworkService.NETWORK_IO_POOL.submit(this::readMessages);
     }
 
     ///////////////////////////////////////////////////////////////////////////////////////////////////
@@ -220,44 +237,38 @@ public abstract class Connection {
             return this;
         }
 
-        connectionThrottle.throttleSendMessage();
-
-        requestResponseManager.onSent(envelopePayloadMessage);
+        MessagePriority priority = MessagePriority.from(envelopePayloadMessage);
+        OutboundMessage outboundMessage = new OutboundMessage(envelopePayloadMessage,
+                new NetworkEnvelope(authorizationToken, envelopePayloadMessage),
+                priority,
+                compressionEnabled);
+        int size = outboundMessage.proto.getSerializedSize();
+        boolean writerStarted;
+        synchronized (outboundQueue) {
+            if (!outboundQueue.offer(outboundMessage, priority, size)) {
+                throw new ConnectionException(ConnectionException.Reason.OUTBOUND_QUEUE_FULL,
+                        "Outbound queue for " + priority + " messages is full. Queued bytes: " +
+                                outboundQueue.getQueuedBytes(priority) + ". Connection: " + this);
+            }
+            // We call onSent before the writer can send the message, so that a fast response finds its request
+            requestResponseManager.onSent(envelopePayloadMessage);
+            writerStarted = maybeStartWriter();
+        }
+        if (!writerStarted) {
+            failQueuedMessages(new ConnectionException("Could not start writer for " + this));
+        }
 
         try {
-            NetworkEnvelope networkEnvelope = new NetworkEnvelope(authorizationToken, envelopePayloadMessage);
-            boolean sent = false;
-            long ts = System.currentTimeMillis();
-            synchronized (writeLock) {
-                try {
-                    networkEnvelopeSocket.send(networkEnvelope);
-                    sent = true;
-                } catch (Exception exception) {
-                    if (isRunning()) {
-                        throw exception;
-                    } else {
-                        log.info("Send message at stopped connection {} failed with {}", this, ExceptionUtil.getMessageOrToString(exception));
-                    }
-                }
-            }
-            if (sent) {
-                connectionMetrics.onSent(networkEnvelope, System.currentTimeMillis() - ts);
-                if (envelopePayloadMessage instanceof CloseConnectionMessage) {
-                    log.info("Sent {} from {}",
-                            StringUtils.truncate(envelopePayloadMessage.toString(), 300), this);
-                } else {
-                    log.debug("Sent {} from {}",
-                            StringUtils.truncate(envelopePayloadMessage.toString(), 300), this);
-                }
-            }
+            // If the message is still queued at the timeout, the writer skips it
+            outboundMessage.future.orTimeout(SEND_TIMEOUT, TimeUnit.MILLISECONDS).join();
             return this;
-        } catch (IOException exception) {
-            if (isRunning()) {
-                log.warn("Send message at {} failed with {}", this, ExceptionUtil.getMessageOrToString(exception));
-                shutdown(CloseReason.EXCEPTION.exception(exception));
+        } catch (CompletionException completionException) {
+            Throwable cause = completionException.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
             }
             // We wrap any exception (also expected EOFException in case of connection close), to leave handling of the exception to the caller.
-            throw new ConnectionException(exception);
+            throw new ConnectionException(cause);
         }
     }
 
@@ -273,6 +284,7 @@ public abstract class Connection {
         log.info("Close {}; \ncloseReason: {}", this, closeReason);
         shutdownStarted = true;
         requestResponseManager.onClosed();
+        failQueuedMessagesAtClose();
         if (inputHandlerFuture != null) {
             inputHandlerFuture.cancel(true);
         }
@@ -316,6 +328,234 @@ public abstract class Connection {
     // Private
     ///////////////////////////////////////////////////////////////////////////////////////////////////
 
+    private void readMessages() {
+        Thread.currentThread().setName("Connection.read-" + getThreadNameId());
+        try {
+            while (isInputStreamActive()) {
+                var proto = networkEnvelopeSocket.receiveNextEnvelope();
+                // parsing might need some time wo we check again if connection is still active
+                if (isInputStreamActive()) {
+                    checkNotNull(proto, "Proto from NetworkEnvelope.parseDelimitedFrom(inputStream) must not be null");
+
+                    long ts = System.currentTimeMillis();
+                    NetworkEnvelope networkEnvelope = NetworkEnvelope.fromProto(proto);
+                    long deserializeTime = System.currentTimeMillis() - ts;
+                    networkEnvelope.verifyVersion();
+                    connectionMetrics.onReceived(networkEnvelope, deserializeTime);
+
+                    EnvelopePayloadMessage envelopePayloadMessage = networkEnvelope.getEnvelopePayloadMessage();
+                    log.debug("Received message: {} at: {}",
+                            StringUtils.truncate(envelopePayloadMessage.toString(), 200), this);
+                    requestResponseManager.onReceived(envelopePayloadMessage);
+                    NetworkService.DISPATCHER.submit(() -> handler.handleNetworkMessage(envelopePayloadMessage,
+                            networkEnvelope.getAuthorizationToken(),
+                            this));
+
+                    long throttleDelay = connectionThrottle.consumeReceiveToken(envelopePayloadMessage);
+                    if (throttleDelay > 0) {
+                        connectionMetrics.onThrottled(throttleDelay);
+                        // We do not pause the thread but release it and continue reading after the delay.
+                        // Until then, the peer's messages are buffered by the socket.
+                        inputHandlerFuture = SCHEDULER.schedule(this::resumeReadMessages, throttleDelay, TimeUnit.MILLISECONDS);
+                        return;
+                    }
+                }
+            }
+        } catch (Exception exception) {
+            //todo (deferred) StreamCorruptedException from i2p at shutdown. prob it send some text data at shut down
+            if (isInputStreamActive()) {
+                log.debug("Exception at input handler on {}", this, exception);
+                shutdown(CloseReason.EXCEPTION.exception(exception));
+
+                // EOFException expected if connection got closed (Socket closed message)
+                if (!(exception instanceof EOFException)) {
+                    errorHandler.accept(this, exception);
+                }
+            }
+        }
+    }
+
+    // Only one writer is active at any time, thus the messages of a priority class are written in the order they
+    // got queued.
+    private void writeMessages() {
+        Thread.currentThread().setName("Connection.write-" + getThreadNameId());
+        while (true) {
+            OutboundMessage outboundMessage;
+            synchronized (outboundQueue) {
+                Optional<OutboundMessage> next = pollNextMessage();
+                if (next.isEmpty()) {
+                    writerActive = false;
+                    return;
+                }
+                outboundMessage = next.get();
+            }
+
+            if (isStopped()) {
+                outboundMessage.future.completeExceptionally(new ConnectionClosedException(this));
+                failQueuedMessagesAtClose();
+                return;
+            }
+
+            if (outboundMessage.future.isDone()) {
+                // The sender got a timeout
+                log.warn("Message not sent as sender did not wait anymore. Message={}, Connection={}",
+                        StringUtils.truncate(outboundMessage.envelopePayloadMessage.toString(), 200), this);
+                continue;
+            }
+
+            if (!outboundMessage.throttled) {
+                outboundMessage.throttled = true;
+                long throttleDelay = connectionThrottle.consumeSendToken(outboundMessage.envelopePayloadMessage);
+                if (throttleDelay > 0) {
+                    connectionMetrics.onThrottled(throttleDelay);
+                    synchronized (outboundQueue) {
+                        // A CONTROL message passing the deferred message is written without delay, as we keep only
+                        // one message deferred.
+                        if (deferredMessage == null) {
+                            // We do not pause the thread but park the message and release it after the delay.
+                            // Until then, only CONTROL messages get written.
+                            deferredMessage = outboundMessage;
+                            deferredMessageReleased = false;
+                            SCHEDULER.schedule(this::releaseDeferredMessage, throttleDelay, TimeUnit.MILLISECONDS);
+                            continue;
+                        }
+                    }
+                }
+            }
+
+            write(outboundMessage);
+        }
+    }
+
+    // Must be called while holding the outboundQueue lock
+    private Optional<OutboundMessage> pollNextMessage() {
+        if (deferredMessage == null) {
+            return outboundQueue.poll();
+        }
+        if (deferredMessageReleased) {
+            OutboundMessage outboundMessage = deferredMessage;
+            deferredMessage = null;
+            deferredMessageReleased = false;
+            return Optional.of(outboundMessage);
+        }
+        if (canPassDeferredMessage()) {
+            return outboundQueue.poll(MessagePriority.CONTROL);
+        }
+        return Optional.empty();
+    }
+
+    // Must be called while holding the outboundQueue lock. CONTROL messages must not pass a deferred CONTROL message,
+    // to keep their order.
+    private boolean canPassDeferredMessage() {
+        return deferredMessage != null &&
+                deferredMessage.priority != MessagePriority.CONTROL &&
+                !outboundQueue.isEmpty(MessagePriority.CONTROL);
+    }
+
+    /**
+     * Must be called while holding the outboundQueue lock.
+     *
+     * @return False if the writer task could not be submitted
+     */
+    private boolean maybeStartWriter() {
+        if (writerActive) {
+            return true;
+        }
+        boolean hasMessageToWrite = deferredMessage == null ?
+                !outboundQueue.isEmpty() :
+                deferredMessageReleased || canPassDeferredMessage();
+        if (!hasMessageToWrite) {
+            return true;
+        }
+        writerActive = true;
+        try {
+            NetworkService.NETWORK_IO_POOL.submit(this::writeMessages);
+            return true;
+        } catch (RejectedExecutionException e) {
+            log.warn("Could not submit writer for {}", this, e);
+            writerActive = false;
+            return false;
+        }
+    }
+
+    private void releaseDeferredMessage() {
+        boolean writerStarted;
+        synchronized (outboundQueue) {
+            if (deferredMessage == null) {
+                // Connection got closed meanwhile
+                return;
+            }
+            deferredMessageReleased = true;
+            writerStarted = maybeStartWriter();
+        }
+        if (!writerStarted) {
+            failQueuedMessages(new ConnectionException("Could not start writer for " + this));
+        }
+    }
+
+    private void write(OutboundMessage outboundMessage) {
+        EnvelopePayloadMessage envelopePayloadMessage = outboundMessage.envelopePayloadMessage;
+        long ts = System.currentTimeMillis();
+        try {
+            networkEnvelopeSocket.send(outboundMessage.proto);
+            connectionMetrics.onSent(outboundMessage.networkEnvelope, System.currentTimeMillis() - ts);
+            if (envelopePayloadMessage instanceof CloseConnectionMessage) {
+                log.info("Sent {} from {}",
+                        StringUtils.truncate(envelopePayloadMessage.toString(), 300), this);
+            } else {
+                log.debug("Sent {} from {}",
+                        StringUtils.truncate(envelopePayloadMessage.toString(), 300), this);
+            }
+            outboundMessage.future.complete(null);
+        } catch (Exception exception) {
+            if (isRunning()) {
+                if (exception instanceof IOException) {
+                    log.warn("Send message at {} failed with {}", this, ExceptionUtil.getMessageOrToString(exception));
+                    shutdown(CloseReason.EXCEPTION.exception(exception));
+                }
+                outboundMessage.future.completeExceptionally(exception);
+            } else {
+                log.info("Send message at stopped connection {} failed with {}", this, ExceptionUtil.getMessageOrToString(exception));
+                outboundMessage.future.complete(null);
+            }
+        }
+    }
+
+    // Messages which got queued but not written before the connection got closed fail with a
+    // ConnectionClosedException, so that the sender does not assume they got sent.
+    private void failQueuedMessagesAtClose() {
+        List<OutboundMessage> outboundMessages = removeQueuedMessages();
+        if (!outboundMessages.isEmpty()) {
+            log.info("{} queued messages not sent as connection {} got closed", outboundMessages.size(), this);
+        }
+        ConnectionClosedException exception = new ConnectionClosedException(this);
+        outboundMessages.forEach(outboundMessage -> outboundMessage.future.completeExceptionally(exception));
+    }
+
+    private void failQueuedMessages(Throwable throwable) {
+        List<OutboundMessage> outboundMessages = removeQueuedMessages();
+        outboundMessages.forEach(outboundMessage -> outboundMessage.future.completeExceptionally(throwable));
+    }
+
+    private List<OutboundMessage> removeQueuedMessages() {
+        synchronized (outboundQueue) {
+            List<OutboundMessage> outboundMessages = outboundQueue.clear();
+            if (deferredMessage != null) {
+                outboundMessages.add(deferredMessage);
+                deferredMessage = null;
+                deferredMessageReleased = false;
+            }
+            writerActive = false;
+            return outboundMessages;
+        }
+    }
+
+    private void resumeReadMessages() {
+        if (isInputStreamActive()) {
+            inputHandlerFuture = NetworkService.NETWORK_IO_POOL.submit(this::readMessages);
+        }
+    }
+
     private String getThreadNameId() {
         return StringUtils.truncate(getPeerAddress().toString() + "-" + id.substring(0, 8));
     }
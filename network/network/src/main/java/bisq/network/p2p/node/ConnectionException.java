@@ -28,7 +28,8 @@ public class ConnectionException extends CompletionException {
         PROTOBUF_IS_NULL,
         AUTHORIZATION_FAILED,
         ONION_ADDRESS_VERIFICATION_FAILED,
-        ADDRESS_BANNED
+        ADDRESS_BANNED,
+        OUTBOUND_QUEUE_FULL
     }
 
     @Getter
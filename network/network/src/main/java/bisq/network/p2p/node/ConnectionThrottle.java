@@ -18,24 +18,33 @@
 package bisq.network.p2p.node;
 
 import bisq.common.util.MathUtils;
+import bisq.network.p2p.message.EnvelopePayloadMessage;
+import bisq.network.p2p.message.Response;
 import bisq.network.p2p.node.network_load.NetworkLoadSnapshot;
+import bisq.network.p2p.services.peer_group.keep_alive.Ping;
+import lombok.Getter;
+import lombok.ToString;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
 
 /**
- * Checks if time between last send/receive is larger than the throttle time adjusted with the network load.
- * If so we pause the remaining time to ensure only 1 message is sent in that time slot.
- * This should avoid that a node gets flooded (at receive using the peers network load to adjust the throttle time) or
- * flooding their peers (at send using my network load to adjust the throttle time).
- * As larger value in the config for sendMessageTimestamp and receiveMessageTimestamp means it is more likely that
- * message send/receive get paused.
- * Messages are not dropped by we only pause the executing thread. We use lower and upper bounds for the pause, so
- * even with extreme values from the config the throttling should not have severe impacts on the
- * connection (e.g. lead to timeouts).
+ * Rate limits sending and receiving of messages with token buckets per connection and per message class.
+ * The refill rate is scaled down with the network load (at receive using my network load, at send using the peers
+ * network load), so that at higher load the sustained message rate gets reduced, while short bursts are still
+ * possible.
+ * The throttle does not block. It returns the delay the caller should apply. At receive the connection defers reading
+ * the next message by that delay instead of pausing the read thread. At send the connection's writer defers writing
+ * the next message.
+ * Responses, keep-alive and close connection messages do not consume tokens, so they are not delayed by other
+ * traffic. We use an upper bound for the delay, so even with extreme values from the config the throttling should
+ * not have severe impacts on the connection (e.g. lead to timeouts).
  */
 @Slf4j
 public class ConnectionThrottle {
@@ -43,66 +52,167 @@ public class ConnectionThrottle {
     private static final long MAX_THROTTLE_TIME = 1000;
     private static final long MAX_LOG_FREQUENCY = TimeUnit.SECONDS.toMillis(30);
 
+    @Getter
+    @ToString
+    public static final class Config {
+        public static final double DEFAULT_RATE_PER_SECOND = 1000d / MIN_THROTTLE_TIME;
+        public static final int DEFAULT_BURST = 20;
+        public static final double DEFAULT_MESSAGE_CLASS_RATE_PER_SECOND = DEFAULT_RATE_PER_SECOND / 2;
+        public static final int DEFAULT_MESSAGE_CLASS_BURST = 10;
+
+        public static Config from(Node.Config config) {
+            return new Config(config.getSendMessageThrottleTime(),
+                    config.getReceiveMessageThrottleTime(),
+                    DEFAULT_RATE_PER_SECOND,
+                    DEFAULT_BURST,
+                    DEFAULT_MESSAGE_CLASS_RATE_PER_SECOND,
+                    DEFAULT_MESSAGE_CLASS_BURST);
+        }
+
+        private final long sendMessageThrottleTime; // in ms
+        private final long receiveMessageThrottleTime; // in ms
+        private final double ratePerSecond;
+        private final int burst;
+        private final double messageClassRatePerSecond;
+        private final int messageClassBurst;
+
+        /**
+         * @param sendMessageThrottleTime    Time added to the min. interval between sent messages at max. network load.
+         * @param receiveMessageThrottleTime Time added to the min. interval between received messages at max. network load.
+         * @param ratePerSecond              Sustained message rate of the connection at zero network load.
+         * @param burst                      Number of messages which can be sent or received at once on the connection.
+         * @param messageClassRatePerSecond  Sustained rate per message class at zero network load.
+         * @param messageClassBurst          Number of messages of the same class which can be sent or received at once.
+         */
+        public Config(long sendMessageThrottleTime,
+                      long receiveMessageThrottleTime,
+                      double ratePerSecond,
+                      int burst,
+                      double messageClassRatePerSecond,
+                      int messageClassBurst) {
+            this.sendMessageThrottleTime = sendMessageThrottleTime;
+            this.receiveMessageThrottleTime = receiveMessageThrottleTime;
+            this.ratePerSecond = ratePerSecond;
+            this.burst = burst;
+            this.messageClassRatePerSecond = messageClassRatePerSecond;
+            this.messageClassBurst = messageClassBurst;
+        }
+    }
+
     // We apply the log throttle globally, so we use static fields
-    private static AtomicLong lastLoggedTs = new AtomicLong();
+    private static final AtomicLong lastLoggedTs = new AtomicLong();
     private static final List<String> LAST_LOGS = new CopyOnWriteArrayList<>();
 
     private final NetworkLoadSnapshot peersNetworkLoadSnapshot;
     private final NetworkLoadSnapshot myNetworkLoadSnapshot;
-    private final long sendMessageThrottleTime;
-    private final long receiveMessageThrottleTime;
-    private final AtomicLong sendMessageTimestamp = new AtomicLong();
-    private final AtomicLong receiveMessageTimestamp = new AtomicLong();
+    private final Config config;
+    private final LongSupplier clock;
+    private final TokenBucket sendBucket;
+    private final TokenBucket receiveBucket;
+    private final Map<String, TokenBucket> sendBucketByMessageClass = new ConcurrentHashMap<>();
+    private final Map<String, TokenBucket> receiveBucketByMessageClass = new ConcurrentHashMap<>();
 
     public ConnectionThrottle(NetworkLoadSnapshot peersNetworkLoadSnapshot,
                               NetworkLoadSnapshot myNetworkLoadSnapshot,
                               Node.Config config) {
+        this(peersNetworkLoadSnapshot, myNetworkLoadSnapshot, Config.from(config), System::currentTimeMillis);
+    }
+
+    public ConnectionThrottle(NetworkLoadSnapshot peersNetworkLoadSnapshot,
+                              NetworkLoadSnapshot myNetworkLoadSnapshot,
+                              Config config,
+                              LongSupplier clock) {
         this.peersNetworkLoadSnapshot = peersNetworkLoadSnapshot;
         this.myNetworkLoadSnapshot = myNetworkLoadSnapshot;
-        sendMessageThrottleTime = config.getSendMessageThrottleTime(); // default 200
-        receiveMessageThrottleTime = config.getReceiveMessageThrottleTime(); // default 200
+        this.config = config;
+        this.clock = clock;
+        sendBucket = new TokenBucket(config.getRatePerSecond(), config.getBurst(), clock);
+        receiveBucket = new TokenBucket(config.getRatePerSecond(), config.getBurst(), clock);
     }
 
-    void throttleSendMessage() {
-        throttle(sendMessageTimestamp, peersNetworkLoadSnapshot, sendMessageThrottleTime, "send");
+    /**
+     * @return The delay in ms to apply before sending the message.
+     */
+    long consumeSendToken(EnvelopePayloadMessage envelopePayloadMessage) {
+        return consume(envelopePayloadMessage,
+                sendBucket,
+                sendBucketByMessageClass,
+                peersNetworkLoadSnapshot,
+                config.getSendMessageThrottleTime(),
+                "send");
     }
 
-    void throttleReceiveMessage() {
-        throttle(receiveMessageTimestamp, myNetworkLoadSnapshot, receiveMessageThrottleTime, "receive");
+    /**
+     * @return The delay in ms by which reading the next message from the peer should be deferred.
+     */
+    long consumeReceiveToken(EnvelopePayloadMessage envelopePayloadMessage) {
+        return consume(envelopePayloadMessage,
+                receiveBucket,
+                receiveBucketByMessageClass,
+                myNetworkLoadSnapshot,
+                config.getReceiveMessageThrottleTime(),
+                "receive");
     }
 
-    private void throttle(AtomicLong timestamp, NetworkLoadSnapshot networkLoadSnapshot, long throttleTime, String direction) {
-        long now = System.currentTimeMillis();
-        long passed = now - timestamp.get();
+    private long consume(EnvelopePayloadMessage envelopePayloadMessage,
+                         TokenBucket connectionBucket,
+                         Map<String, TokenBucket> bucketByMessageClass,
+                         NetworkLoadSnapshot networkLoadSnapshot,
+                         long throttleTime,
+                         String direction) {
+        if (isExempt(envelopePayloadMessage)) {
+            return 0;
+        }
+
         double load = networkLoadSnapshot.getCurrentNetworkLoad().getLoad();
-        throttleTime = MIN_THROTTLE_TIME + Math.round(throttleTime * load);
-        throttleTime = MathUtils.bounded(MIN_THROTTLE_TIME, MAX_THROTTLE_TIME, throttleTime);
-        if (passed < throttleTime) {
-            try {
-                long pause = throttleTime - passed;
-                pause = MathUtils.bounded(1, MAX_THROTTLE_TIME, pause);
-                String logMessage = String.format("Pause '%s' message for %d ms. Network=%f", direction, pause, load);
-                long passedSinceLastLog = now - lastLoggedTs.get();
-                if (passedSinceLastLog < MAX_LOG_FREQUENCY) {
-                    LAST_LOGS.add(logMessage);
-                    if (lastLoggedTs.get() == 0) {
-                        lastLoggedTs.set(now);
-                    }
-                } else {
-                    if (LAST_LOGS.isEmpty()) {
-                        log.info(logMessage);
-                    } else {
-                        LAST_LOGS.add(logMessage);
-                        log.info("{} accumulated log messages in the past {} sec. Log message (max 5 displayed): {}",
-                                LAST_LOGS.size(), passedSinceLastLog / 1000, LAST_LOGS.subList(0, Math.min(5, LAST_LOGS.size())));
-                        LAST_LOGS.clear();
-                    }
-                    lastLoggedTs.set(now);
-                }
-                Thread.sleep(pause);
-            } catch (InterruptedException ignore) {
+        double rateFactor = getRateFactor(load, throttleTime);
+        String className = envelopePayloadMessage.getClass().getSimpleName();
+        TokenBucket messageClassBucket = bucketByMessageClass.computeIfAbsent(className,
+                key -> new TokenBucket(config.getMessageClassRatePerSecond(), config.getMessageClassBurst(), clock));
+        long delay = Math.max(connectionBucket.consume(1, rateFactor), messageClassBucket.consume(1, rateFactor));
+        if (delay == 0) {
+            return 0;
+        }
+
+        delay = MathUtils.bounded(1, MAX_THROTTLE_TIME, delay);
+        maybeLog(String.format("Throttle '%s' of %s by %d ms. Network load=%f", direction, className, delay, load));
+        return delay;
+    }
+
+    private static boolean isExempt(EnvelopePayloadMessage envelopePayloadMessage) {
+        return envelopePayloadMessage instanceof Response ||
+                envelopePayloadMessage instanceof Ping ||
+                envelopePayloadMessage instanceof CloseConnectionMessage;
+    }
+
+    /**
+     * At zero load we use the full rate. With higher load the min. interval between messages gets increased by the
+     * throttleTime scaled by the load, as it was the case with the previous time based throttle.
+     */
+    private static double getRateFactor(double load, long throttleTime) {
+        long interval = MIN_THROTTLE_TIME + Math.round(throttleTime * load);
+        interval = MathUtils.bounded(MIN_THROTTLE_TIME, MAX_THROTTLE_TIME, interval);
+        return (double) MIN_THROTTLE_TIME / interval;
+    }
+
+    private void maybeLog(String logMessage) {
+        long now = clock.getAsLong();
+        long passedSinceLastLog = now - lastLoggedTs.get();
+        if (passedSinceLastLog < MAX_LOG_FREQUENCY) {
+            LAST_LOGS.add(logMessage);
+            if (lastLoggedTs.get() == 0) {
+                lastLoggedTs.set(now);
+            }
+        } else {
+            if (LAST_LOGS.isEmpty()) {
+                log.info(logMessage);
+            } else {
+                LAST_LOGS.add(logMessage);
+                log.info("{} accumulated log messages in the past {} sec. Log message (max 5 displayed): {}",
+                        LAST_LOGS.size(), passedSinceLastLog / 1000, LAST_LOGS.subList(0, Math.min(5, LAST_LOGS.size())));
+                LAST_LOGS.clear();
             }
+            lastLoggedTs.set(now);
         }
-        timestamp.set(now);
     }
 }
@@ -11,7 +11,10 @@ public enum Feature implements ProtoEnum {
     INVENTORY_HASH_SET,
     INVENTORY_MINI_SKETCH,
     AUTHORIZATION_HASH_CASH,
-    AUTHORIZATION_EQUI_HASH;
+    AUTHORIZATION_EQUI_HASH,
+    INVENTORY_STREAMING,
+    COMPRESSION_DEFLATE,
+    INVENTORY_MAILBOX_BY_RECEIVER;
 
     @Override
     public bisq.network.protobuf.Feature toProtoEnum() {
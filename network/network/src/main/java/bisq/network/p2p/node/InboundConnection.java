@@ -37,6 +37,7 @@ public class InboundConnection extends Connection {
                       NetworkLoadSnapshot peersNetworkLoadSnapshot,
                       ConnectionMetrics connectionMetrics,
                       ConnectionThrottle connectionThrottle,
+                      boolean compressionEnabled,
                       Handler handler,
                       BiConsumer<Connection, Exception> errorHandler) {
         super(socket,
@@ -44,6 +45,7 @@ public class InboundConnection extends Connection {
                 peersNetworkLoadSnapshot,
                 connectionMetrics,
                 connectionThrottle,
+                compressionEnabled,
                 handler,
                 errorHandler);
         this.serverSocketResult = serverSocketResult;
@@ -0,0 +1,82 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.network.p2p.node;
+
+import bisq.common.util.ByteUnit;
+import bisq.network.p2p.message.EnvelopePayloadMessage;
+import bisq.network.p2p.services.confidential.ConfidentialMessage;
+import bisq.network.p2p.services.confidential.ack.AckMessage;
+import bisq.network.p2p.services.data.inventory.InventoryChunk;
+import bisq.network.p2p.services.data.inventory.InventoryChunkAck;
+import bisq.network.p2p.services.data.inventory.InventoryChunkRequest;
+import bisq.network.p2p.services.data.inventory.InventoryRequest;
+import bisq.network.p2p.services.data.inventory.InventoryResponse;
+import bisq.network.p2p.services.data.inventory.MailboxInventoryRequest;
+import bisq.network.p2p.services.peer_group.exchange.PeerExchangeRequest;
+import bisq.network.p2p.services.peer_group.exchange.PeerExchangeResponse;
+import bisq.network.p2p.services.peer_group.keep_alive.Ping;
+import bisq.network.p2p.services.peer_group.keep_alive.Pong;
+import bisq.network.p2p.services.peer_group.network_load.NetworkLoadExchangeRequest;
+import bisq.network.p2p.services.peer_group.network_load.NetworkLoadExchangeResponse;
+import lombok.Getter;
+
+/**
+ * Priority class of outbound messages used by the OutboundQueue of a connection.
+ * CONTROL messages are small and keep the connection alive, thus they are always sent first. The other classes share
+ * the bandwidth by their weight. BROADCAST and BULK have a limit for the queued bytes, so that senders get rejected
+ * instead of piling up data the peer cannot consume.
+ */
+@Getter
+public enum MessagePriority {
+    CONTROL(0, Long.MAX_VALUE),
+    CONFIDENTIAL(4, Long.MAX_VALUE),
+    BROADCAST(2, Math.round(ByteUnit.MB.toBytes(4))),
+    BULK(1, Math.round(ByteUnit.MB.toBytes(8)));
+
+    private final int weight;
+    private final long maxQueuedBytes;
+
+    MessagePriority(int weight, long maxQueuedBytes) {
+        this.weight = weight;
+        this.maxQueuedBytes = maxQueuedBytes;
+    }
+
+    public static MessagePriority from(EnvelopePayloadMessage envelopePayloadMessage) {
+        if (envelopePayloadMessage instanceof Ping ||
+                envelopePayloadMessage instanceof Pong ||
+                envelopePayloadMessage instanceof CloseConnectionMessage ||
+                envelopePayloadMessage instanceof PeerExchangeRequest ||
+                envelopePayloadMessage instanceof PeerExchangeResponse ||
+                envelopePayloadMessage instanceof NetworkLoadExchangeRequest ||
+                envelopePayloadMessage instanceof NetworkLoadExchangeResponse ||
+                envelopePayloadMessage instanceof InventoryChunkAck) {
+            return CONTROL;
+        } else if (envelopePayloadMessage instanceof ConfidentialMessage ||
+                envelopePayloadMessage instanceof AckMessage) {
+            return CONFIDENTIAL;
+        } else if (envelopePayloadMessage instanceof InventoryRequest ||
+                envelopePayloadMessage instanceof InventoryResponse ||
+                envelopePayloadMessage instanceof InventoryChunkRequest ||
+                envelopePayloadMessage instanceof InventoryChunk ||
+                envelopePayloadMessage instanceof MailboxInventoryRequest) {
+            return BULK;
+        } else {
+            return BROADCAST;
+        }
+    }
+}
@@ -28,6 +28,8 @@ import bisq.network.common.TransportConfig;
 import bisq.network.common.TransportType;
 import bisq.network.identity.NetworkId;
 import bisq.network.p2p.message.EnvelopePayloadMessage;
+import bisq.network.p2p.message.Request;
+import bisq.network.p2p.message.Response;
 import bisq.network.p2p.node.authorization.AuthorizationService;
 import bisq.network.p2p.node.authorization.AuthorizationToken;
 import bisq.network.p2p.node.handshake.ConnectionHandshake;
@@ -54,6 +56,7 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.concurrent.atomic.AtomicReference;
@@ -160,6 +163,7 @@ public class Node implements Connection.Handler {
     private final Set<Listener> listeners = new CopyOnWriteArraySet<>();
     private final Map<String, ConnectionHandshake> connectionHandshakes = new ConcurrentHashMap<>();
     private final RetryPolicy<Boolean> retryPolicy;
+    private final OutboundConnectionFactory outboundConnectionFactory;
     private Optional<Server> server = Optional.empty();
     private Optional<Capability> myCapability = Optional.empty();
     @Getter
@@ -205,6 +209,8 @@ public class Node implements Connection.Handler {
                 })
                 .onSuccess(e -> log.debug("InitializeServer succeeded."))
                 .build();
+
+        outboundConnectionFactory = new OutboundConnectionFactory(this::createOutboundConnection);
     }
 
 
@@ -291,6 +297,7 @@ public class Node implements Connection.Handler {
                     peersNetworkLoadSnapshot,
                     result.getConnectionMetrics(),
                     connectionThrottle,
+                    isCompressionEnabled(result.getCapability()),
                     this,
                     this::handleException);
             inboundConnectionsByAddress.put(connection.getPeerAddress(), connection);
@@ -351,6 +358,11 @@ public class Node implements Connection.Handler {
             maybeSimulateDelay();
             return connection.send(envelopePayloadMessage, token);
         } catch (Exception exception) {
+            if (exception instanceof ConnectionException &&
+                    ((ConnectionException) exception).getReason() == ConnectionException.Reason.OUTBOUND_QUEUE_FULL) {
+                // Backpressure from the connection's outbound queue. The connection is still usable, so we do not close it.
+                throw (ConnectionException) exception;
+            }
             if (connection.isRunning() && !(exception.getCause() instanceof SocketException)) {
                 handleException(connection, exception);
                 log.debug("Send message failed", exception);
@@ -360,6 +372,19 @@ public class Node implements Connection.Handler {
         }
     }
 
+    /**
+     * Sends the request and completes the returned future with the response carrying the same request ID.
+     * See {@link RequestResponseManager} for the in-flight limit, timeout and connection close handling.
+     */
+    public <T extends EnvelopePayloadMessage & Request> CompletableFuture<Response> request(T request,
+                                                                                          Connection connection,
+                                                                                          Duration timeout) {
+        return connection.getRequestResponseManager().request(connection,
+                request,
+                timeout.toMillis(),
+                () -> send(request, connection));
+    }
+
 
     ///////////////////////////////////////////////////////////////////////////////////////////////////
     // Connection
@@ -371,7 +396,28 @@ public class Node implements Connection.Handler {
         } else if (inboundConnectionsByAddress.containsKey(address)) {
             return inboundConnectionsByAddress.get(address);
         } else {
-            return createOutboundConnection(address);
+            try {
+                return createOutboundConnectionAsync(address).join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                throw new ConnectionException(e.getCause());
+            }
+        }
+    }
+
+    /**
+     * Does not block the caller's thread. If we do not have a connection to that address yet, we create an
+     * outbound connection. Concurrent requests to the same address share the same connection attempt.
+     */
+    public CompletableFuture<Connection> getConnectionAsync(Address address) {
+        if (outboundConnectionsByAddress.containsKey(address)) {
+            return CompletableFuture.completedFuture(outboundConnectionsByAddress.get(address));
+        } else if (inboundConnectionsByAddress.containsKey(address)) {
+            return CompletableFuture.completedFuture(inboundConnectionsByAddress.get(address));
+        } else {
+            return createOutboundConnectionAsync(address).thenApply(connection -> connection);
         }
     }
 
@@ -380,9 +426,13 @@ public class Node implements Connection.Handler {
     // OutboundConnection
     ///////////////////////////////////////////////////////////////////////////////////////////////////
 
-    private Connection createOutboundConnection(Address address) {
+    public CompletableFuture<OutboundConnection> createOutboundConnectionAsync(Address address) {
+        return outboundConnectionFactory.connect(address);
+    }
+
+    private OutboundConnection createOutboundConnection(Address address, OutboundConnectionFactory.Deadline deadline) {
         log.debug("Create outbound connection to {}", address);
-        return myCapability.map(capability -> createOutboundConnection(address, capability))
+        return myCapability.map(capability -> createOutboundConnection(address, capability, deadline))
                 .orElseGet(() -> {
                     int port = networkId.getAddressByTransportTypeMap().get(transportType).getPort();
                     log.warn("We create an outbound connection but we have not initialized our server. " +
@@ -390,22 +440,29 @@ public class Node implements Connection.Handler {
                             "life cycle themselves.", port);
                     initialize();
                     checkArgument(myCapability.isPresent(), "myCapability must be present after initializeServer got called");
-                    return createOutboundConnection(address, myCapability.get());
+                    return createOutboundConnection(address, myCapability.get(), deadline);
                 });
     }
 
-    private Connection createOutboundConnection(Address address, Capability myCapability) {
+    private OutboundConnection createOutboundConnection(Address address,
+                                                        Capability myCapability,
+                                                        OutboundConnectionFactory.Deadline deadline) {
         if (banList.isBanned(address)) {
             throw new ConnectionException(ADDRESS_BANNED, "PeerAddress is banned. address=" + address);
         }
         Socket socket;
         try {
-            socket = transportService.getSocket(address); // Blocking call
+            // Blocking call. We get called from the OutboundConnectionFactory, so we do not block the caller.
+            // The handshake request is sent right after the socket got connected.
+            socket = transportService.getSocket(address, deadline.getRemaining());
         } catch (IOException e) {
             handleException(e);
             throw new ConnectionException(e);
         }
 
+        // Blocking reads during the handshake do not react on interrupts, so we close the socket at the deadline
+        deadline.closeAtDeadline(socket);
+
         // As time passed we check again if connection is still not available
         if (outboundConnectionsByAddress.containsKey(address)) {
             log.warn("Has already an OutboundConnection to {}. This can happen while we " +
@@ -446,6 +503,10 @@ public class Node implements Connection.Handler {
                 return outboundConnectionsByAddress.get(address);
             }
 
+            if (isShutdown()) {
+                throw new ConnectionException("Node got shut down while creating an outbound connection to " + address);
+            }
+
             if (!isDefaultNode) {
                 log.info("We create an outbound connection to {} from a user node. node={}", address, getNodeInfo());
             }
@@ -458,6 +519,7 @@ public class Node implements Connection.Handler {
                     peersNetworkLoadSnapshot,
                     result.getConnectionMetrics(),
                     connectionThrottle,
+                    isCompressionEnabled(result.getCapability()),
                     this,
                     this::handleException);
             outboundConnectionsByAddress.put(address, connection);
@@ -637,6 +699,7 @@ public class Node implements Connection.Handler {
         setState(State.STOPPING);
 
         server.ifPresent(Server::shutdown);
+        outboundConnectionFactory.shutdown();
         connectionHandshakes.values().forEach(ConnectionHandshake::shutdown);
         Stream<CompletableFuture<Void>> futures = getAllConnections()
                 .map(connection -> closeConnectionGracefullyAsync(connection, CloseReason.SHUTDOWN));
@@ -753,6 +816,9 @@ public class Node implements Connection.Handler {
                     case ADDRESS_BANNED:
                         log.warn(msg, exception);
                         break;
+                    case OUTBOUND_QUEUE_FULL:
+                        log.info("Exception: {}", ExceptionUtil.getMessageOrToString(exception));
+                        break;
                     default:
                         log.error("Unhandled connectionException reason. {}", msg, exception);
                 }
@@ -782,6 +848,11 @@ public class Node implements Connection.Handler {
         return getState().get() == STOPPING || getState().get() == TERMINATED;
     }
 
+    private boolean isCompressionEnabled(Capability peersCapability) {
+        return features.contains(Feature.COMPRESSION_DEFLATE) &&
+                peersCapability.getFeatures().contains(Feature.COMPRESSION_DEFLATE);
+    }
+
     // Only used for clearnet
     private void maybeSimulateDelay() {
         if (devModeDelayInMs > 0) {
@@ -38,6 +38,7 @@ public class OutboundConnection extends Connection {
                        NetworkLoadSnapshot peersNetworkLoadSnapshot,
                        ConnectionMetrics connectionMetrics,
                        ConnectionThrottle connectionThrottle,
+                       boolean compressionEnabled,
                        Handler handler,
                        BiConsumer<Connection, Exception> errorHandler) {
         super(socket,
@@ -45,6 +46,7 @@ public class OutboundConnection extends Connection {
                 peersNetworkLoadSnapshot,
                 connectionMetrics,
                 connectionThrottle,
+                compressionEnabled,
                 handler,
                 errorHandler);
 
@@ -0,0 +1,249 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.network.p2p.node;
+
+import bisq.common.threading.ExecutorFactory;
+import bisq.network.common.Address;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+
+/**
+ * Creates outbound connections asynchronously.
+ * - Concurrent attempts to the same address are deduplicated, all callers get the same future.
+ * - The number of concurrent attempts is limited globally (across all nodes) by the size of the connection pool.
+ *   Further attempts are queued.
+ * - Each attempt has a deadline, counted from the moment the attempt is submitted, so that the time waiting for a
+ *   free thread is included. Attempts which are still queued at the deadline are dropped. The connector gets the
+ *   remaining time for the socket connect and registers the socket at the deadline. At the deadline we close the registered
+ *   resources, as a blocking java.net.Socket does not react on interrupts, and interrupt the thread for the
+ *   interruptible SocketChannel used for the SOCKS connect.
+ * - At shutdown the running attempts are interrupted and connections created by attempts which complete
+ *   nevertheless are closed.
+ */
+@Slf4j
+public class OutboundConnectionFactory {
+    public static final int MAX_CONCURRENT_ATTEMPTS = 16;
+    public static final Duration ATTEMPT_DEADLINE = Duration.ofSeconds(90);
+
+    private static final ExecutorService CONNECTION_POOL = ExecutorFactory.newFixedThreadPool("OutboundConnectionFactory",
+            MAX_CONCURRENT_ATTEMPTS);
+    private static final ScheduledExecutorService DEADLINE_SCHEDULER = ExecutorFactory.newSingleThreadScheduledExecutor("OutboundConnectionFactory.deadline");
+
+    public interface Connector {
+        OutboundConnection connect(Address address, Deadline deadline);
+    }
+
+    private final Connector connector;
+    private final Duration attemptDeadline;
+    private final Map<Address, CompletableFuture<OutboundConnection>> pendingAttemptsByAddress = new ConcurrentHashMap<>();
+    private final Map<CompletableFuture<OutboundConnection>, Future<?>> runningAttempts = new ConcurrentHashMap<>();
+    private volatile boolean isShutdown;
+
+    public OutboundConnectionFactory(Connector connector) {
+        this(connector, ATTEMPT_DEADLINE);
+    }
+
+    public OutboundConnectionFactory(Connector connector, Duration attemptDeadline) {
+        this.connector = connector;
+        this.attemptDeadline = attemptDeadline;
+    }
+
+    public CompletableFuture<OutboundConnection> connect(Address address) {
+        if (isShutdown) {
+            return CompletableFuture.failedFuture(new ConnectionException("OutboundConnectionFactory got shut down"));
+        }
+
+        CompletableFuture<OutboundConnection> future = new CompletableFuture<>();
+        CompletableFuture<OutboundConnection> pending = pendingAttemptsByAddress.putIfAbsent(address, future);
+        if (pending != null) {
+            log.debug("We have a pending connection attempt to {}. We use that instead of starting a new one.", address);
+            return pending;
+        }
+
+        // The deadline is counted from the submission, so that time spent waiting for a free thread of the
+        // connection pool is included.
+        Deadline deadline = new Deadline(System.currentTimeMillis() + attemptDeadline.toMillis());
+        try {
+            Future<?> attempt = CONNECTION_POOL.submit(() -> runAttempt(address, future, deadline));
+            // The attempt might have been completed already, in which case we must not add it.
+            if (!future.isDone()) {
+                runningAttempts.put(future, attempt);
+                if (future.isDone()) {
+                    runningAttempts.remove(future);
+                }
+            }
+            ScheduledFuture<?> scheduledFuture = DEADLINE_SCHEDULER.schedule(() -> onDeadline(address, future, deadline),
+                    attemptDeadline.toMillis(), TimeUnit.MILLISECONDS);
+            future.whenComplete((connection, throwable) -> scheduledFuture.cancel(false));
+        } catch (RejectedExecutionException e) {
+            removeAttempt(address, future);
+            future.completeExceptionally(new ConnectionException(e));
+        }
+        return future;
+    }
+
+    public int getNumPendingAttempts() {
+        return pendingAttemptsByAddress.size();
+    }
+
+    public void shutdown() {
+        isShutdown = true;
+        runningAttempts.values().forEach(attempt -> attempt.cancel(true));
+        runningAttempts.clear();
+        pendingAttemptsByAddress.values().forEach(future ->
+                future.completeExceptionally(new ConnectionException("OutboundConnectionFactory got shut down")));
+        pendingAttemptsByAddress.clear();
+    }
+
+    private void removeAttempt(Address address, CompletableFuture<OutboundConnection> future) {
+        pendingAttemptsByAddress.remove(address, future);
+        runningAttempts.remove(future);
+    }
+
+    private void runAttempt(Address address,
+                            CompletableFuture<OutboundConnection> future,
+                            Deadline deadline) {
+        if (!deadline.start(Thread.currentThread())) {
+            // The deadline was reached while the attempt was waiting in the queue of the connection pool.
+            removeAttempt(address, future);
+            future.completeExceptionally(createDeadlineException(address));
+            return;
+        }
+
+        try {
+            OutboundConnection connection = connector.connect(address, deadline);
+            // We remove the pending attempt before completing, so that a caller reacting on a failure can
+            // start a new attempt.
+            removeAttempt(address, future);
+            if (isShutdown || !future.complete(connection)) {
+                log.info("Connection attempt to {} completed after shutdown or deadline. We close the connection.", address);
+                connection.shutdown(CloseReason.SHUTDOWN);
+                future.completeExceptionally(new ConnectionException("OutboundConnectionFactory got shut down"));
+            }
+        } catch (Throwable throwable) {
+            removeAttempt(address, future);
+            future.completeExceptionally(deadline.isTriggered() ? createDeadlineException(address) : throwable);
+        } finally {
+            deadline.complete();
+        }
+    }
+
+    private void onDeadline(Address address, CompletableFuture<OutboundConnection> future, Deadline deadline) {
+        deadline.trigger();
+        // A queued attempt gets dropped, a running one reacts on the triggered deadline.
+        Future<?> attempt = runningAttempts.get(future);
+        if (attempt != null) {
+            attempt.cancel(false);
+        }
+        removeAttempt(address, future);
+        future.completeExceptionally(createDeadlineException(address));
+    }
+
+    private ConnectionException createDeadlineException(Address address) {
+        return new ConnectionException("Connection attempt to " + address + " exceeded deadline of " +
+                attemptDeadline.toMillis() / 1000 + " sec.");
+    }
+
+    public static final class Deadline {
+        private final long deadlineTime;
+        private Thread thread;
+        private final List<Closeable> closeables = new ArrayList<>();
+        private boolean isCompleted;
+        private volatile boolean isTriggered;
+
+        private Deadline(long deadlineTime) {
+            this.deadlineTime = deadlineTime;
+        }
+
+        /**
+         * @return False if the deadline is already reached, in which case the attempt must not be started.
+         */
+        private synchronized boolean start(Thread thread) {
+            if (isTriggered || System.currentTimeMillis() >= deadlineTime) {
+                isTriggered = true;
+                return false;
+            }
+            this.thread = thread;
+            return true;
+        }
+
+        /**
+         * @return The time left until the deadline, at least 1 ms, so that it can be used as socket timeout
+         * (where 0 means no timeout).
+         */
+        public Duration getRemaining() {
+            return Duration.ofMillis(Math.max(1, deadlineTime - System.currentTimeMillis()));
+        }
+
+        /**
+         * The closeable gets closed if the deadline is reached before the attempt completed. If the deadline is
+         * already reached, it gets closed immediately.
+         */
+        public void closeAtDeadline(Closeable closeable) {
+            synchronized (this) {
+                if (!isTriggered) {
+                    closeables.add(closeable);
+                    return;
+                }
+            }
+            closeQuietly(closeable);
+        }
+
+        private void trigger() {
+            List<Closeable> toClose;
+            synchronized (this) {
+                if (isCompleted) {
+                    return;
+                }
+                isTriggered = true;
+                if (thread != null) {
+                    thread.interrupt();
+                }
+                toClose = new ArrayList<>(closeables);
+            }
+            toClose.forEach(Deadline::closeQuietly);
+        }
+
+        private synchronized void complete() {
+            isCompleted = true;
+            thread = null;
+            closeables.clear();
+            // Clear interrupted flag in case the deadline got triggered, as the thread is reused by the pool.
+            //noinspection ResultOfMethodCallIgnored
+            Thread.interrupted();
+        }
+
+        private boolean isTriggered() {
+            return isTriggered;
+        }
+
+        private static void closeQuietly(Closeable closeable) {
+            try {
+                closeable.close();
+            } catch (IOException ignore) {
+            }
+        }
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.network.p2p.node;
+
+import java.util.*;
+
+/**
+ * Queue of the outbound messages of a connection, grouped by MessagePriority.
+ * CONTROL messages are dequeued before any other message. The other classes are served by deficit round-robin based
+ * on the message size, so each non-empty class gets a share of the bandwidth proportional to its weight. Within a
+ * class the order is preserved.
+ * Not thread safe. The caller has to synchronize the access.
+ */
+class OutboundQueue<T> {
+    private static final MessagePriority[] WEIGHTED_CLASSES = {
+            MessagePriority.CONFIDENTIAL, MessagePriority.BROADCAST, MessagePriority.BULK
+    };
+
+    private static final class Item<T> {
+        private final T element;
+        private final int size;
+
+        private Item(T element, int size) {
+            this.element = element;
+            this.size = size;
+        }
+    }
+
+    private final int quantum;
+    private final Map<MessagePriority, Deque<Item<T>>> queues = new EnumMap<>(MessagePriority.class);
+    private final Map<MessagePriority, Long> queuedBytes = new EnumMap<>(MessagePriority.class);
+    private final Map<MessagePriority, Long> deficits = new EnumMap<>(MessagePriority.class);
+    private int currentIndex;
+    private int size;
+
+    /**
+     * @param quantum Bytes credited to a class per round, multiplied with the weight of the class.
+     */
+    OutboundQueue(int quantum) {
+        this.quantum = quantum;
+        for (MessagePriority priority : MessagePriority.values()) {
+            queues.put(priority, new ArrayDeque<>());
+            queuedBytes.put(priority, 0L);
+            deficits.put(priority, 0L);
+        }
+    }
+
+    /**
+     * @return False if the queued bytes of the priority class would exceed its limit. A single message is always
+     * accepted if the class is empty.
+     */
+    boolean offer(T element, MessagePriority priority, int size) {
+        long bytes = queuedBytes.get(priority);
+        if (bytes > 0 && bytes + size > priority.getMaxQueuedBytes()) {
+            return false;
+        }
+        queues.get(priority).add(new Item<>(element, size));
+        queuedBytes.put(priority, bytes + size);
+        this.size++;
+        return true;
+    }
+
+    Optional<T> poll() {
+        if (size == 0) {
+            return Optional.empty();
+        }
+        Deque<Item<T>> controlQueue = queues.get(MessagePriority.CONTROL);
+        if (!controlQueue.isEmpty()) {
+            return Optional.of(remove(MessagePriority.CONTROL));
+        }
+
+        // At least one weighted class is not empty, thus the loop terminates
+        while (true) {
+            MessagePriority priority = WEIGHTED_CLASSES[currentIndex];
+            Deque<Item<T>> queue = queues.get(priority);
+            if (queue.isEmpty()) {
+                // Empty classes do not accumulate credit
+                deficits.put(priority, 0L);
+                currentIndex = (currentIndex + 1) % WEIGHTED_CLASSES.length;
+                continue;
+            }
+            long deficit = deficits.get(priority);
+            int headSize = queue.peek().size;
+            if (deficit >= headSize) {
+                deficits.put(priority, deficit - headSize);
+                return Optional.of(remove(priority));
+            }
+            deficits.put(priority, deficit + (long) quantum * priority.getWeight());
+            currentIndex = (currentIndex + 1) % WEIGHTED_CLASSES.length;
+        }
+    }
+
+    /**
+     * @return The next element of the given priority class. Does not change the credit of the weighted classes, thus
+     * it is meant for CONTROL messages.
+     */
+    Optional<T> poll(MessagePriority priority) {
+        if (queues.get(priority).isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(remove(priority));
+    }
+
+    /**
+     * Removes all elements.
+     *
+     * @return The removed elements
+     */
+    List<T> clear() {
+        List<T> elements = new ArrayList<>(size);
+        for (MessagePriority priority : MessagePriority.values()) {
+            queues.get(priority).forEach(item -> elements.add(item.element));
+            queues.get(priority).clear();
+            queuedBytes.put(priority, 0L);
+            deficits.put(priority, 0L);
+        }
+        size = 0;
+        return elements;
+    }
+
+    long getQueuedBytes(MessagePriority priority) {
+        return queuedBytes.get(priority);
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    boolean isEmpty(MessagePriority priority) {
+        return queues.get(priority).isEmpty();
+    }
+
+    private T remove(MessagePriority priority) {
+        Item<T> item = queues.get(priority).poll();
+        queuedBytes.put(priority, queuedBytes.get(priority) - item.size);
+        size--;
+        if (queues.get(priority).isEmpty()) {
+            deficits.put(priority, 0L);
+        }
+        return item.element;
+    }
+}
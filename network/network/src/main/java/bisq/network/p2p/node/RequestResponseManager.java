@@ -1,28 +1,77 @@
 package bisq.network.p2p.node;
 
 import bisq.common.util.StringUtils;
+import bisq.network.NetworkService;
 import bisq.network.p2p.message.EnvelopePayloadMessage;
 import bisq.network.p2p.message.Request;
 import bisq.network.p2p.message.Response;
 import bisq.network.p2p.node.network_load.ConnectionMetrics;
+import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.stream.Collectors;
 
 /**
  * Keeps track of request-response pairs. Used by the PeerGroupManager to check if there are any pending requests
  * on a connection and avoid that such connections gets closed.
+ * <p>
+ * Requests sent via {@link #request} get a future which is completed with the response carrying the same request ID.
+ * Several requests can be pending on one connection. If more than MAX_IN_FLIGHT_REQUESTS requests are pending, further
+ * requests are queued and sent once a slot is free. The deadline of a request starts when it gets requested, so
+ * a queued request whose deadline has passed is not sent anymore. At connection close all pending requests fail
+ * with a ConnectionClosedException.
+ * <p>
+ * Requests sent without a future (via Node.send) are only tracked for the RTT metrics, so that services can migrate
+ * to the future based API one by one.
  */
 @Slf4j
 public class RequestResponseManager {
     private static final long MAX_AGE = TimeUnit.SECONDS.toMillis(300);
+    static final int MAX_IN_FLIGHT_REQUESTS = 16;
 
-    private final Map<String, Long> pendingRequests = new ConcurrentHashMap<>();
+    private static final class PendingRequest {
+        private final Connection connection;
+        private final String requestId;
+        private final String requestClassName;
+        private final long deadline;
+        // Null for requests which were not sent via the request method
+        private final CompletableFuture<Response> future;
+        private final Runnable sender;
+        private volatile long sentDate;
+        // Guarded by pendingRequests
+        private boolean started;
+
+        private PendingRequest(Connection connection,
+                               String requestId,
+                               String requestClassName,
+                               long deadline,
+                               CompletableFuture<Response> future,
+                               Runnable sender) {
+            this.connection = connection;
+            this.requestId = requestId;
+            this.requestClassName = requestClassName;
+            this.deadline = deadline;
+            this.future = future;
+            this.sender = sender;
+            sentDate = System.currentTimeMillis();
+        }
+    }
+
+    private final Map<String, PendingRequest> pendingRequests = new ConcurrentHashMap<>();
+    // Requests waiting for a free in-flight slot. Guarded by pendingRequests.
+    private final Deque<PendingRequest> queuedRequests = new ArrayDeque<>();
     private final ConnectionMetrics connectionMetrics;
+    @Getter
+    private volatile int numInFlightRequests;
+    private volatile boolean closed;
     private volatile long pruneDate;
 
     public RequestResponseManager(ConnectionMetrics connectionMetrics) {
@@ -30,20 +79,65 @@ public class RequestResponseManager {
         pruneDate = System.currentTimeMillis();
     }
 
+    /**
+     * Registers the request and sends it once the number of pending requests is below the in-flight limit.
+     *
+     * @param sender  Sends the request. Called from the NETWORK_IO_POOL.
+     * @param timeout The max. time until the response has to arrive, including the time the request was queued.
+     * @return A future completing with the response. It fails with a TimeoutException if the response did not arrive
+     * in time, or with a ConnectionClosedException if the connection got closed.
+     */
+    CompletableFuture<Response> request(Connection connection, Request request, long timeout, Runnable sender) {
+        CompletableFuture<Response> future = new CompletableFuture<>();
+        PendingRequest pendingRequest = new PendingRequest(connection,
+                request.getRequestId(),
+                request.getClass().getSimpleName(),
+                System.currentTimeMillis() + timeout,
+                future,
+                sender);
+        future.orTimeout(timeout, TimeUnit.MILLISECONDS)
+                .whenComplete((response, throwable) -> onRequestCompleted(pendingRequest));
+
+        synchronized (pendingRequests) {
+            if (closed) {
+                future.completeExceptionally(new ConnectionClosedException(connection));
+                return future;
+            }
+            if (pendingRequests.containsKey(pendingRequest.requestId)) {
+                future.completeExceptionally(new IllegalStateException("A request with requestId " +
+                        pendingRequest.requestId + " is already pending"));
+                return future;
+            }
+            if (numInFlightRequests < MAX_IN_FLIGHT_REQUESTS) {
+                startRequest(pendingRequest);
+            } else {
+                log.debug("We have {} requests in flight. We queue the request with requestId {}",
+                        numInFlightRequests, pendingRequest.requestId);
+                queuedRequests.add(pendingRequest);
+            }
+        }
+        return future;
+    }
+
     void onReceived(EnvelopePayloadMessage envelopePayloadMessage) {
         if (envelopePayloadMessage instanceof Response) {
-            String requestId = ((Response) envelopePayloadMessage).getRequestId();
+            Response response = (Response) envelopePayloadMessage;
+            String requestId = response.getRequestId();
+            PendingRequest pendingRequest;
             synchronized (pendingRequests) {
-                if (pendingRequests.containsKey(requestId)) {
-                    long ts = pendingRequests.get(requestId);
-                    pendingRequests.remove(requestId);
-                    connectionMetrics.addRtt(System.currentTimeMillis() - ts);
-                } else {
-                    log.warn("We received a Response message but did not had a matching request. envelopePayloadMessage={}",
-                            StringUtils.truncate(envelopePayloadMessage.toString(), 500));
+                pendingRequest = pendingRequests.remove(requestId);
+            }
+            if (pendingRequest != null) {
+                connectionMetrics.addRtt(pendingRequest.requestClassName, System.currentTimeMillis() - pendingRequest.sentDate);
+                if (pendingRequest.future != null) {
+                    // We complete on the dispatcher, as the listener based handlers, to not block the read thread.
+                    NetworkService.DISPATCHER.submit(() -> pendingRequest.future.complete(response));
                 }
-                log.debug("onReceived {} requestId={}", envelopePayloadMessage.getClass().getSimpleName(), requestId);
+            } else {
+                log.warn("We received a Response message but did not had a matching request. envelopePayloadMessage={}",
+                        StringUtils.truncate(envelopePayloadMessage.toString(), 500));
             }
+            log.debug("onReceived {} requestId={}", envelopePayloadMessage.getClass().getSimpleName(), requestId);
         }
         maybeRemoveExpired();
     }
@@ -52,11 +146,25 @@ public class RequestResponseManager {
         if (envelopePayloadMessage instanceof Request) {
             String requestId = ((Request) envelopePayloadMessage).getRequestId();
             synchronized (pendingRequests) {
-                if (pendingRequests.containsKey(requestId)) {
-                    log.warn("We sent a Request message but we had already an entry in our map for that requestId. envelopePayloadMessage={}",
-                            StringUtils.truncate(envelopePayloadMessage.toString(), 500));
+                if (closed) {
+                    return;
+                }
+                PendingRequest pendingRequest = pendingRequests.get(requestId);
+                if (pendingRequest != null && pendingRequest.future != null) {
+                    // Registered by the request method; we only update the date for the RTT
+                    pendingRequest.sentDate = System.currentTimeMillis();
+                } else {
+                    if (pendingRequest != null) {
+                        log.warn("We sent a Request message but we had already an entry in our map for that requestId. envelopePayloadMessage={}",
+                                StringUtils.truncate(envelopePayloadMessage.toString(), 500));
+                    }
+                    pendingRequests.put(requestId, new PendingRequest(null,
+                            requestId,
+                            envelopePayloadMessage.getClass().getSimpleName(),
+                            System.currentTimeMillis() + MAX_AGE,
+                            null,
+                            null));
                 }
-                pendingRequests.put(requestId, System.currentTimeMillis());
                 log.debug("onSent {} requestId={}", envelopePayloadMessage.getClass().getSimpleName(), requestId);
             }
         }
@@ -64,7 +172,17 @@ public class RequestResponseManager {
     }
 
     void onClosed() {
-        pendingRequests.clear();
+        Set<PendingRequest> toFail;
+        synchronized (pendingRequests) {
+            closed = true;
+            toFail = pendingRequests.values().stream()
+                    .filter(pendingRequest -> pendingRequest.future != null)
+                    .collect(Collectors.toSet());
+            toFail.addAll(queuedRequests);
+            pendingRequests.clear();
+            queuedRequests.clear();
+        }
+        toFail.forEach(pendingRequest -> pendingRequest.future.completeExceptionally(new ConnectionClosedException(pendingRequest.connection)));
     }
 
     public int numPendingRequests() {
@@ -75,18 +193,57 @@ public class RequestResponseManager {
         return !pendingRequests.isEmpty();
     }
 
+    // Needs to be called in a block synchronized on pendingRequests
+    private void startRequest(PendingRequest pendingRequest) {
+        pendingRequest.started = true;
+        numInFlightRequests++;
+        pendingRequests.put(pendingRequest.requestId, pendingRequest);
+        NetworkService.NETWORK_IO_POOL.submit(() -> {
+            try {
+                pendingRequest.sender.run();
+            } catch (Exception exception) {
+                pendingRequest.future.completeExceptionally(exception);
+            }
+        });
+    }
+
+    private void onRequestCompleted(PendingRequest pendingRequest) {
+        synchronized (pendingRequests) {
+            if (!pendingRequest.started) {
+                // Failed (e.g. timed out) while queued, it did not use a slot
+                queuedRequests.remove(pendingRequest);
+                return;
+            }
+            pendingRequests.remove(pendingRequest.requestId, pendingRequest);
+            if (closed) {
+                return;
+            }
+            numInFlightRequests--;
+            long now = System.currentTimeMillis();
+            while (numInFlightRequests < MAX_IN_FLIGHT_REQUESTS && !queuedRequests.isEmpty()) {
+                PendingRequest next = queuedRequests.poll();
+                if (next.deadline <= now) {
+                    next.future.completeExceptionally(new TimeoutException("Deadline passed before request was sent"));
+                } else {
+                    startRequest(next);
+                }
+            }
+        }
+    }
+
     private void maybeRemoveExpired() {
-        long cutoffDate = System.currentTimeMillis() - MAX_AGE;
-        if (pruneDate > cutoffDate) {
+        long now = System.currentTimeMillis();
+        if (pruneDate > now - MAX_AGE) {
             return;
         }
-        pruneDate = System.currentTimeMillis();
-        Set<String> toRemove = pendingRequests.entrySet().stream()
-                .filter(e -> e.getValue() < cutoffDate)
-                .map(Map.Entry::getKey)
+        pruneDate = now;
+        // Requests with a future get removed at their timeout
+        Set<String> toRemove = pendingRequests.values().stream()
+                .filter(pendingRequest -> pendingRequest.future == null && pendingRequest.deadline < now)
+                .map(pendingRequest -> pendingRequest.requestId)
                 .collect(Collectors.toSet());
         if (!toRemove.isEmpty()) {
-            log.info("We have outdated pendingRequests. toRemove={}; pendingRequests={}", toRemove, pendingRequests);
+            log.info("We have outdated pendingRequests. toRemove={}; pendingRequests={}", toRemove, pendingRequests.keySet());
             synchronized (pendingRequests) {
                 toRemove.forEach(pendingRequests::remove);
             }
@@ -0,0 +1,97 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.network.p2p.node;
+
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.function.LongSupplier;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Token bucket which refills with a given rate up to the burst capacity.
+ * Consuming never blocks. If not enough tokens are available the balance gets negative and the caller receives the
+ * time until the balance is positive again. It is up to the caller to defer further work by that time.
+ * The rate can be scaled at each call (e.g. by the network load), which applies to the refill since the last call.
+ */
+@ToString
+public final class TokenBucket {
+    @Getter
+    private final double ratePerSecond;
+    @Getter
+    private final double capacity;
+    @ToString.Exclude
+    private final LongSupplier clock;
+    private double tokens;
+    private long lastRefill;
+
+    public TokenBucket(double ratePerSecond, double capacity) {
+        this(ratePerSecond, capacity, System::currentTimeMillis);
+    }
+
+    public TokenBucket(double ratePerSecond, double capacity, LongSupplier clock) {
+        checkArgument(ratePerSecond > 0, "ratePerSecond must be > 0");
+        checkArgument(capacity >= 1, "capacity must be >= 1");
+        this.ratePerSecond = ratePerSecond;
+        this.capacity = capacity;
+        this.clock = clock;
+        tokens = capacity;
+        lastRefill = clock.getAsLong();
+    }
+
+    /**
+     * @return The delay in ms until the bucket has a positive balance again. 0 if the tokens were available.
+     */
+    public long consume() {
+        return consume(1, 1);
+    }
+
+    /**
+     * @param numTokens  The number of tokens to consume.
+     * @param rateFactor The factor applied to the refill rate. Must be in the range (0, 1].
+     * @return The delay in ms until the bucket has a positive balance again. 0 if the tokens were available.
+     */
+    public synchronized long consume(double numTokens, double rateFactor) {
+        checkArgument(rateFactor > 0 && rateFactor <= 1, "rateFactor must be in the range (0, 1]");
+        double rate = ratePerSecond * rateFactor;
+        refill(rate);
+        tokens -= numTokens;
+        if (tokens >= 0) {
+            return 0;
+        }
+        return (long) Math.ceil(-tokens / rate * 1000);
+    }
+
+    /**
+     * @return The tokens which would be available at an unscaled rate. Does not change the state of the bucket.
+     */
+    public synchronized double getAvailableTokens() {
+        long passed = Math.max(0, clock.getAsLong() - lastRefill);
+        return Math.min(capacity, tokens + passed * ratePerSecond / 1000);
+    }
+
+    private void refill(double rate) {
+        long now = clock.getAsLong();
+        long passed = now - lastRefill;
+        if (passed > 0) {
+            tokens = Math.min(capacity, tokens + passed * rate / 1000);
+            lastRefill = now;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.network.p2p.node.envelope;
+
+import bisq.common.util.ByteUnit;
+import bisq.network.p2p.node.ConnectionException;
+
+import java.io.ByteArrayOutputStream;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Deflate compression of the serialized EnvelopePayloadMessage of a NetworkEnvelope.
+ * Only used if the peer supports Feature.COMPRESSION_DEFLATE and the payload exceeds MIN_SIZE, as small messages do
+ * not gain much but would cost CPU at both sides.
+ * At decompression, we stop if the output exceeds MAX_DECOMPRESSED_SIZE, so that a small malicious message cannot
+ * exhaust our memory (decompression bomb).
+ */
+public final class EnvelopeCompression {
+    public static final int MIN_SIZE = (int) Math.round(ByteUnit.KB.toBytes(2));
+    public static final int MAX_DECOMPRESSED_SIZE = (int) Math.round(ByteUnit.MB.toBytes(10));
+    private static final int BUFFER_SIZE = 8192;
+
+    private EnvelopeCompression() {
+    }
+
+    public static byte[] compress(byte[] data) {
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION);
+        try {
+            deflater.setInput(data);
+            deflater.finish();
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream(data.length / 2 + 64);
+            byte[] buffer = new byte[BUFFER_SIZE];
+            while (!deflater.finished()) {
+                int length = deflater.deflate(buffer);
+                outputStream.write(buffer, 0, length);
+            }
+            return outputStream.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    public static byte[] decompress(byte[] data) {
+        return decompress(data, MAX_DECOMPRESSED_SIZE);
+    }
+
+    public static byte[] decompress(byte[] data, int maxDecompressedSize) {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(data);
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream(Math.min(maxDecompressedSize, data.length * 4));
+            byte[] buffer = new byte[BUFFER_SIZE];
+            while (!inflater.finished()) {
+                int length = inflater.inflate(buffer);
+                if (length == 0 && !inflater.finished() && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new ConnectionException("Compressed data is truncated or requires a dictionary");
+                }
+                if (outputStream.size() + length > maxDecompressedSize) {
+                    throw new ConnectionException("Decompressed data exceeds max size of " + maxDecompressedSize + " bytes");
+                }
+                outputStream.write(buffer, 0, length);
+            }
+            if (inflater.getRemaining() > 0) {
+                throw new ConnectionException("Compressed data has trailing bytes");
+            }
+            return outputStream.toByteArray();
+        } catch (DataFormatException e) {
+            throw new ConnectionException(e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
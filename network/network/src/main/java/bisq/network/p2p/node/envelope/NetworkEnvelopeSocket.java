@@ -39,7 +39,11 @@ public class NetworkEnvelopeSocket implements Closeable {
     }
 
     public void send(NetworkEnvelope networkEnvelope) throws IOException {
-        networkEnvelope.writeDelimitedTo(outputStream);
+        send(networkEnvelope.completeProto());
+    }
+
+    public void send(bisq.network.protobuf.NetworkEnvelope proto) throws IOException {
+        proto.writeDelimitedTo(outputStream);
         outputStream.flush();
     }
 
@@ -24,7 +24,7 @@ import lombok.ToString;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.*;
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicLong;
 
 @Slf4j
@@ -39,11 +39,14 @@ public class ConnectionMetrics {
     private final TreeMap<Integer, AtomicLong> deserializeTimePerMinute = new TreeMap<>();
     private final TreeMap<Integer, AtomicLong> numMessagesReceivedPerMinute = new TreeMap<>();
     private final TreeMap<Integer, AtomicLong> receivedBytesPerMinute = new TreeMap<>();
+    private final TreeMap<Integer, AtomicLong> numMessagesThrottledPerMinute = new TreeMap<>();
+    private final TreeMap<Integer, AtomicLong> throttleTimePerMinute = new TreeMap<>();
     private final Map<String, AtomicLong> numSentMessagesByMessageClassName = new HashMap<>();
     private final Map<String, AtomicLong> numReceivedMessagesByMessageClassName = new HashMap<>();
 
     private final AtomicLong numMessagesReceived = new AtomicLong();
-    private final List<Long> rrtList = new CopyOnWriteArrayList<>();
+    private final RttHistogram rttHistogram = new RttHistogram();
+    private final Map<String, RttHistogram> rttHistogramByRequestClassName = new ConcurrentHashMap<>();
 
     public ConnectionMetrics() {
         created = System.currentTimeMillis();
@@ -95,12 +98,27 @@ public class ConnectionMetrics {
         numReceivedMessagesByMessageClassName.get(name).getAndIncrement();
     }
 
+    public void onThrottled(long throttleTime) {
+        long now = System.currentTimeMillis();
+        int ageInMinutes = getAgeInMinutes(now);
+        numMessagesThrottledPerMinute.putIfAbsent(ageInMinutes, new AtomicLong());
+        numMessagesThrottledPerMinute.get(ageInMinutes).incrementAndGet();
+
+        throttleTimePerMinute.putIfAbsent(ageInMinutes, new AtomicLong());
+        throttleTimePerMinute.get(ageInMinutes).getAndAdd(throttleTime);
+    }
+
     public void addRtt(long value) {
-        this.rrtList.add(value);
+        rttHistogram.add(value);
+    }
+
+    public void addRtt(String requestClassName, long value) {
+        addRtt(value);
+        rttHistogramByRequestClassName.computeIfAbsent(requestClassName, k -> new RttHistogram()).add(value);
     }
 
     public double getAverageRtt() {
-        return rrtList.stream().mapToLong(e -> e).average().orElse(0d);
+        return rttHistogram.getAverage();
     }
 
     public long getSentBytes() {
@@ -151,6 +169,14 @@ public class ConnectionMetrics {
         return getNumMessagesReceivedOfLastMinutes(60);
     }
 
+    public long getNumMessagesThrottledOfLastHour() {
+        return sumOfLastMinute(numMessagesThrottledPerMinute, 60);
+    }
+
+    public long getThrottleTimeOfLastHour() {
+        return sumOfLastMinute(throttleTimePerMinute, 60);
+    }
+
     public long getNumMessagesSentOfLastMinutes(int lastMinutes) {
         return sumOfLastMinute(numMessagesSentPerMinute, lastMinutes);
     }
@@ -17,16 +17,15 @@
 
 package bisq.network.p2p.node.network_load;
 
-import bisq.common.proto.Proto;
 import bisq.common.timer.Scheduler;
 import bisq.common.util.ByteUnit;
 import bisq.common.util.MathUtils;
 import bisq.network.p2p.ServiceNodesByTransport;
 import bisq.network.p2p.node.Connection;
 import bisq.network.p2p.node.Node;
-import bisq.network.p2p.services.data.DataRequest;
 import bisq.network.p2p.services.data.DataService;
 import bisq.network.p2p.services.data.storage.StorageService;
+import lombok.Getter;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 
@@ -70,11 +69,22 @@ public class NetworkLoadService {
     }
 
     private void updateNetworkLoad() {
-        List<? extends DataRequest> dataRequests = storageService.getAllDataRequestMapEntries()
-                .map(Map.Entry::getValue)
-                .collect(Collectors.toList());
+        List<ConnectionMetrics> allConnectionMetrics = getAllConnectionMetrics();
+        // The storage services keep track of their size, so we do not need to serialize all data requests here.
+        long networkDatabaseSize = storageService.getNetworkDatabaseSize();
+        LoadCalculation loadCalculation = new LoadCalculation(allConnectionMetrics, networkDatabaseSize);
+        log.info("Network load={}; Number of connections: {}; Size of network DB: {} MB; Number of network DB entries: {}",
+                loadCalculation.getLoad(),
+                loadCalculation.getNumConnections(),
+                ByteUnit.BYTE.toMB(networkDatabaseSize),
+                storageService.getNumNetworkDatabaseEntries());
+        if (log.isDebugEnabled()) {
+            log.debug(loadCalculation.createReport(allConnectionMetrics));
+        }
 
-        double load = calculateLoad(getAllConnectionMetrics(), dataRequests);
+        //TODO load calculation has some bugs at spentSendTimeImpact. Until fixed we limit load to 0.1 to avoid high difficulty
+        double load = MathUtils.bounded(0, 0.1, loadCalculation.getLoad());
+        //double load = MathUtils.bounded(0, 1, loadCalculation.getLoad());
         NetworkLoad networkLoad = new NetworkLoad(load, difficultyAdjustmentFactor);
         networkLoadSnapshot.updateNetworkLoad(networkLoad);
     }
@@ -87,139 +97,151 @@ public class NetworkLoadService {
                 .collect(Collectors.toList());
     }
 
-    private static double calculateLoad(List<ConnectionMetrics> allConnectionMetrics, List<? extends DataRequest> dataRequests) {
-        long numConnections = allConnectionMetrics.size();
-        long sentBytesOfLastHour = allConnectionMetrics.stream()
-                .map(ConnectionMetrics::getSentBytesOfLastHour)
-                .mapToLong(e -> e)
-                .sum();
-        long spentSendMessageTimeOfLastHour = allConnectionMetrics.stream()
-                .map(ConnectionMetrics::getSpentSendMessageTimeOfLastHour)
-                .mapToLong(e -> e)
-                .sum();
-        long numMessagesSentOfLastHour = allConnectionMetrics.stream()
-                .map(ConnectionMetrics::getNumMessagesSentOfLastHour)
-                .mapToLong(e -> e)
-                .sum();
-        long receivedBytesOfLastHour = allConnectionMetrics.stream()
-                .map(ConnectionMetrics::getReceivedBytesOfLastHour)
-                .mapToLong(e -> e)
-                .sum();
-        long deserializeTimeOfLastHour = allConnectionMetrics.stream()
-                .map(ConnectionMetrics::getDeserializeTimeOfLastHour)
-                .mapToLong(e -> e)
-                .sum();
-        long numMessagesReceivedOfLastHour = allConnectionMetrics.stream()
-                .map(ConnectionMetrics::getNumMessagesReceivedOfLastHour)
-                .mapToLong(e -> e)
-                .sum();
-        long networkDatabaseSize = dataRequests.stream().mapToLong(Proto::getSerializedSize).sum();
-
-        Map<String, AtomicLong> numSentMessagesByMessageClassName = new TreeMap<>();
-        allConnectionMetrics.stream()
-                .map(ConnectionMetrics::getNumSentMessagesByMessageClassName)
-                .forEach(map -> {
-                    map.forEach((name, value) -> {
-                        numSentMessagesByMessageClassName.putIfAbsent(name, new AtomicLong());
-                        numSentMessagesByMessageClassName.get(name).addAndGet(value.get());
+    @Getter
+    private static class LoadCalculation {
+        private static final double MAX_NUM_CON = 30;
+        private static final double NUM_CON_WEIGHT = 0.1;
+        private static final double MAX_SENT_BYTES = ByteUnit.MB.toBytes(20);
+        private static final double SENT_BYTES_WEIGHT = 0.1;
+        private static final double MAX_SPENT_SEND_TIME = TimeUnit.MINUTES.toMillis(1);
+        private static final double SPENT_SEND_TIME_WEIGHT = 0.1;
+        private static final double MAX_NUM_MSG_SENT = 2000;
+        private static final double NUM_MSG_SENT_WEIGHT = 0.1;
+        private static final double MAX_REC_BYTES = ByteUnit.MB.toBytes(20);
+        private static final double REC_BYTES_WEIGHT = 0.1;
+        private static final double MAX_DESERIALIZE_TIME = TimeUnit.MINUTES.toMillis(1);
+        private static final double DESERIALIZE_TIME_WEIGHT = 0.1;
+        private static final double MAX_NUM_MSG_REC = 1000;
+        private static final double NUM_MSG_REC_WEIGHT = 0.1;
+        private static final double MAX_THROTTLE_TIME = TimeUnit.MINUTES.toMillis(1);
+        private static final double THROTTLE_TIME_WEIGHT = 0.1;
+        private static final double MAX_DB_SIZE = ByteUnit.MB.toBytes(100);
+        private static final double DB_WEIGHT = 0.3;
+
+        private final long numConnections;
+        private long sentBytesOfLastHour;
+        private long spentSendMessageTimeOfLastHour;
+        private long numMessagesSentOfLastHour;
+        private long receivedBytesOfLastHour;
+        private long deserializeTimeOfLastHour;
+        private long numMessagesReceivedOfLastHour;
+        private long numMessagesThrottledOfLastHour;
+        private long throttleTimeOfLastHour;
+        private final long networkDatabaseSize;
+
+        private final double numConnectionsImpact;
+        private final double sentBytesImpact;
+        private final double spentSendTimeImpact;
+        private final double numMessagesSentImpact;
+        private final double receivedBytesImpact;
+        private final double deserializeTimeImpact;
+        private final double numMessagesReceivedImpact;
+        private final double throttleTimeImpact;
+        private final double networkDatabaseSizeImpact;
+        private final double load;
+
+        private LoadCalculation(List<ConnectionMetrics> allConnectionMetrics, long networkDatabaseSize) {
+            numConnections = allConnectionMetrics.size();
+            // We iterate only once over the connection metrics as each getter iterates the time series of the last hour
+            for (ConnectionMetrics connectionMetrics : allConnectionMetrics) {
+                sentBytesOfLastHour += connectionMetrics.getSentBytesOfLastHour();
+                spentSendMessageTimeOfLastHour += connectionMetrics.getSpentSendMessageTimeOfLastHour();
+                numMessagesSentOfLastHour += connectionMetrics.getNumMessagesSentOfLastHour();
+                receivedBytesOfLastHour += connectionMetrics.getReceivedBytesOfLastHour();
+                deserializeTimeOfLastHour += connectionMetrics.getDeserializeTimeOfLastHour();
+                numMessagesReceivedOfLastHour += connectionMetrics.getNumMessagesReceivedOfLastHour();
+                numMessagesThrottledOfLastHour += connectionMetrics.getNumMessagesThrottledOfLastHour();
+                throttleTimeOfLastHour += connectionMetrics.getThrottleTimeOfLastHour();
+            }
+            this.networkDatabaseSize = networkDatabaseSize;
+
+            numConnectionsImpact = numConnections / MAX_NUM_CON * NUM_CON_WEIGHT;
+            sentBytesImpact = sentBytesOfLastHour / MAX_SENT_BYTES * SENT_BYTES_WEIGHT;
+            spentSendTimeImpact = spentSendMessageTimeOfLastHour / MAX_SPENT_SEND_TIME * SPENT_SEND_TIME_WEIGHT;
+            numMessagesSentImpact = numMessagesSentOfLastHour / MAX_NUM_MSG_SENT * NUM_MSG_SENT_WEIGHT;
+            receivedBytesImpact = receivedBytesOfLastHour / MAX_REC_BYTES * REC_BYTES_WEIGHT;
+            deserializeTimeImpact = deserializeTimeOfLastHour / MAX_DESERIALIZE_TIME * DESERIALIZE_TIME_WEIGHT;
+            numMessagesReceivedImpact = numMessagesReceivedOfLastHour / MAX_NUM_MSG_REC * NUM_MSG_REC_WEIGHT;
+            // If our connections get throttled frequently we report a higher load, so that peers reduce their rate
+            throttleTimeImpact = throttleTimeOfLastHour / MAX_THROTTLE_TIME * THROTTLE_TIME_WEIGHT;
+            networkDatabaseSizeImpact = networkDatabaseSize / MAX_DB_SIZE * DB_WEIGHT;
+
+            load = numConnectionsImpact +
+                    sentBytesImpact +
+                    spentSendTimeImpact +
+                    numMessagesSentImpact +
+                    receivedBytesImpact +
+                    deserializeTimeImpact +
+                    numMessagesReceivedImpact +
+                    throttleTimeImpact +
+                    networkDatabaseSizeImpact;
+        }
+
+        private String createReport(List<ConnectionMetrics> allConnectionMetrics) {
+            Map<String, AtomicLong> numSentMessagesByMessageClassName = new TreeMap<>();
+            allConnectionMetrics.stream()
+                    .map(ConnectionMetrics::getNumSentMessagesByMessageClassName)
+                    .forEach(map -> {
+                        map.forEach((name, value) -> {
+                            numSentMessagesByMessageClassName.putIfAbsent(name, new AtomicLong());
+                            numSentMessagesByMessageClassName.get(name).addAndGet(value.get());
+                        });
                     });
-                });
-        StringBuilder numSentMsgPerClassName = new StringBuilder();
-        numSentMessagesByMessageClassName.forEach((key, value) -> {
-            numSentMsgPerClassName.append("\n - ");
-            numSentMsgPerClassName.append(key);
-            numSentMsgPerClassName.append(": ");
-            numSentMsgPerClassName.append(value.get());
-        });
-
-        Map<String, AtomicLong> numReceivedMessagesByMessageClassName = new TreeMap<>();
-        allConnectionMetrics.stream()
-                .map(ConnectionMetrics::getNumReceivedMessagesByMessageClassName)
-                .forEach(map -> {
-                    map.forEach((name, value) -> {
-                        numReceivedMessagesByMessageClassName.putIfAbsent(name, new AtomicLong());
-                        numReceivedMessagesByMessageClassName.get(name).addAndGet(value.get());
+            StringBuilder numSentMsgPerClassName = new StringBuilder();
+            numSentMessagesByMessageClassName.forEach((key, value) -> {
+                numSentMsgPerClassName.append("\n - ");
+                numSentMsgPerClassName.append(key);
+                numSentMsgPerClassName.append(": ");
+                numSentMsgPerClassName.append(value.get());
+            });
+
+            Map<String, AtomicLong> numReceivedMessagesByMessageClassName = new TreeMap<>();
+            allConnectionMetrics.stream()
+                    .map(ConnectionMetrics::getNumReceivedMessagesByMessageClassName)
+                    .forEach(map -> {
+                        map.forEach((name, value) -> {
+                            numReceivedMessagesByMessageClassName.putIfAbsent(name, new AtomicLong());
+                            numReceivedMessagesByMessageClassName.get(name).addAndGet(value.get());
+                        });
                     });
-                });
-        StringBuilder numRecMsgPerClassName = new StringBuilder();
-        numReceivedMessagesByMessageClassName.forEach((key, value) -> {
-            numRecMsgPerClassName.append("\n - ");
-            numRecMsgPerClassName.append(key);
-            numRecMsgPerClassName.append(": ");
-            numRecMsgPerClassName.append(value.get());
-        });
-
-        StringBuilder sb = new StringBuilder("\n\n////////////////////////////////////////////////////////////////////////////////////////////////////");
-        sb.append("\nNetwork statistics").append(("\n////////////////////////////////////////////////////////////////////////////////////////////////////"))
-                .append("\nNumber of Connections: ").append(numConnections)
-                .append("\nNumber of messages sent in last hour: ").append(numMessagesSentOfLastHour)
-                .append("\nNumber of messages sent by class name:").append(numSentMsgPerClassName)
-                .append("\nNumber of messages received in last hour: ").append(numMessagesReceivedOfLastHour)
-                .append("\nNumber of messages received by class name:").append(numRecMsgPerClassName)
-                .append("\nSize of network DB: ").append(ByteUnit.BYTE.toMB(networkDatabaseSize)).append(" MB")
-                .append("\nData sent in last hour: ").append(ByteUnit.BYTE.toMB(sentBytesOfLastHour)).append(" MB")
-                .append("\nData received in last hour: ").append(ByteUnit.BYTE.toMB(receivedBytesOfLastHour)).append(" MB")
-                .append("\nTime for message sending in last hour: ").append(spentSendMessageTimeOfLastHour / 1000d).append(" sec.")
-                .append("\nTime for message deserializing in last hour: ").append(deserializeTimeOfLastHour / 1000d).append(" sec.")
-                .append("\n////////////////////////////////////////////////////////////////////////////////////////////////////");
-
-        double MAX_NUM_CON = 30;
-        double NUM_CON_WEIGHT = 0.1;
-        double numConnectionsImpact = numConnections / MAX_NUM_CON * NUM_CON_WEIGHT;
-
-        double MAX_SENT_BYTES = ByteUnit.MB.toBytes(20);
-        double SENT_BYTES_WEIGHT = 0.1;
-        double sentBytesImpact = sentBytesOfLastHour / MAX_SENT_BYTES * SENT_BYTES_WEIGHT;
-
-        double MAX_SPENT_SEND_TIME = TimeUnit.MINUTES.toMillis(1);
-        double SPENT_SEND_TIME_WEIGHT = 0.1;
-        double spentSendTimeImpact = spentSendMessageTimeOfLastHour / MAX_SPENT_SEND_TIME * SPENT_SEND_TIME_WEIGHT;
-
-        double MAX_NUM_MSG_SENT = 2000;
-        double NUM_MSG_SENT_WEIGHT = 0.1;
-        double numMessagesSentImpact = numMessagesSentOfLastHour / MAX_NUM_MSG_SENT * NUM_MSG_SENT_WEIGHT;
-
-        double MAX_REC_BYTES = ByteUnit.MB.toBytes(20);
-        double REC_BYTES_WEIGHT = 0.1;
-        double receivedBytesImpact = receivedBytesOfLastHour / MAX_REC_BYTES * REC_BYTES_WEIGHT;
-
-        double MAX_DESERIALIZE_TIME = TimeUnit.MINUTES.toMillis(1);
-        double DESERIALIZE_TIME_WEIGHT = 0.1;
-        double deserializeTimeImpact = deserializeTimeOfLastHour / MAX_DESERIALIZE_TIME * DESERIALIZE_TIME_WEIGHT;
-
-        double MAX_NUM_MSG_REC = 1000;
-        double NUM_MSG_REC_WEIGHT = 0.1;
-        double numMessagesReceivedImpact = numMessagesReceivedOfLastHour / MAX_NUM_MSG_REC * NUM_MSG_REC_WEIGHT;
-
-        double MAX_DB_SIZE = ByteUnit.MB.toBytes(100);
-        double DB_WEIGHT = 0.3;
-        double networkDatabaseSizeImpact = networkDatabaseSize / MAX_DB_SIZE * DB_WEIGHT;
-
-        double load = numConnectionsImpact +
-                sentBytesImpact +
-                spentSendTimeImpact +
-                numMessagesSentImpact +
-                receivedBytesImpact +
-                deserializeTimeImpact +
-                numMessagesReceivedImpact +
-                networkDatabaseSizeImpact;
-        sb.append("\n\n----------------------------------------------------------------------------------------------------")
-                .append("\nCalculated network load:")
-                .append(("\n----------------------------------------------------------------------------------------------------"))
-                .append("\nnumConnectionsImpact=").append(numConnectionsImpact)
-                .append("\nsentBytesImpact=").append(sentBytesImpact)
-                .append("\nspentSendTimeImpact=").append(spentSendTimeImpact)
-                .append("\nnumMessagesSentImpact=").append(numMessagesSentImpact)
-                .append("\nreceivedBytesImpact=").append(receivedBytesImpact)
-                .append("\ndeserializeTimeImpact=").append(deserializeTimeImpact)
-                .append("\nnumMessagesReceivedImpact=").append(numMessagesReceivedImpact)
-                .append("\nnetworkDatabaseSizeImpact=").append(networkDatabaseSizeImpact)
-                .append("\nNetwork load=").append(load)
-                .append("\n----------------------------------------------------------------------------------------------------\n");
-        log.info(sb.toString());
-
-        //TODO load calculation has some bugs at spentSendTimeImpact. Until fixed we limit load to 0.1 to avoid high difficulty
-        return MathUtils.bounded(0, 0.1, load);
-        //return MathUtils.bounded(0, 1, load);
+            StringBuilder numRecMsgPerClassName = new StringBuilder();
+            numReceivedMessagesByMessageClassName.forEach((key, value) -> {
+                numRecMsgPerClassName.append("\n - ");
+                numRecMsgPerClassName.append(key);
+                numRecMsgPerClassName.append(": ");
+                numRecMsgPerClassName.append(value.get());
+            });
+
+            return new StringBuilder("\n\n////////////////////////////////////////////////////////////////////////////////////////////////////")
+                    .append("\nNetwork statistics").append(("\n////////////////////////////////////////////////////////////////////////////////////////////////////"))
+                    .append("\nNumber of Connections: ").append(numConnections)
+                    .append("\nNumber of messages sent in last hour: ").append(numMessagesSentOfLastHour)
+                    .append("\nNumber of messages sent by class name:").append(numSentMsgPerClassName)
+                    .append("\nNumber of messages received in last hour: ").append(numMessagesReceivedOfLastHour)
+                    .append("\nNumber of messages received by class name:").append(numRecMsgPerClassName)
+                    .append("\nSize of network DB: ").append(ByteUnit.BYTE.toMB(networkDatabaseSize)).append(" MB")
+                    .append("\nData sent in last hour: ").append(ByteUnit.BYTE.toMB(sentBytesOfLastHour)).append(" MB")
+                    .append("\nData received in last hour: ").append(ByteUnit.BYTE.toMB(receivedBytesOfLastHour)).append(" MB")
+                    .append("\nTime for message sending in last hour: ").append(spentSendMessageTimeOfLastHour / 1000d).append(" sec.")
+                    .append("\nTime for message deserializing in last hour: ").append(deserializeTimeOfLastHour / 1000d).append(" sec.")
+                    .append("\nNumber of throttled messages in last hour: ").append(numMessagesThrottledOfLastHour)
+                    .append("\nTime messages got throttled in last hour: ").append(throttleTimeOfLastHour / 1000d).append(" sec.")
+                    .append("\n////////////////////////////////////////////////////////////////////////////////////////////////////")
+                    .append("\n\n----------------------------------------------------------------------------------------------------")
+                    .append("\nCalculated network load:")
+                    .append(("\n----------------------------------------------------------------------------------------------------"))
+                    .append("\nnumConnectionsImpact=").append(numConnectionsImpact)
+                    .append("\nsentBytesImpact=").append(sentBytesImpact)
+                    .append("\nspentSendTimeImpact=").append(spentSendTimeImpact)
+                    .append("\nnumMessagesSentImpact=").append(numMessagesSentImpact)
+                    .append("\nreceivedBytesImpact=").append(receivedBytesImpact)
+                    .append("\ndeserializeTimeImpact=").append(deserializeTimeImpact)
+                    .append("\nnumMessagesReceivedImpact=").append(numMessagesReceivedImpact)
+                    .append("\nthrottleTimeImpact=").append(throttleTimeImpact)
+                    .append("\nnetworkDatabaseSizeImpact=").append(networkDatabaseSizeImpact)
+                    .append("\nNetwork load=").append(load)
+                    .append("\n----------------------------------------------------------------------------------------------------\n")
+                    .toString();
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,93 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.network.p2p.node.network_load;
+
+import lombok.ToString;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed size histogram of round trip times in ms. Bucket i holds the values in [2^(i-1), 2^i), bucket 0 holds values
+ * below 1 ms and the last bucket all values above its lower bound. Recording a value is lock free and the memory does
+ * not grow with the number of values.
+ */
+@ToString
+public class RttHistogram {
+    static final int NUM_BUCKETS = 22;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(NUM_BUCKETS);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong sum = new AtomicLong();
+    private final AtomicLong max = new AtomicLong();
+
+    public void add(long rtt) {
+        long value = Math.max(0, rtt);
+        buckets.incrementAndGet(getBucketIndex(value));
+        count.incrementAndGet();
+        sum.addAndGet(value);
+        max.accumulateAndGet(value, Math::max);
+    }
+
+    public long getCount() {
+        return count.get();
+    }
+
+    public long getSum() {
+        return sum.get();
+    }
+
+    public long getMax() {
+        return max.get();
+    }
+
+    public double getAverage() {
+        long numValues = count.get();
+        return numValues == 0 ? 0 : sum.get() / (double) numValues;
+    }
+
+    /**
+     * @param percentile Value between 0 and 1 (e.g. 0.99 for the 99th percentile)
+     * @return The upper bound of the bucket containing the percentile, capped by the max. recorded value,
+     * or 0 if no value has been recorded.
+     */
+    public long getPercentile(double percentile) {
+        long numValues = count.get();
+        if (numValues == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile * numValues));
+        long cumulated = 0;
+        for (int i = 0; i < NUM_BUCKETS; i++) {
+            cumulated += buckets.get(i);
+            if (cumulated >= rank) {
+                return Math.min(getUpperBound(i), max.get());
+            }
+        }
+        return max.get();
+    }
+
+    static int getBucketIndex(long value) {
+        int index = 64 - Long.numberOfLeadingZeros(value);
+        return Math.min(index, NUM_BUCKETS - 1);
+    }
+
+    private static long getUpperBound(int bucketIndex) {
+        return bucketIndex == NUM_BUCKETS - 1 ? Long.MAX_VALUE : (1L << bucketIndex) - 1;
+    }
+}
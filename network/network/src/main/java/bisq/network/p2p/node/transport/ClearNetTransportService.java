@@ -12,9 +12,11 @@ import lombok.ToString;
 import lombok.extern.slf4j.Slf4j;
 
 import java.io.IOException;
+import java.net.InetSocketAddress;
 import java.net.ServerSocket;
 import java.net.Socket;
 import java.nio.file.Path;
+import java.time.Duration;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
 import java.util.concurrent.TimeUnit;
@@ -128,9 +130,21 @@ public class ClearNetTransportService implements TransportService {
 
     @Override
     public Socket getSocket(Address address) throws IOException {
+        return getSocket(address, Duration.ZERO);
+    }
+
+    @Override
+    public Socket getSocket(Address address, Duration timeout) throws IOException {
         log.debug("Create new Socket to {}", address);
         maybeSimulateDelay();
-        Socket socket = new Socket(address.getHost(), address.getPort());
+        Socket socket = new Socket();
+        try {
+            // A timeout of 0 means no timeout
+            socket.connect(new InetSocketAddress(address.getHost(), address.getPort()), (int) timeout.toMillis());
+        } catch (IOException e) {
+            socket.close();
+            throw e;
+        }
         numSocketsCreated++;
 
         bootstrapInfo.getBootstrapState().set(BootstrapState.CONNECTED_TO_PEERS);
@@ -6,6 +6,7 @@ import bisq.network.common.TransportConfig;
 import bisq.network.common.TransportType;
 import bisq.network.identity.NetworkId;
 import bisq.network.p2p.node.ConnectionException;
+import bisq.network.p2p.node.transport.socket_channel.TorSocketChannelFactory;
 import bisq.security.keys.KeyBundle;
 import bisq.tor.TorService;
 import bisq.tor.TorTransportConfig;
@@ -15,7 +16,6 @@ import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
 import java.io.IOException;
-import java.net.InetSocketAddress;
 import java.net.Socket;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
@@ -32,6 +32,7 @@ public class TorTransportService implements TransportService {
     private final BootstrapInfo bootstrapInfo = new BootstrapInfo();
     private Scheduler startBootstrapProgressUpdater;
     private int numSocketsCreated = 0;
+    private volatile TorSocketChannelFactory torSocketChannelFactory;
 
     public TorTransportService(TransportConfig config) {
         if (torService == null) {
@@ -99,9 +100,8 @@ public class TorTransportService implements TransportService {
     public Socket getSocket(Address address) throws IOException {
         long ts = System.currentTimeMillis();
         log.info("Start creating tor socket to {}", address);
-        Socket socket = torService.getSocket(null); // Blocking call. Takes 5-15 sec usually.
-        InetSocketAddress inetSocketAddress = InetSocketAddress.createUnresolved(address.getHost(), address.getPort());
-        socket.connect(inetSocketAddress);
+        // Blocking call. Takes 5-15 sec usually. As we use a SocketChannel the call can be interrupted.
+        Socket socket = getTorSocketChannelFactory().getSocketChannelForAddress(address).socket();
         numSocketsCreated++;
         bootstrapInfo.getBootstrapState().set(BootstrapState.CONNECTED_TO_PEERS);
         bootstrapInfo.getBootstrapProgress().set(Math.min(1, 0.5 + numSocketsCreated / 10d));
@@ -118,4 +118,13 @@ public class TorTransportService implements TransportService {
     public Optional<Socks5Proxy> getSocksProxy() throws IOException {
         return Optional.of(torService.getSocks5Proxy(null));
     }
+
+    private TorSocketChannelFactory getTorSocketChannelFactory() throws IOException {
+        if (torSocketChannelFactory == null) {
+            int socksPort = torService.getSocksPort()
+                    .orElseThrow(() -> new IOException("Tor SOCKS port not available"));
+            torSocketChannelFactory = new TorSocketChannelFactory(socksPort);
+        }
+        return torSocketChannelFactory;
+    }
 }
@@ -26,6 +26,7 @@ import com.runjva.sourceforge.jsocks.protocol.Socks5Proxy;
 
 import java.io.IOException;
 import java.net.Socket;
+import java.time.Duration;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 
@@ -52,6 +53,14 @@ public interface TransportService {
 
     Socket getSocket(Address address) throws IOException;
 
+    /**
+     * Gives up connecting after the timeout if the transport supports it. Otherwise, the caller is responsible
+     * for closing the socket after its deadline.
+     */
+    default Socket getSocket(Address address, Duration timeout) throws IOException {
+        return getSocket(address);
+    }
+
     default Optional<Socks5Proxy> getSocksProxy() throws IOException {
         return Optional.empty();
     }
@@ -34,10 +34,13 @@ public class TorSocketChannelFactory implements SocketChannelFactory {
 
     @Override
     public SocketChannel getSocketChannelForAddress(Address address) throws IOException {
-        try (TorSocketChannel torSocketChannel = TorSocketChannel.open()) {
+        TorSocketChannel torSocketChannel = TorSocketChannel.open();
+        try {
             var connectionData = new TorSocksConnectionData(torSocksProxyPort, address.getHost(), address.getPort());
             return torSocketChannel.connect(connectionData, ByteBuffer.allocate(1024));
+        } catch (IOException | RuntimeException e) {
+            torSocketChannel.close();
+            throw e;
         }
     }
 }
-
@@ -20,8 +20,10 @@ package bisq.network.p2p.services.confidential.resend;
 import bisq.common.observable.Observable;
 import bisq.common.observable.Pin;
 import bisq.common.observable.map.HashMapObserver;
-import bisq.common.timer.Scheduler;
+import bisq.common.threading.ExecutorFactory;
 import bisq.network.NetworkService;
+import bisq.network.SendMessageResult;
+import bisq.network.identity.NetworkId;
 import bisq.network.identity.NetworkIdWithKeyPair;
 import bisq.network.p2p.node.Node;
 import bisq.network.p2p.services.confidential.ack.MessageDeliveryStatus;
@@ -34,25 +36,46 @@ import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
+/**
+ * Resends messages for which we did not receive an ACK or which failed to get sent.
+ * All pending resends are kept in one {@link ResendQueue} which is processed on a single thread. Due resends to the
+ * same peer are sent one after another, so that they use the connection established by the first one. If a peer is
+ * not reachable we skip the rest of its batch and back off exponentially.
+ * The store holds trade messages which are not delivered yet, so we persist each change immediately.
+ */
 @Slf4j
 @Getter
 public class ResendMessageService implements PersistenceClient<ResendMessageStore> {
     private static final long RESEND_INTERVAL = TimeUnit.MINUTES.toMillis(2);
     private static final int MAX_AUTO_RESENDS = 2;
     private static final int MAX_MANUAL_RESENDS = 3;
+    private static final long FAILED_RESEND_DELAY = TimeUnit.SECONDS.toMillis(15);
+    private static final int MAX_IN_FLIGHT_PER_PEER = 10;
+    private static final long BASE_PEER_BACKOFF = TimeUnit.SECONDS.toMillis(15);
+    // As each message gets resent only MAX_AUTO_RESENDS times, more backoff steps would not be reached
+    private static final long MAX_PEER_BACKOFF = BASE_PEER_BACKOFF << MAX_AUTO_RESENDS;
 
     private final ResendMessageStore persistableStore = new ResendMessageStore();
     private final Persistence<ResendMessageStore> persistence;
     private final NetworkService networkService;
     private final MessageDeliveryStatusService messageDeliveryStatusService;
     private final Map<String, Pin> messageDeliveryStatusPinByMessageId = new HashMap<>();
-    private final Map<String, Scheduler> schedulerByMessageId = new HashMap<>();
+    private final ResendQueue<NetworkId> resendQueue = new ResendQueue<>(System::currentTimeMillis,
+            MAX_IN_FLIGHT_PER_PEER,
+            BASE_PEER_BACKOFF,
+            MAX_PEER_BACKOFF);
+    private final ScheduledExecutorService executor = ExecutorFactory.newSingleThreadScheduledExecutor("ResendMessageService");
     private final Set<Pin> nodeStatePins = new HashSet<>();
     private Pin messageDeliveryStatusByMessageIdPin;
+    private ScheduledFuture<?> wakeUpFuture;
+    private long wakeUpTime = -1;
 
     public ResendMessageService(PersistenceService persistenceService,
                                 NetworkService networkService,
@@ -65,10 +88,14 @@ public class ResendMessageService implements PersistenceClient<ResendMessageStor
 
     @Override
     public ResendMessageStore prunePersisted(ResendMessageStore persisted) {
-        return new ResendMessageStore(persisted.getResendMessageDataByMessageId().entrySet().stream()
+        Map<String, ResendMessageData> resendMessageDataByMessageId = persisted.getResendMessageDataByMessageId().entrySet().stream()
                 .filter(e -> !e.getValue().isExpired())
-                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue)),
-                persisted.getNumResendsByMessageId());
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+        // Resend counters of removed messages are not needed anymore
+        Map<String, AtomicInteger> numResendsByMessageId = persisted.getNumResendsByMessageId().entrySet().stream()
+                .filter(e -> resendMessageDataByMessageId.containsKey(e.getKey()))
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+        return new ResendMessageStore(resendMessageDataByMessageId, numResendsByMessageId);
     }
 
     public void initialize() {
@@ -101,7 +128,7 @@ public class ResendMessageService implements PersistenceClient<ResendMessageStor
                     // for resend gets started. We delay here 10 sec. and filter out those which got already scheduled.
                     // For messages which have been in FAILED and no change got triggered we run the resend if the
                     // MAX_RESENDS has not got exceeded.
-                    Scheduler.run(this::resendMessageAllFailedMessages).after(10, TimeUnit.SECONDS);
+                    executor.schedule(this::resendMessageAllFailedMessages, 10, TimeUnit.SECONDS);
                 }
             }));
         });
@@ -114,8 +141,7 @@ public class ResendMessageService implements PersistenceClient<ResendMessageStor
         messageDeliveryStatusPinByMessageId.values().forEach(Pin::unbind);
         messageDeliveryStatusPinByMessageId.clear();
         nodeStatePins.forEach(Pin::unbind);
-        schedulerByMessageId.values().forEach(Scheduler::stop);
-        schedulerByMessageId.clear();
+        executor.shutdownNow();
     }
 
 
@@ -137,7 +163,7 @@ public class ResendMessageService implements PersistenceClient<ResendMessageStor
             case FAILED:
                 persistableStore.getResendMessageDataByMessageId().put(messageId, resendMessageData);
                 persist();
-                restartResendTimer(resendMessageData, TimeUnit.SECONDS.toMillis(15));
+                restartResendTimer(resendMessageData, FAILED_RESEND_DELAY);
                 break;
 
             // We will not get the following states from the client, but we handle it in case client code changes later
@@ -154,7 +180,6 @@ public class ResendMessageService implements PersistenceClient<ResendMessageStor
                 stopResendTimer(resendMessageData);
                 break;
         }
-        persist();
     }
 
     public void manuallyResendMessage(String messageId) {
@@ -173,13 +198,16 @@ public class ResendMessageService implements PersistenceClient<ResendMessageStor
     // Private
     ///////////////////////////////////////////////////////////////////////////////////////////////////
 
-    private void resendMessage(ResendMessageData data, int maxResends) {
+    /**
+     * @return A future completing with the send result, or with empty if the message was not sent.
+     */
+    private CompletableFuture<Optional<SendMessageResult>> resendMessage(ResendMessageData data, int maxResends) {
         String messageId = data.getId();
         persistableStore.getNumResendsByMessageId().putIfAbsent(messageId, new AtomicInteger(1));
         AtomicInteger numResends = persistableStore.getNumResendsByMessageId().get(messageId);
         if (numResends.get() > maxResends) {
             log.warn("Do not resend message with ID {} because we have already sent {} times", messageId, maxResends);
-            return;
+            return CompletableFuture.completedFuture(Optional.empty());
         } else {
             numResends.getAndIncrement();
         }
@@ -187,9 +215,10 @@ public class ResendMessageService implements PersistenceClient<ResendMessageStor
 
         log.info("Resending message with ID {}; status={}", messageId, data.getMessageDeliveryStatus());
         NetworkIdWithKeyPair senderNetworkIdWithKeyPair = new NetworkIdWithKeyPair(data.getSenderNetworkId(), data.getSenderKeyPair());
-        networkService.confidentialSend(data.getEnvelopePayloadMessage(),
-                data.getReceiverNetworkId(),
-                senderNetworkIdWithKeyPair);
+        return networkService.confidentialSend(data.getEnvelopePayloadMessage(),
+                        data.getReceiverNetworkId(),
+                        senderNetworkIdWithKeyPair)
+                .thenApply(Optional::of);
     }
 
     private void handleMessageDeliveryStatusUpdate(String messageId, Observable<MessageDeliveryStatus> messageDeliveryStatus) {
@@ -207,7 +236,7 @@ public class ResendMessageService implements PersistenceClient<ResendMessageStor
                     case FAILED:
                         persistableStore.getResendMessageDataByMessageId().put(messageId, updatedResendMessageData);
                         persist();
-                        restartResendTimer(updatedResendMessageData, TimeUnit.SECONDS.toMillis(15));
+                        restartResendTimer(updatedResendMessageData, FAILED_RESEND_DELAY);
                         break;
 
                     case ADDED_TO_MAILBOX:
@@ -245,35 +274,99 @@ public class ResendMessageService implements PersistenceClient<ResendMessageStor
     }
 
     private void resendMessageAllFailedMessages() {
+        // The resends get batched per peer by the queue, so we do not trigger a resend storm after reconnecting
         persistableStore.getResendMessageDataByMessageId().values().stream()
-                .filter(e -> !schedulerByMessageId.containsKey(e.getId())) // If we have a resend scheduled we skip it
+                .filter(e -> !resendQueue.isScheduled(e.getId())) // If we have a resend scheduled we skip it
                 .filter(e -> !e.getMessageDeliveryStatus().isReceived() &&
                         e.getMessageDeliveryStatus() != MessageDeliveryStatus.ADDED_TO_MAILBOX)
-                .forEach(data -> resendMessage(data, MAX_AUTO_RESENDS));
+                .forEach(data -> resendQueue.schedule(data.getId(), data.getReceiverNetworkId(), 0));
+        processDueResends();
     }
 
     private void restartResendTimer(ResendMessageData resendMessageData, long interval) {
         String messageId = resendMessageData.getId();
         log.debug("restartResendTimer {}; status={}", messageId, resendMessageData.getMessageDeliveryStatus());
-        if (schedulerByMessageId.containsKey(messageId)) {
-            schedulerByMessageId.get(messageId).stop();
-        }
         if (resendMessageData.getMessageDeliveryStatus().isReceived() ||
                 resendMessageData.getMessageDeliveryStatus() == MessageDeliveryStatus.ADDED_TO_MAILBOX) {
             log.warn("We got called startResendTimer with an unexpected messageDeliveryStatus: {}",
                     resendMessageData.getMessageDeliveryStatus());
+            resendQueue.cancel(messageId);
             return;
         }
-        Scheduler scheduler = Scheduler.run(() -> resendMessage(resendMessageData, MAX_AUTO_RESENDS)).after(interval);
-        schedulerByMessageId.put(messageId, scheduler);
+        resendQueue.schedule(messageId, resendMessageData.getReceiverNetworkId(), interval);
+        maybeRescheduleWakeUp();
     }
 
     private void stopResendTimer(ResendMessageData resendMessageData) {
-        String messageId = resendMessageData.getId();
-        if (schedulerByMessageId.containsKey(messageId)) {
-            Scheduler scheduler = schedulerByMessageId.get(messageId);
-            scheduler.stop();
-            schedulerByMessageId.remove(messageId);
+        resendQueue.cancel(resendMessageData.getId());
+    }
+
+    // Runs on the executor
+    private void processDueResends() {
+        synchronized (this) {
+            wakeUpFuture = null;
+            wakeUpTime = -1;
+        }
+        Map<NetworkId, List<String>> batches = resendQueue.pollDue();
+        batches.forEach(this::resendBatch);
+        maybeRescheduleWakeUp();
+    }
+
+    private void resendBatch(NetworkId peer, List<String> messageIds) {
+        // The first message establishes the connection, the following ones get sent over it. If the peer is not
+        // reachable we do not try the remaining messages now, but reschedule them after the peer's backoff.
+        CompletableFuture<Boolean> reachable = CompletableFuture.completedFuture(true);
+        for (String messageId : messageIds) {
+            reachable = reachable.thenCompose(previousReachable -> {
+                Optional<ResendMessageData> data = findResendMessageData(messageId);
+                if (!previousReachable || data.isEmpty()) {
+                    data.ifPresent(d -> resendQueue.schedule(messageId, peer, 0));
+                    resendQueue.onSkipped(peer);
+                    return CompletableFuture.completedFuture(previousReachable);
+                }
+                return resendMessage(data.get(), MAX_AUTO_RESENDS)
+                        .handle((result, throwable) -> {
+                            if (throwable != null) {
+                                log.warn("Resending message with ID {} failed", messageId, throwable);
+                                resendQueue.onSent(peer, false);
+                                return false;
+                            } else if (result.isEmpty()) {
+                                resendQueue.onSkipped(peer);
+                                return true;
+                            } else {
+                                boolean isReachable = isReachable(result.get());
+                                resendQueue.onSent(peer, isReachable);
+                                return isReachable;
+                            }
+                        });
+            });
+        }
+        reachable.whenComplete((result, throwable) -> {
+            // Resends which waited for the in-flight limit of that peer can be sent now
+            if (!executor.isShutdown()) {
+                executor.execute(this::processDueResends);
+            }
+        });
+    }
+
+    private static boolean isReachable(SendMessageResult result) {
+        return result.values().stream()
+                .anyMatch(e -> e.getMessageDeliveryStatus() == MessageDeliveryStatus.SENT);
+    }
+
+    private synchronized void maybeRescheduleWakeUp() {
+        long nextDueTime = resendQueue.getNextDueTime();
+        if (nextDueTime < 0 || executor.isShutdown()) {
+            return;
+        }
+        if (wakeUpFuture != null) {
+            if (wakeUpTime <= nextDueTime) {
+                return;
+            }
+            wakeUpFuture.cancel(false);
         }
+        wakeUpTime = nextDueTime;
+        long delay = Math.max(0, nextDueTime - System.currentTimeMillis());
+        wakeUpFuture = executor.schedule(this::processDueResends, delay, TimeUnit.MILLISECONDS);
     }
 }
@@ -0,0 +1,209 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.network.p2p.services.confidential.resend;
+
+import lombok.Getter;
+
+import java.util.*;
+import java.util.function.LongSupplier;
+
+/**
+ * Single delay queue for the pending resends of all messages.
+ * Due messages are grouped by peer, so that resends to the same peer can be sent over one connection.
+ * Per peer we limit the number of resends in flight and apply an exponential backoff after failed sends.
+ * The queue holds only ids and timing state; the resend data itself is kept in the ResendMessageStore.
+ *
+ * @param <P> The peer key (the receiver's network ID in production)
+ */
+class ResendQueue<P> {
+    private static final class Entry<P> {
+        private final String messageId;
+        private final P peer;
+        private final long sequence;
+        private long dueTime;
+
+        private Entry(String messageId, P peer, long dueTime, long sequence) {
+            this.messageId = messageId;
+            this.peer = peer;
+            this.dueTime = dueTime;
+            this.sequence = sequence;
+        }
+    }
+
+    private static final class PeerState<P> {
+        private int numInFlight;
+        private int numFailures;
+        private long backoffUntil;
+        // Due entries which exceeded the in-flight limit, in the order they got due
+        private final Deque<Entry<P>> waiting = new ArrayDeque<>();
+
+        private boolean isIdle() {
+            return numInFlight == 0 && numFailures == 0 && waiting.isEmpty();
+        }
+    }
+
+    private final LongSupplier clock;
+    @Getter
+    private final int maxInFlightPerPeer;
+    private final long baseBackoff;
+    private final long maxBackoff;
+    private final PriorityQueue<Entry<P>> queue = new PriorityQueue<>(Comparator.<Entry<P>>comparingLong(e -> e.dueTime)
+            .thenComparingLong(e -> e.sequence));
+    // Cancelled or replaced entries stay in the queue until polled. Only the entry held in this map is valid.
+    private final Map<String, Entry<P>> entryByMessageId = new HashMap<>();
+    private final Map<P, PeerState<P>> peerStateByPeer = new HashMap<>();
+    private long sequence;
+
+    ResendQueue(LongSupplier clock, int maxInFlightPerPeer, long baseBackoff, long maxBackoff) {
+        this.clock = clock;
+        this.maxInFlightPerPeer = maxInFlightPerPeer;
+        this.baseBackoff = baseBackoff;
+        this.maxBackoff = maxBackoff;
+    }
+
+    /**
+     * Schedules a resend of the message after the given delay. An existing schedule for that message gets replaced.
+     */
+    synchronized void schedule(String messageId, P peer, long delay) {
+        Entry<P> entry = new Entry<>(messageId, peer, clock.getAsLong() + delay, sequence++);
+        entryByMessageId.put(messageId, entry);
+        queue.add(entry);
+    }
+
+    synchronized boolean cancel(String messageId) {
+        return entryByMessageId.remove(messageId) != null;
+    }
+
+    synchronized boolean isScheduled(String messageId) {
+        return entryByMessageId.containsKey(messageId);
+    }
+
+    synchronized int size() {
+        return entryByMessageId.size();
+    }
+
+    /**
+     * Removes the due messages of all peers which are not in backoff and have capacity for more resends in flight.
+     * Each returned message counts as in flight until {@link #onSent} or {@link #onSkipped} got called for it.
+     *
+     * @return The message IDs by peer, in the order they got due
+     */
+    synchronized Map<P, List<String>> pollDue() {
+        long now = clock.getAsLong();
+        Map<P, List<String>> batches = new LinkedHashMap<>();
+        peerStateByPeer.forEach((peer, peerState) -> {
+            while (!peerState.waiting.isEmpty() && peerState.numInFlight < maxInFlightPerPeer) {
+                Entry<P> entry = peerState.waiting.poll();
+                if (isValid(entry)) {
+                    addToBatch(batches, peerState, entry);
+                }
+            }
+        });
+
+        while (!queue.isEmpty() && queue.peek().dueTime <= now) {
+            Entry<P> entry = queue.poll();
+            if (!isValid(entry)) {
+                continue;
+            }
+            PeerState<P> peerState = peerStateByPeer.computeIfAbsent(entry.peer, k -> new PeerState<>());
+            if (peerState.backoffUntil > now) {
+                entry.dueTime = peerState.backoffUntil;
+                queue.add(entry);
+            } else if (peerState.numInFlight >= maxInFlightPerPeer) {
+                peerState.waiting.add(entry);
+            } else {
+                addToBatch(batches, peerState, entry);
+            }
+        }
+        return batches;
+    }
+
+    /**
+     * @return The time when the next entry gets due, or -1 if no entry is scheduled. Entries waiting for capacity are
+     * not considered, as they get due with the completion of a resend.
+     */
+    synchronized long getNextDueTime() {
+        while (!queue.isEmpty() && !isValid(queue.peek())) {
+            queue.poll();
+        }
+        return queue.isEmpty() ? -1 : queue.peek().dueTime;
+    }
+
+    /**
+     * A resend has completed. If the peer was not reachable we apply an exponential backoff to its pending resends.
+     */
+    synchronized void onSent(P peer, boolean reachable) {
+        PeerState<P> peerState = peerStateByPeer.get(peer);
+        if (peerState == null) {
+            return;
+        }
+        peerState.numInFlight = Math.max(0, peerState.numInFlight - 1);
+        if (reachable) {
+            peerState.numFailures = 0;
+            peerState.backoffUntil = 0;
+        } else {
+            peerState.numFailures++;
+            long backoff = baseBackoff << Math.min(peerState.numFailures - 1, 30);
+            peerState.backoffUntil = clock.getAsLong() + Math.min(maxBackoff, backoff);
+            // Waiting entries would be released by the next completion, which might not come anymore
+            while (!peerState.waiting.isEmpty()) {
+                Entry<P> entry = peerState.waiting.poll();
+                entry.dueTime = peerState.backoffUntil;
+                queue.add(entry);
+            }
+        }
+        maybeRemovePeerState(peer, peerState);
+    }
+
+    /**
+     * A polled message was not sent (e.g. it got acknowledged or exceeded the max. number of resends meanwhile).
+     */
+    synchronized void onSkipped(P peer) {
+        PeerState<P> peerState = peerStateByPeer.get(peer);
+        if (peerState == null) {
+            return;
+        }
+        peerState.numInFlight = Math.max(0, peerState.numInFlight - 1);
+        maybeRemovePeerState(peer, peerState);
+    }
+
+    synchronized int getNumInFlight(P peer) {
+        return Optional.ofNullable(peerStateByPeer.get(peer)).map(state -> state.numInFlight).orElse(0);
+    }
+
+    synchronized long getBackoffUntil(P peer) {
+        return Optional.ofNullable(peerStateByPeer.get(peer)).map(state -> state.backoffUntil).orElse(0L);
+    }
+
+    private boolean isValid(Entry<P> entry) {
+        return entryByMessageId.get(entry.messageId) == entry;
+    }
+
+    private void addToBatch(Map<P, List<String>> batches, PeerState<P> peerState, Entry<P> entry) {
+        entryByMessageId.remove(entry.messageId);
+        peerState.numInFlight++;
+        batches.computeIfAbsent(entry.peer, k -> new ArrayList<>()).add(entry.messageId);
+    }
+
+    private void maybeRemovePeerState(P peer, PeerState<P> peerState) {
+        // We keep the state of failed peers until they are reachable again, so that the backoff keeps growing
+        if (peerState.isIdle()) {
+            peerStateByPeer.remove(peer);
+        }
+    }
+}
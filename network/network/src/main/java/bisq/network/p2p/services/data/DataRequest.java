@@ -69,7 +69,15 @@ public interface DataRequest extends BroadcastMessage {
         throw new UnresolvableProtobufMessageException(proto);
     }
 
-    boolean isExpired();
+    /**
+     * @return The date in milliseconds after which the request is expired, or Long.MAX_VALUE if it never expires.
+     * Must not change for a given request, as it is used as key in the ExpiryIndex of the data stores.
+     */
+    long getExpirationDate();
+
+    default boolean isExpired() {
+        return System.currentTimeMillis() > getExpirationDate();
+    }
 
     long getCreated();
 
@@ -96,6 +96,10 @@ public class DataService implements StorageService.Listener {
 
     @Override
     public void onAdded(StorageData storageData) {
+        // Nodes which only relay data (e.g. seed nodes) have no listeners, so we skip the type dispatch.
+        if (listeners.isEmpty()) {
+            return;
+        }
         if (storageData instanceof AuthorizedData) {
             listeners.forEach(listener -> {
                 try {
@@ -133,6 +137,9 @@ public class DataService implements StorageService.Listener {
 
     @Override
     public void onRemoved(StorageData storageData) {
+        if (listeners.isEmpty()) {
+            return;
+        }
         if (storageData instanceof AuthorizedData) {
             listeners.forEach(listener -> {
                 try {
@@ -0,0 +1,102 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.network.p2p.services.data.inventory;
+
+import bisq.common.data.ByteArray;
+import bisq.common.proto.NetworkProto;
+import com.google.protobuf.ByteString;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Position of an entry in the deterministic order used for streaming inventory data.
+ * Entries are ordered by category (authenticated add, authenticated remove, mailbox add, mailbox remove, append-only),
+ * then by priority (higher first) and finally by the storage key. As the storage key is derived from the data,
+ * the order is the same at all peers and a stream can be resumed at another peer after the last received token.
+ */
+@Getter
+@ToString
+@EqualsAndHashCode
+public final class ContinuationToken implements NetworkProto, Comparable<ContinuationToken> {
+    public static final int CATEGORY_AUTHENTICATED_ADD = 0;
+    public static final int CATEGORY_AUTHENTICATED_REMOVE = 1;
+    public static final int CATEGORY_MAILBOX_ADD = 2;
+    public static final int CATEGORY_MAILBOX_REMOVE = 3;
+    public static final int CATEGORY_APPEND_ONLY = 4;
+
+    private static final int MAX_KEY_LENGTH = 100;
+    private static final Comparator<ContinuationToken> COMPARATOR = Comparator.comparingInt(ContinuationToken::getCategory)
+            .thenComparing(Comparator.comparingInt(ContinuationToken::getPriority).reversed())
+            .thenComparing((o1, o2) -> Arrays.compareUnsigned(o1.key, o2.key));
+
+    private final int category;
+    private final int priority;
+    @ToString.Exclude
+    private final byte[] key;
+
+    public ContinuationToken(int category, int priority, ByteArray key) {
+        this(category, priority, key.getBytes());
+    }
+
+    private ContinuationToken(int category, int priority, byte[] key) {
+        this.category = category;
+        this.priority = priority;
+        this.key = key;
+
+        verify();
+    }
+
+    @Override
+    public void verify() {
+        checkArgument(category >= CATEGORY_AUTHENTICATED_ADD && category <= CATEGORY_APPEND_ONLY,
+                "Invalid category " + category);
+        checkArgument(key.length <= MAX_KEY_LENGTH, "Key too long");
+    }
+
+    @Override
+    public bisq.network.protobuf.ContinuationToken toProto(boolean serializeForHash) {
+        return resolveProto(serializeForHash);
+    }
+
+    @Override
+    public bisq.network.protobuf.ContinuationToken.Builder getBuilder(boolean serializeForHash) {
+        return bisq.network.protobuf.ContinuationToken.newBuilder()
+                .setCategory(category)
+                .setPriority(priority)
+                .setKey(ByteString.copyFrom(key));
+    }
+
+    public static ContinuationToken fromProto(bisq.network.protobuf.ContinuationToken proto) {
+        return new ContinuationToken(proto.getCategory(), proto.getPriority(), proto.getKey().toByteArray());
+    }
+
+    @Override
+    public int compareTo(ContinuationToken other) {
+        return COMPARATOR.compare(this, other);
+    }
+
+    public boolean isAfter(ContinuationToken other) {
+        return compareTo(other) > 0;
+    }
+}
@@ -58,7 +58,9 @@ public final class Inventory implements NetworkProto {
         //  This could be used and combined with the other remaining data, like signature and pubkey
         // We set serializeForHash to false to ensure that we get the same order in case the peer has different data in the
         // annotated fields
-        this.entries.sort(Comparator.comparing((DataRequest dataRequest) -> new ByteArray(dataRequest.serializeForHash())));
+        // The order must not change between versions, thus we do not use the natural order of ByteArray.
+        this.entries.sort(Comparator.comparing((DataRequest dataRequest) -> new ByteArray(dataRequest.serializeForHash()),
+                ByteArray.SIGNED_NUMERIC_ORDER));
 
         verify();
     }
@@ -0,0 +1,107 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.network.p2p.services.data.inventory;
+
+import bisq.network.p2p.message.EnvelopePayloadMessage;
+import bisq.network.p2p.services.data.DataRequest;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * A bounded part of a streamed inventory. The entries are in the order defined by ContinuationToken and the
+ * continuationToken is the one of the last entry. It is empty only if the chunk has no entries.
+ */
+@Getter
+@ToString
+@EqualsAndHashCode
+public final class InventoryChunk implements EnvelopePayloadMessage {
+    private final int requestNonce;
+    private final int chunkIndex;
+    @ToString.Exclude
+    private final List<? extends DataRequest> entries;
+    private final Optional<ContinuationToken> continuationToken;
+    private final boolean last;
+
+    public InventoryChunk(int requestNonce,
+                          int chunkIndex,
+                          List<? extends DataRequest> entries,
+                          Optional<ContinuationToken> continuationToken,
+                          boolean last) {
+        this.requestNonce = requestNonce;
+        this.chunkIndex = chunkIndex;
+        this.entries = new ArrayList<>(entries);
+        this.continuationToken = continuationToken;
+        this.last = last;
+
+        verify();
+    }
+
+    @Override
+    public void verify() {
+        checkArgument(chunkIndex >= 0, "chunkIndex must not be negative");
+        checkArgument(entries.isEmpty() || continuationToken.isPresent(),
+                "continuationToken must be present if chunk has entries");
+    }
+
+    @Override
+    public bisq.network.protobuf.EnvelopePayloadMessage.Builder getBuilder(boolean serializeForHash) {
+        return newEnvelopePayloadMessageBuilder().setInventoryChunk(toValueProto(serializeForHash));
+    }
+
+    @Override
+    public bisq.network.protobuf.InventoryChunk toValueProto(boolean serializeForHash) {
+        return resolveValueProto(serializeForHash);
+    }
+
+    @Override
+    public bisq.network.protobuf.InventoryChunk.Builder getValueBuilder(boolean serializeForHash) {
+        bisq.network.protobuf.InventoryChunk.Builder builder = bisq.network.protobuf.InventoryChunk.newBuilder()
+                .setRequestNonce(requestNonce)
+                .setChunkIndex(chunkIndex)
+                .addAllEntries(entries.stream()
+                        .map(e -> e.toProto(serializeForHash).getDataRequest())
+                        .collect(Collectors.toList()))
+                .setLast(last);
+        continuationToken.ifPresent(token -> builder.setContinuationToken(token.toProto(serializeForHash)));
+        return builder;
+    }
+
+    public static InventoryChunk fromProto(bisq.network.protobuf.InventoryChunk proto) {
+        List<DataRequest> entries = proto.getEntriesList().stream()
+                .map(DataRequest::fromProto)
+                .collect(Collectors.toList());
+        return new InventoryChunk(proto.getRequestNonce(),
+                proto.getChunkIndex(),
+                entries,
+                proto.hasContinuationToken() ? Optional.of(ContinuationToken.fromProto(proto.getContinuationToken())) : Optional.empty(),
+                proto.getLast());
+    }
+
+    @Override
+    public double getCostFactor() {
+        return 0.1;
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.network.p2p.services.data.inventory;
+
+import bisq.network.p2p.message.EnvelopePayloadMessage;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Confirms that all chunks up to chunkIndex have been received and applied.
+ */
+@Getter
+@ToString
+@EqualsAndHashCode
+public final class InventoryChunkAck implements EnvelopePayloadMessage {
+    private final int requestNonce;
+    private final int chunkIndex;
+
+    public InventoryChunkAck(int requestNonce, int chunkIndex) {
+        this.requestNonce = requestNonce;
+        this.chunkIndex = chunkIndex;
+
+        verify();
+    }
+
+    @Override
+    public void verify() {
+    }
+
+    @Override
+    public bisq.network.protobuf.EnvelopePayloadMessage.Builder getBuilder(boolean serializeForHash) {
+        return newEnvelopePayloadMessageBuilder().setInventoryChunkAck(toValueProto(serializeForHash));
+    }
+
+    @Override
+    public bisq.network.protobuf.InventoryChunkAck toValueProto(boolean serializeForHash) {
+        return resolveValueProto(serializeForHash);
+    }
+
+    @Override
+    public bisq.network.protobuf.InventoryChunkAck.Builder getValueBuilder(boolean serializeForHash) {
+        return bisq.network.protobuf.InventoryChunkAck.newBuilder()
+                .setRequestNonce(requestNonce)
+                .setChunkIndex(chunkIndex);
+    }
+
+    public static InventoryChunkAck fromProto(bisq.network.protobuf.InventoryChunkAck proto) {
+        return new InventoryChunkAck(proto.getRequestNonce(), proto.getChunkIndex());
+    }
+
+    @Override
+    public double getCostFactor() {
+        return 0.05;
+    }
+}
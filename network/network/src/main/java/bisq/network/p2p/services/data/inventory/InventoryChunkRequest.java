@@ -0,0 +1,98 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.network.p2p.services.data.inventory;
+
+import bisq.network.p2p.message.EnvelopePayloadMessage;
+import bisq.network.p2p.services.data.inventory.filter.InventoryFilter;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.Optional;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Requests the missing inventory data as a stream of InventoryChunks. Only sent to peers supporting
+ * Feature.INVENTORY_STREAMING.
+ * As the peer responds with multiple messages we do not implement Request, which would expect a single Response.
+ */
+@Getter
+@ToString
+@EqualsAndHashCode
+public final class InventoryChunkRequest implements EnvelopePayloadMessage {
+    private final InventoryFilter inventoryFilter;
+    private final int nonce;
+    private final Optional<ContinuationToken> resumeToken;
+    private final int maxChunkSize;
+    private final int maxChunksInFlight;
+
+    public InventoryChunkRequest(InventoryFilter inventoryFilter,
+                                 int nonce,
+                                 Optional<ContinuationToken> resumeToken,
+                                 int maxChunkSize,
+                                 int maxChunksInFlight) {
+        this.inventoryFilter = inventoryFilter;
+        this.nonce = nonce;
+        this.resumeToken = resumeToken;
+        this.maxChunkSize = maxChunkSize;
+        this.maxChunksInFlight = maxChunksInFlight;
+
+        verify();
+    }
+
+    @Override
+    public void verify() {
+        checkArgument(maxChunkSize > 0, "maxChunkSize must be positive");
+        checkArgument(maxChunksInFlight > 0, "maxChunksInFlight must be positive");
+    }
+
+    @Override
+    public bisq.network.protobuf.EnvelopePayloadMessage.Builder getBuilder(boolean serializeForHash) {
+        return newEnvelopePayloadMessageBuilder().setInventoryChunkRequest(toValueProto(serializeForHash));
+    }
+
+    @Override
+    public bisq.network.protobuf.InventoryChunkRequest toValueProto(boolean serializeForHash) {
+        return resolveValueProto(serializeForHash);
+    }
+
+    @Override
+    public bisq.network.protobuf.InventoryChunkRequest.Builder getValueBuilder(boolean serializeForHash) {
+        bisq.network.protobuf.InventoryChunkRequest.Builder builder = bisq.network.protobuf.InventoryChunkRequest.newBuilder()
+                .setInventoryFilter(inventoryFilter.toProto(serializeForHash))
+                .setNonce(nonce)
+                .setMaxChunkSize(maxChunkSize)
+                .setMaxChunksInFlight(maxChunksInFlight);
+        resumeToken.ifPresent(token -> builder.setResumeToken(token.toProto(serializeForHash)));
+        return builder;
+    }
+
+    public static InventoryChunkRequest fromProto(bisq.network.protobuf.InventoryChunkRequest proto) {
+        return new InventoryChunkRequest(InventoryFilter.fromProto(proto.getInventoryFilter()),
+                proto.getNonce(),
+                proto.hasResumeToken() ? Optional.of(ContinuationToken.fromProto(proto.getResumeToken())) : Optional.empty(),
+                proto.getMaxChunkSize(),
+                proto.getMaxChunksInFlight());
+    }
+
+    @Override
+    public double getCostFactor() {
+        return 0.25;
+    }
+}
@@ -25,6 +25,7 @@ import bisq.network.p2p.node.CloseReason;
 import bisq.network.p2p.node.Connection;
 import bisq.network.p2p.node.Node;
 import bisq.network.p2p.services.data.inventory.filter.InventoryFilter;
+import bisq.network.p2p.services.data.inventory.filter.receiver.ReceiverFilter;
 import bisq.network.p2p.services.data.storage.append.AddAppendOnlyDataRequest;
 import bisq.network.p2p.services.data.storage.auth.AddAuthenticatedDataRequest;
 import bisq.network.p2p.services.data.storage.auth.RefreshAuthenticatedDataRequest;
@@ -63,8 +64,21 @@ class InventoryHandler implements Connection.Listener {
     CompletableFuture<Inventory> request(InventoryFilter inventoryFilter) {
         requestTs = System.currentTimeMillis();
         log.info("Send InventoryRequest to {} with {}", connection.getPeerAddress(), inventoryFilter.getDetails());
-        InventoryRequest inventoryRequest = new InventoryRequest(inventoryFilter, nonce);
-        runAsync(() -> node.send(inventoryRequest, connection), NetworkService.NETWORK_IO_POOL)
+        return send(new InventoryRequest(inventoryFilter, nonce));
+    }
+
+    /**
+     * Requests only the mailbox entries matching the receiverFilter. The peer responds with an InventoryResponse
+     * carrying our nonce.
+     */
+    CompletableFuture<Inventory> request(InventoryFilter inventoryFilter, ReceiverFilter receiverFilter) {
+        requestTs = System.currentTimeMillis();
+        log.info("Send MailboxInventoryRequest to {} with {}", connection.getPeerAddress(), receiverFilter.getDetails());
+        return send(new MailboxInventoryRequest(inventoryFilter, receiverFilter, nonce));
+    }
+
+    private CompletableFuture<Inventory> send(EnvelopePayloadMessage request) {
+        runAsync(() -> node.send(request, connection), NetworkService.NETWORK_IO_POOL)
                 .whenComplete((connection, throwable) -> {
                     if (throwable != null) {
                         future.completeExceptionally(throwable);
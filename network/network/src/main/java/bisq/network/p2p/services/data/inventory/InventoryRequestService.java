@@ -17,6 +17,7 @@
 
 package bisq.network.p2p.services.data.inventory;
 
+import bisq.common.data.ByteArray;
 import bisq.common.observable.Observable;
 import bisq.common.timer.Scheduler;
 import bisq.common.util.CollectionUtil;
@@ -28,11 +29,13 @@ import bisq.network.p2p.node.Connection;
 import bisq.network.p2p.node.Feature;
 import bisq.network.p2p.node.Node;
 import bisq.network.p2p.services.data.AddDataRequest;
+import bisq.network.p2p.services.data.DataRequest;
 import bisq.network.p2p.services.data.DataService;
 import bisq.network.p2p.services.data.RemoveDataRequest;
 import bisq.network.p2p.services.data.inventory.filter.FilterService;
 import bisq.network.p2p.services.data.inventory.filter.InventoryFilter;
 import bisq.network.p2p.services.data.inventory.filter.InventoryFilterType;
+import bisq.network.p2p.services.data.inventory.filter.receiver.ReceiverFilter;
 import bisq.network.p2p.services.peer_group.PeerGroupManager;
 import bisq.network.p2p.services.peer_group.PeerGroupService;
 import lombok.Getter;
@@ -41,11 +44,13 @@ import lombok.extern.slf4j.Slf4j;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -54,36 +59,60 @@ import static com.google.common.base.Preconditions.checkNotNull;
 @Slf4j
 public class InventoryRequestService implements Node.Listener {
     private static final long TIMEOUT = TimeUnit.SECONDS.toMillis(180);
+    // False positives only cause that we receive some mailbox entries of other receivers, which we would receive anyway
+    // with the full inventory. A higher rate gives better privacy but more overhead.
+    private static final double RECEIVER_FILTER_FALSE_POSITIVE_RATE = 0.01;
 
     private final Node node;
     private final PeerGroupService peerGroupService;
     private final DataService dataService;
     private final Map<InventoryFilterType, FilterService<? extends InventoryFilter>> supportedFilterServices;
     private final InventoryService.Config config;
+    private final int maxChunkSize;
+    private final boolean streamingSupported;
+    private final boolean mailboxByReceiverSupported;
+    private final Supplier<Set<ByteArray>> myReceiverPubKeyHashesSupplier;
+    private final int receiverFilterTweak;
+    private final AtomicBoolean mailboxInventoryRequested = new AtomicBoolean();
     @Getter
     private final Observable<Integer> numPendingRequests = new Observable<>(0);
     @Getter
     private final Observable<Boolean> allDataReceived = new Observable<>(false);
-    private final Map<String, InventoryHandler> requestHandlerMap = new ConcurrentHashMap<>();
+    // Value is the dispose method of the InventoryHandler or InventoryStreamHandler
+    private final Map<String, Runnable> requestHandlerMap = new ConcurrentHashMap<>();
     private Optional<Scheduler> periodicRequestScheduler = Optional.empty();
+    // Highest continuation token received while bootstrapping. If a stream gets interrupted we continue from that token
+    // at the next peer. As concurrent streams might have been at a lower token, gaps are possible, but they get filled
+    // by the periodic requests which do not use a resume token.
+    private volatile Optional<ContinuationToken> resumeToken = Optional.empty();
 
     public InventoryRequestService(Node node,
                                    PeerGroupManager peerGroupManager,
                                    DataService dataService,
                                    Map<InventoryFilterType, FilterService<? extends InventoryFilter>> supportedFilterServices,
-                                   InventoryService.Config config) {
+                                   InventoryService.Config config,
+                                   int maxChunkSize,
+                                   boolean streamingSupported,
+                                   boolean mailboxByReceiverSupported,
+                                   Supplier<Set<ByteArray>> myReceiverPubKeyHashesSupplier,
+                                   int receiverFilterTweak) {
         this.node = node;
         peerGroupService = peerGroupManager.getPeerGroupService();
         this.dataService = dataService;
         this.supportedFilterServices = supportedFilterServices;
         this.config = config;
+        this.maxChunkSize = maxChunkSize;
+        this.streamingSupported = streamingSupported;
+        this.mailboxByReceiverSupported = mailboxByReceiverSupported;
+        this.myReceiverPubKeyHashesSupplier = myReceiverPubKeyHashesSupplier;
+        this.receiverFilterTweak = receiverFilterTweak;
 
         node.addListener(this);
     }
 
     public void shutdown() {
         node.removeListener(this);
-        requestHandlerMap.values().forEach(InventoryHandler::dispose);
+        requestHandlerMap.values().forEach(Runnable::run);
         periodicRequestScheduler.ifPresent(Scheduler::stop);
     }
 
@@ -101,19 +130,33 @@ public class InventoryRequestService implements Node.Listener {
         if (!allDataReceived.get() &&
                 canUseCandidate(connection) &&
                 requestHandlerMap.size() < config.getMaxPendingRequestsAtStartup()) {
-            requestInventoryFromFreshConnection(connection);
+            if (canRequestMailboxInventory(connection) && mailboxInventoryRequested.compareAndSet(false, true)) {
+                // We request our own mailbox messages first, so that we do not need to wait for the full inventory.
+                requestMailboxInventory(connection)
+                        .whenComplete((numEntries, throwable) -> {
+                            if (throwable != null) {
+                                log.warn("Exception at mailbox inventory request to peer {}: {}",
+                                        connection.getPeerAddress().getFullAddress(), ExceptionUtil.getMessageOrToString(throwable));
+                            }
+                            if (!allDataReceived.get() && canUseCandidate(connection)) {
+                                requestInventoryFromFreshConnection(connection);
+                            }
+                        });
+            } else {
+                requestInventoryFromFreshConnection(connection);
+            }
         }
     }
 
     private void requestInventoryFromFreshConnection(Connection connection) {
         requestInventory(connection)
-                .whenComplete((inventory, throwable) -> {
+                .whenComplete((allDataReceivedFromPeer, throwable) -> {
                     if (throwable != null) {
                         log.error("Exception at inventory request to peer {}: {}",
                                 connection.getPeerAddress().getFullAddress(), ExceptionUtil.getMessageOrToString(throwable));
                     } else {
                         if (!allDataReceived.get()) {
-                            if (inventory.allDataReceived()) {
+                            if (allDataReceivedFromPeer) {
                                 allDataReceived.set(true);
                                 node.removeListener(this);
                                 startPeriodicRequests(config.getRepeatRequestInterval());
@@ -128,7 +171,8 @@ public class InventoryRequestService implements Node.Listener {
                     }
 
                     // In case of an error or if we completed without all data received and no other request is
-                    // open (unlikely) we request using 3 existing peers.
+                    // open (unlikely) we request using 3 existing peers. An interrupted stream gets resumed from the
+                    // last continuation token.
                     if (!allDataReceived.get() && requestHandlerMap.isEmpty()) {
                         getCandidatesForPeriodicRequests().stream().limit(3).forEach(this::requestInventory);
                     }
@@ -139,7 +183,7 @@ public class InventoryRequestService implements Node.Listener {
     public void onDisconnect(Connection connection, CloseReason closeReason) {
         String key = getKey(connection);
         if (requestHandlerMap.containsKey(key)) {
-            requestHandlerMap.get(key).dispose();
+            requestHandlerMap.get(key).run();
             requestHandlerMap.remove(key);
             numPendingRequests.set(requestHandlerMap.size());
         }
@@ -150,25 +194,23 @@ public class InventoryRequestService implements Node.Listener {
     // Request inventory
     ///////////////////////////////////////////////////////////////////////////////////////////////////
 
-    private CompletableFuture<Inventory> requestInventory(Connection connection) {
+    // Returns true if the peer has sent all data it had
+    private CompletableFuture<Boolean> requestInventory(Connection connection) {
+        if (streamingSupported && connection.getPeersCapability().getFeatures().contains(Feature.INVENTORY_STREAMING)) {
+            return requestInventoryStream(connection);
+        }
         return requestFromPeer(connection)
                 .thenApply(inventory -> {
                     checkNotNull(inventory);
-                    inventory.getEntries().forEach(dataRequest -> {
-                        if (dataRequest instanceof AddDataRequest) {
-                            dataService.processAddDataRequest((AddDataRequest) dataRequest, false);
-                        } else if (dataRequest instanceof RemoveDataRequest) {
-                            dataService.processRemoveDataRequest((RemoveDataRequest) dataRequest, false);
-                        }
-                    });
-                    return inventory;
+                    inventory.getEntries().forEach(this::applyDataRequest);
+                    return inventory.allDataReceived();
                 });
     }
 
     private CompletableFuture<Inventory> requestFromPeer(Connection connection) {
         String key = getKey(connection);
         InventoryHandler handler = new InventoryHandler(node, connection);
-        requestHandlerMap.put(key, handler);
+        requestHandlerMap.put(key, handler::dispose);
         numPendingRequests.set(requestHandlerMap.size());
         List<Feature> peersFeatures = connection.getPeersCapability().getFeatures();
         InventoryFilterType inventoryFilterType = getPreferredFilterType(peersFeatures).orElseThrow(); // we filtered before for presence
@@ -184,6 +226,87 @@ public class InventoryRequestService implements Node.Listener {
                 });
     }
 
+    /**
+     * Requests the mailbox entries addressed to our keys. The receiver hashes are sent as BloomFilter, thus the peer
+     * cannot tell exactly which receivers we are. The BloomFilter uses our stable tweak, so that peers cannot narrow
+     * down our receivers by intersecting the filters of repeated requests.
+     *
+     * @return The number of received entries
+     */
+    private CompletableFuture<Integer> requestMailboxInventory(Connection connection) {
+        Set<ByteArray> myReceiverPubKeyHashes = myReceiverPubKeyHashesSupplier.get();
+        ReceiverFilter receiverFilter = ReceiverFilter.fromBloomFilter(myReceiverPubKeyHashes,
+                RECEIVER_FILTER_FALSE_POSITIVE_RATE,
+                receiverFilterTweak);
+        String key = getKey(connection);
+        InventoryHandler handler = new InventoryHandler(node, connection);
+        requestHandlerMap.put(key, handler::dispose);
+        numPendingRequests.set(requestHandlerMap.size());
+        List<Feature> peersFeatures = connection.getPeersCapability().getFeatures();
+        InventoryFilterType inventoryFilterType = getPreferredFilterType(peersFeatures).orElseThrow(); // we filtered before for presence
+        var filterService = supportedFilterServices.get(inventoryFilterType);
+        return handler.request(filterService.getFilter(), receiverFilter)
+                .orTimeout(TIMEOUT, TimeUnit.MILLISECONDS)
+                .whenComplete((inventory, throwable) -> {
+                    if (throwable != null) {
+                        handler.dispose();
+                    }
+                    requestHandlerMap.remove(key);
+                    numPendingRequests.set(requestHandlerMap.size());
+                })
+                .thenApply(inventory -> {
+                    checkNotNull(inventory);
+                    inventory.getEntries().forEach(this::applyDataRequest);
+                    return inventory.getEntries().size();
+                });
+    }
+
+    private boolean canRequestMailboxInventory(Connection connection) {
+        return config.isRequestMailboxByReceiver() &&
+                mailboxByReceiverSupported &&
+                connection.getPeersCapability().getFeatures().contains(Feature.INVENTORY_MAILBOX_BY_RECEIVER) &&
+                !myReceiverPubKeyHashesSupplier.get().isEmpty();
+    }
+
+    private CompletableFuture<Boolean> requestInventoryStream(Connection connection) {
+        String key = getKey(connection);
+        InventoryStreamHandler handler = new InventoryStreamHandler(node, connection, this::applyChunk);
+        requestHandlerMap.put(key, handler::dispose);
+        numPendingRequests.set(requestHandlerMap.size());
+        List<Feature> peersFeatures = connection.getPeersCapability().getFeatures();
+        InventoryFilterType inventoryFilterType = getPreferredFilterType(peersFeatures).orElseThrow(); // we filtered before for presence
+        var filterService = supportedFilterServices.get(inventoryFilterType);
+        // Once bootstrapped, we do not resume but request all missing data
+        Optional<ContinuationToken> token = allDataReceived.get() ? Optional.empty() : resumeToken;
+        return handler.request(filterService.getFilter(), token, maxChunkSize, config.getMaxChunksInFlight())
+                .whenComplete((allDataReceivedFromPeer, throwable) -> {
+                    if (throwable != null) {
+                        handler.dispose();
+                    }
+                    requestHandlerMap.remove(key);
+                    numPendingRequests.set(requestHandlerMap.size());
+                });
+    }
+
+    private void applyChunk(InventoryChunk chunk) {
+        chunk.getEntries().forEach(this::applyDataRequest);
+        chunk.getContinuationToken().ifPresent(this::updateResumeToken);
+    }
+
+    private synchronized void updateResumeToken(ContinuationToken continuationToken) {
+        if (resumeToken.map(continuationToken::isAfter).orElse(true)) {
+            resumeToken = Optional.of(continuationToken);
+        }
+    }
+
+    private void applyDataRequest(DataRequest dataRequest) {
+        if (dataRequest instanceof AddDataRequest) {
+            dataService.processAddDataRequest((AddDataRequest) dataRequest, false);
+        } else if (dataRequest instanceof RemoveDataRequest) {
+            dataService.processRemoveDataRequest((RemoveDataRequest) dataRequest, false);
+        }
+    }
+
     private void startPeriodicRequests(long interval) {
         periodicRequestScheduler.ifPresent(Scheduler::stop);
         periodicRequestScheduler = Optional.of(Scheduler.run(() -> {
@@ -193,11 +316,11 @@ public class InventoryRequestService implements Node.Listener {
                     AtomicInteger numCompleted = new AtomicInteger();
                     candidatesForPeriodicRequests.forEach(connection -> {
                         requestInventory(connection)
-                                .whenComplete((inventory, throwable) -> {
+                                .whenComplete((allDataReceivedFromPeer, throwable) -> {
                                     if (throwable != null) {
                                         log.info("Exception at periodic inventory request to peer {}: {}",
                                                 connection.getPeerAddress().getFullAddress(), ExceptionUtil.getMessageOrToString(throwable));
-                                    } else if (inventory.allDataReceived()) {
+                                    } else if (allDataReceivedFromPeer) {
                                         allDataReceived.set(true);
                                     }
                                     if (numCompleted.incrementAndGet() == numCandidates) {
@@ -17,9 +17,9 @@
 
 package bisq.network.p2p.services.data.inventory;
 
+import bisq.common.threading.ExecutorFactory;
 import bisq.common.util.ByteUnit;
 import bisq.common.util.ExceptionUtil;
-import bisq.network.NetworkService;
 import bisq.network.identity.NetworkId;
 import bisq.network.p2p.message.EnvelopePayloadMessage;
 import bisq.network.p2p.node.CloseReason;
@@ -28,24 +28,62 @@ import bisq.network.p2p.node.Node;
 import bisq.network.p2p.services.data.inventory.filter.FilterService;
 import bisq.network.p2p.services.data.inventory.filter.InventoryFilter;
 import bisq.network.p2p.services.data.inventory.filter.InventoryFilterType;
+import bisq.network.p2p.services.data.inventory.filter.receiver.ReceiverFilter;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 @Slf4j
 public class InventoryResponseService implements Node.Listener {
+    private static final int MAX_CONCURRENT_RESPONSES = 4;
+    // Creating and sending the inventory is expensive. We use a dedicated bounded pool, so that many concurrent
+    // requests (e.g. at seed nodes) neither block the dispatcher thread nor grow the shared network IO pool.
+    // Additional requests get queued.
+    private static final ExecutorService INVENTORY_RESPONSE_POOL = ExecutorFactory.newFixedThreadPool("InventoryResponseService",
+            MAX_CONCURRENT_RESPONSES);
+    private static final int MIN_CHUNK_SIZE = (int) ByteUnit.KB.toBytes(16);
+    private static final int MAX_CHUNKS_IN_FLIGHT = 16;
+    // If the peer does not ack for that period we drop the stream. It can resume with its last continuation token.
+    private static final long STREAM_TIMEOUT = TimeUnit.MINUTES.toMillis(3);
+
+    private static final class StreamContext {
+        private final int nonce;
+        private final InventoryStream<InventoryEntry> stream;
+
+        private StreamContext(int nonce, InventoryStream<InventoryEntry> stream) {
+            this.nonce = nonce;
+            this.stream = stream;
+        }
+    }
+
     private final Node node;
     private final Map<InventoryFilterType, FilterService<? extends InventoryFilter>> filterServiceMap;
+    private final int maxChunkSize;
+    private final boolean mailboxByReceiverSupported;
+    // We support only one stream per connection. A new request replaces the previous stream.
+    private final Map<String, StreamContext> streamContextByConnectionId = new ConcurrentHashMap<>();
 
-    InventoryResponseService(Node node, Map<InventoryFilterType, FilterService<? extends InventoryFilter>> filterServiceMap) {
+    InventoryResponseService(Node node,
+                             Map<InventoryFilterType, FilterService<? extends InventoryFilter>> filterServiceMap,
+                             int maxChunkSize,
+                             boolean mailboxByReceiverSupported) {
         this.node = node;
         this.filterServiceMap = filterServiceMap;
+        this.maxChunkSize = Math.max(MIN_CHUNK_SIZE, maxChunkSize);
+        this.mailboxByReceiverSupported = mailboxByReceiverSupported;
 
         node.addListener(this);
     }
 
     public void shutdown() {
         node.removeListener(this);
+        streamContextByConnectionId.clear();
     }
 
 
@@ -58,6 +96,15 @@ public class InventoryResponseService implements Node.Listener {
         if (envelopePayloadMessage instanceof InventoryRequest) {
             InventoryRequest request = (InventoryRequest) envelopePayloadMessage;
             handleInventoryRequest(request, connection);
+        } else if (envelopePayloadMessage instanceof InventoryChunkRequest) {
+            InventoryChunkRequest request = (InventoryChunkRequest) envelopePayloadMessage;
+            handleInventoryChunkRequest(request, connection);
+        } else if (envelopePayloadMessage instanceof InventoryChunkAck) {
+            InventoryChunkAck ack = (InventoryChunkAck) envelopePayloadMessage;
+            handleInventoryChunkAck(ack, connection);
+        } else if (envelopePayloadMessage instanceof MailboxInventoryRequest) {
+            MailboxInventoryRequest request = (MailboxInventoryRequest) envelopePayloadMessage;
+            handleMailboxInventoryRequest(request, connection);
         }
     }
 
@@ -67,6 +114,7 @@ public class InventoryResponseService implements Node.Listener {
 
     @Override
     public void onDisconnect(Connection connection, CloseReason closeReason) {
+        streamContextByConnectionId.remove(connection.getId());
     }
 
     private void handleInventoryRequest(InventoryRequest request, Connection connection) {
@@ -79,9 +127,9 @@ public class InventoryResponseService implements Node.Listener {
         if (filterServiceMap.containsKey(inventoryFilterType)) {
             FilterService<? extends InventoryFilter> filterService = filterServiceMap.get(inventoryFilterType);
             long ts = System.currentTimeMillis();
-            Inventory inventory = filterService.createInventory(inventoryFilter);
-            NetworkService.NETWORK_IO_POOL.submit(() -> {
+            INVENTORY_RESPONSE_POOL.submit(() -> {
                 try {
+                    Inventory inventory = filterService.createInventory(inventoryFilter);
                     node.send(new InventoryResponse(inventory, request.getNonce()), connection);
                     log.info("Successfully sent an InventoryResponse to peer {} with {} kb. Took {} ms",
                             connection.getPeerAddress(),
@@ -98,4 +146,128 @@ public class InventoryResponseService implements Node.Listener {
                     inventoryFilterType);
         }
     }
-}
\ No newline at end of file
+
+    private void handleMailboxInventoryRequest(MailboxInventoryRequest request, Connection connection) {
+        InventoryFilter inventoryFilter = request.getInventoryFilter();
+        ReceiverFilter receiverFilter = request.getReceiverFilter();
+        log.info("Received a MailboxInventoryRequest from peer {}. Receiver filter details: {}",
+                connection.getPeerAddress(), receiverFilter.getDetails());
+
+        if (!mailboxByReceiverSupported) {
+            log.warn("We got a MailboxInventoryRequest but we do not support Feature.INVENTORY_MAILBOX_BY_RECEIVER.");
+            return;
+        }
+        InventoryFilterType inventoryFilterType = inventoryFilter.getInventoryFilterType();
+        if (!filterServiceMap.containsKey(inventoryFilterType)) {
+            log.warn("We got a MailboxInventoryRequest with filterType {} which we do not support.", inventoryFilterType);
+            return;
+        }
+
+        FilterService<? extends InventoryFilter> filterService = filterServiceMap.get(inventoryFilterType);
+        long ts = System.currentTimeMillis();
+        INVENTORY_RESPONSE_POOL.submit(() -> {
+            try {
+                Inventory inventory = filterService.createMailboxInventory(inventoryFilter, receiverFilter);
+                node.send(new InventoryResponse(inventory, request.getNonce()), connection);
+                log.info("Successfully sent a mailbox InventoryResponse to peer {} with {} entries. Took {} ms",
+                        connection.getPeerAddress(),
+                        inventory.getEntries().size(),
+                        System.currentTimeMillis() - ts);
+            } catch (Exception e) {
+                log.warn("Error at sending mailbox InventoryResponse to {}. {}", connection.getPeerAddress(),
+                        ExceptionUtil.getMessageOrToString(e));
+            }
+        });
+    }
+
+    private void handleInventoryChunkRequest(InventoryChunkRequest request, Connection connection) {
+        InventoryFilter inventoryFilter = request.getInventoryFilter();
+        log.info("Received an InventoryChunkRequest from peer {}. Size: {} kb. resumeToken={}. Filter details: {}",
+                connection.getPeerAddress(), ByteUnit.BYTE.toKB(inventoryFilter.getSerializedSize()),
+                request.getResumeToken(), inventoryFilter.getDetails());
+
+        InventoryFilterType inventoryFilterType = inventoryFilter.getInventoryFilterType();
+        if (!filterServiceMap.containsKey(inventoryFilterType)) {
+            log.warn("We got an InventoryChunkRequest with filterType {} which we do not support.", inventoryFilterType);
+            return;
+        }
+
+        removeExpiredStreams();
+        FilterService<? extends InventoryFilter> filterService = filterServiceMap.get(inventoryFilterType);
+        // We do not trust the peers parameters and clamp them to our limits
+        int chunkSize = Math.max(MIN_CHUNK_SIZE, Math.min(maxChunkSize, request.getMaxChunkSize()));
+        int chunksInFlight = Math.max(1, Math.min(MAX_CHUNKS_IN_FLIGHT, request.getMaxChunksInFlight()));
+        INVENTORY_RESPONSE_POOL.submit(() -> {
+            try {
+                long ts = System.currentTimeMillis();
+                List<InventoryEntry> entries = filterService.getMissingEntries(inventoryFilter, request.getResumeToken());
+                InventoryStream<InventoryEntry> stream = new InventoryStream<>(entries,
+                        entry -> entry.getDataRequest().getSerializedSize(),
+                        chunkSize,
+                        chunksInFlight);
+                StreamContext streamContext = new StreamContext(request.getNonce(), stream);
+                streamContextByConnectionId.put(connection.getId(), streamContext);
+                log.info("Start streaming {} inventory entries to peer {}. Creating the entries took {} ms",
+                        entries.size(), connection.getPeerAddress(), System.currentTimeMillis() - ts);
+                synchronized (streamContext) {
+                    sendChunks(streamContext, stream.start(), connection);
+                }
+            } catch (Exception e) {
+                log.warn("Error at streaming inventory to {}. {}", connection.getPeerAddress(),
+                        ExceptionUtil.getMessageOrToString(e));
+                streamContextByConnectionId.remove(connection.getId());
+            }
+        });
+    }
+
+    private void handleInventoryChunkAck(InventoryChunkAck ack, Connection connection) {
+        StreamContext streamContext = streamContextByConnectionId.get(connection.getId());
+        if (streamContext == null || streamContext.nonce != ack.getRequestNonce()) {
+            log.info("Received InventoryChunkAck from {} for an unknown or replaced stream", connection.getPeerAddress());
+            return;
+        }
+
+        // Sending is blocking IO, thus we do not send from the dispatcher thread.
+        INVENTORY_RESPONSE_POOL.submit(() -> {
+            try {
+                // Chunks must be sent in order, thus we do not allow concurrent sends for the same stream
+                synchronized (streamContext) {
+                    sendChunks(streamContext, streamContext.stream.onAck(ack.getChunkIndex()), connection);
+                }
+                if (streamContext.stream.isCompleted()) {
+                    streamContextByConnectionId.remove(connection.getId(), streamContext);
+                    log.info("Completed streaming inventory to peer {}", connection.getPeerAddress());
+                }
+            } catch (Exception e) {
+                log.warn("Error at streaming inventory to {}. {}", connection.getPeerAddress(),
+                        ExceptionUtil.getMessageOrToString(e));
+                streamContextByConnectionId.remove(connection.getId(), streamContext);
+            }
+        });
+    }
+
+    private void sendChunks(StreamContext streamContext,
+                            List<InventoryStream.Chunk<InventoryEntry>> chunks,
+                            Connection connection) {
+        chunks.forEach(chunk -> {
+            List<InventoryEntry> entries = chunk.getEntries();
+            Optional<ContinuationToken> continuationToken = entries.isEmpty()
+                    ? Optional.empty()
+                    : Optional.of(entries.get(entries.size() - 1).getContinuationToken());
+            InventoryChunk inventoryChunk = new InventoryChunk(streamContext.nonce,
+                    chunk.getIndex(),
+                    entries.stream().map(InventoryEntry::getDataRequest).collect(Collectors.toList()),
+                    continuationToken,
+                    chunk.isLast());
+            node.send(inventoryChunk, connection);
+            log.debug("Sent InventoryChunk {} with {} entries and {} kb to peer {}",
+                    chunk.getIndex(), entries.size(), ByteUnit.BYTE.toKB(chunk.getSize()), connection.getPeerAddress());
+        });
+    }
+
+    private void removeExpiredStreams() {
+        long now = System.currentTimeMillis();
+        streamContextByConnectionId.values()
+                .removeIf(streamContext -> now - streamContext.stream.getLastActivity() > STREAM_TIMEOUT);
+    }
+}
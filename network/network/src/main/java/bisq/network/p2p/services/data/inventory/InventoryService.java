@@ -17,6 +17,7 @@
 
 package bisq.network.p2p.services.data.inventory;
 
+import bisq.common.data.ByteArray;
 import bisq.common.util.ByteUnit;
 import bisq.network.p2p.node.Feature;
 import bisq.network.p2p.node.Node;
@@ -31,6 +32,7 @@ import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.*;
+import java.util.function.Supplier;
 
 import static java.util.concurrent.TimeUnit.SECONDS;
 
@@ -39,6 +41,12 @@ import static java.util.concurrent.TimeUnit.SECONDS;
  * We have InventoryServices for each supported transport. The data service though is a single instance getting services
  * by all transport specific services.
  * <p>
+ * If both peers support Feature.INVENTORY_STREAMING the inventory is requested as a stream of bounded chunks, which
+ * are applied as they arrive. An interrupted stream is continued at another peer from the last ContinuationToken.
+ * Otherwise, we fall back to a single InventoryResponse capped at maxSizeInKb.
+ * <p>
+ * If enabled by requestMailboxByReceiver and both peers support Feature.INVENTORY_MAILBOX_BY_RECEIVER, we request our
+ * own mailbox messages before the full inventory.
  */
 @Slf4j
 public class InventoryService {
@@ -51,6 +59,12 @@ public class InventoryService {
         private final int maxPendingRequestsAtStartup; // Default 5
         private final int maxPendingRequestsAtPeriodicRequests; // Default 2
         private final List<InventoryFilterType> myPreferredFilterTypes; // Lower list index means higher preference
+        private final int maxChunkSizeInKb; // Default 256. Used for streamed inventory (Feature.INVENTORY_STREAMING)
+        private final int maxChunksInFlight; // Default 4. Number of chunks the peer can send before waiting for our ack
+        // Default false. If true, we request our own mailbox messages first by a receiver filter
+        // (Feature.INVENTORY_MAILBOX_BY_RECEIVER). The filter is a BloomFilter, but it still reveals a probabilistic
+        // link between our keys and our node to the peer.
+        private final boolean requestMailboxByReceiver;
 
         public static Config from(com.typesafe.config.Config config) {
             return new Config(config.getInt("maxSizeInKb"),
@@ -59,7 +73,10 @@ public class InventoryService {
                     config.getInt("maxPeersForRequest"),
                     config.getInt("maxPendingRequestsAtStartup"),
                     config.getInt("maxPendingRequestsAtPeriodicRequests"),
-                    new ArrayList<>(config.getEnumList(InventoryFilterType.class, "myPreferredFilterTypes")));
+                    new ArrayList<>(config.getEnumList(InventoryFilterType.class, "myPreferredFilterTypes")),
+                    config.hasPath("maxChunkSizeInKb") ? config.getInt("maxChunkSizeInKb") : 256,
+                    config.hasPath("maxChunksInFlight") ? config.getInt("maxChunksInFlight") : 4,
+                    config.hasPath("requestMailboxByReceiver") && config.getBoolean("requestMailboxByReceiver"));
         }
 
         public Config(int maxSizeInKb,
@@ -68,7 +85,10 @@ public class InventoryService {
                       int maxPeersForRequest,
                       int maxPendingRequestsAtStartup,
                       int maxPendingRequestsAtPeriodicRequests,
-                      List<InventoryFilterType> myPreferredFilterTypes) {
+                      List<InventoryFilterType> myPreferredFilterTypes,
+                      int maxChunkSizeInKb,
+                      int maxChunksInFlight,
+                      boolean requestMailboxByReceiver) {
             this.maxSizeInKb = maxSizeInKb;
             this.repeatRequestInterval = repeatRequestInterval;
             this.maxSeedsForRequest = maxSeedsForRequest;
@@ -76,6 +96,9 @@ public class InventoryService {
             this.maxPendingRequestsAtStartup = maxPendingRequestsAtStartup;
             this.maxPendingRequestsAtPeriodicRequests = maxPendingRequestsAtPeriodicRequests;
             this.myPreferredFilterTypes = myPreferredFilterTypes;
+            this.maxChunkSizeInKb = maxChunkSizeInKb;
+            this.maxChunksInFlight = maxChunksInFlight;
+            this.requestMailboxByReceiver = requestMailboxByReceiver;
         }
     }
 
@@ -89,7 +112,9 @@ public class InventoryService {
                             Node node,
                             PeerGroupManager peerGroupManager,
                             DataService dataService,
-                            Set<Feature> features) {
+                            Set<Feature> features,
+                            Supplier<Set<ByteArray>> myReceiverPubKeyHashesSupplier,
+                            int receiverFilterTweak) {
         this.config = config;
         int maxSize = (int) Math.round(ByteUnit.KB.toBytes(config.getMaxSizeInKb()));
         Inventory.setMaxSize(maxSize);
@@ -112,12 +137,22 @@ public class InventoryService {
 
                     }
                 });
-        inventoryResponseService = new InventoryResponseService(node, supportedFilterServices);
+        int maxChunkSize = (int) Math.round(ByteUnit.KB.toBytes(config.getMaxChunkSizeInKb()));
+        boolean mailboxByReceiverSupported = features.contains(Feature.INVENTORY_MAILBOX_BY_RECEIVER);
+        inventoryResponseService = new InventoryResponseService(node,
+                supportedFilterServices,
+                maxChunkSize,
+                mailboxByReceiverSupported);
         inventoryRequestService = new InventoryRequestService(node,
                 peerGroupManager,
                 dataService,
                 supportedFilterServices,
-                config);
+                config,
+                maxChunkSize,
+                features.contains(Feature.INVENTORY_STREAMING),
+                mailboxByReceiverSupported,
+                myReceiverPubKeyHashesSupplier,
+                receiverFilterTweak);
     }
 
 
@@ -0,0 +1,130 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.network.p2p.services.data.inventory;
+
+import lombok.Getter;
+import lombok.ToString;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.ToIntFunction;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Sender side of a streamed inventory. The sorted entries are split into chunks which do not exceed maxChunkSize
+ * (a single entry larger than maxChunkSize is sent as its own chunk). A new chunk is only released if less than
+ * maxChunksInFlight chunks are not acknowledged by the receiver, so that a slow receiver does not get flooded and
+ * the sender does not serialize data which might never be consumed.
+ * Acks are cumulative: an ack for chunk n confirms all chunks up to n.
+ */
+@Slf4j
+class InventoryStream<E> {
+    @Getter
+    @ToString
+    static final class Chunk<E> {
+        private final int index;
+        @ToString.Exclude
+        private final List<E> entries;
+        private final int size;
+        private final boolean last;
+
+        private Chunk(int index, List<E> entries, int size, boolean last) {
+            this.index = index;
+            this.entries = entries;
+            this.size = size;
+            this.last = last;
+        }
+    }
+
+    private final List<E> entries;
+    private final ToIntFunction<E> sizeFunction;
+    private final int maxChunkSize;
+    private final int maxChunksInFlight;
+    private int position;
+    private int nextChunkIndex;
+    private int highestAckedChunkIndex = -1;
+    private boolean lastChunkCreated;
+    @Getter
+    private volatile long lastActivity = System.currentTimeMillis();
+
+    InventoryStream(List<E> entries, ToIntFunction<E> sizeFunction, int maxChunkSize, int maxChunksInFlight) {
+        checkArgument(maxChunkSize > 0, "maxChunkSize must be positive");
+        checkArgument(maxChunksInFlight > 0, "maxChunksInFlight must be positive");
+        this.entries = entries;
+        this.sizeFunction = sizeFunction;
+        this.maxChunkSize = maxChunkSize;
+        this.maxChunksInFlight = maxChunksInFlight;
+    }
+
+    /**
+     * @return The chunks to send initially. Contains at least one chunk, which is the last one if there are no entries.
+     */
+    synchronized List<Chunk<E>> start() {
+        lastActivity = System.currentTimeMillis();
+        return createChunksInWindow();
+    }
+
+    /**
+     * @return The chunks which can be sent after the ack freed space in the window.
+     */
+    synchronized List<Chunk<E>> onAck(int chunkIndex) {
+        lastActivity = System.currentTimeMillis();
+        if (chunkIndex >= nextChunkIndex) {
+            log.warn("Received ack for chunk {} which was not sent yet. nextChunkIndex={}", chunkIndex, nextChunkIndex);
+            return Collections.emptyList();
+        }
+        highestAckedChunkIndex = Math.max(highestAckedChunkIndex, chunkIndex);
+        return createChunksInWindow();
+    }
+
+    synchronized int getNumChunksInFlight() {
+        return nextChunkIndex - highestAckedChunkIndex - 1;
+    }
+
+    synchronized boolean isCompleted() {
+        return lastChunkCreated && getNumChunksInFlight() == 0;
+    }
+
+    private List<Chunk<E>> createChunksInWindow() {
+        List<Chunk<E>> chunks = new ArrayList<>();
+        while (!lastChunkCreated && getNumChunksInFlight() < maxChunksInFlight) {
+            chunks.add(createChunk());
+        }
+        return chunks;
+    }
+
+    private Chunk<E> createChunk() {
+        List<E> chunkEntries = new ArrayList<>();
+        int accumulatedSize = 0;
+        while (position < entries.size()) {
+            E entry = entries.get(position);
+            int size = sizeFunction.applyAsInt(entry);
+            if (!chunkEntries.isEmpty() && accumulatedSize + size > maxChunkSize) {
+                break;
+            }
+            chunkEntries.add(entry);
+            accumulatedSize += size;
+            position++;
+        }
+        lastChunkCreated = position == entries.size();
+        return new Chunk<>(nextChunkIndex++, chunkEntries, accumulatedSize, lastChunkCreated);
+    }
+}
@@ -0,0 +1,174 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.network.p2p.services.data.inventory;
+
+import bisq.common.timer.Scheduler;
+import bisq.common.util.ByteUnit;
+import bisq.common.util.MathUtils;
+import bisq.network.NetworkService;
+import bisq.network.p2p.message.EnvelopePayloadMessage;
+import bisq.network.p2p.node.CloseReason;
+import bisq.network.p2p.node.Connection;
+import bisq.network.p2p.node.Node;
+import bisq.network.p2p.services.data.inventory.filter.InventoryFilter;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+
+import static java.util.concurrent.CompletableFuture.runAsync;
+
+/**
+ * Receiver side of a streamed inventory. Each chunk is passed to the chunkHandler as soon as it arrives and is
+ * acknowledged afterwards, so the peer only sends further chunks once we have processed the previous ones.
+ * The future completes with true once the last chunk was received.
+ */
+@Getter
+@Slf4j
+class InventoryStreamHandler implements Connection.Listener {
+    // Timeout is applied to the period between chunks, not to the whole stream
+    private static final long INACTIVITY_TIMEOUT = TimeUnit.SECONDS.toMillis(180);
+    private static final long TIMEOUT_CHECK_INTERVAL = TimeUnit.SECONDS.toMillis(10);
+
+    private final Node node;
+    private final Connection connection;
+    private final Consumer<InventoryChunk> chunkHandler;
+    private final CompletableFuture<Boolean> future = new CompletableFuture<>();
+    private final int nonce;
+    private int maxChunkSize;
+    private int expectedChunkIndex;
+    private int numReceivedEntries;
+    private long numReceivedBytes;
+    private long requestTs;
+    private volatile long lastActivity;
+    private Optional<Scheduler> timeoutScheduler = Optional.empty();
+
+    InventoryStreamHandler(Node node, Connection connection, Consumer<InventoryChunk> chunkHandler) {
+        this.node = node;
+        this.connection = connection;
+        this.chunkHandler = chunkHandler;
+
+        nonce = new Random().nextInt();
+        connection.addListener(this);
+    }
+
+    CompletableFuture<Boolean> request(InventoryFilter inventoryFilter,
+                                       Optional<ContinuationToken> resumeToken,
+                                       int maxChunkSize,
+                                       int maxChunksInFlight) {
+        this.maxChunkSize = maxChunkSize;
+        requestTs = System.currentTimeMillis();
+        lastActivity = requestTs;
+        log.info("Send InventoryChunkRequest to {} with resumeToken {} and {}",
+                connection.getPeerAddress(), resumeToken, inventoryFilter.getDetails());
+        InventoryChunkRequest request = new InventoryChunkRequest(inventoryFilter,
+                nonce,
+                resumeToken,
+                maxChunkSize,
+                maxChunksInFlight);
+        timeoutScheduler = Optional.of(Scheduler.run(this::checkTimeout)
+                .periodically(TIMEOUT_CHECK_INTERVAL)
+                .name("InventoryStreamHandler.timeout"));
+        runAsync(() -> node.send(request, connection), NetworkService.NETWORK_IO_POOL)
+                .whenComplete((connection, throwable) -> {
+                    if (throwable != null) {
+                        fail(throwable);
+                    }
+                });
+        return future;
+    }
+
+    @Override
+    public void onNetworkMessage(EnvelopePayloadMessage envelopePayloadMessage) {
+        if (!(envelopePayloadMessage instanceof InventoryChunk) || future.isDone()) {
+            return;
+        }
+        InventoryChunk chunk = (InventoryChunk) envelopePayloadMessage;
+        if (chunk.getRequestNonce() != nonce) {
+            log.warn("Received InventoryChunk from {} with invalid nonce {}. Request nonce was {}",
+                    connection.getPeerAddress(), chunk.getRequestNonce(), nonce);
+            return;
+        }
+        if (chunk.getChunkIndex() != expectedChunkIndex) {
+            fail(new IllegalStateException("Received InventoryChunk with index " + chunk.getChunkIndex() +
+                    " but expected " + expectedChunkIndex));
+            return;
+        }
+        int size = chunk.getSerializedSize();
+        // We tolerate up to double of our max chunk size. A single entry might exceed it.
+        if (chunk.getEntries().size() > 1 && size > maxChunkSize * 2) {
+            fail(new IllegalStateException("Received InventoryChunk exceeding max chunk size. size=" + size));
+            return;
+        }
+
+        lastActivity = System.currentTimeMillis();
+        expectedChunkIndex++;
+        numReceivedEntries += chunk.getEntries().size();
+        numReceivedBytes += size;
+        chunkHandler.accept(chunk);
+
+        // We ack after we have applied the chunk. The ack for the last chunk lets the peer release the stream.
+        InventoryChunkAck ack = new InventoryChunkAck(nonce, chunk.getChunkIndex());
+        runAsync(() -> node.send(ack, connection), NetworkService.NETWORK_IO_POOL)
+                .whenComplete((connection, throwable) -> {
+                    if (throwable != null) {
+                        fail(throwable);
+                    }
+                });
+
+        if (chunk.isLast()) {
+            String passed = MathUtils.roundDouble((System.currentTimeMillis() - requestTs) / 1000d, 2) + " sec.";
+            log.info("Received {} inventory entries with {} KB in {} chunks from {} after {}",
+                    numReceivedEntries, ByteUnit.BYTE.toKB((double) numReceivedBytes), expectedChunkIndex,
+                    connection.getPeerAddress().getFullAddress(), passed);
+            removeListenerAndStopScheduler();
+            future.complete(true);
+        }
+    }
+
+    @Override
+    public void onConnectionClosed(CloseReason closeReason) {
+        dispose();
+    }
+
+    void dispose() {
+        removeListenerAndStopScheduler();
+        future.cancel(true);
+    }
+
+    private void checkTimeout() {
+        if (System.currentTimeMillis() - lastActivity > INACTIVITY_TIMEOUT) {
+            fail(new TimeoutException("No InventoryChunk received for " + INACTIVITY_TIMEOUT / 1000 + " sec."));
+        }
+    }
+
+    private void fail(Throwable throwable) {
+        removeListenerAndStopScheduler();
+        future.completeExceptionally(throwable);
+    }
+
+    private void removeListenerAndStopScheduler() {
+        connection.removeListener(this);
+        timeoutScheduler.ifPresent(Scheduler::stop);
+    }
+}
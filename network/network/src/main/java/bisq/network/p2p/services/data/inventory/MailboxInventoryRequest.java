@@ -0,0 +1,85 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+package bisq.network.p2p.services.data.inventory;
+
+import bisq.network.p2p.message.Request;
+import bisq.network.p2p.services.data.broadcast.BroadcastMessage;
+import bisq.network.p2p.services.data.inventory.filter.InventoryFilter;
+import bisq.network.p2p.services.data.inventory.filter.receiver.ReceiverFilter;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Requests only the mailbox entries of the receivers matching the receiverFilter. Entries contained in the
+ * inventoryFilter are skipped as with the InventoryRequest. The peer responds with an InventoryResponse.
+ * Only sent if the peer supports Feature.INVENTORY_MAILBOX_BY_RECEIVER.
+ */
+@Getter
+@ToString
+@EqualsAndHashCode
+public final class MailboxInventoryRequest implements BroadcastMessage, Request {
+    private final InventoryFilter inventoryFilter;
+    private final ReceiverFilter receiverFilter;
+    private final int nonce;
+
+    public MailboxInventoryRequest(InventoryFilter inventoryFilter, ReceiverFilter receiverFilter, int nonce) {
+        this.inventoryFilter = inventoryFilter;
+        this.receiverFilter = receiverFilter;
+        this.nonce = nonce;
+
+        verify();
+    }
+
+    @Override
+    public void verify() {
+    }
+
+    @Override
+    public bisq.network.protobuf.EnvelopePayloadMessage.Builder getBuilder(boolean serializeForHash) {
+        return newEnvelopePayloadMessageBuilder().setMailboxInventoryRequest(toValueProto(serializeForHash));
+    }
+
+    @Override
+    public bisq.network.protobuf.MailboxInventoryRequest toValueProto(boolean serializeForHash) {
+        return resolveValueProto(serializeForHash);
+    }
+
+    @Override
+    public bisq.network.protobuf.MailboxInventoryRequest.Builder getValueBuilder(boolean serializeForHash) {
+        return bisq.network.protobuf.MailboxInventoryRequest.newBuilder()
+                .setInventoryFilter(inventoryFilter.toProto(serializeForHash))
+                .setReceiverFilter(receiverFilter.toProto(serializeForHash))
+                .setNonce(nonce);
+    }
+
+    public static MailboxInventoryRequest fromProto(bisq.network.protobuf.MailboxInventoryRequest proto) {
+        return new MailboxInventoryRequest(InventoryFilter.fromProto(proto.getInventoryFilter()),
+                ReceiverFilter.fromProto(proto.getReceiverFilter()),
+                proto.getNonce());
+    }
+
+    @Override
+    public double getCostFactor() {
+        return 0.25;
+    }
+
+    @Override
+    public String getRequestId() {
+        return String.valueOf(nonce);
+    }
+}
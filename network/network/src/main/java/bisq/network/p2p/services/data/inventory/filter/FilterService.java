@@ -20,7 +20,10 @@ package bisq.network.p2p.services.data.inventory.filter;
 import bisq.common.data.ByteArray;
 import bisq.common.util.ByteUnit;
 import bisq.network.p2p.services.data.DataRequest;
+import bisq.network.p2p.services.data.inventory.ContinuationToken;
 import bisq.network.p2p.services.data.inventory.Inventory;
+import bisq.network.p2p.services.data.inventory.InventoryEntry;
+import bisq.network.p2p.services.data.inventory.filter.receiver.ReceiverFilter;
 import bisq.network.p2p.services.data.storage.StorageService;
 import bisq.network.p2p.services.data.storage.append.AddAppendOnlyDataRequest;
 import bisq.network.p2p.services.data.storage.auth.AddAuthenticatedDataRequest;
@@ -33,10 +36,13 @@ import lombok.extern.slf4j.Slf4j;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Comparator;
 import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Slf4j
 public abstract class FilterService<T extends InventoryFilter> {
@@ -64,7 +70,7 @@ public abstract class FilterService<T extends InventoryFilter> {
         List<DataRequest> dataRequests = getAuthenticatedDataRequests(filter, accumulatedSize, maxSizeReached);
 
         if (!maxSizeReached.get()) {
-            dataRequests.addAll(getMailboxRequests(filter, accumulatedSize, maxSizeReached));
+            dataRequests.addAll(getMailboxRequests(filter, storageService.getMailboxStoreMaps(), accumulatedSize, maxSizeReached));
         }
 
         if (!maxSizeReached.get()) {
@@ -76,6 +82,77 @@ public abstract class FilterService<T extends InventoryFilter> {
         return new Inventory(dataRequests, maxSizeReached.get());
     }
 
+    /**
+     * Creates an inventory containing only the missing mailbox entries of the receivers matching the receiverFilter.
+     * The entries are looked up via the receiver index of the mailbox stores.
+     */
+    public Inventory createMailboxInventory(InventoryFilter inventoryFilter, ReceiverFilter receiverFilter) {
+        final AtomicInteger accumulatedSize = new AtomicInteger();
+        final AtomicBoolean maxSizeReached = new AtomicBoolean();
+        T filter = safeCast(inventoryFilter);
+        List<DataRequest> dataRequests = getMailboxRequests(filter,
+                storageService.getMailboxStoreMaps(receiverFilter::matches),
+                accumulatedSize,
+                maxSizeReached);
+        log.info("Mailbox inventory with {} items and accumulatedSize of {} kb. maxSizeReached={}",
+                dataRequests.size(), ByteUnit.BYTE.toKB(accumulatedSize.get()), maxSizeReached.get());
+        return new Inventory(dataRequests, maxSizeReached.get());
+    }
+
+    /**
+     * Returns all missing entries sorted by their continuation token. Entries at or before the resumeToken are skipped,
+     * so that a stream interrupted at one peer can be continued at another peer.
+     * Unlike createInventory, the result is not capped by maxSize as it is sent in bounded chunks.
+     */
+    public List<InventoryEntry> getMissingEntries(InventoryFilter inventoryFilter, Optional<ContinuationToken> resumeToken) {
+        T filter = safeCast(inventoryFilter);
+        List<InventoryEntry> entries = new ArrayList<>();
+        storageService.getAuthenticatedDataStoreMaps().flatMap(map -> map.entrySet().stream())
+                .filter(mapEntry -> isAuthenticatedDataRequestMissing(filter, mapEntry))
+                .forEach(mapEntry -> {
+                    AuthenticatedDataRequest dataRequest = mapEntry.getValue();
+                    if (dataRequest instanceof AddAuthenticatedDataRequest) {
+                        int priority = ((AddAuthenticatedDataRequest) dataRequest).getAuthenticatedSequentialData()
+                                .getAuthenticatedData().getDistributedData().getMetaData().getPriority();
+                        entries.add(new InventoryEntry(new ContinuationToken(ContinuationToken.CATEGORY_AUTHENTICATED_ADD,
+                                priority, mapEntry.getKey()), dataRequest));
+                    } else if (dataRequest instanceof RemoveAuthenticatedDataRequest) {
+                        int priority = ((RemoveAuthenticatedDataRequest) dataRequest).getMetaData().getPriority();
+                        entries.add(new InventoryEntry(new ContinuationToken(ContinuationToken.CATEGORY_AUTHENTICATED_REMOVE,
+                                priority, mapEntry.getKey()), dataRequest));
+                    }
+                    // Refresh is ignored
+                });
+        storageService.getMailboxStoreMaps().flatMap(map -> map.entrySet().stream())
+                .filter(mapEntry -> isMailboxRequestMissing(filter, mapEntry))
+                .forEach(mapEntry -> {
+                    MailboxRequest dataRequest = mapEntry.getValue();
+                    if (dataRequest instanceof AddMailboxRequest) {
+                        int priority = ((AddMailboxRequest) dataRequest).getMailboxSequentialData().getMailboxData()
+                                .getMetaData().getPriority();
+                        entries.add(new InventoryEntry(new ContinuationToken(ContinuationToken.CATEGORY_MAILBOX_ADD,
+                                priority, mapEntry.getKey()), dataRequest));
+                    } else if (dataRequest instanceof RemoveMailboxRequest) {
+                        int priority = ((RemoveMailboxRequest) dataRequest).getMetaData().getPriority();
+                        entries.add(new InventoryEntry(new ContinuationToken(ContinuationToken.CATEGORY_MAILBOX_REMOVE,
+                                priority, mapEntry.getKey()), dataRequest));
+                    }
+                });
+        storageService.getAddAppendOnlyDataStoreMaps().flatMap(map -> map.entrySet().stream())
+                .filter(mapEntry -> isAddAppendOnlyDataRequestMissing(filter, mapEntry))
+                .forEach(mapEntry -> {
+                    AddAppendOnlyDataRequest dataRequest = mapEntry.getValue();
+                    int priority = dataRequest.getAppendOnlyData().getMetaData().getPriority();
+                    entries.add(new InventoryEntry(new ContinuationToken(ContinuationToken.CATEGORY_APPEND_ONLY,
+                            priority, mapEntry.getKey()), dataRequest));
+                });
+
+        return entries.stream()
+                .filter(entry -> resumeToken.map(token -> entry.getContinuationToken().isAfter(token)).orElse(true))
+                .sorted(Comparator.comparing(InventoryEntry::getContinuationToken))
+                .collect(Collectors.toList());
+    }
+
     abstract protected T safeCast(InventoryFilter inventoryFilter);
 
     private List<DataRequest> getAuthenticatedDataRequests(T filter,
@@ -124,11 +201,12 @@ public abstract class FilterService<T extends InventoryFilter> {
 
 
     private List<DataRequest> getMailboxRequests(T filter,
+                                                 Stream<Map<ByteArray, MailboxRequest>> mailboxStoreMaps,
                                                  AtomicInteger accumulatedSize,
                                                  AtomicBoolean maxSizeReached) {
         List<AddMailboxRequest> addRequests = new ArrayList<>();
         List<RemoveMailboxRequest> removeRequests = new ArrayList<>();
-        storageService.getMailboxStoreMaps().flatMap(map -> map.entrySet().stream())
+        mailboxStoreMaps.flatMap(map -> map.entrySet().stream())
                 .forEach(mapEntry -> {
                     if (isMailboxRequestMissing(filter, mapEntry)) {
                         MailboxRequest dataRequest = mapEntry.getValue();
@@ -18,6 +18,7 @@
 package bisq.network.p2p.services.data.inventory.filter.hash_set;
 
 
+import bisq.common.data.Hash20IntMap;
 import bisq.common.util.ByteUnit;
 import bisq.network.p2p.services.data.inventory.filter.InventoryFilter;
 import bisq.network.p2p.services.data.inventory.filter.InventoryFilterType;
@@ -26,9 +27,7 @@ import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.Collections;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
 import java.util.stream.Collectors;
 
 import static com.google.common.base.Preconditions.checkArgument;
@@ -44,8 +43,8 @@ public final class HashSetFilter extends InventoryFilter {
     @Getter
     private final List<HashSetFilterEntry> filterEntries;
 
-    // As creating the HashSet at each request costs resources we cache it.
-    private transient Set<HashSetFilterEntry> filterEntriesAsSet;
+    // As creating the map at each request costs resources we cache it.
+    private transient volatile Hash20IntMap sequenceNumberByHash;
 
     public HashSetFilter(List<HashSetFilterEntry> filterEntries) {
         this(InventoryFilterType.HASH_SET, filterEntries);
@@ -94,10 +93,24 @@ public final class HashSetFilter extends InventoryFilter {
                 ByteUnit.BYTE.toKB(getSerializedSize()) + " KB";
     }
 
-    public Set<HashSetFilterEntry> getFilterEntriesAsSet() {
-        if (filterEntriesAsSet == null) {
-            filterEntriesAsSet = new HashSet<>(filterEntries);
+    /**
+     * @return True if the filter has an entry with that hash and sequence number. If a malformed filter contains the
+     * same hash multiple times, only the last entry is considered.
+     */
+    public boolean contains(byte[] hash, int sequenceNumber) {
+        // The default value differs from sequenceNumber, so a missing hash is never a match
+        return getSequenceNumberByHash().get(hash, ~sequenceNumber) == sequenceNumber;
+    }
+
+    private Hash20IntMap getSequenceNumberByHash() {
+        Hash20IntMap map = sequenceNumberByHash;
+        if (map == null) {
+            map = new Hash20IntMap(filterEntries.size());
+            for (HashSetFilterEntry entry : filterEntries) {
+                map.put(entry.getHash(), entry.getSequenceNumber(), 0);
+            }
+            sequenceNumberByHash = map;
         }
-        return filterEntriesAsSet;
+        return map;
     }
 }
\ No newline at end of file
@@ -68,37 +68,43 @@ public class HashSetFilterService extends FilterService<HashSetFilter> {
 
     @Override
     protected boolean isAuthenticatedDataRequestMissing(HashSetFilter filter, Map.Entry<ByteArray, AuthenticatedDataRequest> mapEntry) {
-        return !filter.getFilterEntriesAsSet().contains(toFilterEntry(mapEntry));
+        return isMissing(filter, mapEntry);
     }
 
     @Override
     protected boolean isMailboxRequestMissing(HashSetFilter filter, Map.Entry<ByteArray, MailboxRequest> mapEntry) {
-        return !filter.getFilterEntriesAsSet().contains(toFilterEntry(mapEntry));
+        return isMissing(filter, mapEntry);
     }
 
     @Override
     protected boolean isAddAppendOnlyDataRequestMissing(HashSetFilter filter, Map.Entry<ByteArray, AddAppendOnlyDataRequest> mapEntry) {
-        return !filter.getFilterEntriesAsSet().contains(toFilterEntry(mapEntry));
+        return isMissing(filter, mapEntry);
+    }
+
+    // Called for each entry of our storage, thus we do not create a filter entry for the lookup
+    private boolean isMissing(HashSetFilter filter, Map.Entry<ByteArray, ? extends DataRequest> mapEntry) {
+        return !filter.contains(mapEntry.getKey().getBytes(), getSequenceNumber(mapEntry.getValue()));
     }
 
     private HashSetFilterEntry toFilterEntry(Map.Entry<ByteArray, ? extends DataRequest> mapEntry) {
-        DataRequest dataRequest = mapEntry.getValue();
-        int sequenceNumber = 0;
-        byte[] hash = mapEntry.getKey().getBytes();
+        return new HashSetFilterEntry(mapEntry.getKey().getBytes(), getSequenceNumber(mapEntry.getValue()));
+    }
+
+    private static int getSequenceNumber(DataRequest dataRequest) {
         if (dataRequest instanceof AddAppendOnlyDataRequest) {
             // AddAppendOnlyDataRequest does not use a seq nr.
-            return new HashSetFilterEntry(hash, 0);
+            return 0;
         } else if (dataRequest instanceof AddAuthenticatedDataRequest) {
-            sequenceNumber = ((AddAuthenticatedDataRequest) dataRequest).getAuthenticatedSequentialData().getSequenceNumber();
+            return ((AddAuthenticatedDataRequest) dataRequest).getAuthenticatedSequentialData().getSequenceNumber();
         } else if (dataRequest instanceof RemoveAuthenticatedDataRequest) {
-            sequenceNumber = ((RemoveAuthenticatedDataRequest) dataRequest).getSequenceNumber();
+            return ((RemoveAuthenticatedDataRequest) dataRequest).getSequenceNumber();
         } else if (dataRequest instanceof RefreshAuthenticatedDataRequest) {
-            sequenceNumber = ((RefreshAuthenticatedDataRequest) dataRequest).getSequenceNumber();
+            return ((RefreshAuthenticatedDataRequest) dataRequest).getSequenceNumber();
         } else if (dataRequest instanceof AddMailboxRequest) {
-            sequenceNumber = ((AddMailboxRequest) dataRequest).getSequenceNumber();
+            return ((AddMailboxRequest) dataRequest).getSequenceNumber();
         } else if (dataRequest instanceof RemoveMailboxRequest) {
-            sequenceNumber = ((RemoveMailboxRequest) dataRequest).getSequenceNumber();
+            return ((RemoveMailboxRequest) dataRequest).getSequenceNumber();
         }
-        return new HashSetFilterEntry(hash, sequenceNumber);
+        return 0;
     }
 }
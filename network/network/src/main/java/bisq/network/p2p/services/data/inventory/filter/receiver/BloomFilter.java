@@ -0,0 +1,129 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+package bisq.network.p2p.services.data.inventory.filter.receiver;
+
+import bisq.common.proto.NetworkProto;
+import com.google.protobuf.ByteString;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.Collection;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Bloom filter for hiding the exact set of elements (e.g. receiver key hashes) from the peer. Elements not in the
+ * filter match with the false positive rate used at creation, so the peer cannot tell which of the matching elements
+ * are the ones we are interested in.
+ * The bit indices are derived from two hashes of the element by double hashing. The tweak is part of the hash seed,
+ * so filters created with different tweaks for the same elements set different bits.
+ */
+@Getter
+@ToString
+@EqualsAndHashCode
+public final class BloomFilter implements NetworkProto {
+    public static final int MAX_SIZE = 36_000;
+    public static final int MAX_NUM_HASH_FUNCTIONS = 50;
+    private static final double LN2 = Math.log(2);
+
+    private final byte[] bits;
+    private final int numHashFunctions;
+    private final int tweak;
+
+    public static BloomFilter create(Collection<byte[]> elements, double falsePositiveRate, int tweak) {
+        checkArgument(falsePositiveRate > 0 && falsePositiveRate < 1, "falsePositiveRate must be between 0 and 1");
+        int numElements = Math.max(1, elements.size());
+        double numBits = -numElements * Math.log(falsePositiveRate) / (LN2 * LN2);
+        int size = (int) Math.min(MAX_SIZE, Math.max(1, Math.ceil(numBits / 8)));
+        int numHashFunctions = (int) Math.round(size * 8d / numElements * LN2);
+        numHashFunctions = Math.max(1, Math.min(MAX_NUM_HASH_FUNCTIONS, numHashFunctions));
+        BloomFilter bloomFilter = new BloomFilter(new byte[size], numHashFunctions, tweak);
+        elements.forEach(bloomFilter::add);
+        return bloomFilter;
+    }
+
+    public BloomFilter(byte[] bits, int numHashFunctions, int tweak) {
+        this.bits = bits;
+        this.numHashFunctions = numHashFunctions;
+        this.tweak = tweak;
+
+        verify();
+    }
+
+    @Override
+    public void verify() {
+        checkArgument(bits.length > 0 && bits.length <= MAX_SIZE, "Invalid size of bloom filter");
+        checkArgument(numHashFunctions > 0 && numHashFunctions <= MAX_NUM_HASH_FUNCTIONS,
+                "Invalid numHashFunctions of bloom filter");
+    }
+
+    @Override
+    public bisq.network.protobuf.BloomFilter toProto(boolean serializeForHash) {
+        return resolveProto(serializeForHash);
+    }
+
+    @Override
+    public bisq.network.protobuf.BloomFilter.Builder getBuilder(boolean serializeForHash) {
+        return bisq.network.protobuf.BloomFilter.newBuilder()
+                .setBits(ByteString.copyFrom(bits))
+                .setNumHashFunctions(numHashFunctions)
+                .setTweak(tweak);
+    }
+
+    public static BloomFilter fromProto(bisq.network.protobuf.BloomFilter proto) {
+        return new BloomFilter(proto.getBits().toByteArray(), proto.getNumHashFunctions(), proto.getTweak());
+    }
+
+    public boolean mightContain(byte[] element) {
+        int numBits = bits.length * 8;
+        int hash1 = hash(element, tweak);
+        int hash2 = hash(element, ~tweak);
+        for (int i = 0; i < numHashFunctions; i++) {
+            int index = Integer.remainderUnsigned(hash1 + i * hash2, numBits);
+            if ((bits[index >>> 3] & (1 << (index & 7))) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void add(byte[] element) {
+        int numBits = bits.length * 8;
+        int hash1 = hash(element, tweak);
+        int hash2 = hash(element, ~tweak);
+        for (int i = 0; i < numHashFunctions; i++) {
+            int index = Integer.remainderUnsigned(hash1 + i * hash2, numBits);
+            bits[index >>> 3] |= (byte) (1 << (index & 7));
+        }
+    }
+
+    // FNV-1a with the MurmurHash3 finalizer. Not a cryptographic hash, but the elements are hashes already.
+    private static int hash(byte[] data, int seed) {
+        int hash = 0x811c9dc5 ^ seed;
+        for (byte b : data) {
+            hash ^= b & 0xff;
+            hash *= 0x01000193;
+        }
+        hash ^= hash >>> 16;
+        hash *= 0x85ebca6b;
+        hash ^= hash >>> 13;
+        hash *= 0xc2b2ae35;
+        hash ^= hash >>> 16;
+        return hash;
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+package bisq.network.p2p.services.data.inventory.filter.receiver;
+
+import bisq.common.data.ByteArray;
+import bisq.common.proto.NetworkProto;
+import bisq.common.validation.NetworkDataValidation;
+import bisq.security.DigestUtil;
+import com.google.protobuf.ByteString;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Selects the mailbox entries by the hash of the receivers public key. Either contains the hashes explicitly or, for
+ * not revealing them to the peer, a BloomFilter of the hashes.
+ */
+@Getter
+@ToString
+@EqualsAndHashCode
+public final class ReceiverFilter implements NetworkProto {
+    public static final int MAX_RECEIVERS = 1000;
+    private static final byte[] TWEAK_DOMAIN = "ReceiverFilter.tweak".getBytes(StandardCharsets.UTF_8);
+
+    private final List<ByteArray> receiverPubKeyHashes;
+    private final Optional<BloomFilter> bloomFilter;
+
+    public static ReceiverFilter fromReceiverPubKeyHashes(Collection<ByteArray> receiverPubKeyHashes) {
+        return new ReceiverFilter(new ArrayList<>(receiverPubKeyHashes), Optional.empty());
+    }
+
+    /**
+     * @param tweak Must be stable for our node (see {@link #createTweak(byte[])}). With a new tweak per request a peer
+     *              could intersect the filters of our requests: our receivers match all of them while the false
+     *              positives differ, thus our receivers would be revealed.
+     */
+    public static ReceiverFilter fromBloomFilter(Collection<ByteArray> receiverPubKeyHashes,
+                                                 double falsePositiveRate,
+                                                 int tweak) {
+        List<byte[]> elements = receiverPubKeyHashes.stream()
+                .map(ByteArray::getBytes)
+                .collect(Collectors.toList());
+        BloomFilter bloomFilter = BloomFilter.create(elements, falsePositiveRate, tweak);
+        return new ReceiverFilter(new ArrayList<>(), Optional.of(bloomFilter));
+    }
+
+    /**
+     * Derives the BloomFilter tweak from a local secret, thus it is stable across requests and restarts but not
+     * known to the peers.
+     */
+    public static int createTweak(byte[] secret) {
+        byte[] preImage = ByteBuffer.allocate(TWEAK_DOMAIN.length + secret.length)
+                .put(TWEAK_DOMAIN)
+                .put(secret)
+                .array();
+        return ByteBuffer.wrap(DigestUtil.sha256(preImage)).getInt();
+    }
+
+    private ReceiverFilter(List<ByteArray> receiverPubKeyHashes, Optional<BloomFilter> bloomFilter) {
+        this.receiverPubKeyHashes = receiverPubKeyHashes;
+        this.bloomFilter = bloomFilter;
+        // Sorted for a deterministic serialization and for the binary search in matches
+        Collections.sort(this.receiverPubKeyHashes);
+
+        verify();
+    }
+
+    @Override
+    public void verify() {
+        checkArgument(receiverPubKeyHashes.size() <= MAX_RECEIVERS, "Too many receiverPubKeyHashes");
+        checkArgument(receiverPubKeyHashes.isEmpty() || bloomFilter.isEmpty(),
+                "Either receiverPubKeyHashes or bloomFilter must be set");
+        receiverPubKeyHashes.forEach(hash -> NetworkDataValidation.validateHash(hash.getBytes()));
+    }
+
+    @Override
+    public bisq.network.protobuf.ReceiverFilter toProto(boolean serializeForHash) {
+        return resolveProto(serializeForHash);
+    }
+
+    @Override
+    public bisq.network.protobuf.ReceiverFilter.Builder getBuilder(boolean serializeForHash) {
+        bisq.network.protobuf.ReceiverFilter.Builder builder = bisq.network.protobuf.ReceiverFilter.newBuilder()
+                .addAllReceiverPubKeyHashes(receiverPubKeyHashes.stream()
+                        .map(hash -> ByteString.copyFrom(hash.getBytes()))
+                        .collect(Collectors.toList()));
+        bloomFilter.ifPresent(filter -> builder.setBloomFilter(filter.toProto(serializeForHash)));
+        return builder;
+    }
+
+    public static ReceiverFilter fromProto(bisq.network.protobuf.ReceiverFilter proto) {
+        List<ByteArray> receiverPubKeyHashes = proto.getReceiverPubKeyHashesList().stream()
+                .map(hash -> new ByteArray(hash.toByteArray()))
+                .collect(Collectors.toList());
+        Optional<BloomFilter> bloomFilter = proto.hasBloomFilter() ?
+                Optional.of(BloomFilter.fromProto(proto.getBloomFilter())) :
+                Optional.empty();
+        return new ReceiverFilter(receiverPubKeyHashes, bloomFilter);
+    }
+
+    public boolean matches(ByteArray receiverPubKeyHash) {
+        return bloomFilter.map(filter -> filter.mightContain(receiverPubKeyHash.getBytes()))
+                .orElseGet(() -> Collections.binarySearch(receiverPubKeyHashes, receiverPubKeyHash) >= 0);
+    }
+
+    public String getDetails() {
+        return bloomFilter.map(filter -> "BloomFilter of " + filter.getBits().length + " bytes")
+                .orElse(receiverPubKeyHashes.size() + " receiverPubKeyHashes");
+    }
+}
@@ -29,12 +29,16 @@ import bisq.persistence.DbSubDirectory;
 import bisq.persistence.Persistence;
 import bisq.persistence.PersistenceService;
 import bisq.persistence.RateLimitedPersistenceClient;
+import com.google.common.annotations.VisibleForTesting;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
 import java.io.File;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -51,6 +55,14 @@ public abstract class DataStorageService<T extends DataRequest> extends RateLimi
     protected final String subDirectory;
     protected Optional<Integer> maxMapSize = Optional.empty();
 
+    // The serialized size of each entry is computed once when it gets stored, so that the size of the store can be
+    // provided without re-serializing all the map entries.
+    private final Map<ByteArray, Integer> serializedSizeByKey = new ConcurrentHashMap<>();
+    private final AtomicLong serializedSize = new AtomicLong();
+    // Guarded by sizeAccountingLock. Updated together with the size accounting at each write to the map.
+    private final ExpiryIndex expiryIndex = new ExpiryIndex();
+    private final Object sizeAccountingLock = new Object();
+
     public DataStorageService(PersistenceService persistenceService, String storeName, String storeKey) {
         super();
 
@@ -66,6 +78,100 @@ public abstract class DataStorageService<T extends DataRequest> extends RateLimi
     public void shutdown() {
     }
 
+    @Override
+    public void onPersistedApplied(DataStore<T> persisted) {
+        resetSizeAccounting();
+    }
+
+    public int getNumEntries() {
+        return persistableStore.getMap().size();
+    }
+
+    public long getSerializedSize() {
+        return serializedSize.get();
+    }
+
+    /**
+     * Puts the entry to the map and updates the size accounting and the expiry index. Must be used instead of
+     * writing to the map directly.
+     */
+    protected void putEntry(ByteArray key, T value) {
+        int size = value.getSerializedSize();
+        synchronized (sizeAccountingLock) {
+            persistableStore.getMap().put(key, value);
+            Integer previousSize = serializedSizeByKey.put(key, size);
+            serializedSize.addAndGet(previousSize == null ? size : size - previousSize);
+            expiryIndex.put(key, value.getExpirationDate());
+        }
+    }
+
+    /**
+     * Removes the entry from the map and updates the size accounting and the expiry index. Must be used instead of
+     * removing from the map directly.
+     */
+    protected Optional<T> removeEntry(ByteArray key) {
+        synchronized (sizeAccountingLock) {
+            T removed = persistableStore.getMap().remove(key);
+            Integer previousSize = serializedSizeByKey.remove(key);
+            if (previousSize != null) {
+                serializedSize.addAndGet(-previousSize);
+            }
+            expiryIndex.remove(key);
+            return Optional.ofNullable(removed);
+        }
+    }
+
+    /**
+     * Removes all expired entries using the expiry index, thus only the expired entries are visited.
+     *
+     * @return The removed entries
+     */
+    protected Map<ByteArray, T> removeExpiredEntries() {
+        return removeExpiredEntries(System.currentTimeMillis());
+    }
+
+    @VisibleForTesting
+    Map<ByteArray, T> removeExpiredEntries(long now) {
+        Map<ByteArray, T> removed = new HashMap<>();
+        synchronized (sizeAccountingLock) {
+            for (ByteArray key : expiryIndex.pollExpired(now)) {
+                T value = persistableStore.getMap().remove(key);
+                Integer previousSize = serializedSizeByKey.remove(key);
+                if (previousSize != null) {
+                    serializedSize.addAndGet(-previousSize);
+                }
+                if (value != null) {
+                    removed.put(key, value);
+                }
+            }
+        }
+        return removed;
+    }
+
+    void replaceAllEntries(Map<ByteArray, T> entries) {
+        synchronized (sizeAccountingLock) {
+            Map<ByteArray, T> map = persistableStore.getMap();
+            map.clear();
+            map.putAll(entries);
+            resetSizeAccounting();
+        }
+    }
+
+    private void resetSizeAccounting() {
+        synchronized (sizeAccountingLock) {
+            serializedSizeByKey.clear();
+            expiryIndex.clear();
+            long total = 0;
+            for (Map.Entry<ByteArray, T> entry : persistableStore.getMap().entrySet()) {
+                int size = entry.getValue().getSerializedSize();
+                serializedSizeByKey.put(entry.getKey(), size);
+                expiryIndex.put(entry.getKey(), entry.getValue().getExpirationDate());
+                total += size;
+            }
+            serializedSize.set(total);
+        }
+    }
+
     @Override
     public DataStore<T> prunePersisted(DataStore<T> persisted) {
         Map<ByteArray, T> map = persisted.getMap();
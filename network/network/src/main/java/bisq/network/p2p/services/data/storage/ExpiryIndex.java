@@ -0,0 +1,112 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+package bisq.network.p2p.services.data.storage;
+
+import bisq.common.data.ByteArray;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Min-heap of the map keys ordered by the expiration date of their entries, so that expired entries can be found
+ * without scanning the whole map.
+ * Replaced or removed entries are not removed from the heap but only from the expirationDateByKey map, and get
+ * skipped when they are polled. If the heap grows much larger than the number of indexed keys, we rebuild it.
+ * Entries which never expire are not indexed.
+ * Not thread safe.
+ */
+final class ExpiryIndex {
+    private static final int MIN_SIZE_FOR_COMPACTION = 1000;
+
+    private static final class Item implements Comparable<Item> {
+        private final long expirationDate;
+        private final ByteArray key;
+
+        private Item(long expirationDate, ByteArray key) {
+            this.expirationDate = expirationDate;
+            this.key = key;
+        }
+
+        @Override
+        public int compareTo(Item o) {
+            return Long.compare(expirationDate, o.expirationDate);
+        }
+    }
+
+    private final PriorityQueue<Item> heap = new PriorityQueue<>();
+    private final Map<ByteArray, Long> expirationDateByKey = new HashMap<>();
+
+    void put(ByteArray key, long expirationDate) {
+        if (expirationDate == Long.MAX_VALUE) {
+            remove(key);
+            return;
+        }
+        Long previous = expirationDateByKey.put(key, expirationDate);
+        if (previous == null || previous != expirationDate) {
+            heap.add(new Item(expirationDate, key));
+            maybeCompact();
+        }
+    }
+
+    void remove(ByteArray key) {
+        if (expirationDateByKey.remove(key) != null) {
+            maybeCompact();
+        }
+    }
+
+    void clear() {
+        heap.clear();
+        expirationDateByKey.clear();
+    }
+
+    /**
+     * Removes the keys of all entries which have expired before the given date from the index.
+     *
+     * @return The removed keys, ordered by expiration date
+     */
+    List<ByteArray> pollExpired(long date) {
+        List<ByteArray> expired = new ArrayList<>();
+        while (!heap.isEmpty() && heap.peek().expirationDate < date) {
+            Item item = heap.poll();
+            Long expirationDate = expirationDateByKey.get(item.key);
+            // Skip stale items of removed or replaced entries
+            if (expirationDate != null && expirationDate == item.expirationDate) {
+                expirationDateByKey.remove(item.key);
+                expired.add(item.key);
+            }
+        }
+        return expired;
+    }
+
+    int size() {
+        return expirationDateByKey.size();
+    }
+
+    int getHeapSize() {
+        return heap.size();
+    }
+
+    private void maybeCompact() {
+        if (heap.size() > MIN_SIZE_FOR_COMPACTION && heap.size() > 2 * expirationDateByKey.size()) {
+            heap.clear();
+            expirationDateByKey.forEach((key, expirationDate) -> heap.add(new Item(expirationDate, key)));
+        }
+    }
+}
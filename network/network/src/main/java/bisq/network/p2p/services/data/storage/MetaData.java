@@ -105,6 +105,11 @@ public final class MetaData implements NetworkProto {
         return new MetaData(proto.getTtl(), proto.getPriority(), proto.getClassName(), proto.getMaxMapSize());
     }
 
+    public static long toExpirationDate(long created, long ttl) {
+        // Avoid overflow for very large ttl values
+        return ttl > Long.MAX_VALUE - created ? Long.MAX_VALUE : created + ttl;
+    }
+
     public double getCostFactor() {
         double ttlImpact = MathUtils.bounded(0, 1, ttl / (double) TTL_100_DAYS);
         double mapSizeImpact = MathUtils.bounded(0, 1, maxMapSize / (double) MAX_MAP_SIZE_10_000);
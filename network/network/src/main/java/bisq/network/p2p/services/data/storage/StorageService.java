@@ -45,6 +45,7 @@ import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -309,10 +310,30 @@ public class StorageService {
         return mailboxStores.values().stream().map(store -> store.getPersistableStore().getClone().getMap());
     }
 
+    /**
+     * @return The entries of the mailbox stores for the receivers matching the receiverPubKeyHashFilter. Uses the
+     * receiver index of the stores, thus it does not iterate over all map entries.
+     */
+    public Stream<Map<ByteArray, MailboxRequest>> getMailboxStoreMaps(Predicate<ByteArray> receiverPubKeyHashFilter) {
+        return mailboxStores.values().stream().map(store -> store.getEntriesByReceiver(receiverPubKeyHashFilter));
+    }
+
     public Stream<Map<ByteArray, AddAppendOnlyDataRequest>> getAddAppendOnlyDataStoreMaps() {
         return appendOnlyDataStores.values().stream().map(store -> store.getPersistableStore().getClone().getMap());
     }
 
+    /**
+     * @return The sum of the serialized sizes of all stores. Uses the size accounting of the stores, thus it does not
+     * require to iterate over the map entries.
+     */
+    public long getNetworkDatabaseSize() {
+        return getAllStores().mapToLong(DataStorageService::getSerializedSize).sum();
+    }
+
+    public int getNumNetworkDatabaseEntries() {
+        return getAllStores().mapToInt(DataStorageService::getNumEntries).sum();
+    }
+
     public Stream<Map.Entry<ByteArray, ? extends DataRequest>> getAllDataRequestMapEntries() {
         return getStoresByStoreType(ALL).flatMap(store -> new HashMap<>(store.getPersistableStore().getMap()).entrySet().stream());
     }
@@ -460,8 +481,7 @@ public class StorageService {
                                 }
                             }));
             log.info("cleanupMap for {}: size of cleaned map {}; size of original map={}", storeKey, cleaned.size(), map.size());
-            map.clear();
-            map.putAll(cleaned);
+            authenticatedDataStorageService.replaceAllEntries(cleaned);
             authenticatedDataStorageService.persist();
         } catch (Exception e) {
             e.printStackTrace();
@@ -69,9 +69,9 @@ public final class AddAppendOnlyDataRequest implements AddDataRequest {
     }
 
     @Override
-    public boolean isExpired() {
+    public long getExpirationDate() {
         // AppendOnlyData never expires
-        return false;
+        return Long.MAX_VALUE;
     }
 
     @Override
@@ -53,7 +53,7 @@ public class AppendOnlyDataStorageService extends DataStorageService<AddAppendOn
     }
 
     @Override
-    protected long getMaxWriteRateInMs() {
+    protected long getCoalescingDelayInMs() {
         return 1000;
     }
 
@@ -71,7 +71,7 @@ public class AppendOnlyDataStorageService extends DataStorageService<AddAppendOn
                 return new DataStorageResult(false).payloadAlreadyStored();
             }
 
-            map.put(byteArray, addAppendOnlyDataRequest);
+            putEntry(byteArray, addAppendOnlyDataRequest);
         }
         persist();
         listeners.forEach(listener -> {
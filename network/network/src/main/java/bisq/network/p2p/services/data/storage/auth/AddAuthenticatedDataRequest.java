@@ -186,8 +186,8 @@ public final class AddAuthenticatedDataRequest implements AuthenticatedDataReque
     }
 
     @Override
-    public boolean isExpired() {
-        return authenticatedSequentialData.isExpired();
+    public long getExpirationDate() {
+        return authenticatedSequentialData.getExpirationDate();
     }
 
     @Override
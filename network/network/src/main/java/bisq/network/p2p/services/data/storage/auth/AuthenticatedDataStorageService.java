@@ -61,6 +61,7 @@ public class AuthenticatedDataStorageService extends DataStorageService<Authenti
 
     @Override
     public void onPersistedApplied(DataStore<AuthenticatedDataRequest> persisted) {
+        super.onPersistedApplied(persisted);
         maybeLogMapState("onPersistedApplied", persisted);
         pruneInvalidAuthorizedData();
     }
@@ -122,7 +123,7 @@ public class AuthenticatedDataStorageService extends DataStorageService<Authenti
                 log.warn("Signature is invalid at add. request={}", request);
                 return new DataStorageResult(false).signatureInvalid();
             }
-            map.put(byteArray, request);
+            putEntry(byteArray, request);
         }
 
         persist();
@@ -155,7 +156,7 @@ public class AuthenticatedDataStorageService extends DataStorageService<Authenti
                 log.debug("No entry at remove. hash={}", byteArray);
                 // We don't have any entry, but it might be that we would receive later an add request, so we need to keep
                 // track of the sequence number
-                map.put(byteArray, request);
+                putEntry(byteArray, request);
                 persist();
                 return new DataStorageResult(false).noEntry();
             }
@@ -165,7 +166,7 @@ public class AuthenticatedDataStorageService extends DataStorageService<Authenti
                 // We have had the entry already removed.
                 if (!request.isSequenceNrInvalid(requestFromMap.getSequenceNumber())) {
                     // We update the map with the new request with the fresh sequence number.
-                    map.put(byteArray, request);
+                    putEntry(byteArray, request);
                     persist();
                 }
                 return new DataStorageResult(false).alreadyRemoved();
@@ -201,7 +202,7 @@ public class AuthenticatedDataStorageService extends DataStorageService<Authenti
                 log.warn("Signature is invalid at remove. request={}", request);
                 return new DataStorageResult(false).signatureInvalid();
             }
-            map.put(byteArray, request);
+            putEntry(byteArray, request);
         }
         persist();
         listeners.forEach(listener -> {
@@ -259,7 +260,7 @@ public class AuthenticatedDataStorageService extends DataStorageService<Authenti
                     addRequestFromMap.getSignature(),
                     addRequestFromMap.getOwnerPublicKey());
 
-            map.put(byteArray, updatedRequest);
+            putEntry(byteArray, updatedRequest);
         }
         persist();
         listeners.forEach(listener -> {
@@ -295,15 +296,16 @@ public class AuthenticatedDataStorageService extends DataStorageService<Authenti
     }
 
     private void pruneExpired() {
-        Set<Map.Entry<ByteArray, AuthenticatedDataRequest>> expiredEntries = persistableStore.getMap().entrySet().stream()
-                .filter(entry -> entry.getValue().isExpired())
-                .collect(Collectors.toSet());
+        Map<ByteArray, AuthenticatedDataRequest> expiredEntries;
+        synchronized (mapAccessLock) {
+            expiredEntries = removeExpiredEntries();
+        }
         if (!expiredEntries.isEmpty()) {
-            log.info("We remove {} expired entries from our map", expiredEntries.size());
-            expiredEntries.forEach(entry -> {
-                persistableStore.getMap().remove(entry.getKey());
-                if (entry.getValue() instanceof AddAuthenticatedDataRequest) {
-                    AuthenticatedData data = ((AddAuthenticatedDataRequest) entry.getValue()).getAuthenticatedSequentialData().getAuthenticatedData();
+            log.info("We removed {} expired entries from our map", expiredEntries.size());
+            persist();
+            expiredEntries.values().forEach(request -> {
+                if (request instanceof AddAuthenticatedDataRequest) {
+                    AuthenticatedData data = ((AddAuthenticatedDataRequest) request).getAuthenticatedSequentialData().getAuthenticatedData();
                     listeners.forEach(listener -> {
                         try {
                             listener.onRemoved(data);
@@ -335,7 +337,7 @@ public class AuthenticatedDataStorageService extends DataStorageService<Authenti
             invalidAuthorizedData.forEach((key, value) -> {
                 log.warn("We prune the AddAuthenticatedDataRequest with an invalid AuthorizedData. {}",
                         StringUtils.truncate(value.toString(), 3000));
-                persistableStore.getMap().remove(key);
+                removeEntry(key);
             });
             persist();
         }
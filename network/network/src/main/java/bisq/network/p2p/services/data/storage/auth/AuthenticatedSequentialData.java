@@ -20,6 +20,7 @@ package bisq.network.p2p.services.data.storage.auth;
 import bisq.common.encoding.Hex;
 import bisq.common.proto.NetworkProto;
 import bisq.common.validation.NetworkDataValidation;
+import bisq.network.p2p.services.data.storage.MetaData;
 import com.google.protobuf.ByteString;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
@@ -85,7 +86,11 @@ public final class AuthenticatedSequentialData implements NetworkProto {
     }
 
     public boolean isExpired() {
-        return (System.currentTimeMillis() - created) > authenticatedData.getMetaData().getTtl();
+        return System.currentTimeMillis() > getExpirationDate();
+    }
+
+    public long getExpirationDate() {
+        return MetaData.toExpirationDate(created, authenticatedData.getMetaData().getTtl());
     }
 
     public boolean isSequenceNrInvalid(long seqNumberFromMap) {
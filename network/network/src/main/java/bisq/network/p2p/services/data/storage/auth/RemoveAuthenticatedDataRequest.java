@@ -184,8 +184,8 @@ public final class RemoveAuthenticatedDataRequest implements AuthenticatedDataRe
     }
 
     @Override
-    public boolean isExpired() {
-        return (System.currentTimeMillis() - created) > metaData.getTtl();
+    public long getExpirationDate() {
+        return MetaData.toExpirationDate(created, metaData.getTtl());
     }
 
     @Override
@@ -171,8 +171,8 @@ public final class AddMailboxRequest implements MailboxRequest, AddDataRequest {
     }
 
     @Override
-    public boolean isExpired() {
-        return mailboxSequentialData.isExpired();
+    public long getExpirationDate() {
+        return mailboxSequentialData.getExpirationDate();
     }
 
     @Override
@@ -27,10 +27,13 @@ import bisq.persistence.PersistenceService;
 import bisq.security.DigestUtil;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -45,6 +48,7 @@ public class MailboxDataStorageService extends DataStorageService<MailboxRequest
     private final Set<Listener> listeners = new CopyOnWriteArraySet<>();
     private final Object mapAccessLock = new Object();
     private final Scheduler scheduler;
+    private final ReceiverIndex receiverIndex = new ReceiverIndex();
 
     public MailboxDataStorageService(PersistenceService persistenceService, String storeName, String storeKey) {
         super(persistenceService, storeName, storeKey);
@@ -53,6 +57,9 @@ public class MailboxDataStorageService extends DataStorageService<MailboxRequest
 
     @Override
     public void onPersistedApplied(DataStore<MailboxRequest> persisted) {
+        super.onPersistedApplied(persisted);
+        receiverIndex.clear();
+        persistableStore.getMap().forEach((key, request) -> receiverIndex.put(key, getReceiverPubKeyHash(request)));
         maybeLogMapState("onPersistedApplied", persisted);
     }
 
@@ -101,7 +108,7 @@ public class MailboxDataStorageService extends DataStorageService<MailboxRequest
             if (request.isSignatureInvalid()) {
                 return new DataStorageResult(false).signatureInvalid();
             }
-            map.put(byteArray, request);
+            putEntry(byteArray, request);
         }
         persist();
 
@@ -133,7 +140,7 @@ public class MailboxDataStorageService extends DataStorageService<MailboxRequest
             if (requestFromMap == null) {
                 // We don't have any entry, but it might be that we would receive later an add request, so we need to keep
                 // track of the sequence number
-                map.put(byteArray, request);
+                putEntry(byteArray, request);
                 persist();
                 return new DataStorageResult(false).noEntry();
             }
@@ -142,7 +149,7 @@ public class MailboxDataStorageService extends DataStorageService<MailboxRequest
                 // We have had the entry already removed.
                 if (!request.isSequenceNrInvalid(requestFromMap.getSequenceNumber())) {
                     // We update the request, so we have the latest sequence number.
-                    map.put(byteArray, request);
+                    putEntry(byteArray, request);
                     persist();
                 }
                 return new DataStorageResult(false).alreadyRemoved();
@@ -166,7 +173,7 @@ public class MailboxDataStorageService extends DataStorageService<MailboxRequest
                 return new DataStorageResult(false).signatureInvalid();
             }
 
-            map.put(byteArray, request);
+            putEntry(byteArray, request);
             listeners.forEach(listener -> {
                 try {
                     listener.onRemoved(sequentialDataFromMap.getMailboxData());
@@ -181,6 +188,22 @@ public class MailboxDataStorageService extends DataStorageService<MailboxRequest
         return new DataStorageResult(true).removedData(sequentialDataFromMap.getMailboxData());
     }
 
+    /**
+     * @return The entries of the receivers whose public key hash matches the given filter. Only the distinct
+     * receivers are tested, not all entries.
+     */
+    public Map<ByteArray, MailboxRequest> getEntriesByReceiver(Predicate<ByteArray> receiverPubKeyHashFilter) {
+        Map<ByteArray, MailboxRequest> map = persistableStore.getMap();
+        Map<ByteArray, MailboxRequest> result = new HashMap<>();
+        receiverIndex.getKeys(receiverPubKeyHashFilter).forEach(key -> {
+            MailboxRequest request = map.get(key);
+            if (request != null) {
+                result.put(key, request);
+            }
+        });
+        return result;
+    }
+
     public void addListener(Listener listener) {
         listeners.add(listener);
     }
@@ -190,6 +213,31 @@ public class MailboxDataStorageService extends DataStorageService<MailboxRequest
     }
 
 
+    ///////////////////////////////////////////////////////////////////////////////////////////////////
+    // DataStorageService
+    ///////////////////////////////////////////////////////////////////////////////////////////////////
+
+    @Override
+    protected void putEntry(ByteArray key, MailboxRequest value) {
+        super.putEntry(key, value);
+        receiverIndex.put(key, getReceiverPubKeyHash(value));
+    }
+
+    @Override
+    protected Optional<MailboxRequest> removeEntry(ByteArray key) {
+        Optional<MailboxRequest> removed = super.removeEntry(key);
+        receiverIndex.remove(key);
+        return removed;
+    }
+
+    @Override
+    protected Map<ByteArray, MailboxRequest> removeExpiredEntries() {
+        Map<ByteArray, MailboxRequest> removed = super.removeExpiredEntries();
+        removed.keySet().forEach(receiverIndex::remove);
+        return removed;
+    }
+
+
     ///////////////////////////////////////////////////////////////////////////////////////////////////
     // Private
     ///////////////////////////////////////////////////////////////////////////////////////////////////
@@ -219,13 +267,23 @@ public class MailboxDataStorageService extends DataStorageService<MailboxRequest
     }
 
     private void pruneExpired() {
-        Set<Map.Entry<ByteArray, MailboxRequest>> expiredEntries = persistableStore.getMap().entrySet().stream()
-                .filter(entry -> entry.getValue().isExpired())
-                .collect(Collectors.toSet());
+        Map<ByteArray, MailboxRequest> expiredEntries;
+        synchronized (mapAccessLock) {
+            expiredEntries = removeExpiredEntries();
+        }
         if (!expiredEntries.isEmpty()) {
-            log.info("We remove {} expired entries from our map", expiredEntries.size());
-            expiredEntries.forEach(entry -> persistableStore.getMap().remove(entry.getKey()));
+            log.info("We removed {} expired entries from our map", expiredEntries.size());
+            persist();
+        }
+    }
+
+    private static ByteArray getReceiverPubKeyHash(MailboxRequest request) {
+        if (request instanceof AddMailboxRequest) {
+            return new ByteArray(((AddMailboxRequest) request).getMailboxSequentialData().getReceiversPublicKeyHash());
+        } else if (request instanceof RemoveMailboxRequest) {
+            return new ByteArray(DigestUtil.hash(((RemoveMailboxRequest) request).getReceiverPublicKeyBytes()));
         }
+        throw new IllegalArgumentException("Unexpected MailboxRequest type " + request.getClass().getSimpleName());
     }
 
     // Useful for debugging state of the store
@@ -19,6 +19,7 @@ package bisq.network.p2p.services.data.storage.mailbox;
 
 import bisq.common.proto.NetworkProto;
 import bisq.common.validation.NetworkDataValidation;
+import bisq.network.p2p.services.data.storage.MetaData;
 import bisq.security.keys.KeyGeneration;
 import com.google.protobuf.ByteString;
 import lombok.EqualsAndHashCode;
@@ -135,6 +136,10 @@ public final class MailboxSequentialData implements NetworkProto {
     }
 
     public boolean isExpired() {
-        return (System.currentTimeMillis() - created) > Math.min(MailboxData.MAX_TLL, mailboxData.getMetaData().getTtl());
+        return System.currentTimeMillis() > getExpirationDate();
+    }
+
+    public long getExpirationDate() {
+        return MetaData.toExpirationDate(created, Math.min(MailboxData.MAX_TLL, mailboxData.getMetaData().getTtl()));
     }
 }
@@ -0,0 +1,80 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+package bisq.network.p2p.services.data.storage.mailbox;
+
+import bisq.common.data.ByteArray;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * Index of the keys of the mailbox store map by the hash of the receivers public key. Allows to look up the entries
+ * for a set of receivers by only visiting the distinct receivers instead of all entries.
+ */
+final class ReceiverIndex {
+    private final Map<ByteArray, ByteArray> receiverByKey = new HashMap<>();
+    private final Map<ByteArray, Set<ByteArray>> keysByReceiver = new HashMap<>();
+
+    synchronized void put(ByteArray key, ByteArray receiverPubKeyHash) {
+        ByteArray previous = receiverByKey.put(key, receiverPubKeyHash);
+        if (previous != null && !previous.equals(receiverPubKeyHash)) {
+            removeFromReceiver(previous, key);
+        }
+        keysByReceiver.computeIfAbsent(receiverPubKeyHash, k -> new HashSet<>()).add(key);
+    }
+
+    synchronized void remove(ByteArray key) {
+        ByteArray receiverPubKeyHash = receiverByKey.remove(key);
+        if (receiverPubKeyHash != null) {
+            removeFromReceiver(receiverPubKeyHash, key);
+        }
+    }
+
+    synchronized void clear() {
+        receiverByKey.clear();
+        keysByReceiver.clear();
+    }
+
+    synchronized List<ByteArray> getKeys(Predicate<ByteArray> receiverPubKeyHashFilter) {
+        List<ByteArray> keys = new ArrayList<>();
+        keysByReceiver.forEach((receiverPubKeyHash, keysOfReceiver) -> {
+            if (receiverPubKeyHashFilter.test(receiverPubKeyHash)) {
+                keys.addAll(keysOfReceiver);
+            }
+        });
+        return keys;
+    }
+
+    synchronized int getNumReceivers() {
+        return keysByReceiver.size();
+    }
+
+    private void removeFromReceiver(ByteArray receiverPubKeyHash, ByteArray key) {
+        Set<ByteArray> keys = keysByReceiver.get(receiverPubKeyHash);
+        if (keys != null) {
+            keys.remove(key);
+            if (keys.isEmpty()) {
+                keysByReceiver.remove(receiverPubKeyHash);
+            }
+        }
+    }
+}
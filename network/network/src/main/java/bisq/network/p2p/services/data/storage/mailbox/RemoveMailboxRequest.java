@@ -169,8 +169,8 @@ public final class RemoveMailboxRequest implements MailboxRequest, RemoveDataReq
     }
 
     @Override
-    public boolean isExpired() {
-        return (System.currentTimeMillis() - created) > Math.min(MailboxData.MAX_TLL, metaData.getTtl());
+    public long getExpirationDate() {
+        return MetaData.toExpirationDate(created, Math.min(MailboxData.MAX_TLL, metaData.getTtl()));
     }
 
     @Override
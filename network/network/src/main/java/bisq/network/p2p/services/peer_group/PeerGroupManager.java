@@ -26,6 +26,7 @@ import bisq.network.p2p.message.EnvelopePayloadMessage;
 import bisq.network.p2p.node.CloseReason;
 import bisq.network.p2p.node.Connection;
 import bisq.network.p2p.node.Node;
+import bisq.network.p2p.node.network_load.RttHistogram;
 import bisq.network.p2p.services.peer_group.exchange.PeerExchangeService;
 import bisq.network.p2p.services.peer_group.exchange.PeerExchangeStrategy;
 import bisq.network.p2p.services.peer_group.keep_alive.KeepAliveService;
@@ -39,6 +40,7 @@ import lombok.extern.slf4j.Slf4j;
 import java.time.Duration;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
@@ -131,6 +133,8 @@ public class PeerGroupManager implements Node.Listener {
     @Getter
     public AtomicReference<PeerGroupManager.State> state = new AtomicReference<>(PeerGroupManager.State.NEW);
     private final Set<Listener> listeners = new CopyOnWriteArraySet<>();
+    // Count and sum of the RTT histogram of a connection at the last peer score update
+    private final Map<String, long[]> rttCountAndSumByConnectionId = new ConcurrentHashMap<>();
 
     private final RetryPolicy<Boolean> retryPolicy;
 
@@ -171,6 +175,7 @@ public class PeerGroupManager implements Node.Listener {
     public void shutdown() {
         setState(State.STOPPING);
         node.removeListener(this);
+        node.getAllActiveConnections().forEach(this::updatePeerScoreAtClose);
         peerExchangeService.shutdown();
         keepAliveService.shutdown();
         networkLoadExchangeService.shutdown();
@@ -190,10 +195,15 @@ public class PeerGroupManager implements Node.Listener {
 
     @Override
     public void onConnection(Connection connection) {
+        // Only at outbound connections we would notice failed handshakes, so we count only those for the success rate
+        if (connection.isOutboundConnection()) {
+            peerGroupService.addHandshakeResult(connection.getPeerAddress(), true);
+        }
     }
 
     @Override
     public void onDisconnect(Connection connection, CloseReason closeReason) {
+        updatePeerScoreAtClose(connection);
         maybeCreateConnectionsScheduler.ifPresent(Scheduler::stop);
         maybeCreateConnectionsScheduler = Optional.of(Scheduler.run(this::maybeCreateConnections).after(2000));
     }
@@ -266,6 +276,7 @@ public class PeerGroupManager implements Node.Listener {
             maybeCreateConnections();
             maybeRemoveReportedPeers();
             maybeRemovePersistedPeers();
+            updatePeerScores();
         } catch (InterruptedException ignore) {
         }
     }
@@ -331,7 +342,7 @@ public class PeerGroupManager implements Node.Listener {
         log.debug("{} called maybeCloseExceedingInboundConnections", node);
         node.getActiveInboundConnections()
                 .filter(this::allowDisconnect)
-                .sorted(comparingForSkip())
+                .sorted(comparingForSkipByScore())
                 .skip(peerGroupService.getMaxInboundConnections())
                 .peek(connection -> log.info("{}: Send CloseConnectionMessage as we have too many inbound connections.",
                         connection.getPeerAddress()))
@@ -342,7 +353,7 @@ public class PeerGroupManager implements Node.Listener {
         log.debug("{} called maybeCloseExceedingConnections", node);
         node.getAllActiveConnections()
                 .filter(this::allowDisconnect)
-                .sorted(comparingForSkip())
+                .sorted(comparingForSkipByScore())
                 .skip(peerGroupService.getMaxNumConnectedPeers())
                 .peek(connection -> log.info("{}: Send CloseConnectionMessage as we have too many connections.",
                         connection.getPeerAddress()))
@@ -392,6 +403,31 @@ public class PeerGroupManager implements Node.Listener {
         }
     }
 
+    private void updatePeerScores() {
+        node.getAllActiveConnections().forEach(this::addNewRttSamples);
+        peerGroupService.pruneScores();
+    }
+
+    private void updatePeerScoreAtClose(Connection connection) {
+        addNewRttSamples(connection);
+        rttCountAndSumByConnectionId.remove(connection.getId());
+        peerGroupService.addUptime(connection.getPeerAddress(), connection.getConnectionMetrics().getAge());
+    }
+
+    // We use the average of the RTTs measured since the last update as sample for the EWMA RTT of the peer
+    private void addNewRttSamples(Connection connection) {
+        RttHistogram rttHistogram = connection.getConnectionMetrics().getRttHistogram();
+        long count = rttHistogram.getCount();
+        long sum = rttHistogram.getSum();
+        long[] previous = rttCountAndSumByConnectionId.put(connection.getId(), new long[]{count, sum});
+        long previousCount = previous != null ? previous[0] : 0;
+        long previousSum = previous != null ? previous[1] : 0;
+        long numNewSamples = count - previousCount;
+        if (numNewSamples > 0) {
+            peerGroupService.addRtt(connection.getPeerAddress(), (sum - previousSum) / (double) numNewSamples);
+        }
+    }
+
     public void addListener(PeerGroupManager.Listener listener) {
         listeners.add(listener);
     }
@@ -426,6 +462,14 @@ public class PeerGroupManager implements Node.Listener {
                 .thenComparing(Connection.comparingDate().reversed());
     }
 
+    // Like comparingForSkip but we keep the connections to the peers with the higher score
+    private Comparator<Connection> comparingForSkipByScore() {
+        return Connection.comparingNumPendingRequests().reversed()
+                .thenComparing(Comparator.comparingDouble((Connection connection) ->
+                        peerGroupService.getPeerScore(connection.getPeerAddress())).reversed())
+                .thenComparing(Connection.comparingDate().reversed());
+    }
+
     private boolean allowDisconnect(Connection connection) {
         return isNotBootstrapping(connection) && connection.isRunning();
     }
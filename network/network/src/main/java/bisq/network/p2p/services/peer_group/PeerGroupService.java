@@ -25,8 +25,8 @@ import bisq.network.p2p.node.Connection;
 import bisq.network.p2p.node.Node;
 import bisq.persistence.DbSubDirectory;
 import bisq.persistence.Persistence;
-import bisq.persistence.PersistenceClient;
 import bisq.persistence.PersistenceService;
+import bisq.persistence.RateLimitedPersistenceClient;
 import com.google.common.base.Joiner;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
@@ -39,11 +39,12 @@ import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 /**
- * Maintains different collections of peers and connections
+ * Maintains different collections of peers and connections, as well as the quality scores of peers.
  */
 @Slf4j
-public class PeerGroupService implements PersistenceClient<PeerGroupStore> {
+public class PeerGroupService extends RateLimitedPersistenceClient<PeerGroupStore> {
     private static final long MIN_PRINT_INTERVAL = TimeUnit.MINUTES.toMillis(10);
+    static final int MAX_NUM_PEER_SCORES = 1000;
 
     @Getter
     public static class Config {
@@ -159,6 +160,69 @@ public class PeerGroupService implements PersistenceClient<PeerGroupStore> {
     }
 
 
+    ///////////////////////////////////////////////////////////////////////////////////////////////////
+    // Peer scores
+    ///////////////////////////////////////////////////////////////////////////////////////////////////
+
+    public double getPeerScore(Address address) {
+        PeerScore peerScore = getPeerScoreByAddress().get(address);
+        return peerScore != null ? peerScore.getScore() : PeerScore.DEFAULT_SCORE;
+    }
+
+    public double getPeerSelectionWeight(Address address) {
+        PeerScore peerScore = getPeerScoreByAddress().get(address);
+        return peerScore != null ? peerScore.getSelectionWeight() : PeerScore.DEFAULT_SELECTION_WEIGHT;
+    }
+
+    public Optional<PeerScore> findPeerScore(Address address) {
+        return Optional.ofNullable(getPeerScoreByAddress().get(address));
+    }
+
+    public void addHandshakeResult(Address address, boolean success) {
+        getOrCreatePeerScore(address).addHandshakeResult(success);
+        persist();
+    }
+
+    public void addRtt(Address address, double rtt) {
+        getOrCreatePeerScore(address).addRtt(rtt);
+        persist();
+    }
+
+    public void addUptime(Address address, long uptime) {
+        getOrCreatePeerScore(address).addUptime(uptime);
+        persist();
+    }
+
+    public void addDataExchangeResult(Address address, boolean useful) {
+        getOrCreatePeerScore(address).addDataExchangeResult(useful);
+        persist();
+    }
+
+    /**
+     * Removes the least recently updated scores if we have more than MAX_NUM_PEER_SCORES.
+     */
+    public void pruneScores() {
+        Map<Address, PeerScore> peerScoreByAddress = getPeerScoreByAddress();
+        int exceeding = peerScoreByAddress.size() - MAX_NUM_PEER_SCORES;
+        if (exceeding > 0) {
+            peerScoreByAddress.values().stream()
+                    .sorted(Comparator.comparingLong(PeerScore::getLastUpdate))
+                    .limit(exceeding)
+                    .collect(Collectors.toList())
+                    .forEach(peerScore -> peerScoreByAddress.remove(peerScore.getAddress()));
+            persist();
+        }
+    }
+
+    private PeerScore getOrCreatePeerScore(Address address) {
+        return getPeerScoreByAddress().computeIfAbsent(address, PeerScore::new);
+    }
+
+    private Map<Address, PeerScore> getPeerScoreByAddress() {
+        return persistableStore.getPeerScoreByAddress();
+    }
+
+
     ///////////////////////////////////////////////////////////////////////////////////////////////////
     // Reported peers
     ///////////////////////////////////////////////////////////////////////////////////////////////////
@@ -32,12 +32,14 @@ import java.util.stream.Collectors;
 @Slf4j
 public final class PeerGroupStore implements PersistableStore<PeerGroupStore> {
     private final Map<Address, Peer> persistedPeersByAddress = new ConcurrentHashMap<>();
+    private final Map<Address, PeerScore> peerScoreByAddress = new ConcurrentHashMap<>();
 
     public PeerGroupStore() {
     }
 
-    private PeerGroupStore(Map<Address, Peer> persistedPeersByAddress) {
+    private PeerGroupStore(Map<Address, Peer> persistedPeersByAddress, Map<Address, PeerScore> peerScoreByAddress) {
         this.persistedPeersByAddress.putAll(persistedPeersByAddress);
+        this.peerScoreByAddress.putAll(peerScoreByAddress);
     }
 
     @Override
@@ -47,16 +49,23 @@ public final class PeerGroupStore implements PersistableStore<PeerGroupStore> {
 
     @Override
     public bisq.network.protobuf.PeerGroupStore.Builder getBuilder(boolean serializeForHash) {
-        return bisq.network.protobuf.PeerGroupStore.newBuilder().addAllPersistedPeers(persistedPeersByAddress.values().stream()
-                .map(peer -> peer.toProto(serializeForHash))
-                .collect(Collectors.toSet()));
+        return bisq.network.protobuf.PeerGroupStore.newBuilder()
+                .addAllPersistedPeers(persistedPeersByAddress.values().stream()
+                        .map(peer -> peer.toProto(serializeForHash))
+                        .collect(Collectors.toSet()))
+                .addAllPeerScores(peerScoreByAddress.values().stream()
+                        .map(peerScore -> peerScore.toProto(serializeForHash))
+                        .collect(Collectors.toList()));
     }
 
     public static PeerGroupStore fromProto(bisq.network.protobuf.PeerGroupStore proto) {
         Map<Address, Peer> persistedPeersById = proto.getPersistedPeersList().stream()
                 .map(Peer::fromProto)
                 .collect(Collectors.toMap(Peer::getAddress, e -> e));
-        return new PeerGroupStore(persistedPeersById);
+        Map<Address, PeerScore> peerScoreByAddress = proto.getPeerScoresList().stream()
+                .map(PeerScore::fromProto)
+                .collect(Collectors.toMap(PeerScore::getAddress, e -> e, (a, b) -> b));
+        return new PeerGroupStore(persistedPeersById, peerScoreByAddress);
     }
 
     @Override
@@ -72,16 +81,22 @@ public final class PeerGroupStore implements PersistableStore<PeerGroupStore> {
 
     @Override
     public PeerGroupStore getClone() {
-        return new PeerGroupStore(new HashMap<>(persistedPeersByAddress));
+        return new PeerGroupStore(new HashMap<>(persistedPeersByAddress), new HashMap<>(peerScoreByAddress));
     }
 
     @Override
     public void applyPersisted(PeerGroupStore persisted) {
         persistedPeersByAddress.clear();
         persistedPeersByAddress.putAll(persisted.getPersistedPeersByAddress());
+        peerScoreByAddress.clear();
+        peerScoreByAddress.putAll(persisted.getPeerScoreByAddress());
     }
 
     Map<Address, Peer> getPersistedPeersByAddress() {
         return persistedPeersByAddress;
     }
-}
\ No newline at end of file
+
+    Map<Address, PeerScore> getPeerScoreByAddress() {
+        return peerScoreByAddress;
+    }
+}
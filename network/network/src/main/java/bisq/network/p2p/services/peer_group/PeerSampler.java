@@ -0,0 +1,101 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.network.p2p.services.peer_group;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.function.ToDoubleFunction;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Selects peers by weighted random sampling without replacement, so that peers with a higher score get selected more
+ * likely but not deterministically.
+ * An exploration share of the selected peers is picked uniformly at random, independent of the score. This gives
+ * unknown or badly scored peers a chance to improve their score and limits the influence an adversary can gain by
+ * operating many well performing nodes (eclipse attack), as a part of our peers is always picked independent of the
+ * metrics the adversary can optimize for.
+ */
+public class PeerSampler {
+    // Lower bound for weights so that every candidate has a chance to get selected
+    static final double MIN_WEIGHT = 0.01;
+
+    private final Random random;
+
+    public PeerSampler() {
+        this(new Random());
+    }
+
+    public PeerSampler(Random random) {
+        this.random = random;
+    }
+
+    public <T> List<T> sample(List<T> candidates,
+                              ToDoubleFunction<T> weightFunction,
+                              int numToSelect,
+                              double explorationShare) {
+        checkArgument(explorationShare >= 0 && explorationShare <= 1, "explorationShare must be in range 0 to 1");
+        int numSelected = Math.min(numToSelect, candidates.size());
+        if (numSelected <= 0) {
+            return new ArrayList<>();
+        }
+
+        // We round randomly, so that the expected exploration share is met also with small numbers of selected peers
+        double numExplorationAsDouble = numSelected * explorationShare;
+        int numExploration = (int) numExplorationAsDouble;
+        if (random.nextDouble() < numExplorationAsDouble - numExploration) {
+            numExploration++;
+        }
+        int numWeighted = numSelected - numExploration;
+
+        // Efraimidis-Spirakis: Taking the candidates with the largest keys u^(1/weight) is equivalent to
+        // successive weighted draws without replacement. We use log(u)/weight as the key to avoid underflow.
+        List<WeightedCandidate<T>> weightedCandidates = new ArrayList<>(candidates.size());
+        for (T candidate : candidates) {
+            double weight = Math.max(MIN_WEIGHT, weightFunction.applyAsDouble(candidate));
+            double key = Math.log(1 - random.nextDouble()) / weight;
+            weightedCandidates.add(new WeightedCandidate<>(candidate, key));
+        }
+        weightedCandidates.sort(Comparator.comparingDouble((WeightedCandidate<T> e) -> e.key).reversed());
+
+        List<T> result = new ArrayList<>(numSelected);
+        for (int i = 0; i < numWeighted; i++) {
+            result.add(weightedCandidates.get(i).candidate);
+        }
+
+        List<WeightedCandidate<T>> remaining = new ArrayList<>(weightedCandidates.subList(numWeighted, weightedCandidates.size()));
+        Collections.shuffle(remaining, random);
+        for (int i = 0; i < numExploration; i++) {
+            result.add(remaining.get(i).candidate);
+        }
+        return result;
+    }
+
+    private static final class WeightedCandidate<T> {
+        private final T candidate;
+        private final double key;
+
+        private WeightedCandidate(T candidate, double key) {
+            this.candidate = candidate;
+            this.key = key;
+        }
+    }
+}
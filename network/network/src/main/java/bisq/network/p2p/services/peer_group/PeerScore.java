@@ -0,0 +1,182 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.network.p2p.services.peer_group;
+
+import bisq.common.proto.PersistableProto;
+import bisq.network.common.Address;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Quality metrics we collected about a peer address: exponentially weighted moving averages (EWMA) of the round trip
+ * time, the handshake success rate and the rate of data exchanges which delivered new data (e.g. new peers at peer
+ * exchange), as well as the accumulated connection uptime.
+ * The EWMAs give recent observations more weight, so a peer can recover from past failures and a previously good peer
+ * gets downgraded quickly.
+ * Mutations and serialisation are synchronized as instances are shared with the clone used for persistence.
+ */
+@Getter
+@ToString
+public final class PeerScore implements PersistableProto {
+    static final double ALPHA = 0.2;
+    // RTT at which the latency score is 0.5. Tor RTTs are typically in the range of 0.5-2 sec.
+    static final double RTT_REFERENCE = 1000;
+    // Uptime at which the uptime score is 0.5
+    static final long UPTIME_REFERENCE = TimeUnit.HOURS.toMillis(1);
+    // Used for unknown metrics and as start value of the EWMAs
+    static final double NEUTRAL = 0.5;
+
+    static final double RELIABILITY_WEIGHT = 0.4;
+    static final double LATENCY_WEIGHT = 0.3;
+    static final double UPTIME_WEIGHT = 0.15;
+    static final double USEFUL_DATA_WEIGHT = 0.15;
+
+    // Score of a peer we do not know anything about
+    public static final double DEFAULT_SCORE = (RELIABILITY_WEIGHT + LATENCY_WEIGHT + USEFUL_DATA_WEIGHT) * NEUTRAL;
+    public static final double DEFAULT_SELECTION_WEIGHT = toSelectionWeight(DEFAULT_SCORE);
+
+    /**
+     * The scores of real peers are in a rather narrow range. We use the squared score as weight for peer sampling to
+     * increase the preference of good peers.
+     */
+    public static double toSelectionWeight(double score) {
+        return score * score;
+    }
+
+    private final Address address;
+    private double ewmaRtt;
+    private int numRttSamples;
+    private double handshakeSuccessRate;
+    private int numHandshakes;
+    private long totalUptime;
+    private double usefulDataRate;
+    private int numDataExchanges;
+    private long lastUpdate;
+
+    public PeerScore(Address address) {
+        this(address, 0, 0, NEUTRAL, 0, 0, NEUTRAL, 0, System.currentTimeMillis());
+    }
+
+    private PeerScore(Address address,
+                      double ewmaRtt,
+                      int numRttSamples,
+                      double handshakeSuccessRate,
+                      int numHandshakes,
+                      long totalUptime,
+                      double usefulDataRate,
+                      int numDataExchanges,
+                      long lastUpdate) {
+        this.address = address;
+        this.ewmaRtt = ewmaRtt;
+        this.numRttSamples = numRttSamples;
+        this.handshakeSuccessRate = handshakeSuccessRate;
+        this.numHandshakes = numHandshakes;
+        this.totalUptime = totalUptime;
+        this.usefulDataRate = usefulDataRate;
+        this.numDataExchanges = numDataExchanges;
+        this.lastUpdate = lastUpdate;
+    }
+
+    @Override
+    public bisq.network.protobuf.PeerScore toProto(boolean serializeForHash) {
+        return resolveProto(serializeForHash);
+    }
+
+    @Override
+    public synchronized bisq.network.protobuf.PeerScore.Builder getBuilder(boolean serializeForHash) {
+        return bisq.network.protobuf.PeerScore.newBuilder()
+                .setAddress(address.toProto(serializeForHash))
+                .setEwmaRtt(ewmaRtt)
+                .setNumRttSamples(numRttSamples)
+                .setHandshakeSuccessRate(handshakeSuccessRate)
+                .setNumHandshakes(numHandshakes)
+                .setTotalUptime(totalUptime)
+                .setUsefulDataRate(usefulDataRate)
+                .setNumDataExchanges(numDataExchanges)
+                .setLastUpdate(lastUpdate);
+    }
+
+    public static PeerScore fromProto(bisq.network.protobuf.PeerScore proto) {
+        return new PeerScore(Address.fromProto(proto.getAddress()),
+                proto.getEwmaRtt(),
+                proto.getNumRttSamples(),
+                proto.getHandshakeSuccessRate(),
+                proto.getNumHandshakes(),
+                proto.getTotalUptime(),
+                proto.getUsefulDataRate(),
+                proto.getNumDataExchanges(),
+                proto.getLastUpdate());
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////////////
+    // Updates
+    ///////////////////////////////////////////////////////////////////////////////////////////////////
+
+    public synchronized void addRtt(double rtt) {
+        // The first sample is taken as it is, otherwise the neutral start value would distort the average for long
+        ewmaRtt = numRttSamples == 0 ? rtt : ewma(ewmaRtt, rtt);
+        numRttSamples++;
+        lastUpdate = System.currentTimeMillis();
+    }
+
+    public synchronized void addHandshakeResult(boolean success) {
+        handshakeSuccessRate = ewma(handshakeSuccessRate, success ? 1 : 0);
+        numHandshakes++;
+        lastUpdate = System.currentTimeMillis();
+    }
+
+    public synchronized void addUptime(long uptime) {
+        totalUptime += Math.max(0, uptime);
+        lastUpdate = System.currentTimeMillis();
+    }
+
+    public synchronized void addDataExchangeResult(boolean useful) {
+        usefulDataRate = ewma(usefulDataRate, useful ? 1 : 0);
+        numDataExchanges++;
+        lastUpdate = System.currentTimeMillis();
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////////////
+    // Score
+    ///////////////////////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * @return Weighted sum of the reliability, latency, uptime and useful data scores, each in the range of 0 to 1.
+     * A peer we do not know anything about gets neutral values except for the uptime.
+     */
+    public synchronized double getScore() {
+        double latencyScore = numRttSamples == 0 ? NEUTRAL : RTT_REFERENCE / (RTT_REFERENCE + ewmaRtt);
+        double uptimeScore = totalUptime / (double) (totalUptime + UPTIME_REFERENCE);
+        return RELIABILITY_WEIGHT * handshakeSuccessRate +
+                LATENCY_WEIGHT * latencyScore +
+                UPTIME_WEIGHT * uptimeScore +
+                USEFUL_DATA_WEIGHT * usefulDataRate;
+    }
+
+    public double getSelectionWeight() {
+        return toSelectionWeight(getScore());
+    }
+
+    private static double ewma(double average, double sample) {
+        return ALPHA * sample + (1 - ALPHA) * average;
+    }
+}
@@ -40,7 +40,6 @@ import java.util.stream.Collectors;
 
 import static bisq.network.NetworkService.NETWORK_IO_POOL;
 import static com.google.common.base.Preconditions.checkArgument;
-import static java.util.concurrent.CompletableFuture.supplyAsync;
 import static java.util.concurrent.TimeUnit.MINUTES;
 
 /**
@@ -199,35 +198,39 @@ public class PeerExchangeService implements Node.Listener {
     }
 
     private CompletableFuture<Void> doPeerExchangeAsync(Address peerAddress) {
-        return supplyAsync(() -> {
-            String connectionId = null;
-            try {
-                Connection connection = node.getConnection(peerAddress);
-                connectionId = connection.getId();
-                checkArgument(!requestHandlerMap.containsKey(connectionId), "We have a pending request for that connection");
-
-                PeerExchangeRequestHandler handler = new PeerExchangeRequestHandler(node, connection);
-                requestHandlerMap.put(connectionId, handler);
-                Set<Peer> myPeers = peerExchangeStrategy.getPeersForReporting(peerAddress);
-
-                // We request and wait for response
-                Set<Peer> reportedPeers = handler.request(myPeers).join();
-                log.info("Completed peer exchange with {} and received {} reportedPeers.",
-                        peerAddress, reportedPeers.size());
-                peerExchangeStrategy.addReportedPeers(reportedPeers, peerAddress);
-                requestHandlerMap.remove(connectionId);
-                log.info("Peer exchange with {} completed", peerAddress);
-                return null;
-            } catch (Exception exception) {
-                log.info("Peer exchange with {} failed", peerAddress);
-                if (connectionId != null) {
-                    if (requestHandlerMap.containsKey(connectionId)) {
-                        requestHandlerMap.get(connectionId).dispose();
+        // The connection gets established without blocking a NETWORK_IO_POOL thread
+        return node.getConnectionAsync(peerAddress)
+                .whenComplete((connection, throwable) -> {
+                    if (throwable != null) {
+                        log.info("Peer exchange with {} failed as we could not connect", peerAddress);
+                        peerExchangeStrategy.onConnectFailed(peerAddress);
+                    }
+                })
+                .thenApplyAsync(connection -> {
+                    String connectionId = connection.getId();
+                    try {
+                        checkArgument(!requestHandlerMap.containsKey(connectionId), "We have a pending request for that connection");
+
+                        PeerExchangeRequestHandler handler = new PeerExchangeRequestHandler(node, connection);
+                        requestHandlerMap.put(connectionId, handler);
+                        Set<Peer> myPeers = peerExchangeStrategy.getPeersForReporting(peerAddress);
+
+                        // We request and wait for response
+                        Set<Peer> reportedPeers = handler.request(myPeers).join();
+                        log.info("Completed peer exchange with {} and received {} reportedPeers.",
+                                peerAddress, reportedPeers.size());
+                        peerExchangeStrategy.addReportedPeers(reportedPeers, peerAddress);
                         requestHandlerMap.remove(connectionId);
+                        log.info("Peer exchange with {} completed", peerAddress);
+                        return null;
+                    } catch (Exception exception) {
+                        log.info("Peer exchange with {} failed", peerAddress);
+                        if (requestHandlerMap.containsKey(connectionId)) {
+                            requestHandlerMap.get(connectionId).dispose();
+                            requestHandlerMap.remove(connectionId);
+                        }
+                        throw exception;
                     }
-                }
-                throw exception;
-            }
-        }, NETWORK_IO_POOL);
+                }, NETWORK_IO_POOL);
     }
-}
\ No newline at end of file
+}
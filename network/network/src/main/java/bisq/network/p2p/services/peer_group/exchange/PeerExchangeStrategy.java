@@ -22,6 +22,7 @@ import bisq.network.common.Address;
 import bisq.network.p2p.node.Node;
 import bisq.network.p2p.services.peer_group.Peer;
 import bisq.network.p2p.services.peer_group.PeerGroupService;
+import bisq.network.p2p.services.peer_group.PeerSampler;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
@@ -38,30 +39,38 @@ import java.util.stream.Stream;
 public class PeerExchangeStrategy {
     public static final long REPORTED_PEERS_LIMIT = 500;
     private static final long MAX_AGE = TimeUnit.DAYS.toMillis(5);
+    private static final double DEFAULT_EXPLORATION_SHARE = 0.25;
 
     @Getter
     public static class Config {
         private final int numSeedNodesAtBoostrap;
         private final int numPersistedPeersAtBoostrap;
         private final int numReportedPeersAtBoostrap;
+        // Share of the selected peers which are picked at random, independent of their score
+        private final double explorationShare;
 
         public Config() {
-            this(2, 40, 20);
+            this(2, 40, 20, DEFAULT_EXPLORATION_SHARE);
         }
 
         public Config(int numSeedNodesAtBoostrap,
                       int numPersistedPeersAtBoostrap,
-                      int numReportedPeersAtBoostrap) {
+                      int numReportedPeersAtBoostrap,
+                      double explorationShare) {
             this.numSeedNodesAtBoostrap = numSeedNodesAtBoostrap;
             this.numPersistedPeersAtBoostrap = numPersistedPeersAtBoostrap;
             this.numReportedPeersAtBoostrap = numReportedPeersAtBoostrap;
+            this.explorationShare = explorationShare;
         }
 
         public static Config from(com.typesafe.config.Config typesafeConfig) {
             return new PeerExchangeStrategy.Config(
                     typesafeConfig.getInt("numSeedNodesAtBoostrap"),
                     typesafeConfig.getInt("numPersistedPeersAtBoostrap"),
-                    typesafeConfig.getInt("numReportedPeersAtBoostrap"));
+                    typesafeConfig.getInt("numReportedPeersAtBoostrap"),
+                    typesafeConfig.hasPath("explorationShare") ?
+                            typesafeConfig.getDouble("explorationShare") :
+                            DEFAULT_EXPLORATION_SHARE);
         }
     }
 
@@ -69,6 +78,7 @@ public class PeerExchangeStrategy {
     private final Node node;
     private final Config config;
     private final Set<Address> usedAddresses = new CopyOnWriteArraySet<>();
+    private final PeerSampler peerSampler = new PeerSampler();
 
     public PeerExchangeStrategy(PeerGroupService peerGroupService, Node node, Config config) {
         this.peerGroupService = peerGroupService;
@@ -85,14 +95,14 @@ public class PeerExchangeStrategy {
     ///////////////////////////////////////////////////////////////////////////////////////////////////
 
     List<Address> getAddressesForInitialPeerExchange() {
-        List<Address> candidates = getCandidates(getPriorityListForInitialPeerExchange());
+        List<Address> candidates = getCandidates(getSeedAddresses(), getScoredListForInitialPeerExchange());
         if (candidates.isEmpty()) {
             // It can be that we don't have peers anymore which we have not already connected in the past.
             // We reset the usedAddresses and try again. It is likely that some peers have different peers to 
             // send now.
             log.info("We reset the usedAddresses and try again to connect to peers we tried in the past.");
             usedAddresses.clear();
-            candidates = getCandidates(getPriorityListForInitialPeerExchange());
+            candidates = getCandidates(getSeedAddresses(), getScoredListForInitialPeerExchange());
         }
         usedAddresses.addAll(candidates);
         return candidates;
@@ -101,14 +111,14 @@ public class PeerExchangeStrategy {
     // After bootstrap, we might want to add more connections and use the peer exchange protocol for that.
     // We do not want to use seed nodes or already existing connections in that case.
     List<Address> getAddressesForExtendingPeerGroup() {
-        List<Address> candidates = getCandidates(getPriorityListForExtendingPeerGroup());
+        List<Address> candidates = getCandidates(new ArrayList<>(), getScoredListForExtendingPeerGroup());
         if (candidates.isEmpty()) {
             // It can be that we don't have peers anymore which we have not already connected in the past.
             // We reset the usedAddresses and try again. It is likely that some peers have different peers to 
             // send now.
             log.debug("We reset the usedAddresses and try again to connect to peers we tried in the past.");
             usedAddresses.clear();
-            candidates = getCandidates(getPriorityListForExtendingPeerGroup());
+            candidates = getCandidates(new ArrayList<>(), getScoredListForExtendingPeerGroup());
         }
         usedAddresses.addAll(candidates);
         return candidates;
@@ -128,12 +138,29 @@ public class PeerExchangeStrategy {
         return peerGroupService.getAllConnectedPeers(node).count() < peerGroupService.getTargetNumConnectedPeers();
     }
 
-    private List<Address> getCandidates(List<Address> priorityList) {
-        return priorityList.stream()
+    void onConnectFailed(Address address) {
+        peerGroupService.addHandshakeResult(address, false);
+    }
+
+    // The priority list (seeds at bootstrap) is used first, the remaining slots are filled by weighted sampling
+    // of the scored list.
+    private List<Address> getCandidates(List<Address> priorityList, List<Address> scoredList) {
+        int limit = getPeerExchangeLimit();
+        List<Address> candidates = priorityList.stream()
+                .filter(this::isNotUsed)
+                .distinct()
+                .limit(limit)
+                .collect(Collectors.toList());
+        List<Address> scoredCandidates = scoredList.stream()
                 .filter(this::isNotUsed)
+                .filter(address -> !candidates.contains(address))
                 .distinct()
-                .limit(getPeerExchangeLimit())
                 .collect(Collectors.toList());
+        candidates.addAll(peerSampler.sample(scoredCandidates,
+                peerGroupService::getPeerSelectionWeight,
+                limit - candidates.size(),
+                config.getExplorationShare()));
+        return candidates;
     }
 
     private int getPeerExchangeLimit() {
@@ -151,18 +178,17 @@ public class PeerExchangeStrategy {
         return limit;
     }
 
-    private List<Address> getPriorityListForInitialPeerExchange() {
-        List<Address> priorityList = new ArrayList<>(getSeedAddresses());
-        priorityList.addAll(getReportedPeerAddresses());
-        priorityList.addAll(getPersistedAddresses());
-        priorityList.addAll(getAllConnectedPeerAddresses());
-        return priorityList;
+    private List<Address> getScoredListForInitialPeerExchange() {
+        List<Address> scoredList = new ArrayList<>(getReportedPeerAddresses());
+        scoredList.addAll(getPersistedAddresses());
+        scoredList.addAll(getAllConnectedPeerAddresses());
+        return scoredList;
     }
 
-    private List<Address> getPriorityListForExtendingPeerGroup() {
-        List<Address> priorityList = new ArrayList<>(getReportedPeerAddresses());
-        priorityList.addAll(getPersistedAddresses());
-        return priorityList;
+    private List<Address> getScoredListForExtendingPeerGroup() {
+        List<Address> scoredList = new ArrayList<>(getReportedPeerAddresses());
+        scoredList.addAll(getPersistedAddresses());
+        return scoredList;
     }
 
     private List<Address> getSeedAddresses() {
@@ -223,8 +249,10 @@ public class PeerExchangeStrategy {
                 .sorted()
                 .limit(REPORTED_PEERS_LIMIT)
                 .collect(Collectors.toSet());
-        peerGroupService.addReportedPeers(peers);
-        peerGroupService.addPersistedPeers(peers);
+        boolean reportedPeersAdded = peerGroupService.addReportedPeers(peers);
+        boolean persistedPeersAdded = peerGroupService.addPersistedPeers(peers);
+        // We consider a peer exchange useful if we learned about new peers or newer peer data
+        peerGroupService.addDataExchangeResult(reporterAddress, reportedPeersAdded || persistedPeersAdded);
     }
 
 
@@ -18,9 +18,11 @@
 package bisq.network.p2p.services.peer_group.keep_alive;
 
 import bisq.common.timer.Scheduler;
+import bisq.common.util.MathUtils;
 import bisq.network.NetworkService;
 import bisq.network.identity.NetworkId;
 import bisq.network.p2p.message.EnvelopePayloadMessage;
+import bisq.network.p2p.message.Response;
 import bisq.network.p2p.node.CloseReason;
 import bisq.network.p2p.node.Connection;
 import bisq.network.p2p.node.Node;
@@ -28,10 +30,12 @@ import lombok.Getter;
 import lombok.ToString;
 import lombok.extern.slf4j.Slf4j;
 
+import java.time.Duration;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.TimeUnit;
 
 import static java.util.concurrent.TimeUnit.SECONDS;
 
@@ -61,7 +65,7 @@ public class KeepAliveService implements Node.Listener {
 
     private final Node node;
     private final Config config;
-    private final Map<String, KeepAliveHandler> requestHandlerMap = new ConcurrentHashMap<>();
+    private final Map<String, CompletableFuture<Response>> pendingPingByConnectionId = new ConcurrentHashMap<>();
     private Optional<Scheduler> scheduler = Optional.empty();
 
     public KeepAliveService(Node node, Config config) {
@@ -78,24 +82,34 @@ public class KeepAliveService implements Node.Listener {
 
     public void shutdown() {
         scheduler.ifPresent(Scheduler::stop);
-        requestHandlerMap.values().forEach(KeepAliveHandler::dispose);
-        requestHandlerMap.clear();
+        pendingPingByConnectionId.values().forEach(future -> future.cancel(true));
+        pendingPingByConnectionId.clear();
     }
 
     public void sendPing(Connection connection) {
         String key = connection.getId();
-        if (requestHandlerMap.containsKey(key)) {
-            log.info("requestHandlerMap contains {}. " +
+        if (pendingPingByConnectionId.containsKey(key)) {
+            log.info("pendingPingByConnectionId contains {}. " +
                             "This is expected if the connection is still pending the response or the peer is not available " +
                             "but the timeout has not triggered an exception yet. We skip that request. Connection={}",
                     key, connection);
             return;
         }
-        KeepAliveHandler handler = new KeepAliveHandler(node, connection);
-        requestHandlerMap.put(key, handler);
-        handler.request()
-                .orTimeout(config.getTimeout(), TimeUnit.MILLISECONDS)
-                .whenComplete((nil, throwable) -> requestHandlerMap.remove(key));
+        int nonce = new Random().nextInt();
+        log.info("Send Ping to {} with nonce {}. Connection={}",
+                connection.getPeerAddress(), nonce, connection.getId());
+        long requestTs = System.currentTimeMillis();
+        // The Pong is matched by the nonce, and the future fails at timeout or if the connection gets closed
+        CompletableFuture<Response> future = node.request(new Ping(nonce), connection, Duration.ofMillis(config.getTimeout()));
+        pendingPingByConnectionId.put(key, future);
+        future.whenComplete((response, throwable) -> {
+            pendingPingByConnectionId.remove(key, future);
+            if (throwable == null) {
+                String passed = MathUtils.roundDouble((System.currentTimeMillis() - requestTs) / 1000d, 2) + " sec.";
+                log.info("Received Pong after {} from {} with nonce {}. Connection={}",
+                        passed, connection.getPeerAddress(), nonce, connection.getId());
+            }
+        });
     }
 
     @Override
@@ -114,11 +128,8 @@ public class KeepAliveService implements Node.Listener {
 
     @Override
     public void onDisconnect(Connection connection, CloseReason closeReason) {
-        String key = connection.getId();
-        if (requestHandlerMap.containsKey(key)) {
-            requestHandlerMap.get(key).dispose();
-            requestHandlerMap.remove(key);
-        }
+        Optional.ofNullable(pendingPingByConnectionId.remove(connection.getId()))
+                .ifPresent(future -> future.cancel(true));
     }
 
     private void sendPingIfRequired() {
@@ -0,0 +1,118 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.network.p2p.node;
+
+import bisq.network.p2p.message.EnvelopePayloadMessage;
+import bisq.network.p2p.message.Request;
+import bisq.network.p2p.node.network_load.NetworkLoad;
+import bisq.network.p2p.node.network_load.NetworkLoadSnapshot;
+import bisq.network.p2p.services.peer_group.keep_alive.Ping;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.withSettings;
+
+public class ConnectionThrottleTest {
+    // 10 messages per second with a burst of 5 per connection, 5 messages per second with a burst of 3 per message class
+    private static final ConnectionThrottle.Config CONFIG = new ConnectionThrottle.Config(200, 200, 10, 5, 5, 3);
+
+    private final AtomicLong now = new AtomicLong(1_000_000);
+    private final EnvelopePayloadMessage messageA = mock(EnvelopePayloadMessage.class);
+    private final EnvelopePayloadMessage messageB = mock(EnvelopePayloadMessage.class, withSettings().extraInterfaces(Request.class));
+
+    @Test
+    void messageClassBurstIsLimited() {
+        ConnectionThrottle throttle = createThrottle(0);
+        for (int i = 0; i < 3; i++) {
+            assertThat(throttle.consumeReceiveToken(messageA)).isEqualTo(0);
+        }
+        // Connection bucket has tokens left, but the message class bucket is empty (rate of 5 per second)
+        assertThat(throttle.consumeReceiveToken(messageA)).isEqualTo(200);
+    }
+
+    @Test
+    void connectionBurstIsSharedByMessageClasses() {
+        ConnectionThrottle throttle = createThrottle(0);
+        for (int i = 0; i < 3; i++) {
+            assertThat(throttle.consumeReceiveToken(messageA)).isEqualTo(0);
+        }
+        for (int i = 0; i < 2; i++) {
+            assertThat(throttle.consumeReceiveToken(messageB)).isEqualTo(0);
+        }
+        // Message class B has still a token, but the connection bucket is empty (rate of 10 per second)
+        assertThat(throttle.consumeReceiveToken(messageB)).isEqualTo(100);
+    }
+
+    @Test
+    void sendAndReceiveAreThrottledIndependently() {
+        ConnectionThrottle throttle = createThrottle(0);
+        for (int i = 0; i < 3; i++) {
+            assertThat(throttle.consumeReceiveToken(messageA)).isEqualTo(0);
+        }
+        assertThat(throttle.consumeSendToken(messageA)).isEqualTo(0);
+    }
+
+    @Test
+    void tokensGetRefilled() {
+        ConnectionThrottle throttle = createThrottle(0);
+        for (int i = 0; i < 3; i++) {
+            throttle.consumeReceiveToken(messageA);
+        }
+        assertThat(throttle.consumeReceiveToken(messageA)).isEqualTo(200);
+
+        now.addAndGet(1000);
+        assertThat(throttle.consumeReceiveToken(messageA)).isEqualTo(0);
+    }
+
+    @Test
+    void keepAliveAndResponsesAreNotThrottled() {
+        ConnectionThrottle throttle = createThrottle(0);
+        for (int i = 0; i < 10; i++) {
+            throttle.consumeReceiveToken(messageA);
+        }
+        assertThat(throttle.consumeReceiveToken(new Ping(1))).isEqualTo(0);
+        assertThat(throttle.consumeReceiveToken(new CloseConnectionMessage(CloseReason.SHUTDOWN))).isEqualTo(0);
+    }
+
+    @Test
+    void networkLoadReducesRate() {
+        // Load of 0.1 with a throttle time of 200 ms increases the min. interval from 20 ms to 40 ms, thus halves the rate
+        ConnectionThrottle throttle = createThrottle(0.1);
+        for (int i = 0; i < 3; i++) {
+            assertThat(throttle.consumeReceiveToken(messageA)).isEqualTo(0);
+        }
+        assertThat(throttle.consumeReceiveToken(messageA)).isEqualTo(400);
+    }
+
+    @Test
+    void delayIsBounded() {
+        ConnectionThrottle throttle = createThrottle(0);
+        for (int i = 0; i < 100; i++) {
+            throttle.consumeReceiveToken(messageA);
+        }
+        assertThat(throttle.consumeReceiveToken(messageA)).isEqualTo(1000);
+    }
+
+    private ConnectionThrottle createThrottle(double load) {
+        NetworkLoadSnapshot networkLoadSnapshot = new NetworkLoadSnapshot(new NetworkLoad(load, NetworkLoad.DEFAULT_DIFFICULTY_ADJUSTMENT));
+        return new ConnectionThrottle(networkLoadSnapshot, networkLoadSnapshot, CONFIG, now::get);
+    }
+}
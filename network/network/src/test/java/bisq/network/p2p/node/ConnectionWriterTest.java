@@ -0,0 +1,157 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.network.p2p.node;
+
+import bisq.common.threading.ExecutorFactory;
+import bisq.network.common.Address;
+import bisq.network.common.TransportType;
+import bisq.network.p2p.node.authorization.AuthorizationToken;
+import bisq.network.p2p.node.authorization.token.hash_cash.HashCashToken;
+import bisq.network.p2p.node.network_load.ConnectionMetrics;
+import bisq.network.p2p.node.network_load.NetworkLoadSnapshot;
+import bisq.network.p2p.services.confidential.ack.AckMessage;
+import bisq.network.p2p.services.peer_group.keep_alive.Ping;
+import bisq.security.pow.ProofOfWork;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ConnectionWriterTest {
+    private static final long ACK_THROTTLE_DELAY = 1000;
+    private static final int NUM_SENDERS = 4;
+    private static final int NUM_MESSAGES_PER_SENDER = 25;
+
+    private final AuthorizationToken authorizationToken = new HashCashToken(new ProofOfWork(new byte[0], 0, null, 0, new byte[0], 0), 0);
+    private final ConnectionThrottle connectionThrottle = mock(ConnectionThrottle.class);
+    private final ExecutorService senders = ExecutorFactory.newFixedThreadPool("ConnectionWriterTest", NUM_SENDERS);
+    private ServerSocket serverSocket;
+    private Socket peerSocket;
+    private Connection connection;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        // AckMessages are throttled, all other messages are sent without delay
+        when(connectionThrottle.consumeSendToken(any())).thenAnswer(invocation ->
+                invocation.getArgument(0) instanceof AckMessage ? ACK_THROTTLE_DELAY : 0L);
+
+        serverSocket = new ServerSocket(0);
+        Socket socket = new Socket("127.0.0.1", serverSocket.getLocalPort());
+        peerSocket = serverSocket.accept();
+        Address address = Address.localHost(serverSocket.getLocalPort());
+        Capability capability = new Capability(address, new ArrayList<>(List.of(TransportType.CLEAR)), new ArrayList<>());
+        connection = new OutboundConnection(socket,
+                address,
+                capability,
+                new NetworkLoadSnapshot(),
+                new ConnectionMetrics(),
+                connectionThrottle,
+                false,
+                mock(Connection.Handler.class),
+                (failedConnection, exception) -> {
+                });
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        connection.shutdown(CloseReason.SHUTDOWN);
+        ExecutorFactory.shutdownAndAwaitTermination(senders);
+        peerSocket.close();
+        serverSocket.close();
+    }
+
+    @Test
+    void controlMessagePassesThrottledMessage() throws Exception {
+        Future<?> ackSent = senders.submit(() -> connection.send(new AckMessage("ack"), authorizationToken));
+        verify(connectionThrottle, timeout(5000)).consumeSendToken(any(AckMessage.class));
+
+        long ts = System.currentTimeMillis();
+        connection.send(new Ping(1), authorizationToken);
+        assertThat(System.currentTimeMillis() - ts).isLessThan(ACK_THROTTLE_DELAY);
+
+        InputStream inputStream = peerSocket.getInputStream();
+        assertThat(readMessageCase(inputStream)).isEqualTo(bisq.network.protobuf.EnvelopePayloadMessage.MessageCase.PING);
+        assertThat(readMessageCase(inputStream)).isEqualTo(bisq.network.protobuf.EnvelopePayloadMessage.MessageCase.ACKMESSAGE);
+        ackSent.get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void messageQueuedAtCloseFails() {
+        // The throttled AckMessage stays deferred until the connection gets closed
+        Future<?> ackSent = senders.submit(() -> connection.send(new AckMessage("ack"), authorizationToken));
+        verify(connectionThrottle, timeout(5000)).consumeSendToken(any(AckMessage.class));
+
+        connection.shutdown(CloseReason.SHUTDOWN);
+        assertThatThrownBy(() -> ackSent.get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(ConnectionClosedException.class);
+    }
+
+    @Test
+    void messagesOfConcurrentSendersAreWrittenInOrder() throws Exception {
+        List<Future<?>> futures = new ArrayList<>();
+        for (int sender = 0; sender < NUM_SENDERS; sender++) {
+            int senderId = sender;
+            futures.add(senders.submit(() -> {
+                for (int i = 0; i < NUM_MESSAGES_PER_SENDER; i++) {
+                    connection.send(new Ping(senderId * 1000 + i), authorizationToken);
+                }
+            }));
+        }
+
+        // The writer goes idle whenever the queue is empty and has to be started again by the next send
+        Map<Integer, List<Integer>> receivedBySender = new HashMap<>();
+        InputStream inputStream = peerSocket.getInputStream();
+        for (int i = 0; i < NUM_SENDERS * NUM_MESSAGES_PER_SENDER; i++) {
+            int nonce = bisq.network.protobuf.NetworkEnvelope.parseDelimitedFrom(inputStream)
+                    .getNetworkMessage().getPing().getNonce();
+            receivedBySender.computeIfAbsent(nonce / 1000, key -> new ArrayList<>()).add(nonce % 1000);
+        }
+        for (Future<?> future : futures) {
+            future.get(5, TimeUnit.SECONDS);
+        }
+
+        assertThat(receivedBySender).hasSize(NUM_SENDERS);
+        receivedBySender.values().forEach(nonces -> assertThat(nonces).isSorted().hasSize(NUM_MESSAGES_PER_SENDER));
+        assertThat(connection.isRunning()).isTrue();
+    }
+
+    private static bisq.network.protobuf.EnvelopePayloadMessage.MessageCase readMessageCase(InputStream inputStream) throws IOException {
+        return bisq.network.protobuf.NetworkEnvelope.parseDelimitedFrom(inputStream).getNetworkMessage().getMessageCase();
+    }
+}
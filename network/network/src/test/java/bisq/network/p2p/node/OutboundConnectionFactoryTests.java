@@ -0,0 +1,207 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.network.p2p.node;
+
+import bisq.network.common.Address;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+public class OutboundConnectionFactoryTests {
+    @Test
+    void concurrentAttemptsToSameAddressAreDeduplicated() {
+        AtomicInteger numAttempts = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        OutboundConnection outboundConnection = mock(OutboundConnection.class);
+        OutboundConnectionFactory factory = new OutboundConnectionFactory((address, deadline) -> {
+            numAttempts.incrementAndGet();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                throw new ConnectionException(e);
+            }
+            return outboundConnection;
+        });
+
+        Address address = Address.localHost(10000);
+        CompletableFuture<OutboundConnection> first = factory.connect(address);
+        CompletableFuture<OutboundConnection> second = factory.connect(address);
+        assertThat(second).isSameAs(first);
+        assertThat(factory.getNumPendingAttempts()).isEqualTo(1);
+
+        release.countDown();
+        assertThat(first.join()).isSameAs(outboundConnection);
+        assertThat(numAttempts.get()).isEqualTo(1);
+
+        // After completion a new attempt is started
+        assertThat(factory.getNumPendingAttempts()).isZero();
+        factory.connect(address).join();
+        assertThat(numAttempts.get()).isEqualTo(2);
+    }
+
+    @Test
+    void attemptExceedingDeadlineFails() {
+        OutboundConnectionFactory factory = new OutboundConnectionFactory((address, deadline) -> {
+            try {
+                Thread.sleep(10_000);
+            } catch (InterruptedException e) {
+                throw new ConnectionException(e);
+            }
+            return mock(OutboundConnection.class);
+        }, Duration.ofMillis(100));
+
+        CompletableFuture<OutboundConnection> future = factory.connect(Address.localHost(10001));
+        assertThatThrownBy(() -> future.get(5, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(ConnectionException.class)
+                .hasMessageContaining("exceeded deadline");
+    }
+
+    @Test
+    void deadlineIncludesTimeWaitingForSaturatedPool() throws Exception {
+        CountDownLatch started = new CountDownLatch(OutboundConnectionFactory.MAX_CONCURRENT_ATTEMPTS);
+        CountDownLatch release = new CountDownLatch(1);
+        OutboundConnectionFactory blockingFactory = new OutboundConnectionFactory((address, deadline) -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                throw new ConnectionException(e);
+            }
+            return mock(OutboundConnection.class);
+        });
+        AtomicInteger numQueuedAttemptsStarted = new AtomicInteger();
+        OutboundConnectionFactory factory = new OutboundConnectionFactory((address, deadline) -> {
+            numQueuedAttemptsStarted.incrementAndGet();
+            return mock(OutboundConnection.class);
+        }, Duration.ofMillis(200));
+
+        try {
+            for (int i = 0; i < OutboundConnectionFactory.MAX_CONCURRENT_ATTEMPTS; i++) {
+                blockingFactory.connect(Address.localHost(11000 + i));
+            }
+            assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+            CompletableFuture<OutboundConnection> future = factory.connect(Address.localHost(10010));
+            assertThatThrownBy(() -> future.get(5, TimeUnit.SECONDS))
+                    .hasCauseInstanceOf(ConnectionException.class)
+                    .hasMessageContaining("exceeded deadline");
+            assertThat(factory.getNumPendingAttempts()).isZero();
+        } finally {
+            release.countDown();
+        }
+
+        // The queued attempt got dropped and is not started once a thread becomes available
+        blockingFactory.connect(Address.localHost(10011)).get(5, TimeUnit.SECONDS);
+        assertThat(numQueuedAttemptsStarted.get()).isZero();
+    }
+
+    @Test
+    void failedAttemptCompletesExceptionally() {
+        OutboundConnectionFactory factory = new OutboundConnectionFactory((address, deadline) -> {
+            throw new ConnectionException("Peer not reachable");
+        });
+
+        CompletableFuture<OutboundConnection> future = factory.connect(Address.localHost(10002));
+        assertThatThrownBy(future::join)
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(ConnectionException.class);
+    }
+
+    @Test
+    void deadlineClosesBlockingSocket() throws Exception {
+        try (ServerSocket serverSocket = new ServerSocket(0)) {
+            OutboundConnectionFactory factory = new OutboundConnectionFactory((address, deadline) -> {
+                try {
+                    Socket socket = new Socket();
+                    socket.connect(new InetSocketAddress("127.0.0.1", serverSocket.getLocalPort()),
+                            (int) deadline.getRemaining().toMillis());
+                    deadline.closeAtDeadline(socket);
+                    // The peer never sends anything and the read does not react on interrupts
+                    socket.getInputStream().read();
+                } catch (IOException e) {
+                    throw new ConnectionException(e);
+                }
+                return mock(OutboundConnection.class);
+            }, Duration.ofMillis(200));
+
+            CompletableFuture<OutboundConnection> future = factory.connect(Address.localHost(10003));
+            assertThatThrownBy(() -> future.get(5, TimeUnit.SECONDS))
+                    .hasCauseInstanceOf(ConnectionException.class)
+                    .hasMessageContaining("exceeded deadline");
+        }
+    }
+
+    @Test
+    void shutdownCancelsRunningAttemptsAndClosesLateConnections() throws Exception {
+        CountDownLatch started = new CountDownLatch(2);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        OutboundConnection lateConnection = mock(OutboundConnection.class);
+        OutboundConnectionFactory factory = new OutboundConnectionFactory((address, deadline) -> {
+            started.countDown();
+            if (address.getPort() == 10004) {
+                try {
+                    Thread.sleep(10_000);
+                } catch (InterruptedException e) {
+                    interrupted.countDown();
+                    throw new ConnectionException(e);
+                }
+            } else {
+                // Ignores the interrupt, like a blocking socket connect
+                try {
+                    release.await();
+                } catch (InterruptedException ignore) {
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        throw new ConnectionException(e);
+                    }
+                }
+            }
+            return lateConnection;
+        });
+
+        CompletableFuture<OutboundConnection> first = factory.connect(Address.localHost(10004));
+        CompletableFuture<OutboundConnection> second = factory.connect(Address.localHost(10005));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        factory.shutdown();
+        assertThat(first).isCompletedExceptionally();
+        assertThat(second).isCompletedExceptionally();
+        assertThat(factory.connect(Address.localHost(10006))).isCompletedExceptionally();
+
+        release.countDown();
+        verify(lateConnection, timeout(5000)).shutdown(CloseReason.SHUTDOWN);
+        assertThat(interrupted.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+}
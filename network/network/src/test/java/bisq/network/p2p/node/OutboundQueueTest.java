@@ -0,0 +1,192 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.network.p2p.node;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class OutboundQueueTest {
+    private static final int QUANTUM = 16 * 1024;
+
+    private static final class Message {
+        private final MessagePriority priority;
+        private final int size;
+        private final long enqueued;
+
+        private Message(MessagePriority priority, int size, long enqueued) {
+            this.priority = priority;
+            this.size = size;
+            this.enqueued = enqueued;
+        }
+    }
+
+    private final OutboundQueue<Message> queue = new OutboundQueue<>(QUANTUM);
+
+    @Test
+    void controlMessagesAreDequeuedFirst() {
+        offer(MessagePriority.BULK, 1000, 0);
+        offer(MessagePriority.CONFIDENTIAL, 1000, 0);
+        Message ping = offer(MessagePriority.CONTROL, 50, 0);
+
+        assertThat(queue.poll()).containsSame(ping);
+        assertThat(queue.size()).isEqualTo(2);
+    }
+
+    @Test
+    void pollOfPriorityClassTakesOnlyThatClass() {
+        Message bulk = offer(MessagePriority.BULK, 1000, 0);
+        assertThat(queue.isEmpty(MessagePriority.CONTROL)).isTrue();
+        assertThat(queue.poll(MessagePriority.CONTROL)).isEmpty();
+
+        Message ping = offer(MessagePriority.CONTROL, 50, 0);
+        assertThat(queue.poll(MessagePriority.CONTROL)).containsSame(ping);
+        assertThat(queue.getQueuedBytes(MessagePriority.CONTROL)).isZero();
+        assertThat(queue.poll()).containsSame(bulk);
+        assertThat(queue.isEmpty()).isTrue();
+    }
+
+    @Test
+    void orderWithinClassIsPreserved() {
+        List<Message> messages = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            messages.add(offer(MessagePriority.BROADCAST, 100 + i * 500, 0));
+        }
+
+        List<Message> polled = new ArrayList<>();
+        while (!queue.isEmpty()) {
+            polled.add(queue.poll().orElseThrow());
+        }
+        assertThat(polled).containsExactlyElementsOf(messages);
+        assertThat(queue.poll()).isEmpty();
+    }
+
+    @Test
+    void bandwidthIsSharedByWeight() {
+        for (int i = 0; i < 1000; i++) {
+            offer(MessagePriority.CONFIDENTIAL, 1000, 0);
+            offer(MessagePriority.BROADCAST, 1000, 0);
+            offer(MessagePriority.BULK, 1000, 0);
+        }
+
+        Map<MessagePriority, Long> sentBytes = new EnumMap<>(MessagePriority.class);
+        long total = 0;
+        while (total < 700_000) {
+            Message message = queue.poll().orElseThrow();
+            sentBytes.merge(message.priority, (long) message.size, Long::sum);
+            total += message.size;
+        }
+
+        // Weights are 4:2:1
+        double unit = total / 7d;
+        assertThat((double) sentBytes.get(MessagePriority.CONFIDENTIAL)).isBetween(unit * 4 * 0.9, unit * 4 * 1.1);
+        assertThat((double) sentBytes.get(MessagePriority.BROADCAST)).isBetween(unit * 2 * 0.9, unit * 2 * 1.1);
+        assertThat((double) sentBytes.get(MessagePriority.BULK)).isBetween(unit * 0.9, unit * 1.1);
+    }
+
+    @Test
+    void controlLatencyStaysBoundedWhileBulkSaturatesLink() {
+        // 100 kB/s as we might see at Tor connections
+        int bytesPerMs = 100;
+        int bulkSize = 64 * 1024;
+        long duration = 120_000;
+        long pingInterval = 1000;
+        long tradeInterval = 3000;
+
+        long now = 0;
+        long nextPing = 0;
+        long nextTradeMessage = 500;
+        long maxPingLatency = 0;
+        long maxTradeLatency = 0;
+        long sentBulkBytes = 0;
+        int numPings = 0;
+        while (now < duration) {
+            // Bulk sender keeps the queue full, so the link is saturated
+            while (queue.getQueuedBytes(MessagePriority.BULK) + bulkSize <= MessagePriority.BULK.getMaxQueuedBytes()) {
+                offer(MessagePriority.BULK, bulkSize, now);
+            }
+            while (nextPing <= now) {
+                offer(MessagePriority.CONTROL, 50, nextPing);
+                nextPing += pingInterval;
+            }
+            while (nextTradeMessage <= now) {
+                offer(MessagePriority.CONFIDENTIAL, 5000, nextTradeMessage);
+                nextTradeMessage += tradeInterval;
+            }
+
+            // The single writer sends one message at a time
+            Message message = queue.poll().orElseThrow();
+            now += Math.max(1, message.size / bytesPerMs);
+            if (message.priority == MessagePriority.CONTROL) {
+                maxPingLatency = Math.max(maxPingLatency, now - message.enqueued);
+                numPings++;
+            } else if (message.priority == MessagePriority.CONFIDENTIAL) {
+                maxTradeLatency = Math.max(maxTradeLatency, now - message.enqueued);
+            } else {
+                sentBulkBytes += message.size;
+            }
+        }
+
+        long bulkTransmissionTime = bulkSize / bytesPerMs;
+        // A ping waits at most for the bulk message currently in transmission
+        assertThat(numPings).isGreaterThan(100);
+        assertThat(maxPingLatency).isLessThanOrEqualTo(bulkTransmissionTime + 1);
+        assertThat(maxTradeLatency).isLessThanOrEqualTo(bulkTransmissionTime + 5000 / bytesPerMs + pingInterval);
+        // Bulk data still uses most of the link
+        assertThat((double) sentBulkBytes / (duration * bytesPerMs)).isGreaterThan(0.9);
+
+        // With FIFO order a ping would wait for all queued bulk data
+        long fifoLatency = MessagePriority.BULK.getMaxQueuedBytes() / bytesPerMs;
+        assertThat(fifoLatency).isGreaterThan(50 * maxPingLatency);
+    }
+
+    @Test
+    void queuedBytesAreLimited() {
+        int size = 1024 * 1024;
+        int numAccepted = 0;
+        while (queue.offer(new Message(MessagePriority.BULK, size, 0), MessagePriority.BULK, size)) {
+            numAccepted++;
+        }
+        assertThat(numAccepted).isEqualTo((int) (MessagePriority.BULK.getMaxQueuedBytes() / size));
+        assertThat(queue.getQueuedBytes(MessagePriority.BULK)).isLessThanOrEqualTo(MessagePriority.BULK.getMaxQueuedBytes());
+
+        // Other classes are not affected
+        assertThat(queue.offer(new Message(MessagePriority.CONFIDENTIAL, size, 0), MessagePriority.CONFIDENTIAL, size)).isTrue();
+
+        // After the writer has sent data, the sender can add again
+        while (queue.getQueuedBytes(MessagePriority.BULK) + size > MessagePriority.BULK.getMaxQueuedBytes()) {
+            queue.poll();
+        }
+        assertThat(queue.offer(new Message(MessagePriority.BULK, size, 0), MessagePriority.BULK, size)).isTrue();
+
+        // A single message exceeding the limit is accepted if the class is empty
+        queue.clear();
+        long hugeSize = MessagePriority.BULK.getMaxQueuedBytes() + 1;
+        assertThat(queue.offer(new Message(MessagePriority.BULK, (int) hugeSize, 0), MessagePriority.BULK, (int) hugeSize)).isTrue();
+        assertThat(queue.clear()).hasSize(1);
+        assertThat(queue.isEmpty()).isTrue();
+    }
+
+    private Message offer(MessagePriority priority, int size, long now) {
+        Message message = new Message(priority, size, now);
+        assertThat(queue.offer(message, priority, size)).isTrue();
+        return message;
+    }
+}
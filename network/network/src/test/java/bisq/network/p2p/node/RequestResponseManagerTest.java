@@ -0,0 +1,151 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.network.p2p.node;
+
+import bisq.network.p2p.message.Response;
+import bisq.network.p2p.node.network_load.ConnectionMetrics;
+import bisq.network.p2p.services.peer_group.keep_alive.Ping;
+import bisq.network.p2p.services.peer_group.keep_alive.Pong;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class RequestResponseManagerTest {
+    private static final long TIMEOUT = TimeUnit.SECONDS.toMillis(10);
+
+    private final ConnectionMetrics connectionMetrics = new ConnectionMetrics();
+    private final RequestResponseManager manager = new RequestResponseManager(connectionMetrics);
+    private final AtomicInteger numSent = new AtomicInteger();
+
+    @Test
+    void responsesAreCorrelatedByRequestId() throws Exception {
+        CompletableFuture<Response> first = request(1, TIMEOUT);
+        CompletableFuture<Response> second = request(2, TIMEOUT);
+        awaitNumSent(2);
+
+        manager.onReceived(new Pong(2));
+        manager.onReceived(new Pong(1));
+
+        assertThat(((Pong) first.get(1, TimeUnit.SECONDS)).getRequestNonce()).isEqualTo(1);
+        assertThat(((Pong) second.get(1, TimeUnit.SECONDS)).getRequestNonce()).isEqualTo(2);
+        assertThat(manager.hasPendingRequests()).isFalse();
+        assertThat(connectionMetrics.getRttHistogram().getCount()).isEqualTo(2);
+        assertThat(connectionMetrics.getRttHistogramByRequestClassName().get("Ping").getCount()).isEqualTo(2);
+    }
+
+    @Test
+    void requestsAboveInFlightLimitAreQueued() throws Exception {
+        List<CompletableFuture<Response>> futures = new ArrayList<>();
+        int numRequests = RequestResponseManager.MAX_IN_FLIGHT_REQUESTS + 3;
+        for (int i = 0; i < numRequests; i++) {
+            futures.add(request(i, TIMEOUT));
+        }
+        awaitNumSent(RequestResponseManager.MAX_IN_FLIGHT_REQUESTS);
+        Thread.sleep(50);
+        assertThat(numSent.get()).isEqualTo(RequestResponseManager.MAX_IN_FLIGHT_REQUESTS);
+
+        manager.onReceived(new Pong(0));
+        futures.get(0).get(1, TimeUnit.SECONDS);
+        awaitNumSent(RequestResponseManager.MAX_IN_FLIGHT_REQUESTS + 1);
+
+        for (int i = 1; i < numRequests; i++) {
+            awaitNumSent(Math.min(numRequests, i + RequestResponseManager.MAX_IN_FLIGHT_REQUESTS));
+            manager.onReceived(new Pong(i));
+            futures.get(i).get(1, TimeUnit.SECONDS);
+        }
+        assertThat(numSent.get()).isEqualTo(numRequests);
+        assertThat(manager.getNumInFlightRequests()).isZero();
+    }
+
+    @Test
+    void requestTimesOut() {
+        CompletableFuture<Response> future = request(1, 50);
+
+        assertThatThrownBy(() -> future.get(1, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(TimeoutException.class);
+        assertThat(manager.hasPendingRequests()).isFalse();
+        assertThat(manager.getNumInFlightRequests()).isZero();
+    }
+
+    @Test
+    void queuedRequestIsNotSentAfterDeadline() throws Exception {
+        for (int i = 0; i < RequestResponseManager.MAX_IN_FLIGHT_REQUESTS; i++) {
+            request(i, TIMEOUT);
+        }
+        CompletableFuture<Response> queued = request(1000, 50);
+        awaitNumSent(RequestResponseManager.MAX_IN_FLIGHT_REQUESTS);
+        assertThatThrownBy(() -> queued.get(1, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(TimeoutException.class);
+
+        manager.onReceived(new Pong(0));
+        Thread.sleep(50);
+        assertThat(numSent.get()).isEqualTo(RequestResponseManager.MAX_IN_FLIGHT_REQUESTS);
+    }
+
+    @Test
+    void closeFailsPendingAndQueuedRequests() {
+        List<CompletableFuture<Response>> futures = new ArrayList<>();
+        for (int i = 0; i < RequestResponseManager.MAX_IN_FLIGHT_REQUESTS + 2; i++) {
+            futures.add(request(i, TIMEOUT));
+        }
+        manager.onClosed();
+
+        futures.forEach(future -> assertThatThrownBy(() -> future.get(1, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(ConnectionClosedException.class));
+        assertThatThrownBy(() -> request(2000, TIMEOUT).get(1, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(ConnectionClosedException.class);
+        assertThat(manager.hasPendingRequests()).isFalse();
+    }
+
+    @Test
+    void requestsSentWithoutFutureAreTrackedForRtt() {
+        manager.onSent(new Ping(1));
+        assertThat(manager.numPendingRequests()).isEqualTo(1);
+
+        manager.onReceived(new Pong(1));
+        assertThat(manager.hasPendingRequests()).isFalse();
+        assertThat(connectionMetrics.getRttHistogram().getCount()).isEqualTo(1);
+    }
+
+    private CompletableFuture<Response> request(int nonce, long timeout) {
+        Ping ping = new Ping(nonce);
+        return manager.request(null, ping, timeout, () -> {
+            // As Connection.send does
+            manager.onSent(ping);
+            numSent.incrementAndGet();
+        });
+    }
+
+    private void awaitNumSent(int expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 1000;
+        while (numSent.get() < expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(numSent.get()).isGreaterThanOrEqualTo(expected);
+    }
+}
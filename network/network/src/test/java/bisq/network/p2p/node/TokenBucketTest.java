@@ -0,0 +1,74 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.network.p2p.node;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+public class TokenBucketTest {
+    private final AtomicLong now = new AtomicLong(1_000_000);
+
+    @Test
+    void burstIsAvailableImmediately() {
+        TokenBucket tokenBucket = new TokenBucket(10, 5, now::get);
+        for (int i = 0; i < 5; i++) {
+            assertThat(tokenBucket.consume()).isEqualTo(0);
+        }
+        // 1 token missing at a rate of 10 per second
+        assertThat(tokenBucket.consume()).isEqualTo(100);
+    }
+
+    @Test
+    void refillsWithRateUpToCapacity() {
+        TokenBucket tokenBucket = new TokenBucket(10, 5, now::get);
+        for (int i = 0; i < 6; i++) {
+            tokenBucket.consume();
+        }
+        assertThat(tokenBucket.getAvailableTokens()).isCloseTo(-1, within(0.0001));
+
+        now.addAndGet(100);
+        assertThat(tokenBucket.getAvailableTokens()).isCloseTo(0, within(0.0001));
+        assertThat(tokenBucket.consume()).isEqualTo(100);
+
+        now.addAndGet(10_000);
+        assertThat(tokenBucket.getAvailableTokens()).isCloseTo(5, within(0.0001));
+    }
+
+    @Test
+    void rateFactorScalesDelayAndRefill() {
+        TokenBucket tokenBucket = new TokenBucket(10, 1, now::get);
+        assertThat(tokenBucket.consume(1, 0.5)).isEqualTo(0);
+        assertThat(tokenBucket.consume(1, 0.5)).isEqualTo(200);
+
+        // At half the rate we have refilled only 1 token after 200 ms
+        now.addAndGet(200);
+        assertThat(tokenBucket.consume(1, 0.5)).isEqualTo(200);
+    }
+
+    @Test
+    void clockGoingBackwardsDoesNotRefill() {
+        TokenBucket tokenBucket = new TokenBucket(10, 1, now::get);
+        tokenBucket.consume();
+        now.addAndGet(-1000);
+        assertThat(tokenBucket.consume()).isEqualTo(100);
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+package bisq.network.p2p.node.envelope;
+
+import bisq.network.p2p.node.ConnectionException;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class EnvelopeCompressionTest {
+    @Test
+    void roundTrip() {
+        byte[] data = createPayload(100_000);
+        byte[] compressed = EnvelopeCompression.compress(data);
+
+        assertThat(compressed.length).isLessThan(data.length);
+        assertThat(EnvelopeCompression.decompress(compressed)).isEqualTo(data);
+    }
+
+    @Test
+    void emptyRoundTrip() {
+        byte[] compressed = EnvelopeCompression.compress(new byte[0]);
+        assertThat(EnvelopeCompression.decompress(compressed)).isEmpty();
+    }
+
+    @Test
+    void decompressionBombIsRejected() {
+        // 20 MB of zeros compress to about 20 KB
+        byte[] bomb = EnvelopeCompression.compress(new byte[20_000_000]);
+        assertThat(bomb.length).isLessThan(EnvelopeCompression.MIN_SIZE * 16);
+
+        assertThatThrownBy(() -> EnvelopeCompression.decompress(bomb))
+                .isInstanceOf(ConnectionException.class)
+                .hasMessageContaining("exceeds max size");
+    }
+
+    @Test
+    void maxDecompressedSizeIsInclusive() {
+        byte[] data = createPayload(10_000);
+        byte[] compressed = EnvelopeCompression.compress(data);
+
+        assertThat(EnvelopeCompression.decompress(compressed, data.length)).isEqualTo(data);
+        assertThatThrownBy(() -> EnvelopeCompression.decompress(compressed, data.length - 1))
+                .isInstanceOf(ConnectionException.class);
+    }
+
+    @Test
+    void truncatedDataIsRejected() {
+        byte[] compressed = EnvelopeCompression.compress(createPayload(100_000));
+        byte[] truncated = Arrays.copyOf(compressed, compressed.length / 2);
+
+        assertThatThrownBy(() -> EnvelopeCompression.decompress(truncated))
+                .isInstanceOf(ConnectionException.class);
+    }
+
+    @Test
+    void trailingBytesAreRejected() {
+        byte[] compressed = EnvelopeCompression.compress(createPayload(10_000));
+        byte[] withTrailingBytes = Arrays.copyOf(compressed, compressed.length + 10);
+
+        assertThatThrownBy(() -> EnvelopeCompression.decompress(withTrailingBytes))
+                .isInstanceOf(ConnectionException.class);
+    }
+
+    @Test
+    void invalidDataIsRejected() {
+        byte[] garbage = new byte[1000];
+        new Random(1).nextBytes(garbage);
+
+        assertThatThrownBy(() -> EnvelopeCompression.decompress(garbage))
+                .isInstanceOf(ConnectionException.class);
+    }
+
+    // Mix of repetitive text (type urls, field content) and random bytes (keys, signatures) as in inventory data
+    private static byte[] createPayload(int size) {
+        Random random = new Random(42);
+        byte[] text = "type.googleapis.com/bisq.user.profile.UserProfile;nickName=Satoshi;terms=Be fast; "
+                .getBytes(StandardCharsets.UTF_8);
+        byte[] data = new byte[size];
+        int position = 0;
+        while (position < size) {
+            int length = Math.min(text.length, size - position);
+            System.arraycopy(text, 0, data, position, length);
+            position += length;
+            byte[] key = new byte[Math.min(32, size - position)];
+            random.nextBytes(key);
+            System.arraycopy(key, 0, data, position, key.length);
+            position += key.length;
+        }
+        return data;
+    }
+}
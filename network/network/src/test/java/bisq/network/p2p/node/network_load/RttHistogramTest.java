@@ -0,0 +1,54 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.network.p2p.node.network_load;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RttHistogramTest {
+    @Test
+    void bucketsArePowersOfTwo() {
+        assertThat(RttHistogram.getBucketIndex(0)).isEqualTo(0);
+        assertThat(RttHistogram.getBucketIndex(1)).isEqualTo(1);
+        assertThat(RttHistogram.getBucketIndex(3)).isEqualTo(2);
+        assertThat(RttHistogram.getBucketIndex(4)).isEqualTo(3);
+        assertThat(RttHistogram.getBucketIndex(Long.MAX_VALUE)).isEqualTo(RttHistogram.NUM_BUCKETS - 1);
+    }
+
+    @Test
+    void percentilesAndAverage() {
+        RttHistogram histogram = new RttHistogram();
+        assertThat(histogram.getPercentile(0.5)).isZero();
+
+        for (int i = 0; i < 90; i++) {
+            histogram.add(100);
+        }
+        for (int i = 0; i < 10; i++) {
+            histogram.add(3000);
+        }
+
+        assertThat(histogram.getCount()).isEqualTo(100);
+        assertThat(histogram.getAverage()).isEqualTo(390);
+        assertThat(histogram.getMax()).isEqualTo(3000);
+        // 100 is in the bucket [64, 128), 3000 in [2048, 4096), capped by the max
+        assertThat(histogram.getPercentile(0.5)).isEqualTo(127);
+        assertThat(histogram.getPercentile(0.9)).isEqualTo(127);
+        assertThat(histogram.getPercentile(0.91)).isEqualTo(3000);
+    }
+}
@@ -0,0 +1,165 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.network.p2p.services.confidential.resend;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ResendQueueTest {
+    private static final int MAX_IN_FLIGHT = 10;
+    private static final long BASE_BACKOFF = TimeUnit.SECONDS.toMillis(15);
+    private static final long MAX_BACKOFF = TimeUnit.MINUTES.toMillis(30);
+
+    private final AtomicLong clock = new AtomicLong(1_000_000);
+    private final ResendQueue<String> queue = new ResendQueue<>(clock::get, MAX_IN_FLIGHT, BASE_BACKOFF, MAX_BACKOFF);
+
+    @Test
+    void dueMessagesAreGroupedByPeer() {
+        queue.schedule("a1", "alice", 0);
+        queue.schedule("b1", "bob", 0);
+        queue.schedule("a2", "alice", 0);
+        queue.schedule("a3", "alice", 1000);
+
+        Map<String, List<String>> batches = queue.pollDue();
+        assertThat(batches).containsOnlyKeys("alice", "bob");
+        assertThat(batches.get("alice")).containsExactly("a1", "a2");
+        assertThat(batches.get("bob")).containsExactly("b1");
+        assertThat(queue.getNextDueTime()).isEqualTo(clock.get() + 1000);
+    }
+
+    @Test
+    void rescheduleReplacesAndCancelRemoves() {
+        queue.schedule("a1", "alice", 0);
+        queue.schedule("a1", "alice", 5000);
+        queue.schedule("a2", "alice", 0);
+        assertThat(queue.cancel("a2")).isTrue();
+
+        assertThat(queue.pollDue()).isEmpty();
+        assertThat(queue.size()).isEqualTo(1);
+
+        clock.addAndGet(5000);
+        assertThat(queue.pollDue().get("alice")).containsExactly("a1");
+        assertThat(queue.getNextDueTime()).isEqualTo(-1);
+    }
+
+    @Test
+    void inFlightLimitIsEnforcedPerPeer() {
+        for (int i = 0; i < 25; i++) {
+            queue.schedule("a" + i, "alice", 0);
+        }
+        assertThat(queue.pollDue().get("alice")).hasSize(MAX_IN_FLIGHT);
+        assertThat(queue.pollDue()).isEmpty();
+        // Waiting messages do not keep the timer busy
+        assertThat(queue.getNextDueTime()).isEqualTo(-1);
+
+        queue.onSent("alice", true);
+        queue.onSent("alice", true);
+        queue.onSkipped("alice");
+        assertThat(queue.pollDue().get("alice")).containsExactly("a10", "a11", "a12");
+        assertThat(queue.getNumInFlight("alice")).isEqualTo(MAX_IN_FLIGHT);
+    }
+
+    @Test
+    void unreachablePeerIsBackedOffExponentially() {
+        queue.schedule("a1", "alice", 0);
+        for (int i = 1; i <= 10; i++) {
+            assertThat(queue.pollDue().get("alice")).containsExactly("a1");
+            queue.onSent("alice", false);
+            long expectedBackoff = Math.min(MAX_BACKOFF, BASE_BACKOFF << (i - 1));
+            assertThat(queue.getBackoffUntil("alice")).isEqualTo(clock.get() + expectedBackoff);
+
+            queue.schedule("a1", "alice", 0);
+            assertThat(queue.pollDue()).isEmpty();
+            assertThat(queue.getNextDueTime()).isEqualTo(clock.get() + expectedBackoff);
+            clock.addAndGet(expectedBackoff);
+        }
+
+        assertThat(queue.pollDue().get("alice")).containsExactly("a1");
+        queue.onSent("alice", true);
+        assertThat(queue.getBackoffUntil("alice")).isZero();
+    }
+
+    @Test
+    void tenThousandPendingMessages() {
+        int numPeers = 200;
+        int numMessages = 10_000;
+        Set<String> unreachablePeers = new HashSet<>();
+        for (int i = 0; i < numPeers; i += 5) {
+            unreachablePeers.add("peer" + i);
+        }
+        Map<String, String> peerByMessageId = new HashMap<>();
+        for (int i = 0; i < numMessages; i++) {
+            String messageId = "msg" + i;
+            String peer = "peer" + (i % numPeers);
+            peerByMessageId.put(messageId, peer);
+            queue.schedule(messageId, peer, 0);
+        }
+
+        Map<String, Integer> numSendsByMessageId = new HashMap<>();
+        Map<String, Integer> numAttemptsByUnreachablePeer = new HashMap<>();
+        long endTime = clock.get() + TimeUnit.HOURS.toMillis(1);
+        int numPolls = 0;
+        while (clock.get() < endTime) {
+            Map<String, List<String>> batches = queue.pollDue();
+            numPolls++;
+            batches.forEach((peer, messageIds) -> {
+                assertThat(messageIds.size()).isLessThanOrEqualTo(MAX_IN_FLIGHT);
+                assertThat(queue.getNumInFlight(peer)).isLessThanOrEqualTo(MAX_IN_FLIGHT);
+                messageIds.forEach(messageId -> assertThat(peerByMessageId.get(messageId)).isEqualTo(peer));
+
+                // Emulates ResendMessageService.resendBatch: the first message to an unreachable peer fails and
+                // the rest of the batch gets rescheduled without being sent.
+                if (unreachablePeers.contains(peer)) {
+                    numAttemptsByUnreachablePeer.merge(peer, 1, Integer::sum);
+                    queue.onSent(peer, false);
+                    messageIds.forEach(messageId -> queue.schedule(messageId, peer, 0));
+                    messageIds.stream().skip(1).forEach(messageId -> queue.onSkipped(peer));
+                } else {
+                    messageIds.forEach(messageId -> {
+                        numSendsByMessageId.merge(messageId, 1, Integer::sum);
+                        queue.onSent(peer, true);
+                    });
+                }
+            });
+
+            // Messages waiting for the in-flight limit get polled after the completion of the previous sends
+            long nextDueTime = queue.getNextDueTime();
+            if (nextDueTime < 0 && queue.size() == 0) {
+                break;
+            }
+            clock.set(Math.max(clock.get(), nextDueTime));
+        }
+
+        long numReachableMessages = peerByMessageId.values().stream()
+                .filter(peer -> !unreachablePeers.contains(peer))
+                .count();
+        assertThat(numSendsByMessageId).hasSize((int) numReachableMessages);
+        assertThat(numSendsByMessageId.values()).containsOnly(1);
+
+        // Sum of the backoff intervals within 1 hour: 15s, 30s, ..., 16 min, 30 min
+        assertThat(numAttemptsByUnreachablePeer).hasSize(unreachablePeers.size());
+        assertThat(Collections.max(numAttemptsByUnreachablePeer.values())).isLessThanOrEqualTo(9);
+        assertThat(queue.size()).isEqualTo(numMessages - (int) numReachableMessages);
+        assertThat(numPolls).isLessThan(100);
+    }
+}
@@ -0,0 +1,179 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.network.p2p.services.data.inventory;
+
+import bisq.common.data.ByteArray;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class InventoryStreamTest {
+    private static final int NUM_ENTRIES = 100_000;
+    private static final int MAX_CHUNK_SIZE = 64 * 1024;
+    private static final int MAX_CHUNKS_IN_FLIGHT = 4;
+
+    private static final class Entry {
+        private final ContinuationToken token;
+        private final int size;
+
+        private Entry(ContinuationToken token, int size) {
+            this.token = token;
+            this.size = size;
+        }
+    }
+
+    // Receiver side as done in InventoryStreamHandler and InventoryRequestService, connected to the stream by an
+    // in-memory wire.
+    private static final class Receiver {
+        private final Set<ContinuationToken> applied = new HashSet<>();
+        private int numApplied;
+        private Optional<ContinuationToken> resumeToken = Optional.empty();
+        private int maxNumInTransit;
+        private int maxChunkSize;
+
+        // Returns true if the last chunk was received, false if the connection was dropped before
+        boolean sync(InventoryStream<Entry> stream, int dropAfterChunks) {
+            Deque<InventoryStream.Chunk<Entry>> wire = new ArrayDeque<>(stream.start());
+            int expectedChunkIndex = 0;
+            while (!wire.isEmpty()) {
+                maxNumInTransit = Math.max(maxNumInTransit, wire.size());
+                if (expectedChunkIndex == dropAfterChunks) {
+                    return false;
+                }
+                InventoryStream.Chunk<Entry> chunk = wire.poll();
+                assertThat(chunk.getIndex()).isEqualTo(expectedChunkIndex++);
+                maxChunkSize = Math.max(maxChunkSize, chunk.getSize());
+                chunk.getEntries().forEach(entry -> {
+                    applied.add(entry.token);
+                    numApplied++;
+                });
+                if (!chunk.getEntries().isEmpty()) {
+                    resumeToken = Optional.of(chunk.getEntries().get(chunk.getEntries().size() - 1).token);
+                }
+                if (chunk.isLast()) {
+                    stream.onAck(chunk.getIndex());
+                    return true;
+                }
+                wire.addAll(stream.onAck(chunk.getIndex()));
+            }
+            return false;
+        }
+    }
+
+    @Test
+    void bootstrapResumesAtOtherPeerAfterConnectionLoss() {
+        List<Entry> allEntries = createEntries(NUM_ENTRIES, new Random(42));
+        Receiver receiver = new Receiver();
+
+        InventoryStream<Entry> streamFromPeer1 = createStream(allEntries, Optional.empty());
+        assertThat(receiver.sync(streamFromPeer1, 40)).isFalse();
+        assertThat(receiver.applied).hasSizeGreaterThan(0).hasSizeLessThan(NUM_ENTRIES);
+        assertThat(receiver.resumeToken).isPresent();
+
+        // Peer 2 holds the same data. We continue from our last token.
+        InventoryStream<Entry> streamFromPeer2 = createStream(allEntries, receiver.resumeToken);
+        assertThat(receiver.sync(streamFromPeer2, Integer.MAX_VALUE)).isTrue();
+        assertThat(streamFromPeer2.isCompleted()).isTrue();
+
+        assertThat(receiver.applied).hasSize(NUM_ENTRIES);
+        // Nothing was sent twice
+        assertThat(receiver.numApplied).isEqualTo(NUM_ENTRIES);
+        assertThat(receiver.maxChunkSize).isLessThanOrEqualTo(MAX_CHUNK_SIZE);
+        assertThat(receiver.maxNumInTransit).isLessThanOrEqualTo(MAX_CHUNKS_IN_FLIGHT);
+    }
+
+    @Test
+    void streamIsBoundedByWindow() {
+        List<Entry> entries = createEntries(1000, new Random(1));
+        InventoryStream<Entry> stream = new InventoryStream<>(entries, entry -> entry.size, 2000, 3);
+
+        List<InventoryStream.Chunk<Entry>> chunks = stream.start();
+        assertThat(chunks).hasSize(3);
+        assertThat(stream.getNumChunksInFlight()).isEqualTo(3);
+
+        // Ack for a chunk not sent yet is ignored
+        assertThat(stream.onAck(10)).isEmpty();
+
+        // Acks are cumulative
+        assertThat(stream.onAck(1)).extracting(InventoryStream.Chunk::getIndex).containsExactly(3, 4);
+        assertThat(stream.onAck(0)).isEmpty();
+        assertThat(stream.getNumChunksInFlight()).isEqualTo(3);
+        assertThat(stream.isCompleted()).isFalse();
+    }
+
+    @Test
+    void oversizedEntryIsSentAsSingleChunk() {
+        List<Entry> entries = List.of(new Entry(token(0, 0, 1), 100),
+                new Entry(token(0, 0, 2), 5000),
+                new Entry(token(0, 0, 3), 100));
+        InventoryStream<Entry> stream = new InventoryStream<>(entries, entry -> entry.size, 1000, 10);
+
+        List<InventoryStream.Chunk<Entry>> chunks = stream.start();
+        assertThat(chunks).extracting(chunk -> chunk.getEntries().size()).containsExactly(1, 1, 1);
+        assertThat(chunks.get(2).isLast()).isTrue();
+        assertThat(stream.onAck(2)).isEmpty();
+        assertThat(stream.isCompleted()).isTrue();
+    }
+
+    @Test
+    void emptyInventoryIsSentAsSingleLastChunk() {
+        InventoryStream<Entry> stream = new InventoryStream<>(new ArrayList<>(), entry -> entry.size, 1000, 4);
+
+        List<InventoryStream.Chunk<Entry>> chunks = stream.start();
+        assertThat(chunks).hasSize(1);
+        assertThat(chunks.get(0).getEntries()).isEmpty();
+        assertThat(chunks.get(0).isLast()).isTrue();
+    }
+
+    @Test
+    void tokenOrder() {
+        // Category ascending, then priority descending, then key unsigned ascending
+        assertThat(token(0, 0, 5).compareTo(token(1, 9, 1))).isNegative();
+        assertThat(token(0, 9, 5).compareTo(token(0, 1, 1))).isNegative();
+        assertThat(token(0, 1, 1).compareTo(token(0, 1, 0xFF))).isNegative();
+        assertThat(token(2, 1, 7).compareTo(token(2, 1, 7))).isZero();
+        assertThat(token(2, 1, 8).isAfter(token(2, 1, 7))).isTrue();
+    }
+
+    private static InventoryStream<Entry> createStream(List<Entry> allEntries, Optional<ContinuationToken> resumeToken) {
+        // Same as FilterService.getMissingEntries
+        List<Entry> entries = allEntries.stream()
+                .filter(entry -> resumeToken.map(token -> entry.token.isAfter(token)).orElse(true))
+                .sorted(Comparator.comparing(entry -> entry.token))
+                .collect(Collectors.toList());
+        return new InventoryStream<>(entries, entry -> entry.size, MAX_CHUNK_SIZE, MAX_CHUNKS_IN_FLIGHT);
+    }
+
+    private static List<Entry> createEntries(int numEntries, Random random) {
+        List<Entry> entries = new ArrayList<>(numEntries);
+        for (int i = 0; i < numEntries; i++) {
+            byte[] key = new byte[20];
+            random.nextBytes(key);
+            ContinuationToken token = new ContinuationToken(random.nextInt(5), random.nextInt(3), new ByteArray(key));
+            entries.add(new Entry(token, 200 + random.nextInt(1800)));
+        }
+        return entries;
+    }
+
+    private static ContinuationToken token(int category, int priority, int key) {
+        return new ContinuationToken(category, priority, new ByteArray(new byte[]{(byte) key}));
+    }
+}
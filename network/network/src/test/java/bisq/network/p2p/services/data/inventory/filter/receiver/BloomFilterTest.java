@@ -0,0 +1,76 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+package bisq.network.p2p.services.data.inventory.filter.receiver;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class BloomFilterTest {
+    private final Random random = new Random(42);
+
+    @Test
+    void containsAllElements() {
+        List<byte[]> elements = randomHashes(500);
+        BloomFilter bloomFilter = BloomFilter.create(elements, 0.01, 1);
+
+        elements.forEach(element -> assertThat(bloomFilter.mightContain(element)).isTrue());
+    }
+
+    @Test
+    void falsePositiveRateIsNearTarget() {
+        BloomFilter bloomFilter = BloomFilter.create(randomHashes(500), 0.01, 1);
+
+        int numTests = 20_000;
+        long numFalsePositives = randomHashes(numTests).stream()
+                .filter(bloomFilter::mightContain)
+                .count();
+        assertThat((double) numFalsePositives / numTests).isLessThan(0.02);
+    }
+
+    @Test
+    void tweakChangesBits() {
+        List<byte[]> elements = randomHashes(10);
+        BloomFilter bloomFilter1 = BloomFilter.create(elements, 0.01, 1);
+        BloomFilter bloomFilter2 = BloomFilter.create(elements, 0.01, 2);
+
+        assertThat(bloomFilter1.getBits()).isNotEqualTo(bloomFilter2.getBits());
+        elements.forEach(element -> assertThat(bloomFilter2.mightContain(element)).isTrue());
+    }
+
+    @Test
+    void protoRoundTrip() {
+        List<byte[]> elements = randomHashes(10);
+        BloomFilter bloomFilter = BloomFilter.create(elements, 0.01, 7);
+
+        assertThat(BloomFilter.fromProto(bloomFilter.toProto(false))).isEqualTo(bloomFilter);
+    }
+
+    private List<byte[]> randomHashes(int num) {
+        List<byte[]> hashes = new ArrayList<>();
+        for (int i = 0; i < num; i++) {
+            byte[] hash = new byte[20];
+            random.nextBytes(hash);
+            hashes.add(hash);
+        }
+        return hashes;
+    }
+}
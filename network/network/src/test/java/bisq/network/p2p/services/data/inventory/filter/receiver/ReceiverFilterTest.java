@@ -0,0 +1,61 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.network.p2p.services.data.inventory.filter.receiver;
+
+import bisq.common.data.ByteArray;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ReceiverFilterTest {
+    private final Random random = new Random(42);
+
+    @Test
+    void repeatedRequestsProduceIdenticalFilters() {
+        Set<ByteArray> receiverPubKeyHashes = randomHashes(10);
+        int tweak = ReceiverFilter.createTweak("secret".getBytes());
+
+        ReceiverFilter receiverFilter1 = ReceiverFilter.fromBloomFilter(receiverPubKeyHashes, 0.01, tweak);
+        ReceiverFilter receiverFilter2 = ReceiverFilter.fromBloomFilter(receiverPubKeyHashes, 0.01,
+                ReceiverFilter.createTweak("secret".getBytes()));
+
+        assertThat(receiverFilter2).isEqualTo(receiverFilter1);
+        assertThat(receiverFilter2.toProto(false).toByteArray()).isEqualTo(receiverFilter1.toProto(false).toByteArray());
+        receiverPubKeyHashes.forEach(hash -> assertThat(receiverFilter1.matches(hash)).isTrue());
+    }
+
+    @Test
+    void tweakDependsOnSecret() {
+        assertThat(ReceiverFilter.createTweak("secret1".getBytes()))
+                .isNotEqualTo(ReceiverFilter.createTweak("secret2".getBytes()));
+    }
+
+    private Set<ByteArray> randomHashes(int num) {
+        Set<ByteArray> hashes = new HashSet<>();
+        for (int i = 0; i < num; i++) {
+            byte[] hash = new byte[20];
+            random.nextBytes(hash);
+            hashes.add(new ByteArray(hash));
+        }
+        return hashes;
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+package bisq.network.p2p.services.data.storage;
+
+import bisq.common.data.ByteArray;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ExpiryIndexTest {
+    private final ExpiryIndex index = new ExpiryIndex();
+
+    @Test
+    void pollsOnlyExpiredKeysInOrder() {
+        ByteArray a = key(1);
+        ByteArray b = key(2);
+        ByteArray c = key(3);
+        index.put(c, 300);
+        index.put(a, 100);
+        index.put(b, 200);
+
+        assertThat(index.pollExpired(100)).isEmpty();
+        assertThat(index.pollExpired(250)).containsExactly(a, b);
+        assertThat(index.size()).isEqualTo(1);
+        assertThat(index.pollExpired(301)).containsExactly(c);
+        assertThat(index.size()).isEqualTo(0);
+    }
+
+    @Test
+    void replacedAndRemovedKeysAreSkipped() {
+        ByteArray a = key(1);
+        ByteArray b = key(2);
+        ByteArray c = key(3);
+        index.put(a, 100);
+        index.put(b, 100);
+        index.put(c, 100);
+        // New entry for a with later expiration
+        index.put(a, 500);
+        index.remove(b);
+        // Same expiration date again does not add a duplicate
+        index.put(c, 100);
+
+        assertThat(index.getHeapSize()).isEqualTo(4);
+        assertThat(index.pollExpired(200)).containsExactly(c);
+        assertThat(index.pollExpired(501)).containsExactly(a);
+        assertThat(index.getHeapSize()).isEqualTo(0);
+    }
+
+    @Test
+    void entriesWhichNeverExpireAreNotIndexed() {
+        ByteArray a = key(1);
+        index.put(a, 100);
+        index.put(a, Long.MAX_VALUE);
+
+        assertThat(index.size()).isEqualTo(0);
+        assertThat(index.pollExpired(Long.MAX_VALUE)).isEmpty();
+    }
+
+    @Test
+    void heapIsCompacted() {
+        ByteArray a = key(1);
+        for (int i = 0; i < 10_000; i++) {
+            index.put(a, i);
+        }
+        assertThat(index.size()).isEqualTo(1);
+        assertThat(index.getHeapSize()).isLessThanOrEqualTo(1001);
+        assertThat(index.pollExpired(10_000)).containsExactly(a);
+    }
+
+    // Applies random adds, refreshes and removes to the index and to a plain map, and compares the polled keys with
+    // the result of a full scan of the map at each pruning.
+    @Test
+    void consistentWithFullScan() {
+        Random random = new Random(7);
+        Map<ByteArray, Long> map = new HashMap<>();
+        List<ByteArray> keys = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            keys.add(key(i));
+        }
+        long now = 0;
+        for (int round = 0; round < 200; round++) {
+            for (int i = 0; i < 100; i++) {
+                ByteArray key = keys.get(random.nextInt(keys.size()));
+                int operation = random.nextInt(10);
+                if (operation < 6) {
+                    // Add or refresh with a new expiration date
+                    long expirationDate = random.nextInt(20) == 0 ? Long.MAX_VALUE : now + random.nextInt(10_000);
+                    map.put(key, expirationDate);
+                    index.put(key, expirationDate);
+                } else if (operation < 8) {
+                    // Put of the same entry again (e.g. sequence number update)
+                    if (map.containsKey(key)) {
+                        index.put(key, map.get(key));
+                    }
+                } else {
+                    map.remove(key);
+                    index.remove(key);
+                }
+            }
+            now += random.nextInt(500);
+
+            long date = now;
+            Set<ByteArray> expectedExpired = map.entrySet().stream()
+                    .filter(entry -> entry.getValue() < date)
+                    .map(Map.Entry::getKey)
+                    .collect(Collectors.toSet());
+            List<ByteArray> polled = index.pollExpired(now);
+
+            assertThat(new HashSet<>(polled)).isEqualTo(expectedExpired);
+            assertThat(polled).hasSize(expectedExpired.size());
+            expectedExpired.forEach(map::remove);
+
+            long numIndexed = map.values().stream().filter(expirationDate -> expirationDate != Long.MAX_VALUE).count();
+            assertThat(index.size()).isEqualTo((int) numIndexed);
+        }
+    }
+
+    private static ByteArray key(int i) {
+        return new ByteArray(new byte[]{(byte) (i >> 24), (byte) (i >> 16), (byte) (i >> 8), (byte) i});
+    }
+}
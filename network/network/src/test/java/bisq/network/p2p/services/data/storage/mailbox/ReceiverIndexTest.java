@@ -0,0 +1,72 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+package bisq.network.p2p.services.data.storage.mailbox;
+
+import bisq.common.data.ByteArray;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ReceiverIndexTest {
+    private final ReceiverIndex index = new ReceiverIndex();
+
+    @Test
+    void returnsKeysOfMatchingReceivers() {
+        ByteArray alice = bytes(100);
+        ByteArray bob = bytes(101);
+        index.put(bytes(1), alice);
+        index.put(bytes(2), alice);
+        index.put(bytes(3), bob);
+
+        assertThat(index.getKeys(alice::equals)).containsExactlyInAnyOrder(bytes(1), bytes(2));
+        assertThat(index.getKeys(bob::equals)).containsExactly(bytes(3));
+        assertThat(index.getKeys(receiver -> false)).isEmpty();
+        assertThat(index.getNumReceivers()).isEqualTo(2);
+    }
+
+    @Test
+    void keyMovesToNewReceiver() {
+        ByteArray alice = bytes(100);
+        ByteArray bob = bytes(101);
+        index.put(bytes(1), alice);
+        index.put(bytes(1), bob);
+
+        assertThat(index.getKeys(alice::equals)).isEmpty();
+        assertThat(index.getKeys(bob::equals)).containsExactly(bytes(1));
+        assertThat(index.getNumReceivers()).isEqualTo(1);
+    }
+
+    @Test
+    void removeDropsEmptyReceivers() {
+        ByteArray alice = bytes(100);
+        index.put(bytes(1), alice);
+        index.put(bytes(2), alice);
+
+        index.remove(bytes(1));
+        assertThat(index.getKeys(alice::equals)).containsExactly(bytes(2));
+
+        index.remove(bytes(2));
+        // Removing an unknown key has no effect
+        index.remove(bytes(3));
+        assertThat(index.getKeys(receiver -> true)).isEmpty();
+        assertThat(index.getNumReceivers()).isEqualTo(0);
+    }
+
+    private static ByteArray bytes(int value) {
+        return new ByteArray(new byte[]{(byte) value});
+    }
+}
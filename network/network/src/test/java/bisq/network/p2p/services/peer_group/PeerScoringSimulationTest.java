@@ -0,0 +1,196 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.network.p2p.services.peer_group;
+
+import bisq.network.common.Address;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Simulates peer selection over a synthetic peer population with hidden properties (handshake success probability,
+ * RTT, useful data probability). The scores are learned only from the observations of the simulated connections.
+ */
+public class PeerScoringSimulationTest {
+    private static final int NUM_HONEST_PEERS = 300;
+    private static final int NUM_ADVERSARY_PEERS = 30;
+    private static final int NUM_ROUNDS = 2000;
+    private static final int NUM_MEASURED_ROUNDS = 500;
+    private static final int NUM_SELECTED = 8;
+    private static final double EXPLORATION_SHARE = 0.25;
+
+    private static final class SimulatedPeer {
+        private final boolean isAdversary;
+        private final double successProbability;
+        private final double rtt;
+        private final double usefulDataProbability;
+        private final PeerScore peerScore;
+
+        private SimulatedPeer(int index, boolean isAdversary, double successProbability, double rtt, double usefulDataProbability) {
+            this.isAdversary = isAdversary;
+            this.successProbability = successProbability;
+            this.rtt = rtt;
+            this.usefulDataProbability = usefulDataProbability;
+            peerScore = new PeerScore(new Address("127.0.0.1", 10000 + index));
+        }
+
+        // The score we would expect from the hidden properties, ignoring uptime
+        private double getExpectedScore() {
+            return PeerScore.RELIABILITY_WEIGHT * successProbability +
+                    PeerScore.LATENCY_WEIGHT * PeerScore.RTT_REFERENCE / (PeerScore.RTT_REFERENCE + rtt) +
+                    PeerScore.USEFUL_DATA_WEIGHT * usefulDataProbability;
+        }
+    }
+
+    @Test
+    void weightedSelectionPrefersGoodPeersAndKeepsExploring() {
+        Random random = new Random(42);
+        List<SimulatedPeer> population = new ArrayList<>();
+        for (int i = 0; i < NUM_HONEST_PEERS; i++) {
+            population.add(new SimulatedPeer(i,
+                    false,
+                    0.3 + 0.7 * random.nextDouble(),
+                    200 + 4800 * random.nextDouble(),
+                    0.2 + 0.7 * random.nextDouble()));
+        }
+        // Adversary nodes are optimized for all metrics to get selected preferably
+        for (int i = 0; i < NUM_ADVERSARY_PEERS; i++) {
+            population.add(new SimulatedPeer(NUM_HONEST_PEERS + i, true, 1, 100, 1));
+        }
+
+        PeerSampler peerSampler = new PeerSampler(new Random(7));
+        Map<SimulatedPeer, Integer> numSelectionsByPeer = new HashMap<>();
+        for (int round = 0; round < NUM_ROUNDS; round++) {
+            List<SimulatedPeer> selected = peerSampler.sample(population,
+                    peer -> peer.peerScore.getSelectionWeight(),
+                    NUM_SELECTED,
+                    EXPLORATION_SHARE);
+            assertThat(new HashSet<>(selected)).hasSize(NUM_SELECTED);
+
+            for (SimulatedPeer peer : selected) {
+                simulateConnection(peer, random);
+                if (round >= NUM_ROUNDS - NUM_MEASURED_ROUNDS) {
+                    numSelectionsByPeer.merge(peer, 1, Integer::sum);
+                }
+            }
+        }
+
+        // Honest peers sorted by their hidden quality, best first
+        List<SimulatedPeer> honestPeers = population.stream()
+                .filter(peer -> !peer.isAdversary)
+                .sorted(Comparator.comparingDouble(SimulatedPeer::getExpectedScore).reversed())
+                .collect(Collectors.toList());
+        int quartileSize = honestPeers.size() / 4;
+        double numSelectionsOfBestQuartile = getAverageNumSelections(honestPeers.subList(0, quartileSize), numSelectionsByPeer);
+        double numSelectionsOfWorstQuartile = getAverageNumSelections(
+                honestPeers.subList(honestPeers.size() - quartileSize, honestPeers.size()), numSelectionsByPeer);
+        assertThat(numSelectionsOfBestQuartile).isGreaterThan(1.5 * numSelectionsOfWorstQuartile);
+
+        // Exploration and weighted sampling keep also the worst peers in use, so they can improve their score
+        assertThat(numSelectionsOfWorstQuartile).isGreaterThan(0);
+        long numDistinctSelectedHonestPeers = honestPeers.stream().filter(numSelectionsByPeer::containsKey).count();
+        assertThat(numDistinctSelectedHonestPeers).isGreaterThan(NUM_HONEST_PEERS / 2);
+
+        // Adversary peers are 9% of the population. Even with perfect metrics they must not dominate our selection.
+        int numSelections = numSelectionsByPeer.values().stream().mapToInt(Integer::intValue).sum();
+        int numAdversarySelections = population.stream()
+                .filter(peer -> peer.isAdversary)
+                .mapToInt(peer -> numSelectionsByPeer.getOrDefault(peer, 0))
+                .sum();
+        assertThat(numAdversarySelections / (double) numSelections).isLessThan(0.3);
+    }
+
+    @Test
+    void explorationShareIsIndependentOfWeights() {
+        // Candidates 0 to 9 have a high weight, 10 to 19 the minimum weight
+        List<Integer> candidates = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            candidates.add(i);
+        }
+        PeerSampler peerSampler = new PeerSampler(new Random(1));
+        int numTrials = 2000;
+        int numLowWeightSelections = 0;
+        for (int trial = 0; trial < numTrials; trial++) {
+            List<Integer> selected = peerSampler.sample(candidates, i -> i < 10 ? 1 : 0, 10, 0.2);
+            assertThat(selected).hasSize(10).doesNotHaveDuplicates();
+            numLowWeightSelections += (int) selected.stream().filter(i -> i >= 10).count();
+        }
+        // 8 weighted picks select almost only high weight candidates. The 2 random picks are taken from the 12
+        // remaining candidates, so we expect about 10/12 * 2 = 1.67 low weight candidates per trial.
+        assertThat(numLowWeightSelections / (double) numTrials).isBetween(1.5, 2.1);
+
+        // Without exploration the low weight candidates get selected rarely (expected about 0.14 per trial)
+        numLowWeightSelections = 0;
+        for (int trial = 0; trial < numTrials; trial++) {
+            List<Integer> selected = peerSampler.sample(candidates, i -> i < 10 ? 1 : 0, 8, 0);
+            numLowWeightSelections += (int) selected.stream().filter(i -> i >= 10).count();
+        }
+        assertThat(numLowWeightSelections / (double) numTrials).isLessThan(0.25);
+    }
+
+    @Test
+    void selectsAllIfNotEnoughCandidates() {
+        PeerSampler peerSampler = new PeerSampler(new Random(1));
+        assertThat(peerSampler.sample(List.of(1, 2, 3), i -> 0.5, 8, 0.25)).containsExactlyInAnyOrder(1, 2, 3);
+        assertThat(peerSampler.sample(List.<Integer>of(), i -> 0.5, 8, 0.25)).isEmpty();
+    }
+
+    @Test
+    void scoreRecoversAfterFailures() {
+        PeerScore peerScore = new PeerScore(new Address("127.0.0.1", 10000));
+        assertThat(peerScore.getScore()).isEqualTo(PeerScore.DEFAULT_SCORE);
+
+        for (int i = 0; i < 10; i++) {
+            peerScore.addHandshakeResult(false);
+        }
+        double scoreAfterFailures = peerScore.getScore();
+        assertThat(scoreAfterFailures).isLessThan(PeerScore.DEFAULT_SCORE);
+
+        for (int i = 0; i < 10; i++) {
+            peerScore.addHandshakeResult(true);
+            peerScore.addRtt(300);
+        }
+        assertThat(peerScore.getScore()).isGreaterThan(PeerScore.DEFAULT_SCORE);
+        assertThat(peerScore.getEwmaRtt()).isEqualTo(300);
+    }
+
+    private static double getAverageNumSelections(List<SimulatedPeer> peers, Map<SimulatedPeer, Integer> numSelectionsByPeer) {
+        return peers.stream().mapToInt(peer -> numSelectionsByPeer.getOrDefault(peer, 0)).average().orElse(0);
+    }
+
+    private static void simulateConnection(SimulatedPeer peer, Random random) {
+        boolean success = random.nextDouble() < peer.successProbability;
+        peer.peerScore.addHandshakeResult(success);
+        if (success) {
+            peer.peerScore.addRtt(peer.rtt * (0.8 + 0.4 * random.nextDouble()));
+            peer.peerScore.addDataExchangeResult(random.nextDouble() < peer.usefulDataProbability);
+            // Reliable peers stay online longer
+            peer.peerScore.addUptime((long) (TimeUnit.MINUTES.toMillis(30) * peer.successProbability * random.nextDouble()));
+        }
+    }
+}
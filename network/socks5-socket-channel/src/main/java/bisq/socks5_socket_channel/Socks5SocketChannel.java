@@ -21,6 +21,7 @@ import bisq.socks5_socket_channel.messages.Socks5ConnectMessage;
 import bisq.socks5_socket_channel.messages.Socks5RequestMessage;
 
 import java.io.Closeable;
+import java.io.EOFException;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.channels.ReadableByteChannel;
@@ -41,44 +42,47 @@ public class Socks5SocketChannel implements Closeable, ReadableByteChannel, Writ
     public SocketChannel connect(Socks5ConnectionData connectionData, ByteBuffer byteBuffer) throws IOException {
         socketChannel.connect(connectionData.getSocks5ProxySocketAddress());
 
-        negotiateProtocol(byteBuffer);
-        connectToDestination(
-                byteBuffer,
+        // As we only offer the no-authentication method we can pipeline the method selection and the connect
+        // request and save a round trip.
+        byteBuffer.clear();
+        Socks5ConnectMessage.writeToByteBuffer(byteBuffer);
+        Socks5RequestMessage connectionRequestMessage = new Socks5RequestMessage(
                 connectionData.getDestinationHostName(),
                 connectionData.getDestinationPort()
         );
-
-        byteBuffer.clear();
-        return socketChannel;
-    }
-
-    private void negotiateProtocol(ByteBuffer byteBuffer) throws IOException {
-        byteBuffer.clear();
-        Socks5ConnectMessage.writeToByteBuffer(byteBuffer);
+        connectionRequestMessage.writeToByteBuffer(byteBuffer);
 
         byteBuffer.flip();
-        write(byteBuffer);
+        writeFully(byteBuffer);
 
-        byteBuffer.clear();
-        read(byteBuffer);
-
-        byteBuffer.flip();
+        readExactly(byteBuffer, Socks5ConnectMessage.SERVER_REPLY_LENGTH);
         Socks5ConnectMessage.processServerReply(byteBuffer);
-    }
 
-    private void connectToDestination(ByteBuffer byteBuffer, String hostName, int port) throws IOException {
+        // We must consume the full reply including the bound address, otherwise the remaining bytes would end
+        // up in the application data stream.
+        readExactly(byteBuffer, Socks5RequestMessage.SERVER_REPLY_HEADER_LENGTH);
+        int remainingReplyLength = connectionRequestMessage.processServerReply(byteBuffer);
+        readExactly(byteBuffer, remainingReplyLength);
+
         byteBuffer.clear();
-        Socks5RequestMessage connectionRequestMessage = new Socks5RequestMessage(hostName, port);
-        connectionRequestMessage.writeToByteBuffer(byteBuffer);
+        return socketChannel;
+    }
 
-        byteBuffer.flip();
-        socketChannel.write(byteBuffer);
+    private void writeFully(ByteBuffer byteBuffer) throws IOException {
+        while (byteBuffer.hasRemaining()) {
+            write(byteBuffer);
+        }
+    }
 
+    private void readExactly(ByteBuffer byteBuffer, int numBytes) throws IOException {
         byteBuffer.clear();
-        socketChannel.read(byteBuffer);
+        byteBuffer.limit(numBytes);
+        while (byteBuffer.hasRemaining()) {
+            if (read(byteBuffer) == -1) {
+                throw new EOFException("SOCKS5 proxy closed the connection.");
+            }
+        }
         byteBuffer.flip();
-
-        connectionRequestMessage.processServerReply(byteBuffer);
     }
 
     @Override
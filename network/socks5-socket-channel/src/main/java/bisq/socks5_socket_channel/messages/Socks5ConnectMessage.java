@@ -20,6 +20,8 @@ package bisq.socks5_socket_channel.messages;
 import java.nio.ByteBuffer;
 
 public class Socks5ConnectMessage {
+    public static final int SERVER_REPLY_LENGTH = 2;
+
     private static final byte VERSION = 5;
     private static final byte NUMBER_OF_SUPPORTED_AUTH_METHODS = 1;
     private static final byte NO_AUTHENTICATION_METHOD = 0;
@@ -20,10 +20,16 @@ package bisq.socks5_socket_channel.messages;
 import java.nio.ByteBuffer;
 
 public class Socks5RequestMessage {
+    // VER, REP, RSV, ATYP and the first byte of the bound address
+    public static final int SERVER_REPLY_HEADER_LENGTH = 5;
+
     private static final byte VERSION = 5;
     private static final byte CONNECT_CMD = 1;
     private static final byte RESERVED_FIELD = 0;
+    private static final byte IPV4_ADDRESS_TYPE = 1;
     private static final byte DOMAIN_ADDRESS_TYPE = 3;
+    private static final byte IPV6_ADDRESS_TYPE = 4;
+    private static final int PORT_LENGTH = 2;
 
     private static final byte CONNECTION_SUCCEEDED_RESPONSE = 0;
 
@@ -52,7 +58,10 @@ public class Socks5RequestMessage {
         byteBuffer.put(portInBytes);
     }
 
-    public void processServerReply(ByteBuffer byteBuffer) {
+    /**
+     * @return The number of remaining bytes of the server reply (rest of bound address and port).
+     */
+    public int processServerReply(ByteBuffer byteBuffer) {
         byte serverVersion = byteBuffer.get();
         if (serverVersion != VERSION) {
             throw new IllegalStateException("Server does not support SOCKS5 proxy");
@@ -60,7 +69,22 @@ public class Socks5RequestMessage {
 
         byte replyField = byteBuffer.get();
         if (replyField != CONNECTION_SUCCEEDED_RESPONSE) {
-            throw new IllegalStateException("Couldn't connect to destination.");
+            throw new IllegalStateException("Couldn't connect to destination. Reply code: " + replyField);
+        }
+
+        byteBuffer.get(); // reserved
+        byte addressType = byteBuffer.get();
+        byte firstAddressByte = byteBuffer.get();
+        switch (addressType) {
+            case IPV4_ADDRESS_TYPE:
+                return 4 - 1 + PORT_LENGTH;
+            case DOMAIN_ADDRESS_TYPE:
+                // First byte is the length of the domain name
+                return (firstAddressByte & 0xFF) + PORT_LENGTH;
+            case IPV6_ADDRESS_TYPE:
+                return 16 - 1 + PORT_LENGTH;
+            default:
+                throw new IllegalStateException("Unknown address type in server reply: " + addressType);
         }
     }
 }
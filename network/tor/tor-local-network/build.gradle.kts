@@ -11,5 +11,7 @@ application {
 dependencies {
     implementation(project(":tor-common"))
     implementation(project(":tor"))
+
+    implementation("bisq:security")
     implementation(libs.chimp.jtorctl)
 }
\ No newline at end of file
@@ -0,0 +1,109 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.tor.local_network;
+
+import bisq.security.keys.TorKeyGeneration;
+import bisq.security.keys.TorKeyPair;
+import bisq.tor.TorService;
+import bisq.tor.TorTransportConfig;
+import bisq.tor.onionservice.CreateOnionServiceResponse;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ConcurrentOnionServicePublishTests {
+    private static final String PASSPHRASE = "my_passphrase";
+    private static final int NUM_ONION_SERVICES = 5;
+
+    @Test
+    public void publishOnionServicesConcurrently(@TempDir Path tempDir) throws Exception {
+        TorNetwork torNetwork = new TorNetwork(tempDir)
+                .addDirAuth(PASSPHRASE)
+                .addDirAuth(PASSPHRASE)
+                .addDirAuth(PASSPHRASE)
+
+                .addRelay()
+                .addRelay()
+                .addRelay()
+                .addRelay()
+                .addRelay();
+        torNetwork.start();
+
+        TorService torService = createTorService(tempDir.resolve("bisq_client"), torNetwork);
+        try {
+            torService.initialize().get(5, TimeUnit.MINUTES);
+
+            Map<TorKeyPair, Integer> portByTorKeyPair = new HashMap<>();
+            for (int i = 0; i < NUM_ONION_SERVICES; i++) {
+                portByTorKeyPair.put(TorKeyGeneration.generateKeyPair(), 10_000 + i);
+            }
+
+            // All ADD_ONION commands are sent before any HS descriptor upload completed
+            List<CompletableFuture<CreateOnionServiceResponse>> futures = portByTorKeyPair.entrySet().stream()
+                    .map(entry -> torService.createOnionService(entry.getValue(), entry.getKey()))
+                    .collect(Collectors.toList());
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(5, TimeUnit.MINUTES);
+            List<CreateOnionServiceResponse> responses = futures.stream()
+                    .map(CompletableFuture::join)
+                    .collect(Collectors.toList());
+
+            Set<String> expectedHosts = portByTorKeyPair.keySet().stream()
+                    .map(TorKeyPair::getOnionAddress)
+                    .collect(Collectors.toSet());
+            Set<String> publishedHosts = responses.stream()
+                    .map(response -> response.getOnionAddress().getHost())
+                    .collect(Collectors.toSet());
+            assertThat(publishedHosts).isEqualTo(expectedHosts);
+
+            for (CreateOnionServiceResponse response : responses) {
+                response.getServerSocket().close();
+            }
+        } finally {
+            torService.shutdown().join();
+            torNetwork.stop();
+        }
+    }
+
+    private TorService createTorService(Path dataDir, TorNetwork torNetwork) throws IOException {
+        Files.createDirectories(dataDir);
+        var transportConfig = new TorTransportConfig(dataDir,
+                -1,
+                (int) TimeUnit.MINUTES.toMillis(5),
+                (int) TimeUnit.MINUTES.toMillis(5),
+                (int) TimeUnit.SECONDS.toMillis(120),
+                (int) TimeUnit.SECONDS.toMillis(600),
+                true,
+                torNetwork.getDirectoryAuthorities(),
+                Map.of(),
+                0,
+                0);
+        return new TorService(transportConfig);
+    }
+}
@@ -115,6 +115,17 @@ public class TorNetwork {
         startProcesses();
     }
 
+    public void stop() {
+        allTorProcesses.forEach(Process::destroy);
+        allTorProcesses.clear();
+    }
+
+    public Set<DirectoryAuthority> getDirectoryAuthorities() {
+        return dirAuthFactory.getAllDirectoryAuthorities().stream()
+                .map(TorNode::toDirectoryAuthority)
+                .collect(Collectors.toSet());
+    }
+
     private void createDataDirIfNotPresent(Path nodeDataDirPath) {
         File nodeDataDirFile = nodeDataDirPath.toFile();
         if (nodeDataDirFile.exists()) {
@@ -156,6 +156,14 @@ public class TorService implements Service {
         return socksProxyFactory.getSocks5Proxy(streamId);
     }
 
+    /**
+     * @return The SOCKS port determined at initialize. Does not query the control port, as an external Tor (e.g.
+     * on Whonix) might not allow it.
+     */
+    public Optional<Integer> getSocksPort() {
+        return torSocksProxyFactory.map(TorSocksProxyFactory::getSocksPort);
+    }
+
     private Path getTorBinaryPath() {
         if (OsUtils.isLinux()) {
             Optional<Path> systemTorBinaryPath = NativeTorProcess.getSystemTorPath();
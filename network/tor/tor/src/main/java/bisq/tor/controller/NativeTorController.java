@@ -37,8 +37,9 @@ import java.io.IOException;
 import java.net.Socket;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
-import java.util.Collections;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -49,9 +50,10 @@ public class NativeTorController implements BootstrapEventListener, HsDescUpload
     private final int hsUploadTimeout;// in ms
     private final AtomicBoolean isRunning = new AtomicBoolean();
     private final CountDownLatch isBootstrappedCountdownLatch = new CountDownLatch(1);
-    private final CountDownLatch isHsDescUploadedCountdownLatch = new CountDownLatch(1);
     private final ControllerEventHandler controllerEventHandler = new ControllerEventHandler();
-    private final CompletableFuture<String> hiddenServiceAddress = new CompletableFuture<>();
+    // Pending HS_DESC uploads keyed by service ID (onion address without the '.onion' suffix)
+    private final Map<String, CompletableFuture<Void>> pendingHsDescUploadByServiceId = new ConcurrentHashMap<>();
+    private final List<String> subscribedEvents = new ArrayList<>();
     private Optional<TorControlConnection> torControlConnection = Optional.empty();
     @Getter
     private final Observable<BootstrapEvent> bootstrapEvent = new Observable<>();
@@ -106,30 +108,43 @@ public class NativeTorController implements BootstrapEventListener, HsDescUpload
         }
     }
 
-    public TorControlConnection.CreateHiddenServiceResult createHiddenService(
-            int hiddenServicePort, int localPort, TorKeyPair torKeyPair) throws IOException {
+    /**
+     * Sends ADD_ONION and returns a future which completes once the HS descriptor got uploaded.
+     * The ADD_ONION command itself returns quickly, thus several onion services can be published in parallel.
+     * HS_DESC events are demultiplexed by the service ID.
+     */
+    public CompletableFuture<TorControlConnection.CreateHiddenServiceResult> createHiddenService(
+            int hiddenServicePort, int localPort, TorKeyPair torKeyPair) {
         TorControlConnection controlConnection = torControlConnection.orElseThrow();
 
-        controllerEventHandler.addHsDescUploadedListener(this);
-        setEventSubscriptionsOnConnection(controlConnection, List.of("HS_DESC"));
+        // We register the future before sending ADD_ONION to not miss an early UPLOADED event.
+        String serviceId = toServiceId(torKeyPair.getOnionAddress());
+        CompletableFuture<Void> hsDescUploaded = new CompletableFuture<>();
+        pendingHsDescUploadByServiceId.put(serviceId, hsDescUploaded);
+        addHsDescUploadedEventListener(controlConnection);
 
         TorControlConnection.CreateHiddenServiceResult result;
-        result = controlConnection.createHiddenService(hiddenServicePort, localPort,
-                torKeyPair.getPrivateKeyInOpenSshFormat());
-        hiddenServiceAddress.complete(result.serviceID);
-
         try {
-            boolean isSuccess = isHsDescUploadedCountdownLatch.await(hsUploadTimeout, TimeUnit.MILLISECONDS);
-            if (isSuccess) {
-                removeHsDescUploadedEventListener();
-            } else {
-                throw new HsDescUploadFailedException("HS_DESC upload timeout triggered.");
-            }
-        } catch (InterruptedException e) {
-            throw new HsDescUploadFailedException(e);
+            result = controlConnection.createHiddenService(hiddenServicePort, localPort,
+                    torKeyPair.getPrivateKeyInOpenSshFormat());
+        } catch (IOException e) {
+            removePendingHsDescUpload(serviceId);
+            return CompletableFuture.failedFuture(e);
+        }
+
+        if (!serviceId.equals(result.serviceID)) {
+            removePendingHsDescUpload(serviceId);
+            return CompletableFuture.failedFuture(
+                    new HsDescUploadFailedException("Unexpected service ID " + result.serviceID));
         }
 
-        return result;
+        CompletableFuture.delayedExecutor(hsUploadTimeout, TimeUnit.MILLISECONDS)
+                .execute(() -> hsDescUploaded.completeExceptionally(
+                        new HsDescUploadFailedException("HS_DESC upload timeout triggered.")));
+
+        return hsDescUploaded
+                .whenComplete((nil, throwable) -> removePendingHsDescUpload(serviceId))
+                .thenApply(nil -> result);
     }
 
     public boolean isHiddenServiceAvailable(String onionUrl) {
@@ -209,17 +224,24 @@ public class NativeTorController implements BootstrapEventListener, HsDescUpload
     @Override
     public void onHsDescUploaded(HsDescUploadedEvent uploadedEvent) {
         log.info("Tor HS_DESC event: {}", uploadedEvent);
-        try {
-            String hsAddress = hiddenServiceAddress.get(hsUploadTimeout, TimeUnit.MILLISECONDS);
-            if (hsAddress.equals(uploadedEvent.getHsAddress())) {
-                isHsDescUploadedCountdownLatch.countDown();
-            } else {
-                throw new HsDescUploadFailedException("Unknown hidden service descriptor uploaded");
-            }
-        } catch (TimeoutException e) {
-            throw new HsDescUploadFailedException("Timeout at uploading hidden service");
-        } catch (ExecutionException | InterruptedException e) {
-            throw new IllegalStateException(e);
+        CompletableFuture<Void> hsDescUploaded = pendingHsDescUploadByServiceId.get(uploadedEvent.getHsAddress());
+        if (hsDescUploaded != null) {
+            hsDescUploaded.complete(null);
+        } else {
+            log.debug("HS_DESC event for a service we do not wait for. hsAddress={}", uploadedEvent.getHsAddress());
+        }
+    }
+
+    private synchronized void subscribeEvent(TorControlConnection controlConnection, String event) {
+        if (!subscribedEvents.contains(event)) {
+            subscribedEvents.add(event);
+            setEventSubscriptionsOnConnection(controlConnection, subscribedEvents);
+        }
+    }
+
+    private synchronized void unsubscribeEvent(TorControlConnection controlConnection, String event) {
+        if (subscribedEvents.remove(event)) {
+            setEventSubscriptionsOnConnection(controlConnection, subscribedEvents);
         }
     }
 
@@ -231,26 +253,38 @@ public class NativeTorController implements BootstrapEventListener, HsDescUpload
         }
     }
 
-    private void clearAllEventSubscriptionsOnConnection(TorControlConnection controlConnection) {
-        setEventSubscriptionsOnConnection(controlConnection, Collections.emptyList());
-    }
-
     private void addBootstrapEventListener(TorControlConnection controlConnection) {
         controllerEventHandler.addBootstrapListener(this);
         controlConnection.setEventHandler(controllerEventHandler);
-        setEventSubscriptionsOnConnection(controlConnection, List.of("STATUS_CLIENT"));
+        subscribeEvent(controlConnection, "STATUS_CLIENT");
     }
 
     private void removeBootstrapEventListener() {
         TorControlConnection controlConnection = torControlConnection.orElseThrow();
         controllerEventHandler.removeBootstrapListener(this);
-        clearAllEventSubscriptionsOnConnection(controlConnection);
+        unsubscribeEvent(controlConnection, "STATUS_CLIENT");
     }
 
-    private void removeHsDescUploadedEventListener() {
-        TorControlConnection controlConnection = torControlConnection.orElseThrow();
-        controllerEventHandler.removeHsDescUploadedListener(this);
-        clearAllEventSubscriptionsOnConnection(controlConnection);
+    private synchronized void addHsDescUploadedEventListener(TorControlConnection controlConnection) {
+        controllerEventHandler.addHsDescUploadedListener(this);
+        // In case of Whonix we did not register the event handler at bootstrap
+        controlConnection.setEventHandler(controllerEventHandler);
+        subscribeEvent(controlConnection, "HS_DESC");
+    }
+
+    private synchronized void removePendingHsDescUpload(String serviceId) {
+        pendingHsDescUploadByServiceId.remove(serviceId);
+        if (pendingHsDescUploadByServiceId.isEmpty()) {
+            TorControlConnection controlConnection = torControlConnection.orElseThrow();
+            controllerEventHandler.removeHsDescUploadedListener(this);
+            unsubscribeEvent(controlConnection, "HS_DESC");
+        }
+    }
+
+    private static String toServiceId(String onionAddress) {
+        return onionAddress.endsWith(".onion") ?
+                onionAddress.substring(0, onionAddress.length() - ".onion".length()) :
+                onionAddress;
     }
 
     private boolean isBootstrapTimeoutTriggered() {
@@ -20,50 +20,49 @@ package bisq.tor.onionservice;
 import bisq.security.keys.TorKeyPair;
 import bisq.tor.controller.NativeTorController;
 import lombok.extern.slf4j.Slf4j;
-import net.freehaven.tor.control.TorControlConnection;
 
-import java.io.IOException;
-import java.nio.file.Path;
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
 
 @Slf4j
 public class OnionServicePublishService {
     private final NativeTorController nativeTorController;
-    private final Map<String, CompletableFuture<OnionAddress>> onionAddressMap = new HashMap<>();
+    private final Map<String, CompletableFuture<OnionAddress>> onionAddressMap = new ConcurrentHashMap<>();
 
     public OnionServicePublishService(NativeTorController nativeTorController) {
         this.nativeTorController = nativeTorController;
     }
 
-    public synchronized CompletableFuture<OnionAddress> publish(TorKeyPair torKeyPair, int onionServicePort, int localPort) {
+    /**
+     * Publishes the onion service. Does not block until the HS descriptor is uploaded, so that the services
+     * for multiple identities get published concurrently.
+     */
+    public CompletableFuture<OnionAddress> publish(TorKeyPair torKeyPair, int onionServicePort, int localPort) {
         String onionAddressString = torKeyPair.getOnionAddress();
-        if (onionAddressMap.containsKey(onionAddressString)) {
-            return onionAddressMap.get(onionAddressString);
-        }
-
         CompletableFuture<OnionAddress> completableFuture = new CompletableFuture<>();
-        onionAddressMap.put(onionAddressString, completableFuture);
-
-        try {
-            TorControlConnection.CreateHiddenServiceResult jTorResult =
-                    nativeTorController.createHiddenService(onionServicePort, localPort, torKeyPair);
-
-            var onionAddress = new OnionAddress(jTorResult.serviceID + ".onion", onionServicePort);
-            completableFuture.complete(onionAddress);
-
-        } catch (IOException e) {
-            log.error("Couldn't create hidden service");
-            completableFuture.completeExceptionally(e);
+        CompletableFuture<OnionAddress> existing = onionAddressMap.putIfAbsent(onionAddressString, completableFuture);
+        if (existing != null) {
+            return existing;
         }
 
+        nativeTorController.createHiddenService(onionServicePort, localPort, torKeyPair)
+                .whenComplete((jTorResult, throwable) -> {
+                    if (throwable == null) {
+                        completableFuture.complete(new OnionAddress(jTorResult.serviceID + ".onion", onionServicePort));
+                    } else {
+                        log.error("Couldn't create hidden service", throwable);
+                        // Allow a later retry
+                        onionAddressMap.remove(onionAddressString, completableFuture);
+                        completableFuture.completeExceptionally(throwable);
+                    }
+                });
         return completableFuture;
     }
 
-    public synchronized Optional<OnionAddress> findOnionAddress(String onionAddressString) {
+    public Optional<OnionAddress> findOnionAddress(String onionAddressString) {
         try {
             CompletableFuture<OnionAddress> completableFuture = onionAddressMap.get(onionAddressString);
             if (completableFuture == null) {
@@ -0,0 +1,180 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.offer.book;
+
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Index over amount ranges supporting the query for all entries whose range contains a given amount.
+ * Implemented as a treap ordered by the min. amount (and the offer ID for uniqueness), where each node keeps the
+ * largest max. amount of its subtree. Subtrees which cannot contain a matching range are skipped, so a query takes
+ * O(log n + k) with k being the number of matches. Add and remove take O(log n). All operations are expected values
+ * as the balance of the treap depends on the random priorities.
+ * Not thread safe.
+ */
+final class AmountRangeIndex<T> {
+    private static final class Node<T> {
+        private final long minAmount;
+        private final long maxAmount;
+        private final String id;
+        private final T value;
+        private final int priority;
+        private Node<T> left, right;
+        private long subtreeMaxAmount;
+
+        private Node(long minAmount, long maxAmount, String id, T value, int priority) {
+            this.minAmount = minAmount;
+            this.maxAmount = maxAmount;
+            this.id = id;
+            this.value = value;
+            this.priority = priority;
+            subtreeMaxAmount = maxAmount;
+        }
+    }
+
+    private final Random random = new Random();
+    private Node<T> root;
+    private int size;
+
+    void add(String id, long minAmount, long maxAmount, T value) {
+        root = insert(root, new Node<>(minAmount, maxAmount, id, value, random.nextInt()));
+        size++;
+    }
+
+    /**
+     * @param minAmount The min. amount the entry was added with. Required for locating the entry.
+     */
+    boolean remove(String id, long minAmount) {
+        int previousSize = size;
+        root = remove(root, id, minAmount);
+        return size < previousSize;
+    }
+
+    void collectContaining(long amount, List<T> result) {
+        collectContaining(root, amount, result);
+    }
+
+    int size() {
+        return size;
+    }
+
+    private Node<T> insert(Node<T> node, Node<T> newNode) {
+        if (node == null) {
+            return newNode;
+        }
+        if (compare(newNode.minAmount, newNode.id, node) < 0) {
+            node.left = insert(node.left, newNode);
+            if (node.left.priority > node.priority) {
+                node = rotateRight(node);
+            }
+        } else {
+            node.right = insert(node.right, newNode);
+            if (node.right.priority > node.priority) {
+                node = rotateLeft(node);
+            }
+        }
+        update(node);
+        return node;
+    }
+
+    private Node<T> remove(Node<T> node, String id, long minAmount) {
+        if (node == null) {
+            return null;
+        }
+        int result = compare(minAmount, id, node);
+        if (result == 0) {
+            size--;
+            return merge(node.left, node.right);
+        }
+        if (result < 0) {
+            node.left = remove(node.left, id, minAmount);
+        } else {
+            node.right = remove(node.right, id, minAmount);
+        }
+        update(node);
+        return node;
+    }
+
+    private void collectContaining(Node<T> node, long amount, List<T> result) {
+        if (node == null || node.subtreeMaxAmount < amount) {
+            return;
+        }
+        collectContaining(node.left, amount, result);
+        // All nodes in the right subtree have a min. amount >= the min. amount of that node
+        if (node.minAmount <= amount) {
+            if (node.maxAmount >= amount) {
+                result.add(node.value);
+            }
+            collectContaining(node.right, amount, result);
+        }
+    }
+
+    // All entries in first are smaller than the entries in second
+    private Node<T> merge(Node<T> first, Node<T> second) {
+        if (first == null) {
+            return second;
+        }
+        if (second == null) {
+            return first;
+        }
+        if (first.priority > second.priority) {
+            first.right = merge(first.right, second);
+            update(first);
+            return first;
+        } else {
+            second.left = merge(first, second.left);
+            update(second);
+            return second;
+        }
+    }
+
+    private Node<T> rotateRight(Node<T> node) {
+        Node<T> left = node.left;
+        node.left = left.right;
+        update(node);
+        left.right = node;
+        update(left);
+        return left;
+    }
+
+    private Node<T> rotateLeft(Node<T> node) {
+        Node<T> right = node.right;
+        node.right = right.left;
+        update(node);
+        right.left = node;
+        update(right);
+        return right;
+    }
+
+    private static <T> void update(Node<T> node) {
+        long max = node.maxAmount;
+        if (node.left != null) {
+            max = Math.max(max, node.left.subtreeMaxAmount);
+        }
+        if (node.right != null) {
+            max = Math.max(max, node.right.subtreeMaxAmount);
+        }
+        node.subtreeMaxAmount = max;
+    }
+
+    private static <T> int compare(long minAmount, String id, Node<T> node) {
+        int result = Long.compare(minAmount, node.minAmount);
+        return result != 0 ? result : id.compareTo(node.id);
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.offer.book;
+
+import bisq.common.currency.Market;
+import bisq.common.monetary.Monetary;
+import bisq.common.monetary.PriceQuote;
+import bisq.offer.Direction;
+import bisq.offer.Offer;
+import bisq.offer.price.spec.PriceSpec;
+import lombok.EqualsAndHashCode;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Thread safe index of offers by market and maker's direction, fed by the offer message stream (e.g. the offers
+ * contained in the offerbook chat messages).
+ * Answers best price, offers at a price level and offers matching an amount in O(log n) (plus the number of
+ * returned offers) instead of iterating over all offers.
+ * Offers are identified by their ID. Adding an offer with a known ID but different content replaces the old one.
+ */
+public class OfferBook<T extends Offer<?, ?>> {
+    @EqualsAndHashCode
+    private static final class SideKey {
+        private final Market market;
+        private final Direction makersDirection;
+
+        private SideKey(Market market, Direction makersDirection) {
+            this.market = market;
+            this.makersDirection = makersDirection;
+        }
+    }
+
+    private final Map<String, T> offerById = new ConcurrentHashMap<>();
+    private final Map<SideKey, OfferBookSide<T>> sideByKey = new ConcurrentHashMap<>();
+    private final Object lock = new Object();
+
+    /**
+     * @return True if the offer was added or replaced an offer with the same ID, false if it was already present.
+     */
+    public boolean add(T offer) {
+        synchronized (lock) {
+            T previous = offerById.get(offer.getId());
+            if (offer.equals(previous)) {
+                return false;
+            }
+            if (previous != null) {
+                removeFromSide(previous);
+            }
+            offerById.put(offer.getId(), offer);
+            getSide(offer).add(offer);
+            return true;
+        }
+    }
+
+    public boolean remove(String offerId) {
+        synchronized (lock) {
+            T offer = offerById.remove(offerId);
+            if (offer == null) {
+                return false;
+            }
+            removeFromSide(offer);
+            return true;
+        }
+    }
+
+    public void clear() {
+        synchronized (lock) {
+            offerById.clear();
+            sideByKey.clear();
+        }
+    }
+
+    public Optional<T> findOffer(String offerId) {
+        return Optional.ofNullable(offerById.get(offerId));
+    }
+
+    public List<T> getOffers() {
+        return new ArrayList<>(offerById.values());
+    }
+
+    public int getNumOffers() {
+        return offerById.size();
+    }
+
+    public int getNumOffers(Market market, Direction makersDirection) {
+        return findSide(market, makersDirection).map(OfferBookSide::size).orElse(0);
+    }
+
+    /**
+     * @param marketPrice Used for comparing float and market price offers with fix price offers. If not present,
+     *                    only fix price offers are considered.
+     * @return The offer with the best price for the taker: the lowest price of sell offers or the highest price of
+     * buy offers.
+     */
+    public Optional<T> findBestPriceOffer(Market market, Direction makersDirection, Optional<PriceQuote> marketPrice) {
+        return findSide(market, makersDirection).flatMap(side -> side.findBestPriceOffer(marketPrice));
+    }
+
+    /**
+     * @return The offers at the same price level as the given priceSpec. Fix price offers are at the same level if
+     * their price is the same, float price offers if their percentage is the same. Market price offers are at the
+     * level of a float price of 0%.
+     */
+    public List<T> getOffersAtPrice(Market market, Direction makersDirection, PriceSpec priceSpec) {
+        return findSide(market, makersDirection)
+                .map(side -> side.getOffersAtPrice(priceSpec))
+                .orElseGet(ArrayList::new);
+    }
+
+    /**
+     * @param amount Amount in the base or quote currency of the market. Only offers with an amount spec of that side
+     *               are considered.
+     * @return The offers whose amount range contains the amount or whose fixed amount equals the amount.
+     */
+    public List<T> getOffersMatchingAmount(Market market, Direction makersDirection, Monetary amount) {
+        return findSide(market, makersDirection)
+                .map(side -> side.getOffersMatchingAmount(amount))
+                .orElseGet(ArrayList::new);
+    }
+
+    private OfferBookSide<T> getSide(T offer) {
+        return sideByKey.computeIfAbsent(new SideKey(offer.getMarket(), offer.getDirection()),
+                key -> new OfferBookSide<>(key.market, key.makersDirection));
+    }
+
+    private void removeFromSide(T offer) {
+        SideKey key = new SideKey(offer.getMarket(), offer.getDirection());
+        OfferBookSide<T> side = sideByKey.get(key);
+        if (side != null) {
+            side.remove(offer.getId());
+            if (side.isEmpty()) {
+                sideByKey.remove(key);
+            }
+        }
+    }
+
+    private Optional<OfferBookSide<T>> findSide(Market market, Direction makersDirection) {
+        return Optional.ofNullable(sideByKey.get(new SideKey(market, makersDirection)));
+    }
+}
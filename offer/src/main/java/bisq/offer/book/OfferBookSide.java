@@ -0,0 +1,214 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.offer.book;
+
+import bisq.common.currency.Market;
+import bisq.common.monetary.Monetary;
+import bisq.common.monetary.PriceQuote;
+import bisq.offer.Direction;
+import bisq.offer.Offer;
+import bisq.offer.amount.spec.AmountSpec;
+import bisq.offer.amount.spec.BaseSideFixedAmountSpec;
+import bisq.offer.amount.spec.BaseSideRangeAmountSpec;
+import bisq.offer.amount.spec.FixedAmountSpec;
+import bisq.offer.amount.spec.RangeAmountSpec;
+import bisq.offer.price.PriceUtil;
+import bisq.offer.price.spec.FixPriceSpec;
+import bisq.offer.price.spec.FloatPriceSpec;
+import bisq.offer.price.spec.MarketPriceSpec;
+import bisq.offer.price.spec.PriceSpec;
+
+import java.util.*;
+
+/**
+ * The offers of one market and one maker's direction.
+ * Fix price offers are ordered by the price value, float price and market price offers by the percentage from the
+ * market price (market price offers use 0). As float price offers keep their order when the market price changes we
+ * only need to compare the best entries of both maps to find the best price.
+ * Amounts are indexed separately for quote side and base side amount specs, as converting between them would
+ * require the price.
+ */
+final class OfferBookSide<T extends Offer<?, ?>> {
+    private final Market market;
+    private final Direction makersDirection;
+    private final Map<String, T> offerById = new HashMap<>();
+    private final TreeMap<Long, Map<String, T>> offersByFixPrice = new TreeMap<>();
+    private final TreeMap<Double, Map<String, T>> offersByPercentage = new TreeMap<>();
+    private final AmountRangeIndex<T> quoteSideAmountIndex = new AmountRangeIndex<>();
+    private final AmountRangeIndex<T> baseSideAmountIndex = new AmountRangeIndex<>();
+
+    OfferBookSide(Market market, Direction makersDirection) {
+        this.market = market;
+        this.makersDirection = makersDirection;
+    }
+
+    synchronized void add(T offer) {
+        offerById.put(offer.getId(), offer);
+        addToPriceLevel(offer);
+        AmountSpec amountSpec = offer.getAmountSpec();
+        getAmountIndex(amountSpec).add(offer.getId(), getMinAmount(amountSpec), getMaxAmount(amountSpec), offer);
+    }
+
+    synchronized boolean remove(String offerId) {
+        T offer = offerById.remove(offerId);
+        if (offer == null) {
+            return false;
+        }
+        removeFromPriceLevel(offer);
+        AmountSpec amountSpec = offer.getAmountSpec();
+        getAmountIndex(amountSpec).remove(offerId, getMinAmount(amountSpec));
+        return true;
+    }
+
+    synchronized int size() {
+        return offerById.size();
+    }
+
+    synchronized boolean isEmpty() {
+        return offerById.isEmpty();
+    }
+
+    /**
+     * @param marketPrice The market price used for comparing float price offers with fix price offers. If not
+     *                    present only fix price offers are considered.
+     * @return The offer with the lowest price for sell offers and the highest price for buy offers.
+     */
+    synchronized Optional<T> findBestPriceOffer(Optional<PriceQuote> marketPrice) {
+        Optional<Map.Entry<Long, Map<String, T>>> bestFixPrice = Optional.ofNullable(makersDirection.isSell() ?
+                offersByFixPrice.firstEntry() :
+                offersByFixPrice.lastEntry());
+        Optional<Map.Entry<Double, Map<String, T>>> bestPercentage = marketPrice.isPresent() ?
+                Optional.ofNullable(makersDirection.isSell() ?
+                        offersByPercentage.firstEntry() :
+                        offersByPercentage.lastEntry()) :
+                Optional.empty();
+
+        if (bestFixPrice.isPresent() && bestPercentage.isPresent()) {
+            long fixPrice = bestFixPrice.get().getKey();
+            long floatPrice = PriceUtil.fromMarketPriceMarkup(marketPrice.get(), bestPercentage.get().getKey()).getValue();
+            boolean isFixPriceBetter = makersDirection.isSell() ? fixPrice <= floatPrice : fixPrice >= floatPrice;
+            return findFirst(isFixPriceBetter ? bestFixPrice.get().getValue() : bestPercentage.get().getValue());
+        }
+        return bestFixPrice.map(Map.Entry::getValue)
+                .or(() -> bestPercentage.map(Map.Entry::getValue))
+                .flatMap(OfferBookSide::findFirst);
+    }
+
+    /**
+     * @return The offers with the same price as the given priceSpec. For fix prices that is the same price value,
+     * for float prices the same percentage. Market price offers are at the level of 0%.
+     */
+    synchronized List<T> getOffersAtPrice(PriceSpec priceSpec) {
+        Map<String, T> offers = priceSpec instanceof FixPriceSpec ?
+                offersByFixPrice.get(getFixPriceValue((FixPriceSpec) priceSpec)) :
+                offersByPercentage.get(getPercentage(priceSpec));
+        return offers == null ? new ArrayList<>() : new ArrayList<>(offers.values());
+    }
+
+    /**
+     * @param amount Amount in the base or the quote currency of the market.
+     * @return The offers whose amount range contains the amount (or whose fixed amount equals it). Only offers with
+     * an amount spec of the same side as the amount are considered.
+     */
+    synchronized List<T> getOffersMatchingAmount(Monetary amount) {
+        List<T> result = new ArrayList<>();
+        if (amount.getCode().equals(market.getQuoteCurrencyCode())) {
+            quoteSideAmountIndex.collectContaining(amount.getValue(), result);
+        } else if (amount.getCode().equals(market.getBaseCurrencyCode())) {
+            baseSideAmountIndex.collectContaining(amount.getValue(), result);
+        } else {
+            throw new IllegalArgumentException("Amount currency " + amount.getCode() + " does not match market " + market);
+        }
+        return result;
+    }
+
+    private void addToPriceLevel(T offer) {
+        PriceSpec priceSpec = offer.getPriceSpec();
+        if (priceSpec instanceof FixPriceSpec) {
+            offersByFixPrice.computeIfAbsent(getFixPriceValue((FixPriceSpec) priceSpec), key -> new LinkedHashMap<>())
+                    .put(offer.getId(), offer);
+        } else {
+            offersByPercentage.computeIfAbsent(getPercentage(priceSpec), key -> new LinkedHashMap<>())
+                    .put(offer.getId(), offer);
+        }
+    }
+
+    private void removeFromPriceLevel(T offer) {
+        PriceSpec priceSpec = offer.getPriceSpec();
+        if (priceSpec instanceof FixPriceSpec) {
+            removeFromPriceLevel(offersByFixPrice, getFixPriceValue((FixPriceSpec) priceSpec), offer.getId());
+        } else {
+            removeFromPriceLevel(offersByPercentage, getPercentage(priceSpec), offer.getId());
+        }
+    }
+
+    private AmountRangeIndex<T> getAmountIndex(AmountSpec amountSpec) {
+        return amountSpec instanceof BaseSideFixedAmountSpec || amountSpec instanceof BaseSideRangeAmountSpec ?
+                baseSideAmountIndex :
+                quoteSideAmountIndex;
+    }
+
+    private static <K, T> void removeFromPriceLevel(TreeMap<K, Map<String, T>> offersByPrice, K price, String offerId) {
+        Map<String, T> offers = offersByPrice.get(price);
+        if (offers != null) {
+            offers.remove(offerId);
+            if (offers.isEmpty()) {
+                offersByPrice.remove(price);
+            }
+        }
+    }
+
+    private static <T> Optional<T> findFirst(Map<String, T> offers) {
+        return offers.values().stream().findFirst();
+    }
+
+    private static long getFixPriceValue(FixPriceSpec fixPriceSpec) {
+        return fixPriceSpec.getPriceQuote().getValue();
+    }
+
+    private static double getPercentage(PriceSpec priceSpec) {
+        if (priceSpec instanceof FloatPriceSpec) {
+            // Adding 0 turns -0.0 into 0.0, which are different keys in the TreeMap
+            return ((FloatPriceSpec) priceSpec).getPercentage() + 0d;
+        } else if (priceSpec instanceof MarketPriceSpec) {
+            return 0d;
+        } else {
+            throw new IllegalStateException("Not supported priceSpec. priceSpec=" + priceSpec);
+        }
+    }
+
+    private static long getMinAmount(AmountSpec amountSpec) {
+        if (amountSpec instanceof RangeAmountSpec) {
+            return ((RangeAmountSpec) amountSpec).getMinAmount();
+        } else if (amountSpec instanceof FixedAmountSpec) {
+            return ((FixedAmountSpec) amountSpec).getAmount();
+        } else {
+            throw new IllegalStateException("Not supported amountSpec. amountSpec=" + amountSpec);
+        }
+    }
+
+    private static long getMaxAmount(AmountSpec amountSpec) {
+        if (amountSpec instanceof RangeAmountSpec) {
+            return ((RangeAmountSpec) amountSpec).getMaxAmount();
+        } else if (amountSpec instanceof FixedAmountSpec) {
+            return ((FixedAmountSpec) amountSpec).getAmount();
+        } else {
+            throw new IllegalStateException("Not supported amountSpec. amountSpec=" + amountSpec);
+        }
+    }
+}
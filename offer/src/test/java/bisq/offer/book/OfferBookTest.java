@@ -0,0 +1,299 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.offer.book;
+
+import bisq.common.currency.Market;
+import bisq.common.monetary.Monetary;
+import bisq.common.monetary.PriceQuote;
+import bisq.offer.Direction;
+import bisq.offer.Offer;
+import bisq.offer.amount.spec.AmountSpec;
+import bisq.offer.amount.spec.BaseSideFixedAmountSpec;
+import bisq.offer.amount.spec.BaseSideRangeAmountSpec;
+import bisq.offer.amount.spec.FixedAmountSpec;
+import bisq.offer.amount.spec.QuoteSideFixedAmountSpec;
+import bisq.offer.amount.spec.QuoteSideRangeAmountSpec;
+import bisq.offer.amount.spec.RangeAmountSpec;
+import bisq.offer.price.PriceUtil;
+import bisq.offer.price.spec.FixPriceSpec;
+import bisq.offer.price.spec.FloatPriceSpec;
+import bisq.offer.price.spec.MarketPriceSpec;
+import bisq.offer.price.spec.PriceSpec;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class OfferBookTest {
+    private static final Market USD_MARKET = new Market("BTC", "USD", "Bitcoin", "US Dollar");
+    private static final Market EUR_MARKET = new Market("BTC", "EUR", "Bitcoin", "Euro");
+    private static final List<Market> MARKETS = List.of(USD_MARKET, EUR_MARKET);
+
+    private final Random random = new Random(42);
+    private int offerCounter;
+
+    @Test
+    void emptyOfferBook() {
+        OfferBook<Offer<?, ?>> offerBook = new OfferBook<>();
+        PriceQuote marketPrice = PriceQuote.fromFiatPrice(50000, "USD");
+        assertThat(offerBook.findBestPriceOffer(USD_MARKET, Direction.SELL, Optional.of(marketPrice))).isEmpty();
+        assertThat(offerBook.getOffersAtPrice(USD_MARKET, Direction.SELL, new MarketPriceSpec())).isEmpty();
+        assertThat(offerBook.getOffersMatchingAmount(USD_MARKET, Direction.SELL, Monetary.from(1000_0000, "USD"))).isEmpty();
+    }
+
+    @Test
+    void bestPriceComparesFixAndFloatPrices() {
+        OfferBook<Offer<?, ?>> offerBook = new OfferBook<>();
+        PriceSpec fixPriceSpec = new FixPriceSpec(PriceQuote.fromFiatPrice(51000, "USD"));
+        Offer<?, ?> fixPriceOffer = createOffer(USD_MARKET, Direction.SELL, fixPriceSpec, new QuoteSideFixedAmountSpec(100_0000));
+        Offer<?, ?> floatPriceOffer = createOffer(USD_MARKET, Direction.SELL, new FloatPriceSpec(0.01), new QuoteSideFixedAmountSpec(100_0000));
+        offerBook.add(fixPriceOffer);
+        offerBook.add(floatPriceOffer);
+
+        // 50000 * 1.01 = 50500 is lower than 51000
+        assertThat(offerBook.findBestPriceOffer(USD_MARKET, Direction.SELL, Optional.of(PriceQuote.fromFiatPrice(50000, "USD"))))
+                .contains(floatPriceOffer);
+        // 51000 * 1.01 = 51510 is higher than 51000
+        assertThat(offerBook.findBestPriceOffer(USD_MARKET, Direction.SELL, Optional.of(PriceQuote.fromFiatPrice(51000, "USD"))))
+                .contains(fixPriceOffer);
+        // Without market price only fix price offers are considered
+        assertThat(offerBook.findBestPriceOffer(USD_MARKET, Direction.SELL, Optional.empty()))
+                .contains(fixPriceOffer);
+        assertThat(offerBook.findBestPriceOffer(USD_MARKET, Direction.BUY, Optional.empty())).isEmpty();
+    }
+
+    @Test
+    void replaceAndRemove() {
+        OfferBook<Offer<?, ?>> offerBook = new OfferBook<>();
+        Offer<?, ?> offer = createOffer(USD_MARKET, Direction.BUY, new MarketPriceSpec(), new QuoteSideRangeAmountSpec(100_0000, 500_0000));
+        assertThat(offerBook.add(offer)).isTrue();
+        assertThat(offerBook.add(offer)).isFalse();
+
+        Offer<?, ?> edited = createOffer(offer.getId(), EUR_MARKET, Direction.SELL, new FloatPriceSpec(-0.02), new QuoteSideFixedAmountSpec(200_0000));
+        assertThat(offerBook.add(edited)).isTrue();
+        assertThat(offerBook.getNumOffers()).isEqualTo(1);
+        assertThat(offerBook.getNumOffers(USD_MARKET, Direction.BUY)).isEqualTo(0);
+        assertThat(offerBook.getOffersMatchingAmount(USD_MARKET, Direction.BUY, Monetary.from(200_0000, "USD"))).isEmpty();
+        assertThat(offerBook.getOffersMatchingAmount(EUR_MARKET, Direction.SELL, Monetary.from(200_0000, "EUR"))).containsExactly(edited);
+
+        assertThat(offerBook.remove(offer.getId())).isTrue();
+        assertThat(offerBook.remove(offer.getId())).isFalse();
+        assertThat(offerBook.findOffer(offer.getId())).isEmpty();
+        assertThat(offerBook.getOffersAtPrice(EUR_MARKET, Direction.SELL, new FloatPriceSpec(-0.02))).isEmpty();
+    }
+
+    @Test
+    void marketPriceOffersAreAtZeroPercentLevel() {
+        OfferBook<Offer<?, ?>> offerBook = new OfferBook<>();
+        Offer<?, ?> marketPriceOffer = createOffer(USD_MARKET, Direction.SELL, new MarketPriceSpec(), new QuoteSideFixedAmountSpec(100_0000));
+        Offer<?, ?> floatPriceOffer = createOffer(USD_MARKET, Direction.SELL, new FloatPriceSpec(-0d), new QuoteSideFixedAmountSpec(100_0000));
+        offerBook.add(marketPriceOffer);
+        offerBook.add(floatPriceOffer);
+        assertThat(offerBook.getOffersAtPrice(USD_MARKET, Direction.SELL, new FloatPriceSpec(0)))
+                .containsExactlyInAnyOrder(marketPriceOffer, floatPriceOffer);
+    }
+
+    @Test
+    void matchesBruteForceFiltering() {
+        OfferBook<Offer<?, ?>> offerBook = new OfferBook<>();
+        Map<String, Offer<?, ?>> expected = new HashMap<>();
+
+        for (int i = 0; i < 3000; i++) {
+            int action = random.nextInt(10);
+            if (action < 6 || expected.isEmpty()) {
+                Offer<?, ?> offer = createRandomOffer(nextId());
+                offerBook.add(offer);
+                expected.put(offer.getId(), offer);
+            } else if (action < 8) {
+                String id = randomElement(new ArrayList<>(expected.keySet()));
+                offerBook.remove(id);
+                expected.remove(id);
+            } else {
+                // Replace with a changed offer
+                String id = randomElement(new ArrayList<>(expected.keySet()));
+                Offer<?, ?> offer = createRandomOffer(id);
+                offerBook.add(offer);
+                expected.put(id, offer);
+            }
+
+            if (i % 50 == 0) {
+                assertMatchesBruteForce(offerBook, expected.values());
+            }
+        }
+        assertMatchesBruteForce(offerBook, expected.values());
+
+        new ArrayList<>(expected.keySet()).forEach(offerBook::remove);
+        assertThat(offerBook.getNumOffers()).isZero();
+        MARKETS.forEach(market -> {
+            assertThat(offerBook.getNumOffers(market, Direction.BUY)).isZero();
+            assertThat(offerBook.getNumOffers(market, Direction.SELL)).isZero();
+        });
+    }
+
+    private void assertMatchesBruteForce(OfferBook<Offer<?, ?>> offerBook, Collection<Offer<?, ?>> offers) {
+        assertThat(offerBook.getNumOffers()).isEqualTo(offers.size());
+        for (Market market : MARKETS) {
+            PriceQuote marketPrice = PriceQuote.fromFiatPrice(45000 + random.nextInt(10000), market.getQuoteCurrencyCode());
+            for (Direction direction : Direction.values()) {
+                List<Offer<?, ?>> side = offers.stream()
+                        .filter(offer -> offer.getMarket().equals(market) && offer.getDirection() == direction)
+                        .collect(Collectors.toList());
+                assertThat(offerBook.getNumOffers(market, direction)).isEqualTo(side.size());
+
+                assertBestPrice(offerBook.findBestPriceOffer(market, direction, Optional.of(marketPrice)),
+                        side, direction, Optional.of(marketPrice));
+                assertBestPrice(offerBook.findBestPriceOffer(market, direction, Optional.empty()),
+                        side, direction, Optional.empty());
+
+                for (int i = 0; i < 5; i++) {
+                    PriceSpec priceSpec = createRandomPriceSpec(market);
+                    Set<Offer<?, ?>> expectedAtPrice = side.stream()
+                            .filter(offer -> isSamePriceLevel(offer.getPriceSpec(), priceSpec))
+                            .collect(Collectors.toSet());
+                    assertThat(new HashSet<>(offerBook.getOffersAtPrice(market, direction, priceSpec)))
+                            .isEqualTo(expectedAtPrice);
+
+                    boolean isBaseSide = random.nextBoolean();
+                    long amount = randomAmount();
+                    String code = isBaseSide ? market.getBaseCurrencyCode() : market.getQuoteCurrencyCode();
+                    Set<Offer<?, ?>> expectedMatching = side.stream()
+                            .filter(offer -> isBaseSide(offer.getAmountSpec()) == isBaseSide)
+                            .filter(offer -> getMinAmount(offer.getAmountSpec()) <= amount &&
+                                    getMaxAmount(offer.getAmountSpec()) >= amount)
+                            .collect(Collectors.toSet());
+                    List<Offer<?, ?>> matching = offerBook.getOffersMatchingAmount(market, direction, Monetary.from(amount, code));
+                    assertThat(matching).doesNotHaveDuplicates();
+                    assertThat(new HashSet<>(matching)).isEqualTo(expectedMatching);
+                }
+            }
+        }
+    }
+
+    private static void assertBestPrice(Optional<Offer<?, ?>> result,
+                                        List<Offer<?, ?>> offers,
+                                        Direction direction,
+                                        Optional<PriceQuote> marketPrice) {
+        Comparator<Long> comparator = direction.isSell() ? Comparator.naturalOrder() : Comparator.reverseOrder();
+        Optional<Long> expectedBestPrice = offers.stream()
+                .map(offer -> findPrice(offer, marketPrice))
+                .flatMap(Optional::stream)
+                .min(comparator);
+        assertThat(result.flatMap(offer -> findPrice(offer, marketPrice))).isEqualTo(expectedBestPrice);
+    }
+
+    private static Optional<Long> findPrice(Offer<?, ?> offer, Optional<PriceQuote> marketPrice) {
+        PriceSpec priceSpec = offer.getPriceSpec();
+        if (priceSpec instanceof FixPriceSpec) {
+            return Optional.of(((FixPriceSpec) priceSpec).getPriceQuote().getValue());
+        }
+        double percentage = priceSpec instanceof FloatPriceSpec ? ((FloatPriceSpec) priceSpec).getPercentage() : 0;
+        return marketPrice.map(price -> PriceUtil.fromMarketPriceMarkup(price, percentage).getValue());
+    }
+
+    private static boolean isSamePriceLevel(PriceSpec priceSpec, PriceSpec other) {
+        if (priceSpec instanceof FixPriceSpec || other instanceof FixPriceSpec) {
+            return priceSpec instanceof FixPriceSpec && other instanceof FixPriceSpec &&
+                    ((FixPriceSpec) priceSpec).getPriceQuote().getValue() == ((FixPriceSpec) other).getPriceQuote().getValue();
+        }
+        return getPercentage(priceSpec) == getPercentage(other);
+    }
+
+    private static double getPercentage(PriceSpec priceSpec) {
+        return priceSpec instanceof FloatPriceSpec ? ((FloatPriceSpec) priceSpec).getPercentage() : 0;
+    }
+
+    private static boolean isBaseSide(AmountSpec amountSpec) {
+        return amountSpec instanceof BaseSideFixedAmountSpec || amountSpec instanceof BaseSideRangeAmountSpec;
+    }
+
+    private static long getMinAmount(AmountSpec amountSpec) {
+        return amountSpec instanceof RangeAmountSpec ?
+                ((RangeAmountSpec) amountSpec).getMinAmount() :
+                ((FixedAmountSpec) amountSpec).getAmount();
+    }
+
+    private static long getMaxAmount(AmountSpec amountSpec) {
+        return amountSpec instanceof RangeAmountSpec ?
+                ((RangeAmountSpec) amountSpec).getMaxAmount() :
+                ((FixedAmountSpec) amountSpec).getAmount();
+    }
+
+    private Offer<?, ?> createRandomOffer(String id) {
+        Market market = randomElement(MARKETS);
+        Direction direction = random.nextBoolean() ? Direction.BUY : Direction.SELL;
+        return createOffer(id, market, direction, createRandomPriceSpec(market), createRandomAmountSpec());
+    }
+
+    private PriceSpec createRandomPriceSpec(Market market) {
+        switch (random.nextInt(3)) {
+            case 0:
+                // Few distinct values to get multiple offers at the same price level
+                return new FixPriceSpec(PriceQuote.fromFiatPrice(45000 + 500 * random.nextInt(20), market.getQuoteCurrencyCode()));
+            case 1:
+                return new FloatPriceSpec((random.nextInt(21) - 10) / 100d);
+            default:
+                return new MarketPriceSpec();
+        }
+    }
+
+    private AmountSpec createRandomAmountSpec() {
+        long min = randomAmount();
+        long max = min + randomAmount();
+        switch (random.nextInt(4)) {
+            case 0:
+                return new QuoteSideFixedAmountSpec(min);
+            case 1:
+                return new QuoteSideRangeAmountSpec(min, max);
+            case 2:
+                return new BaseSideFixedAmountSpec(min);
+            default:
+                return new BaseSideRangeAmountSpec(min, max);
+        }
+    }
+
+    private long randomAmount() {
+        return 10_000 * (1 + random.nextInt(100));
+    }
+
+    private <E> E randomElement(List<E> list) {
+        return list.get(random.nextInt(list.size()));
+    }
+
+    private String nextId() {
+        return "offer-" + offerCounter++;
+    }
+
+    private Offer<?, ?> createOffer(Market market, Direction direction, PriceSpec priceSpec, AmountSpec amountSpec) {
+        return createOffer(nextId(), market, direction, priceSpec, amountSpec);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Offer<?, ?> createOffer(String id, Market market, Direction direction, PriceSpec priceSpec, AmountSpec amountSpec) {
+        Offer<?, ?> offer = mock(Offer.class);
+        when(offer.getId()).thenReturn(id);
+        when(offer.getMarket()).thenReturn(market);
+        when(offer.getDirection()).thenReturn(direction);
+        when(offer.getPriceSpec()).thenReturn(priceSpec);
+        when(offer.getAmountSpec()).thenReturn(amountSpec);
+        return offer;
+    }
+}
@@ -1,4 +1,5 @@
 plugins {
     id("bisq.java-library")
     id("bisq.protobuf")
+    id("bisq.jmh")
 }
@@ -0,0 +1,191 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.persistence;
+
+import bisq.common.data.StringLongPair;
+import bisq.common.proto.ProtoResolver;
+import bisq.common.proto.UnresolvableProtobufMessageException;
+import bisq.common.util.FileUtils;
+import com.google.protobuf.InvalidProtocolBufferException;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Startup loading of a synthetic data directory of about 200 MB, split into stores of equal size.
+ * Compares reading the stores one after another with PersistenceService.readAllPersisted.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class PersistenceStartupBenchmark {
+    private static final int TOTAL_SIZE_IN_MB = 200;
+    private static final int ENTRY_SIZE = 1000;
+
+    @Param({"40", "200"})
+    public int numStores;
+
+    private Path dataDir;
+
+    @Setup(Level.Trial)
+    public void createDataDir() throws IOException {
+        dataDir = Files.createTempDirectory("persistence-startup-benchmark");
+        PersistenceService persistenceService = new PersistenceService(dataDir.toString());
+        List<BenchmarkClient> clients = createClients(persistenceService);
+        int numEntriesPerStore = TOTAL_SIZE_IN_MB * 1024 * 1024 / ENTRY_SIZE / numStores;
+        Random random = new Random(42);
+        for (BenchmarkClient client : clients) {
+            BenchmarkStore store = new BenchmarkStore();
+            for (int i = 0; i < numEntriesPerStore; i++) {
+                store.getValueByKey().put(randomString(random), random.nextLong());
+            }
+            client.getPersistence().persistAsync(store).join();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteDataDir() throws IOException {
+        FileUtils.deleteFileOrDirectory(dataDir.toFile());
+    }
+
+    @Benchmark
+    public int readSequentially() {
+        List<BenchmarkClient> clients = createClients(new PersistenceService(dataDir.toString()));
+        clients.forEach(client -> client.getPersistence().readAsync().join()
+                .ifPresent(client::applyPersistedStore));
+        return numEntries(clients);
+    }
+
+    @Benchmark
+    public int readAllPersisted() {
+        PersistenceService persistenceService = new PersistenceService(dataDir.toString());
+        List<BenchmarkClient> clients = createClients(persistenceService);
+        persistenceService.readAllPersisted().join();
+        return numEntries(clients);
+    }
+
+    private List<BenchmarkClient> createClients(PersistenceService persistenceService) {
+        List<BenchmarkClient> clients = new ArrayList<>();
+        for (int i = 0; i < numStores; i++) {
+            clients.add(new BenchmarkClient(persistenceService, "BenchmarkStore" + i));
+        }
+        return clients;
+    }
+
+    private static int numEntries(List<BenchmarkClient> clients) {
+        return clients.stream().mapToInt(client -> client.getPersistableStore().getValueByKey().size()).sum();
+    }
+
+    private static String randomString(Random random) {
+        StringBuilder sb = new StringBuilder(ENTRY_SIZE);
+        for (int i = 0; i < ENTRY_SIZE; i++) {
+            sb.append((char) ('a' + random.nextInt(26)));
+        }
+        return sb.toString();
+    }
+
+    // Lombok is not available in the jmh source set, so we write the getters by hand
+    private static final class BenchmarkClient implements PersistenceClient<BenchmarkStore> {
+        private final BenchmarkStore persistableStore = new BenchmarkStore();
+        private final Persistence<BenchmarkStore> persistence;
+
+        private BenchmarkClient(PersistenceService persistenceService, String fileName) {
+            persistence = persistenceService.getOrCreatePersistence(this, "db" + File.separator + "benchmark", fileName, persistableStore);
+        }
+
+        @Override
+        public Persistence<BenchmarkStore> getPersistence() {
+            return persistence;
+        }
+
+        @Override
+        public BenchmarkStore getPersistableStore() {
+            return persistableStore;
+        }
+    }
+
+    // Uses the TimestampStore proto as we do not have a proto definition for benchmark data
+    private static final class BenchmarkStore implements PersistableStore<BenchmarkStore> {
+        private final Map<String, Long> valueByKey = new HashMap<>();
+
+        private BenchmarkStore() {
+        }
+
+        private BenchmarkStore(Map<String, Long> valueByKey) {
+            this.valueByKey.putAll(valueByKey);
+        }
+
+        @Override
+        public bisq.persistence.protobuf.TimestampStore toProto(boolean serializeForHash) {
+            return resolveProto(serializeForHash);
+        }
+
+        @Override
+        public bisq.persistence.protobuf.TimestampStore.Builder getBuilder(boolean serializeForHash) {
+            return bisq.persistence.protobuf.TimestampStore.newBuilder()
+                    .addAllStringLongPairs(valueByKey.entrySet().stream()
+                            .map(entry -> new StringLongPair(entry.getKey(), entry.getValue()).toProto(serializeForHash))
+                            .collect(Collectors.toList()));
+        }
+
+        private static BenchmarkStore fromProto(bisq.persistence.protobuf.TimestampStore proto) {
+            return new BenchmarkStore(proto.getStringLongPairsList().stream()
+                    .map(StringLongPair::fromProto)
+                    .collect(Collectors.toMap(StringLongPair::getKey, StringLongPair::getValue)));
+        }
+
+        @Override
+        public ProtoResolver<PersistableStore<?>> getResolver() {
+            return any -> {
+                try {
+                    return fromProto(any.unpack(bisq.persistence.protobuf.TimestampStore.class));
+                } catch (InvalidProtocolBufferException e) {
+                    throw new UnresolvableProtobufMessageException(e);
+                }
+            };
+        }
+
+        private Map<String, Long> getValueByKey() {
+            return valueByKey;
+        }
+
+        @Override
+        public BenchmarkStore getClone() {
+            return new BenchmarkStore(valueByKey);
+        }
+
+        @Override
+        public void applyPersisted(BenchmarkStore persisted) {
+            valueByKey.clear();
+            valueByKey.putAll(persisted.getValueByKey());
+        }
+    }
+}
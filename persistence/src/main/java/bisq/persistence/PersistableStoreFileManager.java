@@ -22,9 +22,12 @@ import lombok.extern.slf4j.Slf4j;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 
 @Slf4j
 public class PersistableStoreFileManager {
@@ -74,6 +77,48 @@ public class PersistableStoreFileManager {
         }
     }
 
+    /**
+     * Moves the current store file to the first backup generation and shifts the existing backups by one generation.
+     * The backup exceeding numGenerations gets deleted.
+     */
+    public void rotateBackups(int numGenerations) throws IOException {
+        if (!storeFilePath.toFile().exists()) {
+            return;
+        }
+
+        Files.deleteIfExists(getBackupFilePath(numGenerations));
+        for (int generation = numGenerations - 1; generation >= 1; generation--) {
+            Path backupPath = getBackupFilePath(generation);
+            if (backupPath.toFile().exists()) {
+                Files.move(backupPath, getBackupFilePath(generation + 1), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        Files.move(storeFilePath, getBackupFilePath(1), StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * @param generation 1 for the most recent backup
+     */
+    public Path getBackupFilePath(int generation) {
+        if (generation == 1) {
+            return backupFilePath;
+        }
+        return backupFilePath.resolveSibling(backupFilePath.getFileName() + "." + generation);
+    }
+
+    public void moveTempFileToCurrentFileAtomically() throws IOException {
+        Files.move(tempFilePath, storeFilePath, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Forces the directory entries of the store, temp and backup files to disk. Not supported on all platforms
+     * (e.g. Windows), in which case we rely on the file system.
+     */
+    public void syncDirectories() {
+        syncDirectory(parentDirectoryPath);
+        syncDirectory(backupFilePath.getParent());
+    }
+
     public void restoreBackupFileIfCurrentFileNotExisting() {
         File storeFile = storeFilePath.toFile();
         if (!storeFile.exists()) {
@@ -103,6 +148,14 @@ public class PersistableStoreFileManager {
         }
     }
 
+    private static void syncDirectory(Path directory) {
+        try (FileChannel fileChannel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            fileChannel.force(true);
+        } catch (IOException e) {
+            log.debug("Could not sync directory {}. {}", directory, e.getMessage());
+        }
+    }
+
     private Path createBackupFilePath() {
         Path dirPath = Path.of(parentDirectoryPath.toString(), BACKUP_DIR);
         dirPath.toFile().mkdirs();
@@ -18,49 +18,99 @@
 package bisq.persistence;
 
 import bisq.common.util.FileUtils;
+import bisq.common.util.OsUtils;
 import com.google.protobuf.Any;
+import com.google.protobuf.CodedInputStream;
 import lombok.extern.slf4j.Slf4j;
 
+import java.io.EOFException;
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
+import java.util.zip.CRC32C;
 
+/**
+ * Reads and writes a PersistableStore.
+ * <p>
+ * With durableWrites the store is written as a single frame: magic, payload length, CRC32C of the payload and the
+ * serialized Any as payload. The temp file is forced to disk before it replaces the current file by an atomic move,
+ * and the directories are synced before and after the move. The previous files are kept as rotating backup
+ * generations.
+ * <p>
+ * Otherwise the store is written as length delimited Any, as it was done by previous versions.
+ * <p>
+ * Both formats are supported at read. If the current file is missing or corrupted we fall back to the temp file
+ * (only if it is a complete frame, which is the case if we crashed between the two moves) and then to the backup
+ * generations, starting with the most recent one.
+ */
 @Slf4j
 public class PersistableStoreReaderWriter<T extends PersistableStore<T>> {
+    // Files from that size on are memory mapped at read, smaller files are read into a heap buffer
+    private static final long MEMORY_MAP_THRESHOLD = 1024 * 1024;
+    // "BSQ2". A legacy file starts with the varint length of the Any followed by the tag of its first field (0x0A),
+    // thus it never starts with that magic.
+    static final int FRAME_MAGIC = 0x42535132;
+    static final int FRAME_HEADER_LENGTH = 12;
 
     private final PersistableStoreFileManager storeFileManager;
     private final Path storeFilePath;
     private final Path parentDirectoryPath;
+    private final boolean durableWrites;
+    private final int numGenerations;
 
     public PersistableStoreReaderWriter(PersistableStoreFileManager storeFileManager) {
+        this(storeFileManager, false, 1);
+    }
+
+    public PersistableStoreReaderWriter(PersistableStoreFileManager storeFileManager,
+                                        boolean durableWrites,
+                                        int numGenerations) {
         this.storeFileManager = storeFileManager;
         this.storeFilePath = storeFileManager.getStoreFilePath();
         this.parentDirectoryPath = storeFilePath.getParent();
+        this.durableWrites = durableWrites;
+        this.numGenerations = Math.max(1, numGenerations);
     }
 
     public synchronized Optional<T> read() {
         File storeFile = storeFilePath.toFile();
-        if (!storeFile.exists()) {
-            return Optional.empty();
+        if (storeFile.exists()) {
+            try {
+                return Optional.of(readStoreFromFile(storeFilePath, false));
+            } catch (Exception e) {
+                log.error("Couldn't read " + storeFilePath + " from file.", e);
+                tryToBackupCorruptedStoreFile();
+            }
         }
 
-        try {
-            PersistableStore<?> persistableStore = readStoreFromFile();
-            //noinspection unchecked,rawtypes
-            return (Optional) Optional.of(persistableStore);
-
-        } catch (Exception e) {
-            log.error("Couldn't read " + storeFilePath + " from file.", e);
-            tryToBackupCorruptedStoreFile();
+        for (Path fallbackPath : getFallbackPaths()) {
+            if (fallbackPath.toFile().exists()) {
+                try {
+                    boolean requireFrame = fallbackPath.equals(storeFileManager.getTempFilePath());
+                    T persistableStore = readStoreFromFile(fallbackPath, requireFrame);
+                    log.warn("Read {} from fallback file {}", storeFilePath.getFileName(), fallbackPath);
+                    return Optional.of(persistableStore);
+                } catch (Exception e) {
+                    log.warn("Couldn't read fallback file {}. {}", fallbackPath, e.getMessage());
+                }
+            }
         }
-
         return Optional.empty();
     }
 
     public synchronized void write(T persistableStore) {
+        if (durableWrites) {
+            writeDurably(persistableStore);
+            return;
+        }
+
         storeFileManager.createParentDirectoriesIfNotExisting();
 
         try {
@@ -77,12 +127,100 @@ public class PersistableStoreReaderWriter<T extends PersistableStore<T>> {
         }
     }
 
-    private PersistableStore<?> readStoreFromFile() throws IOException {
-        File storeFile = storeFilePath.toFile();
-        try (FileInputStream fileInputStream = new FileInputStream(storeFile)) {
-            Any any = Any.parseDelimitedFrom(fileInputStream);
-            return PersistableStore.fromAny(any);
+    private void writeDurably(T persistableStore) {
+        storeFileManager.createParentDirectoriesIfNotExisting();
+
+        try {
+            writeFrameToTempFile(persistableStore);
+            storeFileManager.syncDirectories();
+            storeFileManager.rotateBackups(numGenerations);
+            storeFileManager.moveTempFileToCurrentFileAtomically();
+            storeFileManager.syncDirectories();
+
+        } catch (CouldNotSerializePersistableStore e) {
+            log.error("Couldn't serialize " + persistableStore, e);
+
+        } catch (Exception e) {
+            // If we failed after the current file got moved to the backup, the read falls back to the complete temp
+            // file or the backup.
+            log.error("Couldn't write persistable store to disk.", e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private T readStoreFromFile(Path path, boolean requireFrame) throws IOException {
+        ByteBuffer byteBuffer = readFile(path);
+        Any any;
+        if (isFrame(byteBuffer)) {
+            any = Any.parseFrom(getVerifiedFramePayload(byteBuffer, path));
+        } else if (requireFrame) {
+            throw new IOException(path + " is not a store frame");
+        } else {
+            // Same format as written by Any.writeDelimitedTo
+            CodedInputStream codedInputStream = CodedInputStream.newInstance(byteBuffer);
+            int length = codedInputStream.readRawVarint32();
+            if (length > byteBuffer.remaining() - codedInputStream.getTotalBytesRead()) {
+                throw new EOFException("Truncated store file " + path);
+            }
+            int oldLimit = codedInputStream.pushLimit(length);
+            any = Any.parseFrom(codedInputStream);
+            codedInputStream.popLimit(oldLimit);
         }
+        return (T) PersistableStore.fromAny(any);
+    }
+
+    private static ByteBuffer readFile(Path path) throws IOException {
+        try (FileChannel fileChannel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = fileChannel.size();
+            // On Windows a mapped file cannot be renamed or deleted until the buffer got garbage collected, which
+            // would break the backup at the next write.
+            if (size >= MEMORY_MAP_THRESHOLD && !OsUtils.isWindows()) {
+                return fileChannel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            }
+
+            ByteBuffer byteBuffer = ByteBuffer.allocate((int) size);
+            while (byteBuffer.hasRemaining()) {
+                if (fileChannel.read(byteBuffer) < 0) {
+                    throw new EOFException("Unexpected end of file at " + path);
+                }
+            }
+            byteBuffer.flip();
+            return byteBuffer;
+        }
+    }
+
+    private static boolean isFrame(ByteBuffer byteBuffer) {
+        return byteBuffer.remaining() >= 4 && byteBuffer.getInt(0) == FRAME_MAGIC;
+    }
+
+    private static ByteBuffer getVerifiedFramePayload(ByteBuffer byteBuffer, Path path) throws IOException {
+        int size = byteBuffer.remaining();
+        if (size < FRAME_HEADER_LENGTH) {
+            throw new IOException("Incomplete frame header at " + path);
+        }
+        int length = byteBuffer.getInt(4);
+        int checksum = byteBuffer.getInt(8);
+        if (length != size - FRAME_HEADER_LENGTH) {
+            throw new IOException("Frame length " + length + " does not match file size " + size + " at " + path);
+        }
+
+        ByteBuffer payload = byteBuffer.duplicate();
+        payload.position(FRAME_HEADER_LENGTH);
+        CRC32C crc32c = new CRC32C();
+        crc32c.update(payload.duplicate());
+        if ((int) crc32c.getValue() != checksum) {
+            throw new IOException("Frame checksum mismatch at " + path);
+        }
+        return payload;
+    }
+
+    private List<Path> getFallbackPaths() {
+        List<Path> paths = new ArrayList<>();
+        paths.add(storeFileManager.getTempFilePath());
+        for (int generation = 1; generation <= numGenerations; generation++) {
+            paths.add(storeFileManager.getBackupFilePath(generation));
+        }
+        return paths;
     }
 
     private void tryToBackupCorruptedStoreFile() {
@@ -114,4 +252,25 @@ public class PersistableStoreReaderWriter<T extends PersistableStore<T>> {
             throw new CouldNotSerializePersistableStore(e);
         }
     }
+
+    private void writeFrameToTempFile(T persistableStore) {
+        byte[] payload = persistableStore.toAny().toByteArray();
+        CRC32C crc32c = new CRC32C();
+        crc32c.update(payload);
+        ByteBuffer header = ByteBuffer.allocate(FRAME_HEADER_LENGTH)
+                .putInt(FRAME_MAGIC)
+                .putInt(payload.length)
+                .putInt((int) crc32c.getValue())
+                .flip();
+        ByteBuffer[] frame = {header, ByteBuffer.wrap(payload)};
+        try (FileChannel fileChannel = FileChannel.open(storeFileManager.getTempFilePath(),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (frame[1].hasRemaining()) {
+                fileChannel.write(frame);
+            }
+            fileChannel.force(true);
+        } catch (IOException e) {
+            throw new CouldNotSerializePersistableStore(e);
+        }
+    }
 }
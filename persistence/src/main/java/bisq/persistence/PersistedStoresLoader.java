@@ -0,0 +1,127 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.persistence;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.stream.Collectors;
+
+/**
+ * Reads the persisted data of all clients in parallel and applies them one after another in registration order.
+ * Clients declaring dependencies (see {@link PersistenceClient#getPersistedDataDependencies()}) are moved behind the
+ * clients they depend on, otherwise the registration order is kept, so services which access other stores at
+ * onPersistedApplied see the same state as with sequential reads.
+ * Reading and parsing is done in the read pool of Persistence. Applying is done in a single thread, so that clients
+ * do not need to handle concurrent applyPersisted calls.
+ * If the dependencies contain a cycle, the dependencies of the clients in the cycle are ignored.
+ */
+@Slf4j
+class PersistedStoresLoader {
+    private final List<? extends PersistenceClient<?>> clients;
+    private final Executor applyExecutor;
+
+    PersistedStoresLoader(List<? extends PersistenceClient<?>> clients, Executor applyExecutor) {
+        this.clients = clients;
+        this.applyExecutor = applyExecutor;
+    }
+
+    CompletableFuture<List<StoreLoadTiming>> loadAll() {
+        // We start all reads at once, so they do not wait for the previous clients getting applied
+        Map<PersistenceClient<?>, CompletableFuture<? extends Optional<?>>> readFutureByClient = new HashMap<>();
+        clients.forEach(client -> readFutureByClient.put(client, client.getPersistence().readAsync()));
+
+        List<CompletableFuture<StoreLoadTiming>> allAppliedFutures = new ArrayList<>();
+        CompletableFuture<?> previousApplied = CompletableFuture.completedFuture(null);
+        for (PersistenceClient<?> client : getClientsInApplyOrder(clients)) {
+            // A failed client should not prevent the following clients from getting applied
+            CompletableFuture<Void> previous = previousApplied.handle((timing, throwable) -> null);
+            CompletableFuture<StoreLoadTiming> applied = applyWhenReady(client, readFutureByClient.get(client), previous);
+            allAppliedFutures.add(applied);
+            previousApplied = applied;
+        }
+
+        return CompletableFuture.allOf(allAppliedFutures.toArray(new CompletableFuture[0]))
+                .thenApply(nil -> allAppliedFutures.stream()
+                        .map(CompletableFuture::join)
+                        .collect(Collectors.toList()));
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private CompletableFuture<StoreLoadTiming> applyWhenReady(PersistenceClient<?> client,
+                                                             CompletableFuture<? extends Optional<?>> readFuture,
+                                                             CompletableFuture<Void> previousApplied) {
+        PersistenceClient rawClient = client;
+        Path storePath = client.getPersistence().getStorePath().toAbsolutePath();
+        return previousApplied.thenCombineAsync(readFuture, (nil, optionalPersisted) -> {
+                    long ts = System.currentTimeMillis();
+                    optionalPersisted.ifPresent(persisted -> rawClient.applyPersistedStore((PersistableStore) persisted));
+                    long applyDuration = System.currentTimeMillis() - ts;
+                    return new StoreLoadTiming(storePath,
+                            optionalPersisted.isPresent(),
+                            client.getPersistence().getLastReadDuration(),
+                            applyDuration);
+                }, applyExecutor)
+                .whenComplete((timing, throwable) -> {
+                    if (throwable == null) {
+                        if (timing.isPersistedDataFound()) {
+                            log.debug("Read persisted data from {}", storePath);
+                        } else {
+                            log.debug("No persisted data at {} found", storePath);
+                        }
+                    } else {
+                        log.error("Error at read persisted data from: {}", storePath, throwable);
+                    }
+                });
+    }
+
+    /**
+     * Stable topological sort: We take the first client in registration order whose dependencies are all taken
+     * already. Dependencies to classes without registered clients are ignored.
+     */
+    private static List<PersistenceClient<?>> getClientsInApplyOrder(List<? extends PersistenceClient<?>> clients) {
+        Map<Class<?>, Integer> numRemainingByClass = new HashMap<>();
+        clients.forEach(client -> numRemainingByClass.merge(client.getClass(), 1, Integer::sum));
+
+        List<PersistenceClient<?>> remaining = new ArrayList<>(clients);
+        List<PersistenceClient<?>> result = new ArrayList<>();
+        while (!remaining.isEmpty()) {
+            Optional<PersistenceClient<?>> next = remaining.stream()
+                    .filter(client -> client.getPersistedDataDependencies().stream()
+                            .filter(dependency -> !dependency.equals(client.getClass()))
+                            .noneMatch(numRemainingByClass::containsKey))
+                    .findFirst();
+            if (next.isEmpty()) {
+                log.warn("Persisted data dependencies contain a cycle. We ignore the dependencies of {}",
+                        remaining.stream().map(client -> client.getClass().getSimpleName()).collect(Collectors.toList()));
+                result.addAll(remaining);
+                break;
+            }
+
+            PersistenceClient<?> client = next.get();
+            remaining.remove(client);
+            result.add(client);
+            numRemainingByClass.computeIfPresent(client.getClass(), (clientClass, numRemaining) ->
+                    numRemaining > 1 ? numRemaining - 1 : null);
+        }
+        return result;
+    }
+}
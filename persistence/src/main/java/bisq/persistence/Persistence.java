@@ -25,6 +25,7 @@ import lombok.extern.slf4j.Slf4j;
 import java.nio.file.Path;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import java.util.function.Consumer;
 
@@ -33,6 +34,9 @@ public class Persistence<T extends PersistableStore<T>> {
     public static final String EXTENSION = ".protobuf";
 
     private static final ExecutorService executorService = ExecutorFactory.newSingleThreadExecutor("Persistence-io-pool");
+    // Reading and parsing of the store files is done in parallel. Applying the persisted data to the clients is done in
+    // the io pool, so that the clients do not need to handle concurrent calls.
+    private static final ExecutorService READ_POOL = ExecutorFactory.newFixedThreadPool("Persistence-read-pool");
 
     @Getter
     private final Path storePath;
@@ -40,21 +44,38 @@ public class Persistence<T extends PersistableStore<T>> {
     private final String fileName;
 
     private final PersistableStoreReaderWriter<T> persistableStoreReaderWriter;
+    // Duration of the last read including parsing, in ms
+    @Getter
+    private volatile long lastReadDuration;
 
     public Persistence(String directory, String fileName) {
+        this(directory, fileName, PersistenceService.Config.DEFAULT);
+    }
+
+    public Persistence(String directory, String fileName, PersistenceService.Config config) {
         this.fileName = fileName;
         String storageFileName = StringUtils.camelCaseToSnakeCase(fileName);
         storePath = Path.of(directory, storageFileName + EXTENSION);
         var storeFileManager = new PersistableStoreFileManager(storePath);
-        persistableStoreReaderWriter = new PersistableStoreReaderWriter<>(storeFileManager);
+        persistableStoreReaderWriter = new PersistableStoreReaderWriter<>(storeFileManager,
+                config.isDurableWrites(),
+                config.getNumGenerations());
     }
 
     public CompletableFuture<Optional<T>> readAsync(Consumer<T> consumer) {
-        return readAsync().whenComplete((result, throwable) -> result.ifPresent(consumer));
+        return readAsync().thenApplyAsync(result -> {
+            result.ifPresent(consumer);
+            return result;
+        }, executorService);
     }
 
     public CompletableFuture<Optional<T>> readAsync() {
-        return CompletableFuture.supplyAsync(persistableStoreReaderWriter::read, executorService);
+        return CompletableFuture.supplyAsync(() -> {
+            long ts = System.currentTimeMillis();
+            Optional<T> result = persistableStoreReaderWriter.read();
+            lastReadDuration = System.currentTimeMillis() - ts;
+            return result;
+        }, READ_POOL);
     }
 
     public CompletableFuture<Void> persistAsync(T serializable) {
@@ -68,6 +89,10 @@ public class Persistence<T extends PersistableStore<T>> {
         return CompletableFuture.runAsync(() -> Thread.currentThread().setName("Flush-Persistence.persist-" + storePath), executorService);
     }
 
+    static Executor getApplyExecutor() {
+        return executorService;
+    }
+
     protected void persist(T persistableStore) {
         persistableStoreReaderWriter.write(persistableStore);
     }
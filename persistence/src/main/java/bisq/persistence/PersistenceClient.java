@@ -18,6 +18,7 @@
 package bisq.persistence;
 
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 
 /**
@@ -25,11 +26,21 @@ import java.util.concurrent.CompletableFuture;
  */
 public interface PersistenceClient<T extends PersistableStore<T>> {
     default CompletableFuture<Optional<T>> readPersisted() {
-        return getPersistence().readAsync(persisted -> {
-            persisted = prunePersisted(persisted);
-            getPersistableStore().applyPersisted(persisted);
-            onPersistedApplied(persisted);
-        });
+        return getPersistence().readAsync(this::applyPersistedStore);
+    }
+
+    default void applyPersistedStore(T persisted) {
+        persisted = prunePersisted(persisted);
+        getPersistableStore().applyPersisted(persisted);
+        onPersistedApplied(persisted);
+    }
+
+    /**
+     * @return The classes of the clients whose persisted data have to be applied before the persisted data of this
+     * client. Only considered at PersistenceService.readAllPersisted.
+     */
+    default Set<Class<? extends PersistenceClient<?>>> getPersistedDataDependencies() {
+        return Set.of();
     }
 
     default T prunePersisted(T persisted) {
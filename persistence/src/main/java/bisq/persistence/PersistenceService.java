@@ -20,10 +20,13 @@ package bisq.persistence;
 import bisq.common.proto.PersistableProto;
 import bisq.common.util.CompletableFutureUtils;
 import com.google.common.base.Joiner;
+import lombok.EqualsAndHashCode;
 import lombok.Getter;
+import lombok.ToString;
 import lombok.extern.slf4j.Slf4j;
 
 import java.io.File;
+import java.util.Comparator;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CopyOnWriteArrayList;
@@ -31,14 +34,41 @@ import java.util.stream.Collectors;
 
 @Slf4j
 public class PersistenceService {
+    @Getter
+    @ToString
+    @EqualsAndHashCode
+    public static final class Config {
+        public static final Config DEFAULT = new Config(false, 1);
+
+        // If true, stores are written as checksummed frames which are forced to disk before the atomic move
+        private final boolean durableWrites;
+        // Number of backup generations kept at durable writes
+        private final int numGenerations;
+
+        public Config(boolean durableWrites, int numGenerations) {
+            this.durableWrites = durableWrites;
+            this.numGenerations = numGenerations;
+        }
+    }
+
     @Getter
     private final String baseDir;
     @Getter
+    private final Config config;
+    @Getter
     protected final List<PersistenceClient<? extends PersistableProto>> clients = new CopyOnWriteArrayList<>();
     protected final List<Persistence<? extends PersistableProto>> persistenceInstances = new CopyOnWriteArrayList<>();
+    // Load timings of the stores read at readAllPersisted
+    @Getter
+    private volatile List<StoreLoadTiming> storeLoadTimings = List.of();
 
     public PersistenceService(String baseDir) {
+        this(baseDir, Config.DEFAULT);
+    }
+
+    public PersistenceService(String baseDir, Config config) {
         this.baseDir = baseDir;
+        this.config = config;
     }
 
     public <T extends PersistableStore<T>> Persistence<T> getOrCreatePersistence(PersistenceClient<T> client,
@@ -60,7 +90,7 @@ public class PersistenceService {
                                                                                  PersistableStore<T> persistableStore) {
         PersistableStoreResolver.addResolver(persistableStore.getResolver());
         clients.add(client);
-        Persistence<T> persistence = new Persistence<>(baseDir + File.separator + subDir, fileName);
+        Persistence<T> persistence = new Persistence<>(baseDir + File.separator + subDir, fileName, config);
         persistenceInstances.add(persistence);
         return persistence;
     }
@@ -72,22 +102,13 @@ public class PersistenceService {
                 .sorted()
                 .collect(Collectors.toList());
         log.info("Read persisted data from:\n{}", Joiner.on("\n").join(storagePaths));
-        return CompletableFutureUtils.allOf(clients.stream()
-                        .map(persistenceClient -> persistenceClient.readPersisted()
-                                .whenComplete((optionalResult, throwable) -> {
-                                    String storagePath = persistenceClient.getPersistence().getStorePath()
-                                            .toAbsolutePath().toString();
-                                    if (throwable == null) {
-                                        if (optionalResult.isPresent()) {
-                                            log.debug("Read persisted data from {}", storagePath);
-                                        } else {
-                                            log.debug("No persisted data at {} found", storagePath);
-                                        }
-                                    } else {
-                                        log.error("Error at read persisted data from: {}", storagePath, throwable);
-                                    }
-                                })))
-                .thenApply(list -> true);
+        long ts = System.currentTimeMillis();
+        return new PersistedStoresLoader(clients, Persistence.getApplyExecutor()).loadAll()
+                .thenApply(timings -> {
+                    storeLoadTimings = timings;
+                    logStoreLoadTimings(timings, System.currentTimeMillis() - ts);
+                    return true;
+                });
     }
 
     public CompletableFuture<Boolean> persistAllClients() {
@@ -102,4 +123,14 @@ public class PersistenceService {
                                 })))
                 .thenApply(list -> true);
     }
-}
\ No newline at end of file
+
+    private static void logStoreLoadTimings(List<StoreLoadTiming> timings, long duration) {
+        String slowest = timings.stream()
+                .sorted(Comparator.comparingLong(StoreLoadTiming::getTotalDuration).reversed())
+                .limit(10)
+                .map(timing -> timing.getStorePath().getFileName() + ": read=" + timing.getReadDuration() +
+                        " ms, apply=" + timing.getApplyDuration() + " ms")
+                .collect(Collectors.joining("\n"));
+        log.info("Read persisted data of {} stores in {} ms. Slowest stores:\n{}", timings.size(), duration, slowest);
+    }
+}
@@ -17,61 +17,50 @@
 
 package bisq.persistence;
 
-import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.concurrent.CompletableFuture;
 
 /**
- * This implementation of PersistenceClient drops persist requests if they happen too frequently.
- * It registers a shutdown hook and persists at shutdown. If the JVM got terminated non-gracefully
- * (e.g. kill signal or JVM crash) the shutdown hook is not executed (but any other approach to write in such cases
- * would fail as well).
+ * This implementation of PersistenceClient coalesces persist requests if they happen frequently.
+ * A persist request marks the store dirty and the {@link WriteBehindScheduler} writes it after the coalescing delay.
+ * The last mutation is always written, either by a later scheduled write or at the shared shutdown hook.
+ * If the JVM got terminated non-gracefully (e.g. kill signal or JVM crash) the shutdown hook is not executed (but any
+ * other approach to write in such cases would fail as well).
  * As there is no guarantee that the last data are persisted in case of such unexpected terminations, it should be only
  * used if data loss is not critical (e.g. network data) and when write frequency is rather high.
  */
 @Slf4j
 public abstract class RateLimitedPersistenceClient<T extends PersistableStore<T>> implements PersistenceClient<T> {
-    private volatile long lastWrite;
-    @Getter
-    private volatile boolean dropped;
-    private volatile boolean writeInProgress;
+    // Subclasses set the persistence after our constructor, so we register lazily
+    private volatile WriteBehindScheduler.Entry writeBehindEntry;
 
     public RateLimitedPersistenceClient() {
-        //todo (Critical) check if we want to use ShutdownHook here
-        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
-            Thread.currentThread().setName("RateLimitedPersistenceClient-shutdownHook-" + getPersistence().getStorePath());
-            persistOnShutdown();
-        }));
     }
 
+    /**
+     * @return A future completing after a write containing the current state has completed.
+     */
     @Override
     public CompletableFuture<Boolean> persist() {
-        boolean tooFast = System.currentTimeMillis() - lastWrite < getMaxWriteRateInMs();
-        dropped = tooFast || writeInProgress;
-        if (dropped) {
-            return CompletableFuture.completedFuture(false);
-        } else {
-            lastWrite = System.currentTimeMillis();
-            writeInProgress = true;
-            dropped = false;
-            return getPersistence()
-                    .persistAsync(getPersistableStore().getClone())
-                    .handle((r, t) -> {
-                        writeInProgress = false;
-                        return true;
-                    });
-        }
+        WriteBehindScheduler scheduler = WriteBehindScheduler.getInstance();
+        return scheduler.markDirty(getWriteBehindEntry(scheduler));
     }
 
-    protected long getMaxWriteRateInMs() {
+    protected long getCoalescingDelayInMs() {
         return 1000;
     }
 
-    private void persistOnShutdown() {
-        if (dropped) {
-            dropped = false;
-            getPersistence().persist(getPersistableStore().getClone());
+    private WriteBehindScheduler.Entry getWriteBehindEntry(WriteBehindScheduler scheduler) {
+        if (writeBehindEntry == null) {
+            synchronized (this) {
+                if (writeBehindEntry == null) {
+                    writeBehindEntry = scheduler.register(getPersistence().getStorePath().toString(),
+                            getCoalescingDelayInMs(),
+                            () -> getPersistence().persistAsync(getPersistableStore().getClone()));
+                }
+            }
         }
+        return writeBehindEntry;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,45 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.persistence;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.nio.file.Path;
+
+@Getter
+@ToString
+@EqualsAndHashCode
+public final class StoreLoadTiming {
+    private final Path storePath;
+    private final boolean persistedDataFound;
+    private final long readDuration; // in ms, includes parsing
+    private final long applyDuration; // in ms
+
+    public StoreLoadTiming(Path storePath, boolean persistedDataFound, long readDuration, long applyDuration) {
+        this.storePath = storePath;
+        this.persistedDataFound = persistedDataFound;
+        this.readDuration = readDuration;
+        this.applyDuration = applyDuration;
+    }
+
+    public long getTotalDuration() {
+        return readDuration + applyDuration;
+    }
+}
@@ -0,0 +1,201 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.persistence;
+
+import bisq.common.threading.ExecutorFactory;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces persist requests of stores with a high mutation rate.
+ * A persist request marks the store dirty and schedules a write after the coalescing delay, unless a write is already
+ * scheduled or in progress. Mutations during a write lead to another write after the current one has completed, so
+ * the last mutation is always written eventually. The delay is increased if writes take long, so that we do not
+ * spend more than about 1/WRITE_TIME_FACTOR of the time with writing a store.
+ * All dirty stores are written from one shared shutdown hook.
+ */
+@Slf4j
+public class WriteBehindScheduler {
+    static final int WRITE_TIME_FACTOR = 10;
+    static final long MAX_DELAY = TimeUnit.SECONDS.toMillis(30);
+    private static final long SHUTDOWN_FLUSH_TIMEOUT = TimeUnit.SECONDS.toMillis(10);
+
+    private static final WriteBehindScheduler INSTANCE = new WriteBehindScheduler(System::currentTimeMillis,
+            Optional.of(ExecutorFactory.newSingleThreadScheduledExecutor("WriteBehindScheduler")));
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> INSTANCE.flushAll(SHUTDOWN_FLUSH_TIMEOUT),
+                "WriteBehindScheduler-shutdownHook"));
+    }
+
+    static WriteBehindScheduler getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * State of one store. All fields are guarded by the scheduler.
+     */
+    static final class Entry {
+        @Getter
+        private final String name;
+        private final long coalescingDelay;
+        // Creates the snapshot of the store and writes it
+        private final Supplier<CompletableFuture<?>> writeFunction;
+        private boolean dirty;
+        private long dueTime = -1;
+        private int numWritesInProgress;
+        @Getter
+        private long lastWriteDuration;
+        // Completed once a write containing the mutations requested since the last write has completed
+        private CompletableFuture<Boolean> pendingResult;
+
+        private Entry(String name, long coalescingDelay, Supplier<CompletableFuture<?>> writeFunction) {
+            this.name = name;
+            this.coalescingDelay = coalescingDelay;
+            this.writeFunction = writeFunction;
+        }
+
+        private long getDelay() {
+            return Math.max(coalescingDelay, Math.min(MAX_DELAY, WRITE_TIME_FACTOR * lastWriteDuration));
+        }
+    }
+
+    private final LongSupplier clock;
+    // If not present, processDue has to be called by the owner (used in tests)
+    private final Optional<ScheduledExecutorService> executor;
+    private final List<Entry> entries = new CopyOnWriteArrayList<>();
+
+    WriteBehindScheduler(LongSupplier clock, Optional<ScheduledExecutorService> executor) {
+        this.clock = clock;
+        this.executor = executor;
+    }
+
+    Entry register(String name, long coalescingDelay, Supplier<CompletableFuture<?>> writeFunction) {
+        Entry entry = new Entry(name, coalescingDelay, writeFunction);
+        entries.add(entry);
+        return entry;
+    }
+
+    /**
+     * @return A future completing with true once a write containing the current state has completed successfully,
+     * or with false if that write failed. A failed write gets retried after the delay.
+     */
+    CompletableFuture<Boolean> markDirty(Entry entry) {
+        synchronized (this) {
+            entry.dirty = true;
+            if (entry.pendingResult == null) {
+                entry.pendingResult = new CompletableFuture<>();
+            }
+            CompletableFuture<Boolean> result = entry.pendingResult;
+            maybeSchedule(entry);
+            return result;
+        }
+    }
+
+    /**
+     * Starts the writes of all entries which are due and have no write in progress.
+     */
+    void processDue() {
+        long now = clock.getAsLong();
+        List<Entry> dueEntries = new ArrayList<>();
+        synchronized (this) {
+            for (Entry entry : entries) {
+                if (entry.dueTime >= 0 && entry.dueTime <= now && entry.numWritesInProgress == 0) {
+                    entry.dueTime = -1;
+                    dueEntries.add(entry);
+                }
+            }
+        }
+        dueEntries.forEach(this::write);
+    }
+
+    /**
+     * Writes all dirty entries immediately and waits until all writes have completed or the timeout is reached.
+     */
+    boolean flushAll(long timeout) {
+        List<Entry> dirtyEntries = new ArrayList<>();
+        synchronized (this) {
+            for (Entry entry : entries) {
+                if (entry.dirty) {
+                    entry.dueTime = -1;
+                    dirtyEntries.add(entry);
+                }
+            }
+        }
+        List<CompletableFuture<Boolean>> results = new ArrayList<>();
+        dirtyEntries.forEach(entry -> results.add(write(entry)));
+        try {
+            CompletableFuture.allOf(results.toArray(new CompletableFuture[0])).get(timeout, TimeUnit.MILLISECONDS);
+            return results.stream().allMatch(CompletableFuture::join);
+        } catch (Exception e) {
+            log.error("Flushing {} dirty stores failed", dirtyEntries.size(), e);
+            return false;
+        }
+    }
+
+    private CompletableFuture<Boolean> write(Entry entry) {
+        CompletableFuture<Boolean> result;
+        synchronized (this) {
+            entry.dirty = false;
+            entry.numWritesInProgress++;
+            result = entry.pendingResult != null ? entry.pendingResult : CompletableFuture.completedFuture(true);
+            entry.pendingResult = null;
+        }
+
+        long startTime = clock.getAsLong();
+        CompletableFuture<?> writeFuture;
+        try {
+            writeFuture = entry.writeFunction.get();
+        } catch (Exception e) {
+            writeFuture = CompletableFuture.failedFuture(e);
+        }
+        writeFuture.whenComplete((nil, throwable) -> {
+            synchronized (this) {
+                entry.numWritesInProgress--;
+                entry.lastWriteDuration = clock.getAsLong() - startTime;
+                if (throwable != null) {
+                    log.error("Writing {} failed. We will retry.", entry.name, throwable);
+                    entry.dirty = true;
+                }
+                maybeSchedule(entry);
+            }
+            result.complete(throwable == null);
+        });
+        return result;
+    }
+
+    // Needs to be called in a synchronized block
+    private void maybeSchedule(Entry entry) {
+        if (!entry.dirty || entry.dueTime >= 0 || entry.numWritesInProgress > 0) {
+            return;
+        }
+        long delay = entry.getDelay();
+        entry.dueTime = clock.getAsLong() + delay;
+        executor.ifPresent(service -> service.schedule(this::processDue, delay, TimeUnit.MILLISECONDS));
+    }
+}
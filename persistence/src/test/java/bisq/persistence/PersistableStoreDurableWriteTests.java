@@ -0,0 +1,170 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.persistence;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PersistableStoreDurableWriteTests {
+    private static final int NUM_GENERATIONS = 3;
+
+    @BeforeAll
+    static void setup() {
+        PersistableStoreResolver.addResolver(new TimestampStore().getResolver());
+    }
+
+    @Test
+    void writeAndReadFrame(@TempDir Path tempDir) throws IOException {
+        Path storeFilePath = tempDir.resolve("protoFile");
+        var readerWriter = createDurableReaderWriter(storeFilePath);
+        readerWriter.write(createStore(1));
+
+        byte[] bytes = Files.readAllBytes(storeFilePath);
+        assertThat(bytes.length).isGreaterThan(PersistableStoreReaderWriter.FRAME_HEADER_LENGTH);
+        assertThat(bytes[0]).isEqualTo((byte) 'B');
+        assertThat(readVersion(readerWriter)).contains(1L);
+    }
+
+    @Test
+    void truncatedCurrentFileFallsBackToPreviousGeneration(@TempDir Path tempDir) throws IOException {
+        Path storeFilePath = tempDir.resolve("protoFile");
+        var readerWriter = createDurableReaderWriter(storeFilePath);
+        readerWriter.write(createStore(1));
+        readerWriter.write(createStore(2));
+
+        byte[] bytes = Files.readAllBytes(storeFilePath);
+        for (int length = 0; length < bytes.length; length++) {
+            // Simulates a crash at any point while the current file was written
+            Files.write(storeFilePath, Arrays.copyOf(bytes, length));
+            assertThat(readVersion(readerWriter))
+                    .as("Truncated at %d of %d bytes", length, bytes.length)
+                    .contains(1L);
+        }
+
+        Files.write(storeFilePath, bytes);
+        assertThat(readVersion(readerWriter)).contains(2L);
+    }
+
+    @Test
+    void truncatedLegacyFileFallsBackToBackup(@TempDir Path tempDir) throws IOException {
+        Path storeFilePath = tempDir.resolve("protoFile");
+        var readerWriter = new PersistableStoreReaderWriter<TimestampStore>(new PersistableStoreFileManager(storeFilePath));
+        readerWriter.write(createStore(1));
+        readerWriter.write(createStore(2));
+
+        byte[] bytes = Files.readAllBytes(storeFilePath);
+        for (int length = 0; length < bytes.length; length++) {
+            Files.write(storeFilePath, Arrays.copyOf(bytes, length));
+            assertThat(readVersion(readerWriter))
+                    .as("Truncated at %d of %d bytes", length, bytes.length)
+                    .contains(1L);
+        }
+    }
+
+    @Test
+    void flippedBitIsDetected(@TempDir Path tempDir) throws IOException {
+        Path storeFilePath = tempDir.resolve("protoFile");
+        var readerWriter = createDurableReaderWriter(storeFilePath);
+        readerWriter.write(createStore(1));
+        readerWriter.write(createStore(2));
+
+        byte[] bytes = Files.readAllBytes(storeFilePath);
+        for (int i = PersistableStoreReaderWriter.FRAME_HEADER_LENGTH; i < bytes.length; i++) {
+            byte[] corrupted = bytes.clone();
+            corrupted[i] ^= 0x10;
+            Files.write(storeFilePath, corrupted);
+            assertThat(readVersion(readerWriter)).contains(1L);
+        }
+    }
+
+    @Test
+    void completeTempFileIsUsedIfCurrentFileIsMissing(@TempDir Path tempDir) throws IOException {
+        Path storeFilePath = tempDir.resolve("protoFile");
+        var storeFileManager = new PersistableStoreFileManager(storeFilePath);
+        var readerWriter = new PersistableStoreReaderWriter<TimestampStore>(storeFileManager, true, NUM_GENERATIONS);
+        readerWriter.write(createStore(1));
+        readerWriter.write(createStore(2));
+
+        // Simulates a crash after the rotation but before the temp file was moved to the current file
+        Files.move(storeFilePath, storeFileManager.getTempFilePath());
+        assertThat(readVersion(readerWriter)).contains(2L);
+
+        // An incomplete temp file is ignored
+        byte[] bytes = Files.readAllBytes(storeFileManager.getTempFilePath());
+        Files.write(storeFileManager.getTempFilePath(), Arrays.copyOf(bytes, bytes.length - 1));
+        assertThat(readVersion(readerWriter)).contains(1L);
+    }
+
+    @Test
+    void backupGenerationsAreRotated(@TempDir Path tempDir) {
+        Path storeFilePath = tempDir.resolve("protoFile");
+        var storeFileManager = new PersistableStoreFileManager(storeFilePath);
+        var readerWriter = new PersistableStoreReaderWriter<TimestampStore>(storeFileManager, true, NUM_GENERATIONS);
+        for (long version = 1; version <= 5; version++) {
+            readerWriter.write(createStore(version));
+        }
+
+        assertThat(readVersion(readerWriter)).contains(5L);
+        for (int generation = 1; generation <= NUM_GENERATIONS; generation++) {
+            Path backupFilePath = storeFileManager.getBackupFilePath(generation);
+            assertThat(backupFilePath).exists();
+            var backupReaderWriter = createDurableReaderWriter(backupFilePath);
+            assertThat(readVersion(backupReaderWriter)).contains(5L - generation);
+        }
+        assertThat(storeFileManager.getBackupFilePath(NUM_GENERATIONS + 1)).doesNotExist();
+        assertThat(storeFileManager.getTempFilePath()).doesNotExist();
+    }
+
+    @Test
+    void legacyFileIsReadable(@TempDir Path tempDir) {
+        Path storeFilePath = tempDir.resolve("protoFile");
+        var legacyReaderWriter = new PersistableStoreReaderWriter<TimestampStore>(new PersistableStoreFileManager(storeFilePath));
+        legacyReaderWriter.write(createStore(1));
+
+        var readerWriter = createDurableReaderWriter(storeFilePath);
+        assertThat(readVersion(readerWriter)).contains(1L);
+
+        readerWriter.write(createStore(2));
+        assertThat(readVersion(readerWriter)).contains(2L);
+        assertThat(readVersion(legacyReaderWriter)).contains(2L);
+    }
+
+    private static PersistableStoreReaderWriter<TimestampStore> createDurableReaderWriter(Path storeFilePath) {
+        return new PersistableStoreReaderWriter<>(new PersistableStoreFileManager(storeFilePath), true, NUM_GENERATIONS);
+    }
+
+    private static TimestampStore createStore(long version) {
+        var timestampStore = new TimestampStore();
+        timestampStore.getTimestampsByProfileId().put("version", version);
+        timestampStore.getTimestampsByProfileId().put("A", 1L);
+        return timestampStore;
+    }
+
+    private static Optional<Long> readVersion(PersistableStoreReaderWriter<TimestampStore> readerWriter) {
+        return readerWriter.read().map(store -> store.getTimestampsByProfileId().get("version"));
+    }
+}
@@ -0,0 +1,163 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.persistence;
+
+import bisq.common.threading.ExecutorFactory;
+import lombok.Getter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PersistedStoresLoaderTests {
+    private final ExecutorService applyExecutor = ExecutorFactory.newSingleThreadExecutor("PersistedStoresLoaderTests");
+    private final List<String> applied = new CopyOnWriteArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        ExecutorFactory.shutdownAndAwaitTermination(applyExecutor);
+    }
+
+    @Test
+    void appliesInDependencyOrder(@TempDir Path tempDir) {
+        PersistableStoreResolver.addResolver(new TimestampStore().getResolver());
+        // Declared in reverse order, so that the order is not given by the list
+        var clientC = new ClientC(tempDir, "c", 1000);
+        var clientB = new ClientB(tempDir, "b", 1000);
+        var clientA = new ClientA(tempDir, "a", 20_000);
+        List<TestClient> clients = List.of(clientC, clientB, clientA);
+        clients.forEach(TestClient::writeStore);
+
+        List<StoreLoadTiming> timings = new PersistedStoresLoader(clients, applyExecutor).loadAll().join();
+
+        assertThat(applied).containsExactly("a", "b", "c");
+        assertThat(timings).hasSize(3).allMatch(StoreLoadTiming::isPersistedDataFound);
+        clients.forEach(client -> assertThat(client.getPersistableStore().getTimestampsByProfileId()).hasSize(client.numEntries));
+    }
+
+    @Test
+    void keepsRegistrationOrderWithoutDependencies(@TempDir Path tempDir) {
+        PersistableStoreResolver.addResolver(new TimestampStore().getResolver());
+        // The first store is the largest, so its read completes last
+        var clientX = new ClientA(tempDir, "x", 20_000);
+        var clientY = new ClientA(tempDir, "y", 10);
+        var clientZ = new ClientA(tempDir, "z", 1000);
+        List<TestClient> clients = List.of(clientX, clientY, clientZ);
+        clients.forEach(TestClient::writeStore);
+
+        new PersistedStoresLoader(clients, applyExecutor).loadAll().join();
+
+        assertThat(applied).containsExactly("x", "y", "z");
+    }
+
+    @Test
+    void cyclicDependenciesAreIgnored(@TempDir Path tempDir) {
+        var clientD = new ClientD(tempDir, "d", 10);
+        var clientE = new ClientE(tempDir, "e", 10);
+        List<TestClient> clients = List.of(clientD, clientE);
+
+        List<StoreLoadTiming> timings = new PersistedStoresLoader(clients, applyExecutor).loadAll().join();
+
+        assertThat(timings).hasSize(2).noneMatch(StoreLoadTiming::isPersistedDataFound);
+    }
+
+    private abstract class TestClient implements PersistenceClient<TimestampStore> {
+        @Getter
+        private final TimestampStore persistableStore = new TimestampStore();
+        @Getter
+        private final Persistence<TimestampStore> persistence;
+        private final String name;
+        private final int numEntries;
+
+        TestClient(Path dir, String name, int numEntries) {
+            this.name = name;
+            this.numEntries = numEntries;
+            persistence = new Persistence<>(dir.toString(), name + "Store");
+        }
+
+        void writeStore() {
+            TimestampStore store = new TimestampStore();
+            for (int i = 0; i < numEntries; i++) {
+                store.getTimestampsByProfileId().put(name + i, (long) i);
+            }
+            persistence.persistAsync(store).join();
+        }
+
+        @Override
+        public void onPersistedApplied(TimestampStore persisted) {
+            applied.add(name);
+        }
+    }
+
+    private class ClientA extends TestClient {
+        ClientA(Path dir, String name, int numEntries) {
+            super(dir, name, numEntries);
+        }
+    }
+
+    private class ClientB extends TestClient {
+        ClientB(Path dir, String name, int numEntries) {
+            super(dir, name, numEntries);
+        }
+
+        @Override
+        public Set<Class<? extends PersistenceClient<?>>> getPersistedDataDependencies() {
+            return Set.of(ClientA.class);
+        }
+    }
+
+    private class ClientC extends TestClient {
+        ClientC(Path dir, String name, int numEntries) {
+            super(dir, name, numEntries);
+        }
+
+        @Override
+        public Set<Class<? extends PersistenceClient<?>>> getPersistedDataDependencies() {
+            return Set.of(ClientB.class);
+        }
+    }
+
+    private class ClientD extends TestClient {
+        ClientD(Path dir, String name, int numEntries) {
+            super(dir, name, numEntries);
+        }
+
+        @Override
+        public Set<Class<? extends PersistenceClient<?>>> getPersistedDataDependencies() {
+            return Set.of(ClientE.class);
+        }
+    }
+
+    private class ClientE extends TestClient {
+        ClientE(Path dir, String name, int numEntries) {
+            super(dir, name, numEntries);
+        }
+
+        @Override
+        public Set<Class<? extends PersistenceClient<?>>> getPersistedDataDependencies() {
+            return Set.of(ClientD.class);
+        }
+    }
+}
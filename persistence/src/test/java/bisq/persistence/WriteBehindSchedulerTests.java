@@ -0,0 +1,155 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.persistence;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class WriteBehindSchedulerTests {
+    private static final long DELAY = 1000;
+
+    private final AtomicLong clock = new AtomicLong(100_000);
+    private final WriteBehindScheduler scheduler = new WriteBehindScheduler(clock::get, Optional.empty());
+    private final List<CompletableFuture<Void>> writes = new CopyOnWriteArrayList<>();
+    private final WriteBehindScheduler.Entry entry = scheduler.register("store", DELAY, () -> {
+        CompletableFuture<Void> write = new CompletableFuture<>();
+        writes.add(write);
+        return write;
+    });
+
+    @Test
+    void burstIsCoalescedIntoOneWriteAfterDelay() {
+        CompletableFuture<Boolean> first = scheduler.markDirty(entry);
+        for (int i = 0; i < 100; i++) {
+            clock.addAndGet(5);
+            scheduler.markDirty(entry);
+        }
+        scheduler.processDue();
+        assertThat(writes).isEmpty();
+
+        clock.set(100_000 + DELAY);
+        scheduler.processDue();
+        assertThat(writes).hasSize(1);
+        assertThat(first).isNotDone();
+
+        writes.get(0).complete(null);
+        assertThat(first).isCompletedWithValue(true);
+
+        clock.addAndGet(10 * DELAY);
+        scheduler.processDue();
+        assertThat(writes).hasSize(1);
+    }
+
+    @Test
+    void mutationDuringWriteLeadsToFollowUpWrite() {
+        scheduler.markDirty(entry);
+        clock.addAndGet(DELAY);
+        scheduler.processDue();
+        assertThat(writes).hasSize(1);
+
+        CompletableFuture<Boolean> second = scheduler.markDirty(entry);
+        scheduler.processDue();
+        assertThat(writes).hasSize(1);
+
+        writes.get(0).complete(null);
+        assertThat(second).isNotDone();
+
+        clock.addAndGet(DELAY);
+        scheduler.processDue();
+        assertThat(writes).hasSize(2);
+        writes.get(1).complete(null);
+        assertThat(second).isCompletedWithValue(true);
+    }
+
+    @Test
+    void delayIsIncreasedForSlowWrites() {
+        scheduler.markDirty(entry);
+        clock.addAndGet(DELAY);
+        scheduler.processDue();
+        clock.addAndGet(500);
+        writes.get(0).complete(null);
+        assertThat(entry.getLastWriteDuration()).isEqualTo(500);
+
+        scheduler.markDirty(entry);
+        clock.addAndGet(DELAY);
+        scheduler.processDue();
+        assertThat(writes).hasSize(1);
+
+        clock.addAndGet(500 * WriteBehindScheduler.WRITE_TIME_FACTOR - DELAY);
+        scheduler.processDue();
+        assertThat(writes).hasSize(2);
+    }
+
+    @Test
+    void delayIsCappedForVerySlowWrites() {
+        scheduler.markDirty(entry);
+        clock.addAndGet(DELAY);
+        scheduler.processDue();
+        clock.addAndGet(WriteBehindScheduler.MAX_DELAY);
+        writes.get(0).complete(null);
+
+        scheduler.markDirty(entry);
+        clock.addAndGet(WriteBehindScheduler.MAX_DELAY);
+        scheduler.processDue();
+        assertThat(writes).hasSize(2);
+    }
+
+    @Test
+    void flushAllWritesDirtyStoresImmediately() {
+        WriteBehindScheduler.Entry other = scheduler.register("other", DELAY, () -> CompletableFuture.completedFuture(null));
+        CompletableFuture<Boolean> result = scheduler.markDirty(entry);
+        CompletableFuture<Boolean> otherResult = scheduler.markDirty(other);
+
+        CompletableFuture.runAsync(() -> {
+            while (writes.isEmpty()) {
+                Thread.onSpinWait();
+            }
+            writes.get(0).complete(null);
+        });
+        assertThat(scheduler.flushAll(5000)).isTrue();
+        assertThat(result).isCompletedWithValue(true);
+        assertThat(otherResult).isCompletedWithValue(true);
+
+        clock.addAndGet(DELAY);
+        scheduler.processDue();
+        assertThat(writes).hasSize(1);
+    }
+
+    @Test
+    void failedWriteIsRetried() {
+        CompletableFuture<Boolean> first = scheduler.markDirty(entry);
+        clock.addAndGet(DELAY);
+        scheduler.processDue();
+        writes.get(0).completeExceptionally(new RuntimeException("disk full"));
+        assertThat(first).isCompletedWithValue(false);
+
+        CompletableFuture<Boolean> retry = scheduler.markDirty(entry);
+        clock.addAndGet(DELAY);
+        scheduler.processDue();
+        assertThat(writes).hasSize(2);
+        writes.get(1).complete(null);
+        assertThat(retry).isCompletedWithValue(true);
+    }
+}
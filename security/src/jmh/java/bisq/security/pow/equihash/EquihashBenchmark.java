@@ -0,0 +1,72 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.security.pow.equihash;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the single threaded solver with the parallel solver on the Equihash-90-5 parameters used by
+ * EquihashProofOfWorkService and the smaller Equihash-60-4 parameters.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class EquihashBenchmark {
+    @Param({"90:5", "60:4"})
+    public String parameters;
+
+    @Param({"1.0", "20.0"})
+    public double difficulty;
+
+    private Equihash equihash;
+    private ForkJoinPool forkJoinPool;
+    private int seedCounter;
+
+    @Setup
+    public void setup() {
+        String[] nk = parameters.split(":");
+        equihash = new Equihash(Integer.parseInt(nk[0]), Integer.parseInt(nk[1]), difficulty);
+        forkJoinPool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+    }
+
+    @TearDown
+    public void tearDown() {
+        forkJoinPool.shutdown();
+    }
+
+    @Benchmark
+    public byte[] findSolutionSequential() {
+        return equihash.puzzle(nextSeed()).findSolution().serialize();
+    }
+
+    @Benchmark
+    public byte[] findSolutionParallel() {
+        return equihash.puzzle(nextSeed()).findSolution(forkJoinPool).serialize();
+    }
+
+    private byte[] nextSeed() {
+        return ("seed-" + seedCounter++).getBytes(StandardCharsets.UTF_8);
+    }
+}
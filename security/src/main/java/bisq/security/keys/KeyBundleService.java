@@ -30,6 +30,7 @@ import lombok.extern.slf4j.Slf4j;
 import java.nio.charset.StandardCharsets;
 import java.security.GeneralSecurityException;
 import java.security.KeyPair;
+import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
@@ -143,6 +144,10 @@ public class KeyBundleService implements PersistenceClient<KeyBundleStore> {
         return persistableStore.findKeyBundle(keyId);
     }
 
+    public List<KeyBundle> getKeyBundles() {
+        return persistableStore.getKeyBundles();
+    }
+
     public Optional<KeyPair> findKeyPair(String keyId) {
         return findKeyBundle(keyId).map(KeyBundle::getKeyPair);
     }
@@ -24,7 +24,9 @@ import bisq.persistence.PersistableStore;
 import com.google.protobuf.InvalidProtocolBufferException;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
@@ -98,6 +100,12 @@ public final class KeyBundleStore implements PersistableStore<KeyBundleStore> {
         }
     }
 
+    public List<KeyBundle> getKeyBundles() {
+        synchronized (keyBundleById) {
+            return new ArrayList<>(keyBundleById.values());
+        }
+    }
+
     public void putKeyBundle(String keyId, KeyBundle keyBundle) {
         synchronized (keyBundleById) {
             if (keyBundleById.put(keyId, keyBundle) != null) {
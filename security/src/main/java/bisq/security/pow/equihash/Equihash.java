@@ -29,7 +29,9 @@ import java.math.BigInteger;
 import java.nio.ByteBuffer;
 import java.nio.IntBuffer;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
 import java.util.stream.IntStream;
+import java.util.stream.LongStream;
 import java.util.stream.Stream;
 
 import static com.google.common.base.Preconditions.checkArgument;
@@ -208,6 +210,31 @@ public class Equihash {
             }
         }
 
+        /**
+         * Solves batches of consecutive nonces concurrently at the given pool. Each worker thread uses its own
+         * preallocated tables which are reused across attempts. As we pick the lowest nonce with a solution of each
+         * batch and the collision search for a given nonce is deterministic, the result is identical to the one of
+         * {@link #findSolution()}.
+         */
+        public Solution findSolution(ForkJoinPool forkJoinPool) {
+            int batchSize = forkJoinPool.getParallelism();
+            for (long firstNonce = 0; ; firstNonce += batchSize) {
+                long batchStart = firstNonce;
+                Optional<Solution> solution = forkJoinPool.submit(() ->
+                        LongStream.range(batchStart, batchStart + batchSize)
+                                .parallel()
+                                .mapToObj(nonce -> withHashPrefix(seed, nonce)
+                                        .findInputs(SolverTables.get(N, k))
+                                        .map(inputs -> new Solution(nonce, inputs)))
+                                .flatMap(Optional::stream)
+                                .findFirst()
+                ).join();
+                if (solution.isPresent()) {
+                    return solution.get();
+                }
+            }
+        }
+
         @VisibleForTesting
         int countAllSolutionsForNonce(long nonce) {
             return (int) withHashPrefix(seed, nonce).streamInputsHits()
@@ -254,6 +281,81 @@ public class Equihash {
             return streamInputsHits().findFirst();
         }
 
+        /**
+         * Same algorithm as {@link #streamInputsHits()} but operating on the reusable tables of the current thread
+         * instead of allocating new immutable tables at each round. Rows are processed in the same order, thus the
+         * first solution found is the same.
+         */
+        Optional<int[]> findInputs(SolverTables tables) {
+            int hashWidth = k + 1;
+            int indexTupleWidth = 1;
+            int rowWidth = hashWidth + indexTupleWidth;
+            int[] table = tables.ensureCurrentCapacity(N * rowWidth);
+            for (int i = 0; i < N; i++) {
+                tables.hashInput(prefixBytes, i, hashWidth);
+                int offset = i * rowWidth;
+                for (int j = 0; j < hashWidth; j++) {
+                    table[offset + j] = tables.hash[j] & (N / 2 - 1);
+                }
+                table[offset + hashWidth] = i;
+            }
+            int numRows = N;
+
+            for (int round = 0; round < k; round++) {
+                boolean isPartial = round + 1 < k;
+                int newHashWidth = isPartial ? hashWidth - 1 : 0;
+                int newIndexTupleWidth = indexTupleWidth * 2;
+                int newRowWidth = newHashWidth + newIndexTupleWidth;
+                int[] newTable = tables.ensureNextCapacity(newRowWidth * (isPartial ? tableCapacity : 10));
+                int newLength = 0;
+
+                IntListMultimap indexMultimap = tables.indexMultimap;
+                indexMultimap.clear();
+                for (int i = 0; i < numRows; i++) {
+                    int rowOffset = i * rowWidth;
+                    var collisionIndices = indexMultimap.get(table[rowOffset]);
+                    while (collisionIndices.hasNext()) {
+                        int collidingRowOffset = collisionIndices.nextInt() * rowWidth;
+                        if (!isPartial && !Arrays.equals(table, collidingRowOffset + 1, collidingRowOffset + hashWidth,
+                                table, rowOffset + 1, rowOffset + hashWidth)) {
+                            continue;
+                        }
+                        if (newLength + newRowWidth > newTable.length) {
+                            newTable = tables.growNext(newLength + newRowWidth);
+                        }
+                        if (isPartial) {
+                            for (int j = 1; j < hashWidth; j++) {
+                                newTable[newLength++] = table[collidingRowOffset + j] ^ table[rowOffset + j];
+                            }
+                        }
+                        System.arraycopy(table, collidingRowOffset + hashWidth, newTable, newLength, indexTupleWidth);
+                        newLength += indexTupleWidth;
+                        System.arraycopy(table, rowOffset + hashWidth, newTable, newLength, indexTupleWidth);
+                        newLength += indexTupleWidth;
+                    }
+                    indexMultimap.put(table[rowOffset], i);
+                }
+
+                tables.swap();
+                table = newTable;
+                hashWidth = newHashWidth;
+                indexTupleWidth = newIndexTupleWidth;
+                rowWidth = newRowWidth;
+                numRows = newLength / rowWidth;
+            }
+
+            for (int i = 0; i < numRows; i++) {
+                int[] row = Arrays.copyOfRange(table, i * rowWidth, (i + 1) * rowWidth);
+                if (Arrays.stream(row).distinct().count() == inputNum) {
+                    int[] inputs = sortInputs(row);
+                    if (testDifficultyCondition(inputs)) {
+                        return Optional.of(inputs);
+                    }
+                }
+            }
+            return Optional.empty();
+        }
+
         private XorTable computeAllHashes() {
             var tableValues = IntStream.range(0, N).flatMap(i -> {
                 int[] hash = hashInputs(i);
@@ -349,6 +451,11 @@ public class Equihash {
             };
         }
 
+        void clear() {
+            Arrays.fill(shortLists, 0);
+            overspillMultimap.clear();
+        }
+
         // assumes non-negative values only:
         void put(int key, int value) {
             for (int i = 0; i < 4; i++) {
@@ -361,6 +468,80 @@ public class Equihash {
         }
     }
 
+    /**
+     * Per-thread tables used by the parallel solver. The two table buffers are swapped at each round of Wagner's
+     * Algorithm and are kept across solve attempts, so they only get allocated once per thread (or when growing).
+     */
+    private static class SolverTables {
+        private static final ThreadLocal<SolverTables> THREAD_LOCAL = new ThreadLocal<>();
+
+        private final int N, k;
+        private final IntListMultimap indexMultimap;
+        private final Blake2bDigest digest = new Blake2bDigest(HASH_BIT_LENGTH);
+        private final byte[] inputBytes = new byte[4];
+        private final byte[] outputBytes = new byte[HASH_BIT_LENGTH / 8];
+        private final int[] hash;
+        private int[] current = new int[0];
+        private int[] next = new int[0];
+
+        static SolverTables get(int N, int k) {
+            SolverTables tables = THREAD_LOCAL.get();
+            if (tables == null || tables.N != N || tables.k != k) {
+                tables = new SolverTables(N, k);
+                THREAD_LOCAL.set(tables);
+            }
+            return tables;
+        }
+
+        private SolverTables(int N, int k) {
+            this.N = N;
+            this.k = k;
+            indexMultimap = new IntListMultimap(N / 2);
+            hash = new int[k + 1];
+        }
+
+        // Fills the first numInts big-endian integers of the hash of the single input into hash.
+        void hashInput(byte[] prefixBytes, int input, int numInts) {
+            digest.reset();
+            digest.update(prefixBytes, 0, prefixBytes.length);
+            inputBytes[0] = (byte) (input >> 24);
+            inputBytes[1] = (byte) (input >> 16);
+            inputBytes[2] = (byte) (input >> 8);
+            inputBytes[3] = (byte) input;
+            digest.update(inputBytes, 0, inputBytes.length);
+            digest.doFinal(outputBytes, 0);
+            for (int j = 0; j < numInts; j++) {
+                hash[j] = Ints.fromBytes(outputBytes[4 * j], outputBytes[4 * j + 1],
+                        outputBytes[4 * j + 2], outputBytes[4 * j + 3]);
+            }
+        }
+
+        int[] ensureCurrentCapacity(int capacity) {
+            if (current.length < capacity) {
+                current = new int[capacity];
+            }
+            return current;
+        }
+
+        int[] ensureNextCapacity(int capacity) {
+            if (next.length < capacity) {
+                next = new int[capacity];
+            }
+            return next;
+        }
+
+        int[] growNext(int minCapacity) {
+            next = Arrays.copyOf(next, Math.max(minCapacity, next.length * 3 / 2));
+            return next;
+        }
+
+        void swap() {
+            int[] tmp = current;
+            current = next;
+            next = tmp;
+        }
+    }
+
     // Apply a single iteration of Wagner's Algorithm.
     private XorTable findCollisions(XorTable table, boolean isPartial) {
         int newHashWidth = isPartial ? table.hashWidth - 1 : 0;
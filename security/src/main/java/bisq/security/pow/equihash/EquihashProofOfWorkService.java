@@ -27,6 +27,7 @@ import lombok.extern.slf4j.Slf4j;
 
 import javax.annotation.Nullable;
 import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
 
 // TODO the scaling of the difficulty does not provide the expected results
 // Borrowed from: https://github.com/bisq-network/bisq
@@ -36,6 +37,7 @@ public class EquihashProofOfWorkService extends ProofOfWorkService {
      * Rough cost of two Hashcash iterations compared to solving an Equihash-90-5 puzzle of unit difficulty.
      */
     private static final double DIFFICULTY_SCALE_FACTOR = 3.0e-5;
+    private static final ForkJoinPool SOLVER_POOL = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
 
     public EquihashProofOfWorkService() {
         super();
@@ -48,7 +50,7 @@ public class EquihashProofOfWorkService extends ProofOfWorkService {
 
         long ts = System.currentTimeMillis();
         byte[] seed = getSeed(payload, challenge);
-        byte[] solution = new Equihash(90, 5, scaledDifficulty).puzzle(seed).findSolution().serialize();
+        byte[] solution = new Equihash(90, 5, scaledDifficulty).puzzle(seed).findSolution(SOLVER_POOL).serialize();
         long counter = Longs.fromByteArray(Arrays.copyOf(solution, 8));
         long duration = System.currentTimeMillis() - ts;
         var proofOfWork = new ProofOfWork(payload, counter, challenge, difficulty, solution, duration);
@@ -0,0 +1,66 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.security.pow.equihash;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EquihashTest {
+    @Test
+    public void testParallelSolutionIsIdenticalToSequentialSolution() {
+        ForkJoinPool forkJoinPool = new ForkJoinPool(4);
+        try {
+            for (int i = 0; i < 5; i++) {
+                byte[] seed = ("seed-" + i).getBytes(StandardCharsets.UTF_8);
+                Equihash equihash = new Equihash(60, 4, 10.0);
+
+                Equihash.Puzzle puzzle = equihash.puzzle(seed);
+                Equihash.Puzzle.Solution sequential = puzzle.findSolution();
+                Equihash.Puzzle.Solution parallel = puzzle.findSolution(forkJoinPool);
+
+                assertTrue(parallel.verify());
+                assertArrayEquals(sequential.serialize(), parallel.serialize());
+
+                // Reused tables from previous attempts must not affect the result
+                assertArrayEquals(sequential.serialize(), puzzle.findSolution(forkJoinPool).serialize());
+            }
+        } finally {
+            forkJoinPool.shutdown();
+        }
+    }
+
+    @Test
+    public void testParallelSolutionVerifiesWithProductionParameters() {
+        ForkJoinPool forkJoinPool = new ForkJoinPool(2);
+        try {
+            byte[] seed = "seed".getBytes(StandardCharsets.UTF_8);
+            Equihash.Puzzle puzzle = new Equihash(90, 5, 2.0).puzzle(seed);
+            Equihash.Puzzle.Solution solution = puzzle.findSolution(forkJoinPool);
+
+            assertTrue(puzzle.deserializeSolution(solution.serialize()).verify());
+            assertArrayEquals(puzzle.findSolution().serialize(), solution.serialize());
+        } finally {
+            forkJoinPool.shutdown();
+        }
+    }
+}
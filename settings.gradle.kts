@@ -23,6 +23,7 @@ rootProject.name = "bisq"
 
 include("account")
 include("application")
+include("benchmarks")
 include("bisq-easy")
 include("bonded-roles")
 include("chat")
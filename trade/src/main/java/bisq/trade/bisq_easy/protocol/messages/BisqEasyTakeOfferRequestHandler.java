@@ -28,8 +28,10 @@ import bisq.common.util.StringUtils;
 import bisq.contract.ContractService;
 import bisq.contract.ContractSignatureData;
 import bisq.contract.bisq_easy.BisqEasyContract;
+import bisq.network.identity.NetworkId;
 import bisq.offer.Offer;
 import bisq.offer.bisq_easy.BisqEasyOffer;
+import bisq.offer.book.OfferBook;
 import bisq.offer.price.PriceUtil;
 import bisq.trade.ServiceProvider;
 import bisq.trade.bisq_easy.BisqEasyTrade;
@@ -100,16 +102,15 @@ public class BisqEasyTakeOfferRequestHandler extends TradeMessageHandler<BisqEas
         BisqEasyContract takersContract = checkNotNull(message.getBisqEasyContract());
         BisqEasyOffer takersOffer = checkNotNull(takersContract.getOffer());
 
-        List<BisqEasyOffer> myOffers = serviceProvider.getChatService().getBisqEasyOfferbookChannelService().getChannels().stream()
-                .flatMap(channel -> channel.getChatMessages().stream())
-                .filter(chatMessage -> chatMessage.getBisqEasyOffer().isPresent())
-                .map(chatMessage -> chatMessage.getBisqEasyOffer().get())
-                .filter(offer -> offer.getMakerNetworkId().equals(trade.getMyIdentity().getNetworkId()))
-                .collect(Collectors.toList());
-        Optional<BisqEasyOffer> matchingOfferInChannel = myOffers.stream()
+        NetworkId myNetworkId = trade.getMyIdentity().getNetworkId();
+        OfferBook<BisqEasyOffer> offerBook = serviceProvider.getChatService().getBisqEasyOfferbookChannelService().getOfferBook();
+        Optional<BisqEasyOffer> matchingOfferInChannel = offerBook.findOffer(takersOffer.getId())
                 .filter(offer -> offer.equals(takersOffer))
-                .findAny();
+                .filter(offer -> offer.getMakerNetworkId().equals(myNetworkId));
         if (matchingOfferInChannel.isEmpty()) {
+            List<BisqEasyOffer> myOffers = offerBook.getOffers().stream()
+                    .filter(offer -> offer.getMakerNetworkId().equals(myNetworkId))
+                    .collect(Collectors.toList());
             log.error("Could not find matching offer in BisqEasyOfferbookChannel.\n" +
                             "takersOffer={}\n" +
                             "myOffers={}",
@@ -0,0 +1,110 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.user.reputation;
+
+import bisq.common.data.ByteArray;
+import bisq.network.common.AddressByTransportTypeMap;
+import bisq.network.identity.NetworkId;
+import bisq.security.keys.KeyGeneration;
+import bisq.security.keys.PubKey;
+import bisq.security.pow.ProofOfWork;
+import bisq.user.profile.UserProfile;
+import org.openjdk.jmh.annotations.*;
+
+import java.security.GeneralSecurityException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Startup scenario of the reputation services: the oracle node republishes its authorized data (numData items) and
+ * each item has to be matched to the user profile(s) with the same key out of numUserProfiles profiles.
+ * Compares the previous linear scan over all profiles per data item with building the UserProfileKeyIndex once and
+ * doing a lookup per data item.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UserProfileKeyIndexBenchmark {
+    @Param({"1000", "20000"})
+    public int numUserProfiles;
+
+    @Param({"2000"})
+    public int numData;
+
+    private final Map<String, UserProfile> userProfileById = new HashMap<>();
+    private final List<ByteArray> dataKeys = new ArrayList<>();
+
+    @Setup(Level.Trial)
+    public void setup() throws GeneralSecurityException {
+        userProfileById.clear();
+        dataKeys.clear();
+        List<UserProfile> userProfiles = new ArrayList<>();
+        for (int i = 0; i < numUserProfiles; i++) {
+            PubKey pubKey = new PubKey(KeyGeneration.generateKeyPair().getPublic(), "default");
+            ProofOfWork proofOfWork = new ProofOfWork(pubKey.getHash(), 0, null, 0, new byte[0], 0);
+            NetworkId networkId = new NetworkId(new AddressByTransportTypeMap(), pubKey);
+            UserProfile userProfile = new UserProfile("nickName" + i, proofOfWork, 0, networkId, "", "");
+            userProfiles.add(userProfile);
+            userProfileById.put(userProfile.getId(), userProfile);
+        }
+
+        // Half of the data items match a user profile
+        Random random = new Random(42);
+        for (int i = 0; i < numData; i++) {
+            if (i % 2 == 0) {
+                dataKeys.add(userProfiles.get(random.nextInt(numUserProfiles)).getAccountAgeKey());
+            } else {
+                byte[] bytes = new byte[40];
+                random.nextBytes(bytes);
+                dataKeys.add(new ByteArray(bytes));
+            }
+        }
+    }
+
+    @Benchmark
+    public int linearScan() {
+        int numMatches = 0;
+        for (ByteArray dataKey : dataKeys) {
+            List<UserProfile> userProfiles = new ArrayList<>(userProfileById.values());
+            for (UserProfile userProfile : userProfiles) {
+                if (userProfile.getAccountAgeKey().equals(dataKey)) {
+                    numMatches++;
+                }
+            }
+        }
+        return numMatches;
+    }
+
+    @Benchmark
+    public int indexLookup() {
+        UserProfileKeyIndex userProfileKeyIndex = new UserProfileKeyIndex(UserProfile::getAccountAgeKey);
+        userProfileKeyIndex.putAll(userProfileById);
+        int numMatches = 0;
+        for (ByteArray dataKey : dataKeys) {
+            numMatches += userProfileKeyIndex.getUserProfileIds(dataKey).size();
+        }
+        return numMatches;
+    }
+}
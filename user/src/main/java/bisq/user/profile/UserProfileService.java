@@ -36,11 +36,15 @@ import lombok.extern.slf4j.Slf4j;
 
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
 
 @Slf4j
 public class UserProfileService implements PersistenceClient<UserProfileStore>, DataService.Listener, Service {
     private static final String SEPARATOR_START = " [";
     private static final String SEPARATOR_END = "]";
+    // Increase if the verification of user profiles changes (e.g. the proof of work difficulty requirements). The
+    // persisted user profiles are then verified again at the next startup.
+    static final int VERIFIER_VERSION = 1;
 
     @Getter
     private final UserProfileStore persistableStore = new UserProfileStore();
@@ -62,6 +66,7 @@ public class UserProfileService implements PersistenceClient<UserProfileStore>,
 
     public CompletableFuture<Boolean> initialize() {
         log.info("initialize");
+        maybeVerifyPersistedUserProfiles();
         networkService.addDataServiceListener(this);
         networkService.getDataService().ifPresent(ds -> ds.getAuthenticatedData().forEach(this::onAuthenticatedDataAdded));
         return CompletableFuture.completedFuture(true);
@@ -151,7 +156,13 @@ public class UserProfileService implements PersistenceClient<UserProfileStore>,
     private void processUserProfileAdded(UserProfile userProfile) {
         Optional<UserProfile> optionalUserProfile = findUserProfile(userProfile.getId());
         if (optionalUserProfile.isEmpty() || !optionalUserProfile.get().equals(userProfile)) {
-            if (verifyUserProfile(userProfile)) {
+            // The user profiles in our map have been verified already, either when added or at startup if the
+            // verifier version has changed. The proof of work is bound to the pubKeyHash and by that to the profile ID.
+            // If only other fields have changed (e.g. statement or terms) we do not need to verify it again.
+            boolean isProofOfWorkVerified = optionalUserProfile
+                    .map(knownUserProfile -> knownUserProfile.getProofOfWork().equals(userProfile.getProofOfWork()))
+                    .orElse(false);
+            if (isProofOfWorkVerified || verifyUserProfile(userProfile)) {
                 ObservableHashMap<String, UserProfile> userProfileById = getUserProfileById();
                 synchronized (persistableStore) {
                     addNymToNickNameHashMap(userProfile.getNym(), userProfile.getNickName());
@@ -177,6 +188,28 @@ public class UserProfileService implements PersistenceClient<UserProfileStore>,
         }
     }
 
+    private void maybeVerifyPersistedUserProfiles() {
+        if (persistableStore.getVerifierVersion() == VERIFIER_VERSION) {
+            return;
+        }
+
+        List<UserProfile> invalidUserProfiles = getUserProfiles().stream()
+                .filter(userProfile -> !verifyUserProfile(userProfile))
+                .collect(Collectors.toList());
+        ObservableHashMap<String, UserProfile> userProfileById = getUserProfileById();
+        synchronized (persistableStore) {
+            invalidUserProfiles.forEach(userProfile -> {
+                removeNymFromNickNameHashMap(userProfile.getNym(), userProfile.getNickName());
+                userProfileById.remove(userProfile.getId());
+            });
+            persistableStore.setVerifierVersion(VERIFIER_VERSION);
+        }
+        log.info("Verified persisted user profiles with verifier version {}. Removed {} invalid user profiles",
+                VERIFIER_VERSION, invalidUserProfiles.size());
+        numUserProfiles.set(userProfileById.values().size());
+        persist();
+    }
+
     private boolean verifyUserProfile(UserProfile userProfile) {
         if (!Arrays.equals(userProfile.getProofOfWork().getPayload(), userProfile.getPubKeyHash())) {
             log.warn("Payload of proof of work not matching pubKeyHash of user profile {}", userProfile);
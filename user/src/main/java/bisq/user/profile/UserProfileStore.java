@@ -43,17 +43,22 @@ public final class UserProfileStore implements PersistableStore<UserProfileStore
     private final ObservableSet<String> ignoredUserProfileIds = new ObservableSet<>();
     private final ObservableHashMap<String, UserProfile> userProfileById = new ObservableHashMap<>();
     private final Object lock = new Object();
+    // Version of the verification rules the persisted user profiles have been verified with.
+    // 0 if persisted by a version which did not set it.
+    private volatile int verifierVersion;
 
     public UserProfileStore() {
     }
 
     private UserProfileStore(Map<String, Set<String>> nymsByNickName,
                              Set<String> ignoredUserProfileIds,
-                             Map<String, UserProfile> userProfileById) {
+                             Map<String, UserProfile> userProfileById,
+                             int verifierVersion) {
         this.nymsByNickName.putAll(nymsByNickName);
         this.ignoredUserProfileIds.clear();
         this.ignoredUserProfileIds.addAll(ignoredUserProfileIds);
         this.userProfileById.putAll(userProfileById);
+        this.verifierVersion = verifierVersion;
     }
 
     @Override
@@ -68,7 +73,8 @@ public final class UserProfileStore implements PersistableStore<UserProfileStore
                     .addAllIgnoredUserProfileIds(ignoredUserProfileIds)
                     .putAllUserProfileById(userProfileById.entrySet().stream()
                             .collect(Collectors.toMap(Map.Entry::getKey,
-                                    entry -> entry.getValue().toProto(serializeForHash))));
+                                    entry -> entry.getValue().toProto(serializeForHash))))
+                    .setVerifierVersion(verifierVersion);
         }
         return protoBuilder;
     }
@@ -86,7 +92,7 @@ public final class UserProfileStore implements PersistableStore<UserProfileStore
         Map<String, UserProfile> userProfileById = proto.getUserProfileByIdMap().entrySet().stream()
                 .collect(Collectors.toMap(Map.Entry::getKey,
                         entry -> UserProfile.fromProto(entry.getValue())));
-        return new UserProfileStore(nymsByNickName, ignoredUserProfileIds, userProfileById);
+        return new UserProfileStore(nymsByNickName, ignoredUserProfileIds, userProfileById, proto.getVerifierVersion());
     }
 
     @Override
@@ -104,7 +110,7 @@ public final class UserProfileStore implements PersistableStore<UserProfileStore
     public UserProfileStore getClone() {
         UserProfileStore userProfileStore;
         synchronized (lock) {
-            userProfileStore = new UserProfileStore(new HashMap<>(nymsByNickName), new HashSet<>(ignoredUserProfileIds), new HashMap<>(userProfileById));
+            userProfileStore = new UserProfileStore(new HashMap<>(nymsByNickName), new HashSet<>(ignoredUserProfileIds), new HashMap<>(userProfileById), verifierVersion);
         }
         return userProfileStore;
     }
@@ -116,6 +122,11 @@ public final class UserProfileStore implements PersistableStore<UserProfileStore
             ignoredUserProfileIds.clear();
             ignoredUserProfileIds.addAll(persisted.getIgnoredUserProfileIds());
             userProfileById.putAll(persisted.getUserProfileById());
+            verifierVersion = persisted.getVerifierVersion();
         }
     }
+
+    void setVerifierVersion(int verifierVersion) {
+        this.verifierVersion = verifierVersion;
+    }
 }
\ No newline at end of file
@@ -108,8 +108,7 @@ public class AccountAgeService extends SourceReputationService<AuthorizedAccount
             if (isAuthorized(authorizedData)) {
                 AuthorizedAccountAgeData data = (AuthorizedAccountAgeData) authorizedData.getAuthorizedDistributedData();
                 String userProfileId = data.getProfileId();
-                userProfileService.findUserProfile(userProfileId)
-                        .map(this::getUserProfileKey)
+                userProfileKeyIndex.findUserProfileKey(userProfileId)
                         .ifPresent(dataSetByHash::remove);
                 if (scoreByUserProfileId.containsKey(userProfileId)) {
                     scoreByUserProfileId.remove(userProfileId);
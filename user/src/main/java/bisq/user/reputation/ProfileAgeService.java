@@ -89,8 +89,7 @@ public class ProfileAgeService extends SourceReputationService<AuthorizedTimesta
             if (isAuthorized(authorizedData)) {
                 AuthorizedTimestampData timestampData = (AuthorizedTimestampData) authorizedData.getAuthorizedDistributedData();
                 String userProfileId = timestampData.getProfileId();
-                userProfileService.findUserProfile(userProfileId)
-                        .map(this::getUserProfileKey)
+                userProfileKeyIndex.findUserProfileKey(userProfileId)
                         .ifPresent(dataSetByHash::remove);
                 if (scoreByUserProfileId.containsKey(userProfileId)) {
                     scoreByUserProfileId.remove(userProfileId);
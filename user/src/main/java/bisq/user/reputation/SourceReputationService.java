@@ -22,6 +22,7 @@ import bisq.bonded_roles.bonded_role.AuthorizedBondedRolesService;
 import bisq.common.application.Service;
 import bisq.common.data.ByteArray;
 import bisq.common.observable.Observable;
+import bisq.common.observable.Pin;
 import bisq.network.NetworkService;
 import bisq.network.p2p.message.EnvelopePayloadMessage;
 import bisq.network.p2p.services.data.storage.auth.authorized.AuthorizedData;
@@ -61,6 +62,8 @@ public abstract class SourceReputationService<T extends AuthorizedDistributedDat
     protected final Map<String, Long> scoreByUserProfileId = new ConcurrentHashMap<>();
     @Getter
     protected final Observable<String> userProfileIdOfUpdatedScore = new Observable<>();
+    protected final UserProfileKeyIndex userProfileKeyIndex = new UserProfileKeyIndex(this::getUserProfileKey);
+    private Pin userProfileByIdPin;
 
     public SourceReputationService(NetworkService networkService,
                                    UserIdentityService userIdentityService,
@@ -75,12 +78,17 @@ public abstract class SourceReputationService<T extends AuthorizedDistributedDat
     }
 
     public CompletableFuture<Boolean> initialize() {
+        // The index needs to be filled before we add the listener, as existing authorized data gets applied at addListener
+        userProfileByIdPin = userProfileService.getUserProfileById().addObserver(userProfileKeyIndex);
         authorizedBondedRolesService.addListener(this);
         return CompletableFuture.completedFuture(true);
     }
 
     public CompletableFuture<Boolean> shutdown() {
         authorizedBondedRolesService.removeListener(this);
+        if (userProfileByIdPin != null) {
+            userProfileByIdPin.unbind();
+        }
         return CompletableFuture.completedFuture(true);
     }
 
@@ -94,19 +102,11 @@ public abstract class SourceReputationService<T extends AuthorizedDistributedDat
                 .ifPresent(data -> {
                     if (isAuthorized(authorizedData)) {
                         ByteArray providedHash = getDataKey(data);
-                        // To avoid ConcurrentModificationException
-                        List<UserProfile> userProfiles = new ArrayList<>(userProfileService.getUserProfileById().values());
-                        userProfiles.stream()
-                                .filter(userProfile -> getUserProfileKey(userProfile).equals(providedHash))
-                                .forEach(userProfile -> {
-                                    ByteArray hash = getUserProfileKey(userProfile);
-                                    if (!dataSetByHash.containsKey(hash)) {
-                                        dataSetByHash.put(hash, new HashSet<>());
-                                    }
-                                    Set<T> dataSet = dataSetByHash.get(hash);
-                                    addToDataSet(dataSet, data);
-                                    putScore(userProfile.getId(), dataSet);
-                                });
+                        userProfileKeyIndex.getUserProfileIds(providedHash).forEach(userProfileId -> {
+                            Set<T> dataSet = dataSetByHash.computeIfAbsent(providedHash, key -> new HashSet<>());
+                            addToDataSet(dataSet, data);
+                            putScore(userProfileId, dataSet);
+                        });
                     }
                 });
     }
@@ -0,0 +1,93 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.user.reputation;
+
+import bisq.common.data.ByteArray;
+import bisq.common.observable.map.HashMapObserver;
+import bisq.user.profile.UserProfile;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Maps the service specific user profile key (e.g. the proof of burn hash) to the IDs of the user profiles with that
+ * key. It observes the user profiles of the UserProfileService, so the key of each profile is computed only once, when
+ * the profile is added, and matching incoming authorized data to user profiles does not require to iterate all
+ * profiles.
+ */
+class UserProfileKeyIndex implements HashMapObserver<String, UserProfile> {
+    private final Function<UserProfile, ByteArray> keyFunction;
+    private final Map<ByteArray, Set<String>> userProfileIdsByKey = new ConcurrentHashMap<>();
+    private final Map<String, ByteArray> keyByUserProfileId = new ConcurrentHashMap<>();
+
+    UserProfileKeyIndex(Function<UserProfile, ByteArray> keyFunction) {
+        this.keyFunction = keyFunction;
+    }
+
+    @Override
+    public synchronized void put(String userProfileId, UserProfile userProfile) {
+        ByteArray key = keyFunction.apply(userProfile);
+        ByteArray previousKey = keyByUserProfileId.put(userProfileId, key);
+        if (previousKey != null && !previousKey.equals(key)) {
+            removeFromIndex(previousKey, userProfileId);
+        }
+        userProfileIdsByKey.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet()).add(userProfileId);
+    }
+
+    @Override
+    public synchronized void putAll(Map<? extends String, ? extends UserProfile> map) {
+        map.forEach(this::put);
+    }
+
+    @Override
+    public synchronized void remove(Object userProfileId) {
+        ByteArray key = keyByUserProfileId.remove(userProfileId);
+        if (key != null) {
+            removeFromIndex(key, (String) userProfileId);
+        }
+    }
+
+    @Override
+    public synchronized void clear() {
+        userProfileIdsByKey.clear();
+        keyByUserProfileId.clear();
+    }
+
+    Set<String> getUserProfileIds(ByteArray key) {
+        return userProfileIdsByKey.getOrDefault(key, Collections.emptySet());
+    }
+
+    Optional<ByteArray> findUserProfileKey(String userProfileId) {
+        return Optional.ofNullable(keyByUserProfileId.get(userProfileId));
+    }
+
+    int size() {
+        return keyByUserProfileId.size();
+    }
+
+    private void removeFromIndex(ByteArray key, String userProfileId) {
+        userProfileIdsByKey.computeIfPresent(key, (k, userProfileIds) -> {
+            userProfileIds.remove(userProfileId);
+            return userProfileIds.isEmpty() ? null : userProfileIds;
+        });
+    }
+}
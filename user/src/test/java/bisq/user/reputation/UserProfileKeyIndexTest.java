@@ -0,0 +1,106 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.user.reputation;
+
+import bisq.common.data.ByteArray;
+import bisq.network.common.AddressByTransportTypeMap;
+import bisq.network.identity.NetworkId;
+import bisq.security.keys.KeyGeneration;
+import bisq.security.keys.PubKey;
+import bisq.security.pow.ProofOfWork;
+import bisq.user.profile.UserProfile;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class UserProfileKeyIndexTest {
+    // Using the nickname as key lets us create profiles sharing a key and change the key of a profile
+    private final UserProfileKeyIndex userProfileKeyIndex = new UserProfileKeyIndex(userProfile ->
+            toKey(userProfile.getNickName()));
+
+    @Test
+    void putAndRemove() throws GeneralSecurityException {
+        UserProfile alice = createUserProfile("alice");
+        UserProfile bob = createUserProfile("bob");
+        userProfileKeyIndex.putAll(Map.of(alice.getId(), alice, bob.getId(), bob));
+
+        assertThat(userProfileKeyIndex.getUserProfileIds(toKey("alice"))).containsExactly(alice.getId());
+        assertThat(userProfileKeyIndex.getUserProfileIds(toKey("bob"))).containsExactly(bob.getId());
+        assertThat(userProfileKeyIndex.getUserProfileIds(toKey("carol"))).isEmpty();
+        assertThat(userProfileKeyIndex.findUserProfileKey(alice.getId())).contains(toKey("alice"));
+
+        userProfileKeyIndex.remove(alice.getId());
+        assertThat(userProfileKeyIndex.getUserProfileIds(toKey("alice"))).isEmpty();
+        assertThat(userProfileKeyIndex.findUserProfileKey(alice.getId())).isEmpty();
+        assertThat(userProfileKeyIndex.size()).isEqualTo(1);
+
+        // Removing an unknown profile is a no-op
+        userProfileKeyIndex.remove(alice.getId());
+        assertThat(userProfileKeyIndex.size()).isEqualTo(1);
+
+        userProfileKeyIndex.clear();
+        assertThat(userProfileKeyIndex.getUserProfileIds(toKey("bob"))).isEmpty();
+        assertThat(userProfileKeyIndex.size()).isEqualTo(0);
+    }
+
+    @Test
+    void profilesSharingAKey() throws GeneralSecurityException {
+        UserProfile first = createUserProfile("alice");
+        UserProfile second = createUserProfile("alice");
+        userProfileKeyIndex.put(first.getId(), first);
+        userProfileKeyIndex.put(second.getId(), second);
+
+        assertThat(userProfileKeyIndex.getUserProfileIds(toKey("alice")))
+                .containsExactlyInAnyOrder(first.getId(), second.getId());
+
+        userProfileKeyIndex.remove(first.getId());
+        assertThat(userProfileKeyIndex.getUserProfileIds(toKey("alice"))).containsExactly(second.getId());
+    }
+
+    @Test
+    void updatedProfileWithChangedKey() throws GeneralSecurityException {
+        PubKey pubKey = new PubKey(KeyGeneration.generateKeyPair().getPublic(), "default");
+        UserProfile userProfile = createUserProfile("alice", pubKey);
+        userProfileKeyIndex.put(userProfile.getId(), userProfile);
+
+        UserProfile updated = createUserProfile("alice2", pubKey);
+        userProfileKeyIndex.put(updated.getId(), updated);
+
+        assertThat(userProfileKeyIndex.getUserProfileIds(toKey("alice"))).isEmpty();
+        assertThat(userProfileKeyIndex.getUserProfileIds(toKey("alice2"))).containsExactly(updated.getId());
+        assertThat(userProfileKeyIndex.size()).isEqualTo(1);
+    }
+
+    private static UserProfile createUserProfile(String nickName) throws GeneralSecurityException {
+        return createUserProfile(nickName, new PubKey(KeyGeneration.generateKeyPair().getPublic(), "default"));
+    }
+
+    private static UserProfile createUserProfile(String nickName, PubKey pubKey) {
+        ProofOfWork proofOfWork = new ProofOfWork(pubKey.getHash(), 0, null, 0, new byte[0], 0);
+        NetworkId networkId = new NetworkId(new AddressByTransportTypeMap(), pubKey);
+        return new UserProfile(nickName, proofOfWork, 0, networkId, "", "");
+    }
+
+    private static ByteArray toKey(String value) {
+        return new ByteArray(value.getBytes(StandardCharsets.UTF_8));
+    }
+}